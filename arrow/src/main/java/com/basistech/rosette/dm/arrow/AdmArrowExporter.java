@@ -0,0 +1,306 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.arrow;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.Entity;
+import com.basistech.rosette.dm.Mention;
+import com.basistech.rosette.dm.MorphoAnalysis;
+import com.basistech.rosette.dm.RelationshipComponent;
+import com.basistech.rosette.dm.RelationshipMention;
+import com.basistech.rosette.dm.Token;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+/**
+ * Exports the tokens, entities and relationships of documents to Apache Arrow files,
+ * one file per table, for analysis with columnar tools. The schemas are described in {@link AdmArrowSchemas}.
+ * Rows are buffered in record batches of {@link Builder#batchSize(int)} rows, so memory use does not grow
+ * with the number of documents; {@link #close()} writes the last batch and the file footers.
+ * <p>
+ * An exporter may be shared between threads; documents are written one at a time.
+ * To export in parallel, give each worker its own exporter and files: Arrow readers,
+ * and most tools that convert Arrow to Parquet, accept a set of files as one dataset.
+ * <p>
+ * Arrow reads the addresses of direct buffers. On Java 9 and later, the JVM must be started with
+ * {@code --add-opens=java.base/java.nio=ALL-UNNAMED}; without it, Java 16 and later fail to create
+ * the allocator with "Failed to initialize MemoryUtil".
+ */
+public final class AdmArrowExporter implements Closeable {
+    /** The name of the tokens file written by {@link #open(File)}. */
+    public static final String TOKENS_FILE = "tokens.arrow";
+    /** The name of the entities file written by {@link #open(File)}. */
+    public static final String ENTITIES_FILE = "entities.arrow";
+    /** The name of the relationships file written by {@link #open(File)}. */
+    public static final String RELATIONSHIPS_FILE = "relationships.arrow";
+
+    private final TableWriter tokens;
+    private final TableWriter entities;
+    private final TableWriter relationships;
+    private final BufferAllocator allocator;
+    private final boolean ownAllocator;
+
+    private AdmArrowExporter(Builder builder) throws IOException {
+        ownAllocator = builder.allocator == null;
+        allocator = ownAllocator ? new RootAllocator() : builder.allocator;
+        tokens = builder.tokens == null ? null : new TableWriter(AdmArrowSchemas.TOKENS, builder.tokens, allocator, builder.batchSize);
+        entities = builder.entities == null ? null : new TableWriter(AdmArrowSchemas.ENTITIES, builder.entities, allocator, builder.batchSize);
+        relationships = builder.relationships == null ? null : new TableWriter(AdmArrowSchemas.RELATIONSHIPS, builder.relationships, allocator, builder.batchSize);
+    }
+
+    /**
+     * Creates an exporter that writes all three tables to files in a directory.
+     *
+     * @param directory the directory, which must exist
+     * @return the exporter
+     * @throws IOException if a file cannot be created
+     */
+    public static AdmArrowExporter open(File directory) throws IOException {
+        Builder builder = new Builder();
+        builder.tokens(new FileOutputStream(new File(directory, TOKENS_FILE)).getChannel());
+        builder.entities(new FileOutputStream(new File(directory, ENTITIES_FILE)).getChannel());
+        builder.relationships(new FileOutputStream(new File(directory, RELATIONSHIPS_FILE)).getChannel());
+        return builder.build();
+    }
+
+    /**
+     * Adds the rows of one document.
+     *
+     * @param docId the id of the document, stored in the {@code doc_id} column of each row
+     * @param text the document
+     * @throws IOException if a full batch cannot be written
+     */
+    public synchronized void write(String docId, AnnotatedText text) throws IOException {
+        if (docId == null) {
+            throw new NullPointerException("docId");
+        }
+        if (tokens != null && text.getTokens() != null) {
+            writeTokens(docId, text.getTokens());
+        }
+        if (entities != null && text.getEntities() != null) {
+            writeEntities(docId, text.getData(), text.getEntities());
+        }
+        if (relationships != null && text.getRelationshipMentions() != null) {
+            writeRelationships(docId, text.getRelationshipMentions());
+        }
+    }
+
+    private void writeTokens(String docId, List<Token> list) throws IOException {
+        for (int x = 0; x < list.size(); x++) {
+            Token token = list.get(x);
+            List<MorphoAnalysis> analyses = token.getAnalyses();
+            MorphoAnalysis analysis = analyses == null || analyses.isEmpty() ? null : analyses.get(0);
+            tokens.setString(0, docId);
+            tokens.setInt(1, x);
+            tokens.setInt(2, token.getStartOffset());
+            tokens.setInt(3, token.getEndOffset());
+            tokens.setString(4, token.getText());
+            tokens.setString(5, analysis == null ? null : analysis.getPartOfSpeech());
+            tokens.setString(6, analysis == null ? null : analysis.getLemma());
+            tokens.endRow();
+        }
+    }
+
+    private void writeEntities(String docId, CharSequence data, List<Entity> list) throws IOException {
+        for (int x = 0; x < list.size(); x++) {
+            Entity entity = list.get(x);
+            List<Mention> mentions = entity.getMentions();
+            if (mentions == null) {
+                continue;
+            }
+            for (int y = 0; y < mentions.size(); y++) {
+                Mention mention = mentions.get(y);
+                entities.setString(0, docId);
+                entities.setInt(1, x);
+                entities.setInt(2, y);
+                entities.setInt(3, mention.getStartOffset());
+                entities.setInt(4, mention.getEndOffset());
+                entities.setString(5, span(data, mention.getStartOffset(), mention.getEndOffset()));
+                entities.setBoolean(6, entity.getHeadMentionIndex() != null && entity.getHeadMentionIndex() == y);
+                entities.setDouble(7, mention.getConfidence());
+                entities.setString(8, entity.getType());
+                entities.setString(9, entity.getEntityId());
+                entities.setDouble(10, entity.getConfidence());
+                entities.setDouble(11, entity.getSalience());
+                entities.endRow();
+            }
+        }
+    }
+
+    private static String span(CharSequence data, int start, int end) {
+        if (data == null || start < 0 || end > data.length() || start > end) {
+            return null;
+        }
+        return data.subSequence(start, end).toString();
+    }
+
+    private void writeRelationships(String docId, List<RelationshipMention> list) throws IOException {
+        for (int x = 0; x < list.size(); x++) {
+            RelationshipMention relationship = list.get(x);
+            relationships.setString(0, docId);
+            relationships.setInt(1, x);
+            relationships.setInt(2, relationship.getStartOffset());
+            relationships.setInt(3, relationship.getEndOffset());
+            relationships.setString(4, phrase(relationship.getPredicate()));
+            relationships.setString(5, phrase(relationship.getArg1()));
+            relationships.setString(6, relationship.getArg1() == null ? null : relationship.getArg1().getIdentifier());
+            relationships.setString(7, phrase(relationship.getArg2()));
+            relationships.setString(8, relationship.getArg2() == null ? null : relationship.getArg2().getIdentifier());
+            relationships.setString(9, relationship.getSource());
+            relationships.setDouble(10, relationship.getConfidence());
+            relationships.setDouble(11, relationship.getSalience());
+            relationships.endRow();
+        }
+    }
+
+    private static String phrase(RelationshipComponent component) {
+        return component == null ? null : component.getPhrase();
+    }
+
+    /**
+     * @return the number of token rows written so far.
+     */
+    public synchronized long tokenCount() {
+        return tokens == null ? 0 : tokens.rowCount();
+    }
+
+    /**
+     * @return the number of entity mention rows written so far.
+     */
+    public synchronized long entityMentionCount() {
+        return entities == null ? 0 : entities.rowCount();
+    }
+
+    /**
+     * @return the number of relationship rows written so far.
+     */
+    public synchronized long relationshipCount() {
+        return relationships == null ? 0 : relationships.rowCount();
+    }
+
+    /**
+     * Writes the last batches and the file footers, and closes the channels.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            close(tokens);
+        } finally {
+            try {
+                close(entities);
+            } finally {
+                try {
+                    close(relationships);
+                } finally {
+                    if (ownAllocator) {
+                        allocator.close();
+                    }
+                }
+            }
+        }
+    }
+
+    private static void close(TableWriter writer) throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    /**
+     * Builds an exporter. Only the tables given a channel are written.
+     */
+    public static class Builder {
+        private WritableByteChannel tokens;
+        private WritableByteChannel entities;
+        private WritableByteChannel relationships;
+        private int batchSize = 64 * 1024;
+        private BufferAllocator allocator;
+
+        /**
+         * Writes the tokens table to a channel, which the exporter closes.
+         *
+         * @param tokens the channel
+         * @return this
+         */
+        public Builder tokens(WritableByteChannel tokens) {
+            this.tokens = tokens;
+            return this;
+        }
+
+        /**
+         * Writes the entities table to a channel, which the exporter closes.
+         *
+         * @param entities the channel
+         * @return this
+         */
+        public Builder entities(WritableByteChannel entities) {
+            this.entities = entities;
+            return this;
+        }
+
+        /**
+         * Writes the relationships table to a channel, which the exporter closes.
+         *
+         * @param relationships the channel
+         * @return this
+         */
+        public Builder relationships(WritableByteChannel relationships) {
+            this.relationships = relationships;
+            return this;
+        }
+
+        /**
+         * Sets the number of rows in each record batch. The default is 65536.
+         *
+         * @param batchSize the number of rows
+         * @return this
+         */
+        public Builder batchSize(int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("batchSize must be positive");
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Sets the allocator for the vectors. By default, the exporter creates and closes its own.
+         *
+         * @param allocator the allocator
+         * @return this
+         */
+        public Builder allocator(BufferAllocator allocator) {
+            this.allocator = allocator;
+            return this;
+        }
+
+        /**
+         * @return the exporter
+         * @throws IOException if a file header cannot be written
+         */
+        public AdmArrowExporter build() throws IOException {
+            return new AdmArrowExporter(this);
+        }
+    }
+}
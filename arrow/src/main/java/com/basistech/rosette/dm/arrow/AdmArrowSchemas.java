@@ -0,0 +1,98 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.arrow;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+/**
+ * The Arrow schemas of the tables written by {@link AdmArrowExporter}. Every table starts with
+ * {@code doc_id}, the id given for the document. Offsets are in UTF-16 code units, as in the model.
+ */
+public final class AdmArrowSchemas {
+    /**
+     * One row per token: {@code doc_id}, {@code token_index}, {@code start}, {@code end}, {@code text},
+     * and the {@code pos} and {@code lemma} of the first analysis, if any.
+     */
+    public static final Schema TOKENS = new Schema(ImmutableList.of(
+            string("doc_id", false),
+            int32("token_index"),
+            int32("start"),
+            int32("end"),
+            string("text", true),
+            string("pos", true),
+            string("lemma", true)));
+
+    /**
+     * One row per mention of an entity: {@code doc_id}, {@code entity_index}, {@code mention_index}
+     * (within the entity), {@code start}, {@code end}, {@code text} (the mention's span of the data),
+     * {@code head} (whether this is the head mention), {@code mention_confidence}, and the entity's
+     * {@code type}, {@code entity_id}, {@code confidence} and {@code salience}.
+     */
+    public static final Schema ENTITIES = new Schema(ImmutableList.of(
+            string("doc_id", false),
+            int32("entity_index"),
+            int32("mention_index"),
+            int32("start"),
+            int32("end"),
+            string("text", true),
+            new Field("head", FieldType.notNullable(ArrowType.Bool.INSTANCE), null),
+            float64("mention_confidence"),
+            string("type", true),
+            string("entity_id", true),
+            float64("confidence"),
+            float64("salience")));
+
+    /**
+     * One row per relationship mention: {@code doc_id}, {@code relationship_index}, {@code start}, {@code end},
+     * the phrases of the {@code predicate}, {@code arg1} and {@code arg2} with the identifiers
+     * {@code arg1_id} and {@code arg2_id}, {@code source}, {@code confidence} and {@code salience}.
+     */
+    public static final Schema RELATIONSHIPS = new Schema(ImmutableList.of(
+            string("doc_id", false),
+            int32("relationship_index"),
+            int32("start"),
+            int32("end"),
+            string("predicate", true),
+            string("arg1", true),
+            string("arg1_id", true),
+            string("arg2", true),
+            string("arg2_id", true),
+            string("source", true),
+            float64("confidence"),
+            float64("salience")));
+
+    private AdmArrowSchemas() {
+        //
+    }
+
+    private static Field string(String name, boolean nullable) {
+        return new Field(name, nullable ? FieldType.nullable(ArrowType.Utf8.INSTANCE) : FieldType.notNullable(ArrowType.Utf8.INSTANCE), null);
+    }
+
+    private static Field int32(String name) {
+        return new Field(name, FieldType.notNullable(new ArrowType.Int(32, true)), null);
+    }
+
+    private static Field float64(String name) {
+        return new Field(name, FieldType.nullable(new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE)), null);
+    }
+}
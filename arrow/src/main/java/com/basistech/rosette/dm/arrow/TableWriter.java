@@ -0,0 +1,114 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.arrow;
+
+import com.google.common.base.Charsets;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes the rows of one table to an Arrow file, one record batch at a time.
+ * Fill in the columns of a row with the setters, then call {@link #endRow()}.
+ */
+final class TableWriter implements Closeable {
+    private final VectorSchemaRoot root;
+    private final ArrowFileWriter writer;
+    private final int batchSize;
+    private int row;
+    private long rowCount;
+
+    TableWriter(Schema schema, WritableByteChannel out, BufferAllocator allocator, int batchSize) throws IOException {
+        this.root = VectorSchemaRoot.create(schema, allocator);
+        this.writer = new ArrowFileWriter(root, new DictionaryProvider.MapDictionaryProvider(), out);
+        this.batchSize = batchSize;
+        root.allocateNew();
+        writer.start();
+    }
+
+    void setString(int column, String value) {
+        VarCharVector vector = (VarCharVector) root.getVector(column);
+        if (value == null) {
+            vector.setNull(row);
+        } else {
+            vector.setSafe(row, value.getBytes(Charsets.UTF_8));
+        }
+    }
+
+    void setInt(int column, int value) {
+        ((IntVector) root.getVector(column)).setSafe(row, value);
+    }
+
+    void setDouble(int column, Double value) {
+        Float8Vector vector = (Float8Vector) root.getVector(column);
+        if (value == null) {
+            vector.setNull(row);
+        } else {
+            vector.setSafe(row, value);
+        }
+    }
+
+    void setBoolean(int column, boolean value) {
+        ((BitVector) root.getVector(column)).setSafe(row, value ? 1 : 0);
+    }
+
+    void endRow() throws IOException {
+        row++;
+        rowCount++;
+        if (row == batchSize) {
+            flush();
+        }
+    }
+
+    long rowCount() {
+        return rowCount;
+    }
+
+    private void flush() throws IOException {
+        if (row == 0) {
+            return;
+        }
+        root.setRowCount(row);
+        writer.writeBatch();
+        root.allocateNew();
+        row = 0;
+    }
+
+    /**
+     * Writes the last, partial, batch and the footer, and closes the channel.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            writer.end();
+        } finally {
+            writer.close();
+            root.close();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.arrow;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.Entity;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.Mention;
+import com.basistech.rosette.dm.MorphoAnalysis;
+import com.basistech.rosette.dm.RelationshipComponent;
+import com.basistech.rosette.dm.RelationshipMention;
+import com.basistech.rosette.dm.Token;
+import com.google.common.collect.Lists;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Exports documents and reads the Arrow files back.
+ */
+public class AdmArrowExporterTest {
+    private static final String DATA = "George Washington slept in Mount Vernon.";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static AnnotatedText sample() {
+        AnnotatedText.Builder builder = new AnnotatedText.Builder().data(DATA);
+        ListAttribute.Builder<Token> tokens = new ListAttribute.Builder<>(Token.class);
+        Token.Builder george = new Token.Builder(0, 6, "George");
+        george.addAnalysis(new MorphoAnalysis.Builder().lemma("george").partOfSpeech("PROP").build());
+        tokens.add(george.build());
+        tokens.add(new Token.Builder(7, 17, "Washington").build());
+        tokens.add(new Token.Builder(18, 23, "slept").build());
+        builder.tokens(tokens.build());
+
+        ListAttribute.Builder<Entity> entities = new ListAttribute.Builder<>(Entity.class);
+        Entity.Builder person = new Entity.Builder().type("PERSON").entityId("Q23").headMentionIndex(0).confidence(0.5);
+        person.mention(new Mention.Builder(0, 17).confidence(0.25).build());
+        person.mention(new Mention.Builder(0, 6).build());
+        entities.add(person.build());
+        entities.add(new Entity.Builder().type("LOCATION").salience(0.125).mention(new Mention.Builder(27, 39).build()).build());
+        builder.entities(entities.build());
+
+        ListAttribute.Builder<RelationshipMention> relationships = new ListAttribute.Builder<>(RelationshipMention.class);
+        RelationshipMention.Builder slept = new RelationshipMention.Builder(0, 39);
+        slept.predicate(new RelationshipComponent.Builder().phrase("slept in").build());
+        slept.arg1(new RelationshipComponent.Builder().phrase("George Washington").identifier("Q23").build());
+        slept.arg2(new RelationshipComponent.Builder().phrase("Mount Vernon").build());
+        slept.source("test").confidence(0.75);
+        relationships.add(slept.build());
+        builder.relationshipMentions(relationships.build());
+        return builder.build();
+    }
+
+    /* Reads every row of a file as a list of column values. */
+    private static List<List<Object>> read(File file) throws Exception {
+        List<List<Object>> rows = Lists.newArrayList();
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowFileReader reader = new ArrowFileReader(new FileInputStream(file).getChannel(), allocator)) {
+            while (reader.loadNextBatch()) {
+                VectorSchemaRoot root = reader.getVectorSchemaRoot();
+                for (int x = 0; x < root.getRowCount(); x++) {
+                    List<Object> row = Lists.newArrayList();
+                    for (FieldVector vector : root.getFieldVectors()) {
+                        Object value = vector.getObject(x);
+                        row.add(value == null || value instanceof Number || value instanceof Boolean ? value : value.toString());
+                    }
+                    rows.add(row);
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static int batchCount(File file) throws Exception {
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowFileReader reader = new ArrowFileReader(new FileInputStream(file).getChannel(), allocator)) {
+            return reader.getRecordBlocks().size();
+        }
+    }
+
+    @Test
+    public void tables() throws Exception {
+        File directory = folder.newFolder();
+        try (AdmArrowExporter exporter = AdmArrowExporter.open(directory)) {
+            exporter.write("doc1", sample());
+            assertEquals(3, exporter.tokenCount());
+            assertEquals(3, exporter.entityMentionCount());
+            assertEquals(1, exporter.relationshipCount());
+        }
+
+        List<List<Object>> tokens = read(new File(directory, AdmArrowExporter.TOKENS_FILE));
+        assertEquals(3, tokens.size());
+        assertEquals(Lists.<Object>newArrayList("doc1", 0, 0, 6, "George", "PROP", "george"), tokens.get(0));
+        assertEquals(Lists.<Object>newArrayList("doc1", 2, 18, 23, "slept", null, null), tokens.get(2));
+
+        List<List<Object>> entities = read(new File(directory, AdmArrowExporter.ENTITIES_FILE));
+        assertEquals(3, entities.size());
+        assertEquals(Lists.<Object>newArrayList("doc1", 0, 0, 0, 17, "George Washington", true, 0.25, "PERSON", "Q23", 0.5, null),
+                entities.get(0));
+        assertEquals(false, entities.get(1).get(6));
+        assertEquals(Lists.<Object>newArrayList("doc1", 1, 0, 27, 39, "Mount Vernon", false, null, "LOCATION", null, null, 0.125),
+                entities.get(2));
+
+        List<List<Object>> relationships = read(new File(directory, AdmArrowExporter.RELATIONSHIPS_FILE));
+        assertEquals(Lists.<Object>newArrayList("doc1", 0, 0, 39, "slept in", "George Washington", "Q23", "Mount Vernon", null, "test", 0.75, null),
+                relationships.get(0));
+    }
+
+    @Test
+    public void batches() throws Exception {
+        File file = folder.newFile();
+        AdmArrowExporter.Builder builder = new AdmArrowExporter.Builder().batchSize(2);
+        try (AdmArrowExporter exporter = builder.tokens(new FileOutputStream(file).getChannel()).build()) {
+            for (int x = 0; x < 3; x++) {
+                exporter.write("doc" + x, sample());
+            }
+            assertEquals(0, exporter.entityMentionCount());
+        }
+        // nine tokens in batches of two, with the last one written at close.
+        assertEquals(5, batchCount(file));
+        List<List<Object>> tokens = read(file);
+        assertEquals(9, tokens.size());
+        assertEquals("doc2", tokens.get(8).get(0));
+        assertEquals("slept", tokens.get(8).get(4));
+        assertNull(tokens.get(8).get(5));
+    }
+}
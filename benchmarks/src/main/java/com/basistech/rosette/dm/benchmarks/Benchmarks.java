@@ -0,0 +1,82 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.benchmarks;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.test.corpus.CorpusGenerator;
+import com.basistech.rosette.dm.test.corpus.LanguageFamily;
+import com.basistech.rosette.dm.test.corpus.SizeDistribution;
+import com.google.common.collect.Lists;
+import org.openjdk.jol.info.GraphPathRecord;
+import org.openjdk.jol.info.GraphVisitor;
+import org.openjdk.jol.info.GraphWalker;
+
+import java.util.List;
+
+/**
+ * The documents for the benchmarks, generated with a fixed seed so that every run,
+ * and every fork, measures the same data.
+ */
+final class Benchmarks {
+    static final long SEED = 20130L;
+
+    private Benchmarks() {
+        //
+    }
+
+    /**
+     * @param tokens the number of tokens
+     * @param family the language family
+     * @return a document with tokens, sentences, entities, relationships, dependencies and categories.
+     */
+    static AnnotatedText document(int tokens, LanguageFamily family) {
+        return new CorpusGenerator.Builder().seed(SEED).families(family).tokens(SizeDistribution.fixed(tokens)).build().document(0);
+    }
+
+    /**
+     * Measures the layout of an object graph with JOL, leaving out the classes and enum constants
+     * that the graph references, and whatever is reached through them; they are shared by the
+     * whole VM, and {@link com.basistech.rosette.dm.util.MemoryFootprint} does not count them either.
+     *
+     * @param root the root of the graph
+     * @return the bytes of the objects of the graph
+     */
+    static long layoutSize(Object root) {
+        final List<String> shared = Lists.newArrayList();
+        final long[] total = new long[1];
+        GraphWalker walker = new GraphWalker(root);
+        walker.addVisitor(new GraphVisitor() {
+            @Override
+            public void visit(GraphPathRecord record) {
+                // parents are visited before their children.
+                for (String path : shared) {
+                    if (record.path().startsWith(path)) {
+                        return;
+                    }
+                }
+                if (record.klass() == Class.class || Enum.class.isAssignableFrom(record.klass())) {
+                    shared.add(record.path() + ".");
+                    shared.add(record.path() + "[");
+                    return;
+                }
+                total[0] += record.size();
+            }
+        });
+        walker.walk();
+        return total[0];
+    }
+}
@@ -0,0 +1,92 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.benchmarks;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.Entity;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.Mention;
+import com.basistech.rosette.dm.MorphoAnalysis;
+import com.basistech.rosette.dm.Sentence;
+import com.basistech.rosette.dm.Token;
+import com.basistech.rosette.dm.test.corpus.LanguageFamily;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building an {@link AnnotatedText} with the builders, as an annotator does:
+ * tokens with one analysis each, sentences, and entities with their mentions.
+ * The values are taken from a prepared document, so only the builders are measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class BuildBenchmark {
+    @Param({"100", "10000"})
+    int tokens;
+
+    private AnnotatedText source;
+
+    @Setup
+    public void setup() {
+        source = Benchmarks.document(tokens, LanguageFamily.PLAIN);
+    }
+
+    @Benchmark
+    public AnnotatedText build() {
+        ListAttribute.Builder<Token> tokenList = new ListAttribute.Builder<>(Token.class);
+        for (Token token : source.getTokens()) {
+            Token.Builder builder = new Token.Builder(token.getStartOffset(), token.getEndOffset(), token.getText());
+            if (token.getAnalyses() != null) {
+                for (MorphoAnalysis analysis : token.getAnalyses()) {
+                    builder.addAnalysis(new MorphoAnalysis.Builder().lemma(analysis.getLemma()).partOfSpeech(analysis.getPartOfSpeech()).build());
+                }
+            }
+            tokenList.add(builder.build());
+        }
+        ListAttribute.Builder<Sentence> sentenceList = new ListAttribute.Builder<>(Sentence.class);
+        for (Sentence sentence : source.getSentences()) {
+            sentenceList.add(new Sentence.Builder(sentence.getStartOffset(), sentence.getEndOffset()).build());
+        }
+        ListAttribute.Builder<Entity> entityList = new ListAttribute.Builder<>(Entity.class);
+        for (Entity entity : source.getEntities()) {
+            Entity.Builder builder = new Entity.Builder().type(entity.getType()).entityId(entity.getEntityId())
+                    .headMentionIndex(entity.getHeadMentionIndex()).confidence(entity.getConfidence());
+            for (Mention mention : entity.getMentions()) {
+                builder.mention(new Mention.Builder(mention.getStartOffset(), mention.getEndOffset())
+                        .source(mention.getSource()).confidence(mention.getConfidence()).build());
+            }
+            entityList.add(builder.build());
+        }
+        return new AnnotatedText.Builder().data(source.getData().toString()).tokens(tokenList.build())
+                .sentences(sentenceList.build()).entities(entityList.build()).build();
+    }
+}
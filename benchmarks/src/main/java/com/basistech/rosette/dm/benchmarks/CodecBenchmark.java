@@ -0,0 +1,81 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.benchmarks;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.jackson.AdmCodecs;
+import com.basistech.rosette.dm.test.corpus.LanguageFamily;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing and deserializing a document in the plain and array formats,
+ * in Json, Smile and CBOR, with the shared readers and writers of {@link AdmCodecs}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CodecBenchmark {
+    @Param({"PLAIN", "ARRAY"})
+    AdmCodecs.Format format;
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    AdmCodecs.Encoding encoding;
+
+    @Param({"1000"})
+    int tokens;
+
+    private AnnotatedText text;
+    private byte[] bytes;
+    private ObjectReader reader;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setup() throws IOException {
+        text = Benchmarks.document(tokens, LanguageFamily.PLAIN);
+        reader = AdmCodecs.reader(format, encoding);
+        writer = AdmCodecs.writer(format, encoding);
+        bytes = writer.writeValueAsBytes(text);
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        return writer.writeValueAsBytes(text);
+    }
+
+    @Benchmark
+    public AnnotatedText read() throws IOException {
+        return reader.readValue(bytes);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.benchmarks;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.Entity;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.test.corpus.LanguageFamily;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The conversion of entities to the deprecated {@code EntityMention} and {@code ResolvedEntity} lists.
+ * A document converts only once, so each invocation builds a new document; {@link #build()}
+ * measures that alone, to be subtracted from the others.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CompatBenchmark {
+    @Param({"100", "10000"})
+    int tokens;
+
+    private String data;
+    private ListAttribute<Entity> entities;
+
+    @Setup
+    public void setup() {
+        AnnotatedText document = Benchmarks.document(tokens, LanguageFamily.PLAIN);
+        data = document.getData().toString();
+        entities = document.getEntities();
+    }
+
+    @Benchmark
+    public AnnotatedText build() {
+        return new AnnotatedText.Builder().data(data).entities(entities).build();
+    }
+
+    @SuppressWarnings("deprecation")
+    @Benchmark
+    public ListAttribute<?> entityMentions() {
+        return build().getEntityMentions();
+    }
+
+    @SuppressWarnings("deprecation")
+    @Benchmark
+    public ListAttribute<?> resolvedEntities() {
+        return build().getResolvedEntities();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.benchmarks;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.test.corpus.LanguageFamily;
+import com.basistech.rosette.dm.util.MemoryFootprint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of {@link MemoryFootprint#of(AnnotatedText)}, next to the cost of a full layout
+ * of the same document with JOL. At the end of each trial, the estimate is printed
+ * next to the JOL total, which reads the actual layout of the running VM.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class FootprintBenchmark {
+    @Param({"100", "10000"})
+    int tokens;
+
+    @Param({"PLAIN", "HAN"})
+    LanguageFamily family;
+
+    private AnnotatedText text;
+
+    @Setup
+    public void setup() {
+        text = Benchmarks.document(tokens, family);
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        long estimate = MemoryFootprint.of(text).getTotalBytes();
+        long layout = Benchmarks.layoutSize(text);
+        System.out.printf("%nestimate %,d bytes, JOL %,d bytes (%+.1f%%)%n", estimate, layout, 100.0 * (estimate - layout) / layout);
+    }
+
+    @Benchmark
+    public MemoryFootprint estimate() {
+        return MemoryFootprint.of(text);
+    }
+
+    @Benchmark
+    public long layout() {
+        return GraphLayout.parseInstance(text).totalSize();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.benchmarks;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.jackson.AdmCodecs;
+import com.basistech.rosette.dm.test.corpus.LanguageFamily;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading tokens with language-specific analyses, which go through the
+ * {@code MorphoAnalysisListDeserializer} in the plain format and its counterpart in the array format.
+ * The documents have tokens only.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class MorphoAnalysisBenchmark {
+    @Param({"HAN", "ARABIC", "KOREAN", "PLAIN"})
+    LanguageFamily family;
+
+    @Param({"PLAIN", "ARRAY"})
+    AdmCodecs.Format format;
+
+    @Param({"1000"})
+    int tokens;
+
+    private byte[] bytes;
+    private ObjectReader reader;
+
+    @Setup
+    public void setup() throws IOException {
+        AnnotatedText document = Benchmarks.document(tokens, family);
+        AnnotatedText text = new AnnotatedText.Builder().data(document.getData().toString()).tokens(document.getTokens()).build();
+        reader = AdmCodecs.reader(format, AdmCodecs.Encoding.JSON);
+        bytes = AdmCodecs.writer(format, AdmCodecs.Encoding.JSON).writeValueAsBytes(text);
+    }
+
+    @Benchmark
+    public AnnotatedText read() throws IOException {
+        return reader.readValue(bytes);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.benchmarks;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.jackson.AnnotatedDataModelModule;
+import com.basistech.rosette.dm.test.corpus.LanguageFamily;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of one {@link ObjectMapper} shared by 1, 2, 4 and all available threads, each thread
+ * writing and reading back the same document. Compare the scores to see how well the mapper's caches scale.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SharedMapperBenchmark {
+    @Param({"1000"})
+    int tokens;
+
+    private ObjectMapper mapper;
+    private AnnotatedText text;
+
+    @Setup
+    public void setup() {
+        mapper = AnnotatedDataModelModule.setupObjectMapper(new ObjectMapper());
+        text = Benchmarks.document(tokens, LanguageFamily.PLAIN);
+    }
+
+    private AnnotatedText roundTrip() throws IOException {
+        return mapper.readValue(mapper.writeValueAsBytes(text), AnnotatedText.class);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public AnnotatedText oneThread() throws IOException {
+        return roundTrip();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public AnnotatedText twoThreads() throws IOException {
+        return roundTrip();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public AnnotatedText fourThreads() throws IOException {
+        return roundTrip();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public AnnotatedText allThreads() throws IOException {
+        return roundTrip();
+    }
+}
@@ -0,0 +1,23 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+/**
+ * JMH benchmarks of the hot paths of the Annotated Data Model. Build the module with
+ * {@code mvn -pl benchmarks -am package} and run {@code java -jar benchmarks/target/benchmarks.jar},
+ * optionally with a regular expression to select benchmarks and JMH options such as {@code -p format=ARRAY}.
+ * The documents are generated from a fixed seed, so runs on the same machine are comparable.
+ */
+package com.basistech.rosette.dm.benchmarks;
@@ -0,0 +1,180 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.benchmarks.shootout;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.binary.AdmBinary;
+import com.basistech.rosette.dm.jackson.AdmCodecs;
+import com.basistech.rosette.dm.jackson.array.ArrayFormatV2;
+import com.basistech.rosette.dm.kryo.AdmKryo;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * The serialized forms that {@link FormatShootout} compares. Each encodes one document to bytes and back.
+ */
+public enum Codec {
+    PLAIN_JSON("plain-json", AdmCodecs.Format.PLAIN, AdmCodecs.Encoding.JSON, false),
+    PLAIN_SMILE("plain-smile", AdmCodecs.Format.PLAIN, AdmCodecs.Encoding.SMILE, false),
+    PLAIN_CBOR("plain-cbor", AdmCodecs.Format.PLAIN, AdmCodecs.Encoding.CBOR, false),
+    ARRAY_JSON("array-json", AdmCodecs.Format.ARRAY, AdmCodecs.Encoding.JSON, false),
+    ARRAY_SMILE("array-smile", AdmCodecs.Format.ARRAY, AdmCodecs.Encoding.SMILE, false),
+    ARRAY_CBOR("array-cbor", AdmCodecs.Format.ARRAY, AdmCodecs.Encoding.CBOR, false),
+    /**
+     * The array format, version 2; see {@link ArrayFormatV2}.
+     */
+    ARRAY2_JSON("array2-json", AdmCodecs.Format.ARRAY, AdmCodecs.Encoding.JSON, true),
+    ARRAY2_SMILE("array2-smile", AdmCodecs.Format.ARRAY, AdmCodecs.Encoding.SMILE, true),
+    ARRAY2_CBOR("array2-cbor", AdmCodecs.Format.ARRAY, AdmCodecs.Encoding.CBOR, true),
+    /**
+     * The adm-binary format; see {@link AdmBinary}.
+     */
+    BINARY("binary", null, null, false) {
+        @Override
+        public byte[] encode(AnnotatedText text) {
+            return AdmBinary.encode(text);
+        }
+
+        @Override
+        public AnnotatedText decode(byte[] bytes) {
+            return AdmBinary.decode(bytes);
+        }
+    },
+    /**
+     * Kryo, with the serializers from {@link AdmKryo}.
+     */
+    KRYO("kryo", null, null, false) {
+        @Override
+        public byte[] encode(AnnotatedText text) {
+            Output output = new Output(4096, -1);
+            KryoHolder.KRYO.writeObject(output, text);
+            return output.toBytes();
+        }
+
+        @Override
+        public AnnotatedText decode(byte[] bytes) {
+            return KryoHolder.KRYO.readObject(new Input(bytes), AnnotatedText.class);
+        }
+    },
+    /**
+     * Java serialization, which writes the compact form of the model classes.
+     */
+    JAVA("java", null, null, false) {
+        @Override
+        public byte[] encode(AnnotatedText text) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+                output.writeObject(text);
+            }
+            return bytes.toByteArray();
+        }
+
+        @Override
+        public AnnotatedText decode(byte[] bytes) throws IOException {
+            try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                return (AnnotatedText) input.readObject();
+            } catch (ClassNotFoundException e) {
+                throw new IOException(e);
+            }
+        }
+    };
+
+    private final String codecName;
+    private final AdmCodecs.Format format;
+    private final AdmCodecs.Encoding encoding;
+    private final boolean version2;
+
+    Codec(String codecName, AdmCodecs.Format format, AdmCodecs.Encoding encoding, boolean version2) {
+        this.codecName = codecName;
+        this.format = format;
+        this.encoding = encoding;
+        this.version2 = version2;
+    }
+
+    /**
+     * @return the name of the codec on the command line and in reports, such as {@code array-smile}.
+     */
+    public String codecName() {
+        return codecName;
+    }
+
+    /**
+     * Finds a codec by its name.
+     *
+     * @param name the name
+     * @return the codec
+     * @throws IllegalArgumentException if there is no codec with that name.
+     */
+    public static Codec forName(String name) {
+        for (Codec codec : values()) {
+            if (codec.codecName.equals(name)) {
+                return codec;
+            }
+        }
+        throw new IllegalArgumentException("Unknown codec " + name);
+    }
+
+    /**
+     * Encodes a document.
+     *
+     * @param text the document
+     * @return the bytes
+     * @throws IOException if the encoder fails
+     */
+    public byte[] encode(AnnotatedText text) throws IOException {
+        ObjectWriter writer = AdmCodecs.writer(format, encoding);
+        if (version2) {
+            writer = ArrayFormatV2.applyTo(writer);
+        }
+        return writer.writeValueAsBytes(text);
+    }
+
+    /**
+     * Decodes a document.
+     *
+     * @param bytes the bytes
+     * @return the document
+     * @throws IOException if the bytes cannot be decoded
+     */
+    public AnnotatedText decode(byte[] bytes) throws IOException {
+        return AdmCodecs.reader(format, encoding).readValue(bytes);
+    }
+
+    /* The shoot-out runs on one thread; Kryo instances are not thread-safe. */
+    private static final class KryoHolder {
+        static final Kryo KRYO = kryo();
+
+        private KryoHolder() {
+            //
+        }
+
+        private static Kryo kryo() {
+            Kryo kryo = new Kryo();
+            kryo.setRegistrationRequired(false);
+            AdmKryo.register(kryo);
+            return kryo;
+        }
+    }
+}
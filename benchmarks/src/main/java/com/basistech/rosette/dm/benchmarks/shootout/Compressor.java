@@ -0,0 +1,135 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.benchmarks.shootout;
+
+import com.google.common.io.ByteStreams;
+import org.xerial.snappy.Snappy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The compressors that {@link FormatShootout} applies to each encoded document.
+ */
+public enum Compressor {
+    NONE("none") {
+        @Override
+        public byte[] compress(byte[] bytes) {
+            return bytes;
+        }
+
+        @Override
+        public byte[] decompress(byte[] bytes) {
+            return bytes;
+        }
+    },
+    GZIP("gzip") {
+        @Override
+        public byte[] compress(byte[] bytes) throws IOException {
+            ByteArrayOutputStream sink = new ByteArrayOutputStream(bytes.length / 2 + 64);
+            try (OutputStream output = new GZIPOutputStream(sink)) {
+                output.write(bytes);
+            }
+            return sink.toByteArray();
+        }
+
+        @Override
+        public byte[] decompress(byte[] bytes) throws IOException {
+            try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+                return ByteStreams.toByteArray(input);
+            }
+        }
+    },
+    DEFLATE("deflate") {
+        @Override
+        public byte[] compress(byte[] bytes) throws IOException {
+            ByteArrayOutputStream sink = new ByteArrayOutputStream(bytes.length / 2 + 64);
+            try (OutputStream output = new DeflaterOutputStream(sink)) {
+                output.write(bytes);
+            }
+            return sink.toByteArray();
+        }
+
+        @Override
+        public byte[] decompress(byte[] bytes) throws IOException {
+            try (InputStream input = new InflaterInputStream(new ByteArrayInputStream(bytes))) {
+                return ByteStreams.toByteArray(input);
+            }
+        }
+    },
+    SNAPPY("snappy") {
+        @Override
+        public byte[] compress(byte[] bytes) throws IOException {
+            return Snappy.compress(bytes);
+        }
+
+        @Override
+        public byte[] decompress(byte[] bytes) throws IOException {
+            return Snappy.uncompress(bytes);
+        }
+    };
+
+    private final String compressorName;
+
+    Compressor(String compressorName) {
+        this.compressorName = compressorName;
+    }
+
+    /**
+     * @return the name of the compressor on the command line and in reports.
+     */
+    public String compressorName() {
+        return compressorName;
+    }
+
+    /**
+     * Finds a compressor by its name.
+     *
+     * @param name the name
+     * @return the compressor
+     * @throws IllegalArgumentException if there is no compressor with that name.
+     */
+    public static Compressor forName(String name) {
+        for (Compressor compressor : values()) {
+            if (compressor.compressorName.equals(name)) {
+                return compressor;
+            }
+        }
+        throw new IllegalArgumentException("Unknown compressor " + name);
+    }
+
+    /**
+     * @param bytes the bytes
+     * @return the compressed bytes
+     * @throws IOException if the compressor fails
+     */
+    public abstract byte[] compress(byte[] bytes) throws IOException;
+
+    /**
+     * @param bytes the compressed bytes
+     * @return the original bytes
+     * @throws IOException if the bytes are corrupt
+     */
+    public abstract byte[] decompress(byte[] bytes) throws IOException;
+}
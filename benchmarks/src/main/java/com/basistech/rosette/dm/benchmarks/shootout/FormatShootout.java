@@ -0,0 +1,451 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.benchmarks.shootout;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.test.corpus.CorpusGenerator;
+import com.google.common.base.Charsets;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.io.Closer;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares serialized forms of the data model on a corpus: each document is encoded with each
+ * {@link Codec}, compressed with each {@link Compressor}, and decoded again, and the sizes and times
+ * are reported per codec and compressor, for all documents, for buckets of document size
+ * in tokens, and for each attribute. See {@link ShootoutReport} for the columns.
+ * <p>
+ * The corpus is streamed. The first documents are held back to warm up the code
+ * of every codec, unmeasured, and then measured along with the rest.
+ * The documents are measured one at a time, on one thread, so latencies are those of a
+ * warm but otherwise idle process. Every latency is kept until the report is made.
+ * <p>
+ * From the command line, run the class from {@code benchmarks/target/benchmarks.jar}:
+ * <pre>
+ * java -cp benchmarks.jar com.basistech.rosette.dm.benchmarks.shootout.FormatShootout \
+ *     --input corpus.jsonl --input-format plain-json --codecs plain-json,array2-smile,binary \
+ *     --compressors none,snappy --report csv --output shootout.csv
+ * </pre>
+ * {@code --generate 1000} measures a synthetic corpus instead of a file. The other options are
+ * {@code --seed}, {@code --warm-up} (documents), {@code --warm-up-rounds}, {@code --limit} (documents),
+ * {@code --buckets} (token counts, such as {@code 100,1000,10000}) and {@code --no-attributes}.
+ */
+public final class FormatShootout {
+    /** The scope of the measurements of whole documents. */
+    public static final String DOCUMENT_SCOPE = "document";
+
+    private static final String USAGE = "usage: FormatShootout (--input FILE [--input-format NAME] | --generate COUNT [--seed SEED])"
+            + " [--codecs NAMES] [--compressors NAMES] [--warm-up COUNT] [--warm-up-rounds COUNT] [--limit COUNT]"
+            + " [--buckets TOKENS] [--no-attributes] [--report csv|json] [--output FILE]";
+    private static final int ATTRIBUTE_RANK = Integer.MAX_VALUE;
+
+    private final List<Codec> codecs;
+    private final List<Compressor> compressors;
+    private final int warmUpDocuments;
+    private final int warmUpRounds;
+    private final long limit;
+    private final int[] buckets;
+    private final boolean attributes;
+
+    private FormatShootout(Builder builder) {
+        this.codecs = ImmutableList.copyOf(builder.codecs);
+        this.compressors = ImmutableList.copyOf(builder.compressors);
+        this.warmUpDocuments = builder.warmUpDocuments;
+        this.warmUpRounds = builder.warmUpRounds;
+        this.limit = builder.limit;
+        this.buckets = builder.buckets.clone();
+        this.attributes = builder.attributes;
+    }
+
+    /**
+     * Measures a corpus.
+     *
+     * @param corpus the documents
+     * @return the report
+     * @throws IOException if a codec fails
+     */
+    public ShootoutReport run(Iterator<AnnotatedText> corpus) throws IOException {
+        List<AnnotatedText> warmUp = Lists.newArrayList();
+        while (warmUp.size() < warmUpDocuments && warmUp.size() < limit && corpus.hasNext()) {
+            warmUp.add(corpus.next());
+        }
+        for (int round = 0; round < warmUpRounds; round++) {
+            for (AnnotatedText text : warmUp) {
+                measure(text, null);
+            }
+        }
+        Map<String, Measurements> measurements = Maps.newHashMap();
+        long count = 0;
+        for (AnnotatedText text : warmUp) {
+            measure(text, measurements);
+            count++;
+        }
+        warmUp.clear();
+        while (count < limit && corpus.hasNext()) {
+            measure(corpus.next(), measurements);
+            count++;
+        }
+        return report(measurements.values());
+    }
+
+    private static ShootoutReport report(Iterable<Measurements> measurements) {
+        List<Measurements> sorted = Lists.newArrayList(measurements);
+        Collections.sort(sorted, new Comparator<Measurements>() {
+            @Override
+            public int compare(Measurements o1, Measurements o2) {
+                int result = o1.codec.compareTo(o2.codec);
+                if (result == 0) {
+                    result = o1.compressor.compareTo(o2.compressor);
+                }
+                if (result == 0) {
+                    result = Integer.compare(o1.scopeRank, o2.scopeRank);
+                }
+                return result == 0 ? o1.scope.compareTo(o2.scope) : result;
+            }
+        });
+        List<Map<String, Object>> rows = Lists.newArrayList();
+        for (Measurements each : sorted) {
+            rows.add(each.toRow());
+        }
+        return new ShootoutReport(rows);
+    }
+
+    /* With null measurements, runs the codecs without recording anything. */
+    private void measure(AnnotatedText text, Map<String, Measurements> measurements) throws IOException {
+        int tokens = text.getTokens() == null ? 0 : text.getTokens().size();
+        int bucket = 0;
+        while (bucket < buckets.length && tokens >= buckets[bucket]) {
+            bucket++;
+        }
+        long baseline = Codec.PLAIN_JSON.encode(text).length;
+        for (Codec codec : codecs) {
+            long[] bytes = new long[compressors.size()];
+            long[][] nanos = roundTrip(codec, text, bytes);
+            if (measurements != null) {
+                for (int x = 0; x < compressors.size(); x++) {
+                    record(measurements, codec, compressors.get(x), DOCUMENT_SCOPE, 0, bytes[x], baseline, nanos[x]);
+                    record(measurements, codec, compressors.get(x), bucketName(bucket), 1 + bucket, bytes[x], baseline, nanos[x]);
+                }
+            }
+        }
+        if (attributes) {
+            measureAttributes(text, measurements);
+        }
+    }
+
+    /*
+     * Each attribute is measured in a document with the data, the metadata and that attribute alone;
+     * its bytes are what it adds to the document without any attributes.
+     */
+    private void measureAttributes(AnnotatedText text, Map<String, Measurements> measurements) throws IOException {
+        AnnotatedText bare = only(text, null);
+        long bareBaseline = Codec.PLAIN_JSON.encode(bare).length;
+        for (Codec codec : codecs) {
+            long[] bareBytes = new long[compressors.size()];
+            roundTrip(codec, bare, bareBytes);
+            for (String key : text.getAttributes().keySet()) {
+                AnnotatedText single = only(text, key);
+                long baseline = Codec.PLAIN_JSON.encode(single).length - bareBaseline;
+                long[] bytes = new long[compressors.size()];
+                long[][] nanos = roundTrip(codec, single, bytes);
+                if (measurements != null) {
+                    for (int x = 0; x < compressors.size(); x++) {
+                        record(measurements, codec, compressors.get(x), "attribute:" + key, ATTRIBUTE_RANK,
+                                bytes[x] - bareBytes[x], baseline, nanos[x]);
+                    }
+                }
+            }
+        }
+    }
+
+    private static AnnotatedText only(AnnotatedText text, String key) {
+        AnnotatedText.Builder builder = new AnnotatedText.Builder(text);
+        builder.attributes().keySet().retainAll(key == null ? Collections.<String>emptySet() : Collections.singleton(key));
+        return builder.build();
+    }
+
+    /* Encodes once, then compresses, decompresses and decodes with each compressor; returns encode and decode nanos. */
+    private long[][] roundTrip(Codec codec, AnnotatedText text, long[] bytes) throws IOException {
+        long[][] nanos = new long[compressors.size()][2];
+        long start = System.nanoTime();
+        byte[] encoded = codec.encode(text);
+        long encodeNanos = System.nanoTime() - start;
+        for (int x = 0; x < compressors.size(); x++) {
+            Compressor compressor = compressors.get(x);
+            start = System.nanoTime();
+            byte[] compressed = compressor.compress(encoded);
+            long decodeStart = System.nanoTime();
+            codec.decode(compressor.decompress(compressed));
+            long decodeEnd = System.nanoTime();
+            bytes[x] = compressed.length;
+            nanos[x][0] = encodeNanos + decodeStart - start;
+            nanos[x][1] = decodeEnd - decodeStart;
+        }
+        return nanos;
+    }
+
+    private static void record(Map<String, Measurements> measurements, Codec codec, Compressor compressor, String scope, int scopeRank,
+                               long bytes, long baseline, long[] nanos) {
+        String key = codec.codecName() + '/' + compressor.compressorName() + '/' + scope;
+        Measurements each = measurements.get(key);
+        if (each == null) {
+            each = new Measurements(codec, compressor, scope, scopeRank);
+            measurements.put(key, each);
+        }
+        each.add(bytes, baseline, nanos[0], nanos[1]);
+    }
+
+    private String bucketName(int bucket) {
+        int low = bucket == 0 ? 0 : buckets[bucket - 1];
+        if (bucket == buckets.length) {
+            return "tokens:" + low + "+";
+        }
+        return "tokens:" + low + "-" + (buckets[bucket] - 1);
+    }
+
+    /**
+     * Runs a shoot-out from the command line; see the class documentation for the options.
+     *
+     * @param args the options
+     * @throws IOException if the corpus cannot be read, or the report cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        try {
+            run(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+    }
+
+    //CHECKSTYLE:OFF
+    static void run(String[] args) throws IOException {
+        Builder builder = new Builder();
+        File input = null;
+        InputFormat inputFormat = InputFormat.PLAIN_JSON;
+        long generate = -1;
+        long seed = 0;
+        boolean json = false;
+        File output = null;
+        for (int x = 0; x < args.length; x++) {
+            String option = args[x];
+            if ("--no-attributes".equals(option)) {
+                builder.attributes(false);
+                continue;
+            }
+            if (x + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++x];
+            switch (option) {
+            case "--input":
+                input = new File(value);
+                break;
+            case "--input-format":
+                inputFormat = InputFormat.forName(value);
+                break;
+            case "--generate":
+                generate = Long.parseLong(value);
+                break;
+            case "--seed":
+                seed = Long.parseLong(value);
+                break;
+            case "--codecs":
+                List<Codec> codecs = Lists.newArrayList();
+                for (String name : Splitter.on(',').trimResults().omitEmptyStrings().split(value)) {
+                    codecs.add(Codec.forName(name));
+                }
+                builder.codecs(codecs);
+                break;
+            case "--compressors":
+                List<Compressor> compressors = Lists.newArrayList();
+                for (String name : Splitter.on(',').trimResults().omitEmptyStrings().split(value)) {
+                    compressors.add(Compressor.forName(name));
+                }
+                builder.compressors(compressors);
+                break;
+            case "--warm-up":
+                builder.warmUpDocuments(Integer.parseInt(value));
+                break;
+            case "--warm-up-rounds":
+                builder.warmUpRounds(Integer.parseInt(value));
+                break;
+            case "--limit":
+                builder.limit(Long.parseLong(value));
+                break;
+            case "--buckets":
+                List<String> bounds = Splitter.on(',').trimResults().omitEmptyStrings().splitToList(value);
+                int[] buckets = new int[bounds.size()];
+                for (int b = 0; b < buckets.length; b++) {
+                    buckets[b] = Integer.parseInt(bounds.get(b));
+                }
+                builder.buckets(buckets);
+                break;
+            case "--report":
+                if (!"csv".equals(value) && !"json".equals(value)) {
+                    throw new IllegalArgumentException("Unknown report format " + value);
+                }
+                json = "json".equals(value);
+                break;
+            case "--output":
+                output = new File(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+        if ((input == null) == (generate < 0)) {
+            throw new IllegalArgumentException("Give either --input or --generate");
+        }
+
+        ShootoutReport report;
+        try (Closer closer = Closer.create()) {
+            Iterator<AnnotatedText> corpus;
+            if (input != null) {
+                corpus = inputFormat.open(input, closer);
+            } else {
+                corpus = new CorpusGenerator.Builder().seed(seed).build().documents(generate).iterator();
+            }
+            report = builder.build().run(corpus);
+        }
+        OutputStream stream = output == null ? System.out : new BufferedOutputStream(new FileOutputStream(output));
+        try {
+            if (json) {
+                report.writeJson(stream);
+            } else {
+                report.writeCsv(new OutputStreamWriter(stream, Charsets.UTF_8));
+            }
+        } finally {
+            if (output != null) {
+                stream.close();
+            }
+        }
+    }
+    //CHECKSTYLE:ON
+
+    /**
+     * Builds a shoot-out. The defaults measure every codec with every compressor,
+     * after warming up 100 documents 3 times, in buckets of 100, 1000 and 10000 tokens, with attributes.
+     */
+    public static class Builder {
+        private List<Codec> codecs = Arrays.asList(Codec.values());
+        private List<Compressor> compressors = Arrays.asList(Compressor.values());
+        private int warmUpDocuments = 100;
+        private int warmUpRounds = 3;
+        private long limit = Long.MAX_VALUE;
+        private int[] buckets = {100, 1000, 10000};
+        private boolean attributes = true;
+
+        /**
+         * @param codecs the codecs to compare
+         * @return this
+         */
+        public Builder codecs(List<Codec> codecs) {
+            if (codecs.isEmpty()) {
+                throw new IllegalArgumentException("at least one codec is required");
+            }
+            this.codecs = codecs;
+            return this;
+        }
+
+        /**
+         * @param compressors the compressors to apply to each codec; {@link Compressor#NONE} for none
+         * @return this
+         */
+        public Builder compressors(List<Compressor> compressors) {
+            if (compressors.isEmpty()) {
+                throw new IllegalArgumentException("at least one compressor is required");
+            }
+            this.compressors = compressors;
+            return this;
+        }
+
+        /**
+         * @param warmUpDocuments the number of documents to warm up with
+         * @return this
+         */
+        public Builder warmUpDocuments(int warmUpDocuments) {
+            this.warmUpDocuments = warmUpDocuments;
+            return this;
+        }
+
+        /**
+         * @param warmUpRounds the number of times to run the codecs over the warm-up documents
+         * @return this
+         */
+        public Builder warmUpRounds(int warmUpRounds) {
+            this.warmUpRounds = warmUpRounds;
+            return this;
+        }
+
+        /**
+         * @param limit the largest number of documents to measure
+         * @return this
+         */
+        public Builder limit(long limit) {
+            this.limit = limit;
+            return this;
+        }
+
+        /**
+         * @param buckets the token counts at which each size bucket starts, in increasing order;
+         *                the first bucket starts at 0
+         * @return this
+         */
+        public Builder buckets(int... buckets) {
+            for (int x = 1; x < buckets.length; x++) {
+                if (buckets[x] <= buckets[x - 1]) {
+                    throw new IllegalArgumentException("bucket bounds must increase");
+                }
+            }
+            this.buckets = buckets.clone();
+            return this;
+        }
+
+        /**
+         * @param attributes whether to measure each attribute on its own
+         * @return this
+         */
+        public Builder attributes(boolean attributes) {
+            this.attributes = attributes;
+            return this;
+        }
+
+        /**
+         * @return the shoot-out
+         */
+        public FormatShootout build() {
+            return new FormatShootout(this);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.benchmarks.shootout;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.binary.AdmBinaryReader;
+import com.basistech.rosette.dm.binary.AdmContainerReader;
+import com.basistech.rosette.dm.jackson.AdmCodecs;
+import com.basistech.rosette.dm.jackson.AdmReader;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.io.Closer;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The corpus files that {@link FormatShootout} reads. Every format is read one document,
+ * or one container block, at a time, so the corpus does not have to fit in memory.
+ */
+public enum InputFormat {
+    /**
+     * Json, Smile or CBOR in either format; a top-level array of documents, or a series of documents.
+     */
+    PLAIN_JSON("plain-json", AdmCodecs.Format.PLAIN, AdmCodecs.Encoding.JSON),
+    PLAIN_SMILE("plain-smile", AdmCodecs.Format.PLAIN, AdmCodecs.Encoding.SMILE),
+    PLAIN_CBOR("plain-cbor", AdmCodecs.Format.PLAIN, AdmCodecs.Encoding.CBOR),
+    ARRAY_JSON("array-json", AdmCodecs.Format.ARRAY, AdmCodecs.Encoding.JSON),
+    ARRAY_SMILE("array-smile", AdmCodecs.Format.ARRAY, AdmCodecs.Encoding.SMILE),
+    ARRAY_CBOR("array-cbor", AdmCodecs.Format.ARRAY, AdmCodecs.Encoding.CBOR),
+    /**
+     * A stream written by {@link com.basistech.rosette.dm.binary.AdmBinaryWriter}.
+     */
+    BINARY("binary", null, null) {
+        @Override
+        public Iterator<AnnotatedText> open(File file, Closer closer) throws IOException {
+            final AdmBinaryReader reader = closer.register(new AdmBinaryReader(new BufferedInputStream(new FileInputStream(file))));
+            return new AbstractIterator<AnnotatedText>() {
+                @Override
+                protected AnnotatedText computeNext() {
+                    try {
+                        AnnotatedText text = reader.read();
+                        return text == null ? endOfData() : text;
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            };
+        }
+    },
+    /**
+     * A container file written by {@link com.basistech.rosette.dm.binary.AdmContainerWriter}.
+     */
+    CONTAINER("container", null, null) {
+        @Override
+        public Iterator<AnnotatedText> open(File file, Closer closer) throws IOException {
+            final AdmContainerReader reader = closer.register(AdmContainerReader.open(file));
+            return new AbstractIterator<AnnotatedText>() {
+                private int block;
+                private Iterator<AnnotatedText> documents;
+
+                @Override
+                protected AnnotatedText computeNext() {
+                    try {
+                        while (documents == null || !documents.hasNext()) {
+                            if (block == reader.blockCount()) {
+                                return endOfData();
+                            }
+                            List<AnnotatedText> texts = reader.readBlock(block++);
+                            documents = texts.iterator();
+                        }
+                        return documents.next();
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            };
+        }
+    };
+
+    private final String formatName;
+    private final AdmCodecs.Format format;
+    private final AdmCodecs.Encoding encoding;
+
+    InputFormat(String formatName, AdmCodecs.Format format, AdmCodecs.Encoding encoding) {
+        this.formatName = formatName;
+        this.format = format;
+        this.encoding = encoding;
+    }
+
+    /**
+     * @return the name of the format on the command line.
+     */
+    public String formatName() {
+        return formatName;
+    }
+
+    /**
+     * Finds an input format by its name.
+     *
+     * @param name the name
+     * @return the format
+     * @throws IllegalArgumentException if there is no format with that name.
+     */
+    public static InputFormat forName(String name) {
+        for (InputFormat inputFormat : values()) {
+            if (inputFormat.formatName.equals(name)) {
+                return inputFormat;
+            }
+        }
+        throw new IllegalArgumentException("Unknown input format " + name);
+    }
+
+    /**
+     * Opens a corpus file.
+     *
+     * @param file the file
+     * @param closer registers the open file; the iterator reads from it until the closer is closed.
+     * @return the documents; the iterator wraps exceptions in unchecked exceptions.
+     * @throws IOException if the file cannot be opened
+     */
+    public Iterator<AnnotatedText> open(File file, Closer closer) throws IOException {
+        return closer.register(AdmReader.open(file, format, encoding));
+    }
+}
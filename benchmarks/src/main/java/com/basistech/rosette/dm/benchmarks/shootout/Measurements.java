@@ -0,0 +1,102 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.benchmarks.shootout;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The sizes and times of one codec and compressor over one scope: all documents,
+ * documents in a size bucket, or one attribute.
+ */
+final class Measurements {
+    final Codec codec;
+    final Compressor compressor;
+    final String scope;
+    /* Orders the scopes in the report: documents, then buckets, then attributes. */
+    final int scopeRank;
+    private int count;
+    private long bytes;
+    private long baselineBytes;
+    private long[] encodeNanos;
+    private long[] decodeNanos;
+
+    Measurements(Codec codec, Compressor compressor, String scope, int scopeRank) {
+        this.codec = codec;
+        this.compressor = compressor;
+        this.scope = scope;
+        this.scopeRank = scopeRank;
+        this.encodeNanos = new long[64];
+        this.decodeNanos = new long[64];
+    }
+
+    void add(long documentBytes, long documentBaselineBytes, long encode, long decode) {
+        if (count == encodeNanos.length) {
+            encodeNanos = Arrays.copyOf(encodeNanos, 2 * count);
+            decodeNanos = Arrays.copyOf(decodeNanos, 2 * count);
+        }
+        encodeNanos[count] = encode;
+        decodeNanos[count] = decode;
+        count++;
+        bytes += documentBytes;
+        baselineBytes += documentBaselineBytes;
+    }
+
+    Map<String, Object> toRow() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put(ShootoutReport.CODEC, codec.codecName());
+        row.put(ShootoutReport.COMPRESSION, compressor.compressorName());
+        row.put(ShootoutReport.SCOPE, scope);
+        row.put(ShootoutReport.DOCUMENTS, count);
+        row.put(ShootoutReport.MEAN_BYTES, round((double) bytes / count));
+        row.put(ShootoutReport.SIZE_RATIO, baselineBytes == 0 ? Double.NaN : round((double) bytes / baselineBytes));
+        long[] encode = Arrays.copyOf(encodeNanos, count);
+        long[] decode = Arrays.copyOf(decodeNanos, count);
+        Arrays.sort(encode);
+        Arrays.sort(decode);
+        row.put(ShootoutReport.ENCODE_DOCS_PER_S, round(count / (sum(encode) / 1e9)));
+        row.put(ShootoutReport.DECODE_DOCS_PER_S, round(count / (sum(decode) / 1e9)));
+        row.put(ShootoutReport.ENCODE_P50_US, percentile(encode, 50));
+        row.put(ShootoutReport.ENCODE_P90_US, percentile(encode, 90));
+        row.put(ShootoutReport.ENCODE_P99_US, percentile(encode, 99));
+        row.put(ShootoutReport.ENCODE_MAX_US, percentile(encode, 100));
+        row.put(ShootoutReport.DECODE_P50_US, percentile(decode, 50));
+        row.put(ShootoutReport.DECODE_P90_US, percentile(decode, 90));
+        row.put(ShootoutReport.DECODE_P99_US, percentile(decode, 99));
+        row.put(ShootoutReport.DECODE_MAX_US, percentile(decode, 100));
+        return row;
+    }
+
+    private static long sum(long[] values) {
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return Math.max(sum, 1);
+    }
+
+    /* Nearest rank, in microseconds. */
+    private static double percentile(long[] sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return round(sorted[Math.max(rank, 1) - 1] / 1e3);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.benchmarks.shootout;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The results of a {@link FormatShootout}: one row per codec, compressor and scope.
+ * Each row has the columns in {@link #COLUMNS}, in that order.
+ * <p>
+ * The size ratio compares the bytes of a codec and compressor to the bytes of uncompressed plain Json
+ * for the same documents; for an attribute, both are the bytes the attribute adds to a document
+ * that has only the data and metadata. Encoding includes compression, and decoding includes decompression.
+ * Latencies are per document, in microseconds.
+ */
+public final class ShootoutReport {
+    public static final String CODEC = "codec";
+    public static final String COMPRESSION = "compression";
+    /**
+     * {@value FormatShootout#DOCUMENT_SCOPE} for whole documents, {@code tokens:100-999} for the documents
+     * in a size bucket, or {@code attribute:token} for an attribute.
+     */
+    public static final String SCOPE = "scope";
+    public static final String DOCUMENTS = "documents";
+    public static final String MEAN_BYTES = "mean_bytes";
+    public static final String SIZE_RATIO = "size_ratio";
+    public static final String ENCODE_DOCS_PER_S = "encode_docs_per_s";
+    public static final String DECODE_DOCS_PER_S = "decode_docs_per_s";
+    public static final String ENCODE_P50_US = "encode_p50_us";
+    public static final String ENCODE_P90_US = "encode_p90_us";
+    public static final String ENCODE_P99_US = "encode_p99_us";
+    public static final String ENCODE_MAX_US = "encode_max_us";
+    public static final String DECODE_P50_US = "decode_p50_us";
+    public static final String DECODE_P90_US = "decode_p90_us";
+    public static final String DECODE_P99_US = "decode_p99_us";
+    public static final String DECODE_MAX_US = "decode_max_us";
+
+    /**
+     * The columns of each row.
+     */
+    public static final List<String> COLUMNS = ImmutableList.of(CODEC, COMPRESSION, SCOPE, DOCUMENTS, MEAN_BYTES, SIZE_RATIO,
+            ENCODE_DOCS_PER_S, DECODE_DOCS_PER_S,
+            ENCODE_P50_US, ENCODE_P90_US, ENCODE_P99_US, ENCODE_MAX_US,
+            DECODE_P50_US, DECODE_P90_US, DECODE_P99_US, DECODE_MAX_US);
+
+    private final List<Map<String, Object>> rows;
+
+    ShootoutReport(List<Map<String, Object>> rows) {
+        this.rows = ImmutableList.copyOf(rows);
+    }
+
+    /**
+     * @return the rows, ordered by codec, compressor and scope.
+     */
+    public List<Map<String, Object>> getRows() {
+        return rows;
+    }
+
+    /**
+     * Writes the report as CSV, with a header line.
+     *
+     * @param writer the destination; it is not closed.
+     * @throws IOException if the writer fails
+     */
+    public void writeCsv(Writer writer) throws IOException {
+        Joiner joiner = Joiner.on(',');
+        writer.write(joiner.join(COLUMNS));
+        writer.write('\n');
+        for (Map<String, Object> row : rows) {
+            writer.write(joiner.join(row.values()));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes the report as a Json array of objects.
+     *
+     * @param output the destination; it is not closed.
+     * @throws IOException if the output fails
+     */
+    public void writeJson(OutputStream output) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+        mapper.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        mapper.writeValue(output, rows);
+    }
+}
@@ -0,0 +1,21 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+/**
+ * A command line tool that compares the serialized forms of the data model, with and without compression,
+ * on a corpus; see {@link com.basistech.rosette.dm.benchmarks.shootout.FormatShootout}.
+ */
+package com.basistech.rosette.dm.benchmarks.shootout;
@@ -0,0 +1,45 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.benchmarks;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.test.corpus.LanguageFamily;
+import com.basistech.rosette.dm.util.MemoryFootprint;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the {@link MemoryFootprint} estimates against the layout that JOL reads from the running VM.
+ */
+public class FootprintAccuracyTest {
+    private static final double TOLERANCE = 0.05;
+
+    @Test
+    public void estimatesMatchLayout() {
+        for (LanguageFamily family : LanguageFamily.values()) {
+            for (int tokens : new int[] {10, 1000}) {
+                AnnotatedText text = Benchmarks.document(tokens, family);
+                long estimate = MemoryFootprint.of(text).getTotalBytes();
+                long layout = Benchmarks.layoutSize(text);
+                double error = (double) (estimate - layout) / layout;
+                String message = String.format("%s %d tokens: estimate %,d bytes, JOL %,d bytes (%+.1f%%)", family, tokens, estimate, layout, 100 * error);
+                assertTrue(message, Math.abs(error) <= TOLERANCE);
+            }
+        }
+    }
+}
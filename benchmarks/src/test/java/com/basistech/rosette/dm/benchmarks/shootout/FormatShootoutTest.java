@@ -0,0 +1,159 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.benchmarks.shootout;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.binary.AdmBinaryWriter;
+import com.basistech.rosette.dm.binary.AdmContainerWriter;
+import com.basistech.rosette.dm.binary.Compression;
+import com.basistech.rosette.dm.jackson.AdmCodecs;
+import com.basistech.rosette.dm.test.corpus.CorpusGenerator;
+import com.basistech.rosette.dm.test.corpus.SizeDistribution;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Charsets;
+import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
+import com.google.common.io.Closer;
+import com.google.common.io.Files;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FormatShootoutTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static Iterable<AnnotatedText> corpus(int count) {
+        return new CorpusGenerator.Builder().seed(7).tokens(SizeDistribution.uniform(10, 200)).build().documents(count);
+    }
+
+    @Test
+    public void rows() throws Exception {
+        ShootoutReport report = new FormatShootout.Builder()
+                .codecs(Arrays.asList(Codec.PLAIN_JSON, Codec.ARRAY_SMILE, Codec.BINARY))
+                .compressors(Arrays.asList(Compressor.NONE, Compressor.DEFLATE))
+                .warmUpDocuments(5).warmUpRounds(1)
+                .buckets(100)
+                .build().run(corpus(20).iterator());
+        List<Map<String, Object>> rows = report.getRows();
+        assertFalse(rows.isEmpty());
+        Map<String, Object> first = rows.get(0);
+        assertEquals(ShootoutReport.COLUMNS, Lists.newArrayList(first.keySet()));
+        assertEquals("plain-json", first.get(ShootoutReport.CODEC));
+        assertEquals("none", first.get(ShootoutReport.COMPRESSION));
+        assertEquals(FormatShootout.DOCUMENT_SCOPE, first.get(ShootoutReport.SCOPE));
+        assertEquals(20, first.get(ShootoutReport.DOCUMENTS));
+        // plain Json, uncompressed, is the baseline.
+        assertEquals(1.0, (Double) first.get(ShootoutReport.SIZE_RATIO), 0.0);
+
+        int bucketDocuments = 0;
+        boolean tokenAttribute = false;
+        for (Map<String, Object> row : rows) {
+            if ("plain-json".equals(row.get(ShootoutReport.CODEC)) && "none".equals(row.get(ShootoutReport.COMPRESSION))) {
+                String scope = (String) row.get(ShootoutReport.SCOPE);
+                if (scope.startsWith("tokens:")) {
+                    bucketDocuments += (Integer) row.get(ShootoutReport.DOCUMENTS);
+                }
+                if ("attribute:token".equals(scope)) {
+                    tokenAttribute = true;
+                    assertEquals(1.0, (Double) row.get(ShootoutReport.SIZE_RATIO), 0.0);
+                }
+            }
+            if ("deflate".equals(row.get(ShootoutReport.COMPRESSION)) && FormatShootout.DOCUMENT_SCOPE.equals(row.get(ShootoutReport.SCOPE))) {
+                assertTrue((Double) row.get(ShootoutReport.SIZE_RATIO) < 1.0);
+            }
+            double p50 = (Double) row.get(ShootoutReport.ENCODE_P50_US);
+            assertTrue(p50 <= (Double) row.get(ShootoutReport.ENCODE_P99_US));
+        }
+        assertEquals(20, bucketDocuments);
+        assertTrue(tokenAttribute);
+        // 3 codecs, 2 compressors, and each has the document scope and two buckets at least.
+        assertTrue(rows.size() > 3 * 2 * 3);
+    }
+
+    @Test
+    public void commandLine() throws Exception {
+        File input = temporaryFolder.newFile("corpus.jsonl");
+        try (OutputStream output = Files.asByteSink(input).openBufferedStream()) {
+            for (AnnotatedText text : corpus(10)) {
+                output.write(AdmCodecs.writer().writeValueAsBytes(text));
+                output.write('\n');
+            }
+        }
+        File csv = temporaryFolder.newFile("shootout.csv");
+        FormatShootout.run(new String[] {"--input", input.getPath(), "--codecs", "plain-json,kryo,java,array2-cbor",
+            "--compressors", "none,gzip,snappy", "--warm-up", "2", "--no-attributes", "--output", csv.getPath()});
+        List<String> lines = Files.readLines(csv, Charsets.UTF_8);
+        assertEquals(Joiner.on(',').join(ShootoutReport.COLUMNS), lines.get(0));
+        // 4 codecs, 3 compressors, the document scope and the buckets below and above 100 tokens.
+        assertEquals(1 + 4 * 3 * 3, lines.size());
+        assertTrue(lines.get(1).startsWith("plain-json,none,document,10,"));
+
+        File json = temporaryFolder.newFile("shootout.json");
+        FormatShootout.run(new String[] {"--generate", "5", "--codecs", "binary", "--compressors", "none",
+            "--report", "json", "--output", json.getPath()});
+        List<?> rows = new ObjectMapper().readValue(json, List.class);
+        assertFalse(rows.isEmpty());
+    }
+
+    @Test
+    public void inputFormats() throws Exception {
+        File binary = temporaryFolder.newFile("corpus.bin");
+        try (AdmBinaryWriter writer = new AdmBinaryWriter(Files.asByteSink(binary).openBufferedStream())) {
+            for (AnnotatedText text : corpus(3)) {
+                writer.write(text);
+            }
+        }
+        assertEquals(3, count(InputFormat.forName("binary"), binary));
+
+        File container = temporaryFolder.newFile("corpus.adm");
+        // small blocks, so that the documents span several of them.
+        try (AdmContainerWriter writer = new AdmContainerWriter(Files.asByteSink(container).openBufferedStream(), Compression.DEFLATE, 1024)) {
+            for (AnnotatedText text : corpus(5)) {
+                writer.write(text);
+            }
+        }
+        assertEquals(5, count(InputFormat.forName("container"), container));
+    }
+
+    private static int count(InputFormat format, File input) throws IOException {
+        try (Closer closer = Closer.create()) {
+            int count = 0;
+            for (Iterator<AnnotatedText> it = format.open(input, closer); it.hasNext(); it.next()) {
+                count++;
+            }
+            return count;
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownCodec() throws Exception {
+        FormatShootout.run(new String[] {"--generate", "1", "--codecs", "protobuf"});
+    }
+}
@@ -0,0 +1,70 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package com.basistech.rosette.dm.binary;
+
+import com.basistech.rosette.dm.AnnotatedText;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Conveniences for encoding single documents in the binary format.
+ * The results are complete streams, readable with {@link AdmBinaryReader}.
+ */
+public final class AdmBinary {
+    private AdmBinary() {
+        //
+    }
+
+    /**
+     * Encodes a document.
+     *
+     * @param text the document
+     * @return a stream containing just this document
+     */
+    public static byte[] encode(AnnotatedText text) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (AdmBinaryWriter writer = new AdmBinaryWriter(bytes)) {
+            writer.write(text);
+        } catch (IOException e) {
+            // a ByteArrayOutputStream does not throw.
+            throw new AdmBinaryException("Failed to encode document", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes the first document of a stream.
+     *
+     * @param bytes the stream
+     * @return the document
+     * @throws AdmBinaryException if the bytes do not contain a document in the binary format.
+     */
+    public static AnnotatedText decode(byte[] bytes) {
+        try (AdmBinaryReader reader = new AdmBinaryReader(new ByteArrayInputStream(bytes))) {
+            AnnotatedText text = reader.read();
+            if (text == null) {
+                throw new AdmBinaryException("No document");
+            }
+            return text;
+        } catch (IOException e) {
+            throw new AdmBinaryException("Truncated document", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.binary;
+
+/**
+ * Thrown when binary input is not a valid encoding of the data model,
+ * or when a document contains something that the encoding cannot represent.
+ */
+public class AdmBinaryException extends IllegalArgumentException {
+    private static final long serialVersionUID = 222L;
+
+    public AdmBinaryException(String message) {
+        super(message);
+    }
+
+    public AdmBinaryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
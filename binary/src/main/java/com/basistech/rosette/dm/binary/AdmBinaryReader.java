@@ -0,0 +1,121 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package com.basistech.rosette.dm.binary;
+
+import com.basistech.rosette.dm.AnnotatedText;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a stream of {@link AnnotatedText} documents written by {@link AdmBinaryWriter}.
+ * A reader is not thread-safe.
+ */
+public final class AdmBinaryReader implements Closeable {
+    private final InputStream input;
+    private final DocumentDecoder decoder;
+    private byte[] buffer;
+    private boolean headerRead;
+
+    /**
+     * Constructs a reader over an input stream. The header is read with the first document.
+     *
+     * @param input the input stream; closed when this reader is closed.
+     */
+    public AdmBinaryReader(InputStream input) {
+        this.input = input;
+        this.decoder = new DocumentDecoder();
+        this.buffer = new byte[4096];
+    }
+
+    /**
+     * Reads the next document.
+     *
+     * @return the document, or {@code null} at the end of the stream.
+     * @throws IOException if the input stream fails or ends in the middle of a document.
+     * @throws AdmBinaryException if the input is not in the binary format.
+     */
+    public AnnotatedText read() throws IOException {
+        readHeader();
+        int first = input.read();
+        if (first < 0) {
+            return null;
+        }
+        int length = readLength(first);
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+        }
+        readFully(buffer, length);
+        return decoder.decode(buffer, 0, length);
+    }
+
+    private void readHeader() throws IOException {
+        if (headerRead) {
+            return;
+        }
+        byte[] header = new byte[Tags.MAGIC.length + 1];
+        readFully(header, header.length);
+        for (int x = 0; x < Tags.MAGIC.length; x++) {
+            if (header[x] != Tags.MAGIC[x]) {
+                throw new AdmBinaryException("Not a binary annotated data model stream");
+            }
+        }
+        int version = header[Tags.MAGIC.length] & 0xFF;
+        if (version > Tags.VERSION) {
+            throw new AdmBinaryException("Unsupported binary format version " + version);
+        }
+        headerRead = true;
+    }
+
+    private int readLength(int first) throws IOException {
+        int value = first & 0x7F;
+        int b = first;
+        for (int shift = 7; (b & 0x80) != 0; shift += 7) {
+            if (shift > 28) {
+                throw new AdmBinaryException("Malformed document length");
+            }
+            b = input.read();
+            if (b < 0) {
+                throw new EOFException("End of stream in a document length");
+            }
+            value |= (b & 0x7F) << shift;
+        }
+        if (value < 0) {
+            throw new AdmBinaryException("Malformed document length");
+        }
+        return value;
+    }
+
+    private void readFully(byte[] bytes, int length) throws IOException {
+        int offset = 0;
+        while (offset < length) {
+            int count = input.read(bytes, offset, length - offset);
+            if (count < 0) {
+                throw new EOFException("End of stream in a document");
+            }
+            offset += count;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+
+package com.basistech.rosette.dm.binary;
+
+import com.basistech.rosette.dm.AnnotatedText;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a stream of {@link AnnotatedText} documents in the binary format.
+ * The stream starts with a header that identifies the format and its version;
+ * each document follows as a length-prefixed frame, so that a reader can skip
+ * documents without decoding them. A writer is not thread-safe.
+ */
+public final class AdmBinaryWriter implements Closeable, Flushable {
+    private final OutputStream output;
+    private final DocumentEncoder encoder;
+    private final byte[] lengthBuffer;
+    private boolean headerWritten;
+
+    /**
+     * Constructs a writer over an output stream. The header is written with the first document.
+     *
+     * @param output the output stream; closed when this writer is closed.
+     */
+    public AdmBinaryWriter(OutputStream output) {
+        this.output = output;
+        this.encoder = new DocumentEncoder();
+        this.lengthBuffer = new byte[5];
+    }
+
+    /**
+     * Writes one document.
+     *
+     * @param text the document
+     * @throws IOException if the output stream fails
+     */
+    public void write(AnnotatedText text) throws IOException {
+        writeHeader();
+        BinaryOutput encoded = encoder.encode(text);
+        writeLength(encoded.length());
+        encoded.writeTo(output);
+    }
+
+    private void writeHeader() throws IOException {
+        if (!headerWritten) {
+            output.write(Tags.MAGIC);
+            output.write(Tags.VERSION);
+            headerWritten = true;
+        }
+    }
+
+    private void writeLength(int length) throws IOException {
+        int count = 0;
+        int remaining = length;
+        while ((remaining & ~0x7F) != 0) {
+            lengthBuffer[count++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        lengthBuffer[count++] = (byte) remaining;
+        output.write(lengthBuffer, 0, count);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    /**
+     * Closes the underlying stream. A writer that wrote no documents still writes the header,
+     * so that the result is a valid, empty, stream.
+     *
+     * @throws IOException if the output stream fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            writeHeader();
+        } finally {
+            output.close();
+        }
+    }
+}
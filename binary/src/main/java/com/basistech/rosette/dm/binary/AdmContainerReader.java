@@ -0,0 +1,307 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.binary;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Reads a container file written by {@link AdmContainerWriter}. The index is read when the reader
+ * is opened; blocks are read, decompressed and decoded on demand.
+ * <p>
+ * All of the methods are thread-safe, so that workers can share a reader and each read
+ * a different range of blocks. Documents are numbered from 0 across the whole file.
+ * The attribute keys present in each document come from the index, without reading any block.
+ */
+public final class AdmContainerReader implements Closeable {
+    private final FileChannel channel;
+    private final Compression compression;
+    private final String[] keys;
+    private final long[] blockOffsets;
+    private final int[] blockCounts;
+    private final long[] firstDocuments;
+    private final long documentCount;
+    private final int presenceWidth;
+    private final byte[] presence;
+
+    /**
+     * Constructs a reader over a channel.
+     *
+     * @param channel the channel; closed when this reader is closed.
+     * @throws IOException if the channel fails
+     * @throws AdmBinaryException if the channel does not contain a container file
+     */
+    public AdmContainerReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        long size = channel.size();
+        if (size < Tags.CONTAINER_HEADER_SIZE + Tags.CONTAINER_TRAILER_SIZE) {
+            throw new AdmBinaryException("Not an annotated data model container");
+        }
+        ByteBuffer header = read(0, Tags.CONTAINER_HEADER_SIZE);
+        checkMagic(header);
+        int version = header.get() & 0xFF;
+        if (version > Tags.CONTAINER_VERSION) {
+            throw new AdmBinaryException("Unsupported container version " + version);
+        }
+        compression = Compression.forId(header.get() & 0xFF);
+        ByteBuffer trailer = read(size - Tags.CONTAINER_TRAILER_SIZE, Tags.CONTAINER_TRAILER_SIZE);
+        long indexOffset = trailer.getLong();
+        checkMagic(trailer);
+        if (indexOffset < Tags.CONTAINER_HEADER_SIZE || indexOffset > size - Tags.CONTAINER_TRAILER_SIZE) {
+            throw new AdmBinaryException("Corrupt container index offset");
+        }
+        ByteBuffer indexBuffer = read(indexOffset, (int) (size - Tags.CONTAINER_TRAILER_SIZE - indexOffset));
+        DataInputStream index = new DataInputStream(new ByteArrayInputStream(indexBuffer.array()));
+        try {
+            // check each count against the bytes left before allocating: keys take at least 2 bytes, blocks 12.
+            keys = new String[checkCount(index.readInt(), index, 2)];
+            for (int x = 0; x < keys.length; x++) {
+                keys[x] = index.readUTF();
+            }
+            int blockCount = checkCount(index.readInt(), index, 12);
+            blockOffsets = new long[blockCount];
+            blockCounts = new int[blockCount];
+            firstDocuments = new long[blockCount];
+            long documents = 0;
+            for (int x = 0; x < blockCount; x++) {
+                blockOffsets[x] = index.readLong();
+                blockCounts[x] = index.readInt();
+                if (blockCounts[x] < 0) {
+                    throw new AdmBinaryException("Corrupt container index");
+                }
+                firstDocuments[x] = documents;
+                documents += blockCounts[x];
+            }
+            documentCount = documents;
+            presenceWidth = (keys.length + 7) / 8;
+            if (documentCount * presenceWidth > index.available()) {
+                throw new AdmBinaryException("Corrupt container index");
+            }
+            presence = new byte[(int) (documentCount * presenceWidth)];
+            index.readFully(presence);
+        } catch (EOFException e) {
+            throw new AdmBinaryException("Truncated container index", e);
+        }
+    }
+
+    /**
+     * Opens a container file.
+     *
+     * @param file the file
+     * @return the reader
+     * @throws IOException if the file cannot be read
+     * @throws AdmBinaryException if the file is not a container file
+     */
+    @SuppressWarnings("resource")
+    public static AdmContainerReader open(File file) throws IOException {
+        FileChannel channel = new RandomAccessFile(file, "r").getChannel();
+        try {
+            return new AdmContainerReader(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static int checkCount(int count, DataInputStream index, int minimumSize) throws IOException {
+        if (count < 0 || (long) count * minimumSize > index.available()) {
+            throw new AdmBinaryException("Corrupt container index");
+        }
+        return count;
+    }
+
+    private static void checkMagic(ByteBuffer buffer) {
+        byte[] magic = new byte[Tags.CONTAINER_MAGIC.length];
+        buffer.get(magic);
+        if (!Arrays.equals(magic, Tags.CONTAINER_MAGIC)) {
+            throw new AdmBinaryException("Not an annotated data model container");
+        }
+    }
+
+    /* Positional reads do not move the channel, so they are safe from multiple threads. */
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new AdmBinaryException("Truncated container");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * @return the compression of the blocks.
+     */
+    public Compression getCompression() {
+        return compression;
+    }
+
+    /**
+     * @return the number of blocks.
+     */
+    public int blockCount() {
+        return blockOffsets.length;
+    }
+
+    /**
+     * @param block a block index
+     * @return the number of documents in the block.
+     */
+    public int blockDocumentCount(int block) {
+        return blockCounts[block];
+    }
+
+    /**
+     * @param block a block index
+     * @return the number of the first document in the block.
+     */
+    public long blockFirstDocument(int block) {
+        return firstDocuments[block];
+    }
+
+    /**
+     * @return the number of documents in the file.
+     */
+    public long documentCount() {
+        return documentCount;
+    }
+
+    /**
+     * Finds the block that contains a document.
+     *
+     * @param document a document number
+     * @return the block index
+     */
+    public int blockOf(long document) {
+        if (document < 0 || document >= documentCount) {
+            throw new IndexOutOfBoundsException(document + " of " + documentCount);
+        }
+        int found = Arrays.binarySearch(firstDocuments, document);
+        // blocks are never empty, so an exact match is the block, and otherwise it is the one before the insertion point.
+        return found >= 0 ? found : -found - 2;
+    }
+
+    /**
+     * Determines, from the index, if a document has an attribute.
+     *
+     * @param document a document number
+     * @param key an attribute key, as in {@link AnnotatedText#getAttributes()}
+     * @return whether the document has the attribute.
+     */
+    public boolean hasAttribute(long document, String key) {
+        blockOf(document);
+        for (int x = 0; x < keys.length; x++) {
+            if (keys[x].equals(key)) {
+                return isPresent(document, x);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns, from the index, the keys of the attributes of a document.
+     *
+     * @param document a document number
+     * @return the attribute keys.
+     */
+    public Set<String> attributeKeys(long document) {
+        blockOf(document);
+        ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+        for (int x = 0; x < keys.length; x++) {
+            if (isPresent(document, x)) {
+                builder.add(keys[x]);
+            }
+        }
+        return builder.build();
+    }
+
+    private boolean isPresent(long document, int key) {
+        return (presence[(int) (document * presenceWidth) + key / 8] & (1 << (key % 8))) != 0;
+    }
+
+    /**
+     * Reads and decodes all of the documents in a block.
+     *
+     * @param block a block index
+     * @return the documents, in order
+     * @throws IOException if the channel fails
+     * @throws AdmBinaryException if the block is corrupt
+     */
+    public List<AnnotatedText> readBlock(int block) throws IOException {
+        ByteBuffer header = read(blockOffsets[block], Tags.BLOCK_HEADER_SIZE);
+        int compressedLength = header.getInt();
+        int uncompressedLength = header.getInt();
+        int count = header.getInt();
+        int checksum = header.getInt();
+        if (compressedLength < 0 || uncompressedLength < 0 || count != blockCounts[block]) {
+            throw new AdmBinaryException("Corrupt header for block " + block);
+        }
+        byte[] compressed = read(blockOffsets[block] + Tags.BLOCK_HEADER_SIZE, compressedLength).array();
+        byte[] uncompressed = new byte[uncompressedLength];
+        compression.decompress(compressed, compressedLength, uncompressed);
+        CRC32 crc = new CRC32();
+        crc.update(uncompressed);
+        if ((int) crc.getValue() != checksum) {
+            throw new AdmBinaryException("Checksum mismatch in block " + block);
+        }
+        ImmutableList.Builder<AnnotatedText> documents = ImmutableList.builder();
+        try (AdmBinaryReader reader = new AdmBinaryReader(new ByteArrayInputStream(uncompressed))) {
+            for (int x = 0; x < count; x++) {
+                AnnotatedText text = reader.read();
+                if (text == null) {
+                    throw new AdmBinaryException("Missing documents in block " + block);
+                }
+                documents.add(text);
+            }
+        }
+        return documents.build();
+    }
+
+    /**
+     * Reads one document. This decodes the whole block that contains it.
+     *
+     * @param document a document number
+     * @return the document
+     * @throws IOException if the channel fails
+     * @throws AdmBinaryException if the block is corrupt
+     */
+    public AnnotatedText read(long document) throws IOException {
+        int block = blockOf(document);
+        return readBlock(block).get((int) (document - firstDocuments[block]));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
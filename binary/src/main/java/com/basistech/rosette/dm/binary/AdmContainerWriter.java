@@ -0,0 +1,202 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.binary;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.io.CountingOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Writes a container file of {@link AnnotatedText} documents, for reading with {@link AdmContainerReader}.
+ * Documents are collected into blocks in the binary format; each block is compressed on its own,
+ * so that readers can start at any block. When the writer is closed, it writes an index of the blocks
+ * and of the attributes present in each document.
+ * <p>
+ * A block ends when its uncompressed size reaches the block size, or when {@link #endBlock()} is called.
+ * Larger blocks compress better; smaller blocks make finer units of work for parallel readers
+ * and cost less to decompress for random access. A writer is not thread-safe.
+ */
+public final class AdmContainerWriter implements Closeable {
+    /**
+     * The default block size, 1MB.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+
+    private final CountingOutputStream counter;
+    private final DataOutputStream output;
+    private final Compression compression;
+    private final int blockSize;
+    private final List<Long> blockOffsets;
+    private final List<Integer> blockCounts;
+    private final Map<String, Integer> keys;
+    private final List<BitSet> presence;
+    private final ByteArrayOutputStream block;
+    private AdmBinaryWriter blockWriter;
+    private int blockDocuments;
+    private boolean headerWritten;
+    private boolean closed;
+
+    /**
+     * Constructs a writer with the default block size.
+     *
+     * @param output the output stream; closed when this writer is closed.
+     * @param compression the block compression
+     */
+    public AdmContainerWriter(OutputStream output, Compression compression) {
+        this(output, compression, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Constructs a writer.
+     *
+     * @param output the output stream; closed when this writer is closed.
+     * @param compression the block compression
+     * @param blockSize the uncompressed size, in bytes, at which a block ends.
+     */
+    public AdmContainerWriter(OutputStream output, Compression compression, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        this.counter = new CountingOutputStream(output);
+        this.output = new DataOutputStream(counter);
+        this.compression = compression;
+        this.blockSize = blockSize;
+        this.blockOffsets = Lists.newArrayList();
+        this.blockCounts = Lists.newArrayList();
+        this.keys = Maps.newLinkedHashMap();
+        this.presence = Lists.newArrayList();
+        this.block = new ByteArrayOutputStream();
+    }
+
+    /**
+     * Writes one document.
+     *
+     * @param text the document
+     * @throws IOException if the output stream fails
+     */
+    public void write(AnnotatedText text) throws IOException {
+        writeHeader();
+        if (blockWriter == null) {
+            blockWriter = new AdmBinaryWriter(block);
+        }
+        blockWriter.write(text);
+        BitSet attributes = new BitSet();
+        for (String key : text.getAttributes().keySet()) {
+            Integer index = keys.get(key);
+            if (index == null) {
+                index = keys.size();
+                keys.put(key, index);
+            }
+            attributes.set(index);
+        }
+        presence.add(attributes);
+        blockDocuments++;
+        if (block.size() >= blockSize) {
+            endBlock();
+        }
+    }
+
+    /**
+     * Ends the current block, if it has any documents.
+     *
+     * @throws IOException if the output stream fails
+     */
+    public void endBlock() throws IOException {
+        if (blockDocuments == 0) {
+            return;
+        }
+        blockWriter.close();
+        byte[] uncompressed = block.toByteArray();
+        byte[] compressed = compression.compress(uncompressed, uncompressed.length);
+        CRC32 crc = new CRC32();
+        crc.update(uncompressed);
+        blockOffsets.add(counter.getCount());
+        blockCounts.add(blockDocuments);
+        output.writeInt(compressed.length);
+        output.writeInt(uncompressed.length);
+        output.writeInt(blockDocuments);
+        output.writeInt((int) crc.getValue());
+        output.write(compressed);
+        block.reset();
+        blockWriter = null;
+        blockDocuments = 0;
+    }
+
+    private void writeHeader() throws IOException {
+        if (!headerWritten) {
+            output.write(Tags.CONTAINER_MAGIC);
+            output.writeByte(Tags.CONTAINER_VERSION);
+            output.writeByte(compression.id());
+            headerWritten = true;
+        }
+    }
+
+    private void writeIndex() throws IOException {
+        long indexOffset = counter.getCount();
+        output.writeInt(keys.size());
+        for (String key : keys.keySet()) {
+            output.writeUTF(key);
+        }
+        output.writeInt(blockOffsets.size());
+        for (int x = 0; x < blockOffsets.size(); x++) {
+            output.writeLong(blockOffsets.get(x));
+            output.writeInt(blockCounts.get(x));
+        }
+        int width = (keys.size() + 7) / 8;
+        for (BitSet attributes : presence) {
+            byte[] bits = new byte[width];
+            for (int bit = attributes.nextSetBit(0); bit >= 0; bit = attributes.nextSetBit(bit + 1)) {
+                bits[bit / 8] |= 1 << (bit % 8);
+            }
+            output.write(bits);
+        }
+        output.writeLong(indexOffset);
+        output.write(Tags.CONTAINER_MAGIC);
+    }
+
+    /**
+     * Ends the last block, writes the index, and closes the underlying stream.
+     * Closing a closed writer does nothing.
+     *
+     * @throws IOException if the output stream fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writeHeader();
+            endBlock();
+            writeIndex();
+        } finally {
+            output.close();
+        }
+    }
+}
@@ -0,0 +1,566 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.binary;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.io.ByteStreams;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An append-only store of {@link AnnotatedText} documents, keyed by id, in a directory.
+ * <p>
+ * Documents are encoded in the binary format and appended to segment files; a new version of a
+ * document, or a removal, supersedes the old one, which stays in its segment until {@link #compact()}
+ * rewrites the live documents into new segments. An in-memory hash index maps each id to
+ * its record; {@link #close()} and {@link #compact()} save the index, and opening a store loads it
+ * and replays anything appended after it was saved, so that a store that was not closed
+ * loses at most the writes that were not yet committed.
+ * <p>
+ * Reads go through memory-mapped segments and take no locks. Writes are serialized. With
+ * {@link Builder#syncWrites(boolean)}, each write returns only once it is on disk; concurrent
+ * writers share each sync, so that throughput grows with the number of writers. Otherwise
+ * writes are on disk after {@link #commit()}.
+ * <p>
+ * A store may be used from any number of threads, but only by one process at a time.
+ */
+public final class AdmDocumentStore implements Closeable {
+    private static final String INDEX_FILE = "index.admi";
+    private static final byte[] INDEX_MAGIC = {'A', 'D', 'M', 'I'};
+    private static final int INDEX_VERSION = 1;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+
+    private final File directory;
+    private final int segmentSize;
+    private final boolean syncWrites;
+    private final String keyField;
+    private final ConcurrentMap<String, Location> index;
+    private final NavigableMap<Integer, StoreSegment> segments;
+    private final Object writeLock;
+    private final Object syncLock;
+    private StoreSegment active;
+    private long appended;
+    private long durable;
+    private volatile boolean closed;
+
+    /*
+     * Where a document is. Compaction maps the whole of a segment before closing it,
+     * so a reader that holds a location can read it even if compaction removes the segment.
+     */
+    private static final class Location {
+        final StoreSegment segment;
+        final int position;
+
+        Location(StoreSegment segment, int position) {
+            this.segment = segment;
+            this.position = position;
+        }
+    }
+
+    private AdmDocumentStore(Builder builder) {
+        this.directory = builder.directory;
+        this.segmentSize = builder.segmentSize;
+        this.syncWrites = builder.syncWrites;
+        this.keyField = builder.keyField;
+        this.index = new ConcurrentHashMap<>();
+        this.segments = Maps.newTreeMap();
+        this.writeLock = new Object();
+        this.syncLock = new Object();
+    }
+
+    /**
+     * Builds {@link AdmDocumentStore} objects.
+     */
+    public static class Builder {
+        private final File directory;
+        private int segmentSize = 256 << 20;
+        private boolean syncWrites;
+        private String keyField;
+
+        /**
+         * Constructs a builder for a store in a directory. The directory is created if it does not exist.
+         *
+         * @param directory the directory
+         */
+        public Builder(File directory) {
+            this.directory = directory;
+        }
+
+        /**
+         * Sets the size at which a new segment file is started. The default is 256MB.
+         *
+         * @param segmentSize the size, in bytes
+         * @return this
+         */
+        public Builder segmentSize(int segmentSize) {
+            if (segmentSize <= StoreSegment.HEADER_SIZE) {
+                throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+            }
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        /**
+         * Specifies whether each write waits until it is on disk. The default is false.
+         *
+         * @param syncWrites whether to sync
+         * @return this
+         */
+        public Builder syncWrites(boolean syncWrites) {
+            this.syncWrites = syncWrites;
+            return this;
+        }
+
+        /**
+         * Specifies a document metadata field that holds the id of each document,
+         * for {@link AdmDocumentStore#put(AnnotatedText)}.
+         *
+         * @param keyField the field
+         * @return this
+         */
+        public Builder keyField(String keyField) {
+            this.keyField = keyField;
+            return this;
+        }
+
+        /**
+         * Opens the store, recovering it if it was not closed.
+         *
+         * @return the store
+         * @throws IOException if the directory cannot be read or written
+         * @throws AdmBinaryException if the directory contains corrupt segments
+         */
+        public AdmDocumentStore open() throws IOException {
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Failed to create " + directory);
+            }
+            AdmDocumentStore store = new AdmDocumentStore(this);
+            try {
+                store.load();
+            } catch (IOException | RuntimeException e) {
+                store.closeSegments();
+                throw e;
+            }
+            return store;
+        }
+    }
+
+    /**
+     * Opens a store with the default settings.
+     *
+     * @param directory the directory
+     * @return the store
+     * @throws IOException if the directory cannot be read or written
+     */
+    public static AdmDocumentStore open(File directory) throws IOException {
+        return new Builder(directory).open();
+    }
+
+    private void load() throws IOException {
+        List<Integer> ids = Lists.newArrayList();
+        File[] files = directory.listFiles();
+        for (File file : files == null ? new File[0] : files) {
+            String name = file.getName();
+            if (name.matches("\\d{8}\\.adms")) {
+                ids.add(Integer.parseInt(name.substring(0, 8)));
+            }
+        }
+        Collections.sort(ids);
+        SavedIndex saved = readIndex();
+        if (saved != null && !ids.containsAll(saved.segments)) {
+            saved = null;
+        }
+        for (int id : ids) {
+            File file = new File(directory, StoreSegment.fileName(id));
+            if (saved != null && id <= saved.lastSegment && !saved.segments.contains(id)) {
+                // the input of a compaction that finished saving its index.
+                Files.delete(file.toPath());
+            } else {
+                segments.put(id, StoreSegment.open(file, id));
+            }
+        }
+        if (saved != null) {
+            for (Map.Entry<String, long[]> entry : saved.entries.entrySet()) {
+                StoreSegment segment = segments.get((int) entry.getValue()[0]);
+                index.put(entry.getKey(), new Location(segment, (int) entry.getValue()[1]));
+            }
+        }
+        for (StoreSegment segment : segments.values()) {
+            if (saved == null || segment.id > saved.lastSegment) {
+                replay(segment, StoreSegment.HEADER_SIZE);
+            } else if (segment.id == saved.lastSegment) {
+                replay(segment, saved.lastLength);
+            }
+        }
+        if (segments.isEmpty()) {
+            StoreSegment first = StoreSegment.create(directory, 1);
+            segments.put(first.id, first);
+        }
+        active = segments.lastEntry().getValue();
+    }
+
+    private void replay(final StoreSegment segment, int from) throws IOException {
+        segment.recover(from, new StoreSegment.RecordVisitor() {
+            @Override
+            public void visit(int position, ByteBuffer body) throws IOException {
+                byte type = body.get(0);
+                String key = readKey(body);
+                if (type == PUT) {
+                    index.put(key, new Location(segment, position));
+                } else {
+                    index.remove(key);
+                }
+            }
+        });
+    }
+
+    private static String readKey(ByteBuffer body) {
+        ByteBuffer buffer = body.duplicate();
+        buffer.position(1);
+        int length = buffer.getShort() & 0xFFFF;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, Charsets.UTF_8);
+    }
+
+    private static ByteBuffer body(byte type, String key, byte[] document) {
+        byte[] keyBytes = key.getBytes(Charsets.UTF_8);
+        if (keyBytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Document id too long");
+        }
+        ByteBuffer body = ByteBuffer.allocate(3 + keyBytes.length + document.length);
+        body.put(type).putShort((short) keyBytes.length).put(keyBytes).put(document).flip();
+        return body;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Document store is closed");
+        }
+    }
+
+    /**
+     * Stores a document, superseding any document with the same id.
+     *
+     * @param id the id
+     * @param text the document
+     * @throws IOException if the write fails
+     */
+    public void put(String id, AnnotatedText text) throws IOException {
+        append(body(PUT, id, AdmBinary.encode(text)), id, true);
+    }
+
+    /**
+     * Stores a document under the id in its document metadata, as specified by {@link Builder#keyField(String)}.
+     *
+     * @param text the document
+     * @throws IOException if the write fails
+     * @throws IllegalArgumentException if the document has no id
+     */
+    public void put(AnnotatedText text) throws IOException {
+        if (keyField == null) {
+            throw new IllegalStateException("No key field for this store");
+        }
+        List<String> values = text.getDocumentMetadata().get(keyField);
+        if (values == null || values.isEmpty()) {
+            throw new IllegalArgumentException("Document has no " + keyField);
+        }
+        put(values.get(0), text);
+    }
+
+    /**
+     * Removes a document.
+     *
+     * @param id the id
+     * @return whether there was a document with the id.
+     * @throws IOException if the write fails
+     */
+    public boolean remove(String id) throws IOException {
+        return append(body(REMOVE, id, new byte[0]), id, false);
+    }
+
+    private boolean append(ByteBuffer body, String id, boolean put) throws IOException {
+        ByteBuffer record = StoreSegment.record(body);
+        long sequence;
+        boolean existed;
+        synchronized (writeLock) {
+            checkOpen();
+            if (active.length() + record.remaining() > segmentSize && active.length() > StoreSegment.HEADER_SIZE) {
+                roll();
+            }
+            int position = active.append(record);
+            Location previous = put ? index.put(id, new Location(active, position)) : index.remove(id);
+            existed = previous != null;
+            sequence = ++appended;
+        }
+        if (syncWrites) {
+            awaitDurable(sequence);
+        }
+        return existed;
+    }
+
+    /* Seals the active segment and starts a new one. */
+    private void roll() throws IOException {
+        active.force();
+        active = StoreSegment.create(directory, active.id + 1);
+        segments.put(active.id, active);
+    }
+
+    /*
+     * Group commit: one thread syncs everything appended so far, while the others wait for it;
+     * the ones whose writes it covered return without syncing again.
+     */
+    private void awaitDurable(long sequence) throws IOException {
+        synchronized (syncLock) {
+            if (durable >= sequence) {
+                return;
+            }
+            StoreSegment target;
+            long upTo;
+            synchronized (writeLock) {
+                target = active;
+                upTo = appended;
+            }
+            // records before this segment were synced when it was started.
+            target.force();
+            durable = upTo;
+        }
+    }
+
+    /**
+     * Waits until all of the writes so far are on disk.
+     *
+     * @throws IOException if the sync fails
+     */
+    public void commit() throws IOException {
+        long sequence;
+        synchronized (writeLock) {
+            checkOpen();
+            sequence = appended;
+        }
+        awaitDurable(sequence);
+    }
+
+    /**
+     * Fetches a document.
+     *
+     * @param id the id
+     * @return the document, or {@code null} if there is none with the id.
+     * @throws IOException if the read fails
+     */
+    public AnnotatedText get(String id) throws IOException {
+        byte[] bytes = getEncoded(id);
+        return bytes == null ? null : AdmBinary.decode(bytes);
+    }
+
+    /**
+     * Fetches a document without decoding it.
+     *
+     * @param id the id
+     * @return the document as a stream in the binary format, or {@code null} if there is none with the id.
+     * @throws IOException if the read fails
+     */
+    public byte[] getEncoded(String id) throws IOException {
+        checkOpen();
+        Location location = index.get(id);
+        if (location == null) {
+            return null;
+        }
+        ByteBuffer body = location.segment.body(location.position);
+        body.position(3 + (body.getShort(1) & 0xFFFF));
+        byte[] bytes = new byte[body.remaining()];
+        body.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * @param id an id
+     * @return whether the store has a document with the id.
+     */
+    public boolean contains(String id) {
+        return index.containsKey(id);
+    }
+
+    /**
+     * @return the number of documents.
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Rewrites the current version of each document into new segments, and deletes the old segments.
+     * Writes wait while this runs; reads do not.
+     *
+     * @throws IOException if the directory cannot be written
+     */
+    public void compact() throws IOException {
+        synchronized (writeLock) {
+            checkOpen();
+            List<StoreSegment> old = Lists.newArrayList(segments.values());
+            active.force();
+            StoreSegment output = StoreSegment.create(directory, active.id + 1);
+            segments.put(output.id, output);
+            for (Map.Entry<String, Location> entry : index.entrySet()) {
+                ByteBuffer record = entry.getValue().segment.record(entry.getValue().position);
+                if (output.length() + record.remaining() > segmentSize && output.length() > StoreSegment.HEADER_SIZE) {
+                    output.force();
+                    output = StoreSegment.create(directory, output.id + 1);
+                    segments.put(output.id, output);
+                }
+                entry.setValue(new Location(output, output.append(record)));
+            }
+            output.force();
+            active = output;
+            for (StoreSegment segment : old) {
+                segments.remove(segment.id);
+            }
+            writeIndex();
+            for (StoreSegment segment : old) {
+                segment.retire();
+                Files.delete(segment.file.toPath());
+            }
+        }
+    }
+
+    /* The saved index: the segments, the length of the last one, and the location of each document. */
+    private static final class SavedIndex {
+        final List<Integer> segments = Lists.newArrayList();
+        int lastSegment;
+        int lastLength;
+        final Map<String, long[]> entries = Maps.newHashMap();
+    }
+
+    private void writeIndex() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.write(INDEX_MAGIC);
+        output.writeByte(INDEX_VERSION);
+        output.writeInt(segments.size());
+        for (int id : segments.keySet()) {
+            output.writeInt(id);
+        }
+        output.writeInt(active.id);
+        output.writeInt(active.length());
+        output.writeInt(index.size());
+        for (Map.Entry<String, Location> entry : index.entrySet()) {
+            byte[] key = entry.getKey().getBytes(Charsets.UTF_8);
+            output.writeShort(key.length);
+            output.write(key);
+            output.writeInt(entry.getValue().segment.id);
+            output.writeInt(entry.getValue().position);
+        }
+        File temporary = new File(directory, INDEX_FILE + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temporary)) {
+            bytes.writeTo(file);
+            file.getChannel().force(false);
+        }
+        Files.move(temporary.toPath(), new File(directory, INDEX_FILE).toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /* Returns null if there is no usable index, in which case the segments are replayed from the start. */
+    private SavedIndex readIndex() throws IOException {
+        File file = new File(directory, INDEX_FILE);
+        if (!file.isFile()) {
+            return null;
+        }
+        byte[] bytes;
+        try (InputStream input = new FileInputStream(file)) {
+            bytes = ByteStreams.toByteArray(input);
+        }
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+        try {
+            byte[] magic = new byte[INDEX_MAGIC.length];
+            input.readFully(magic);
+            if (!Arrays.equals(magic, INDEX_MAGIC) || input.readUnsignedByte() > INDEX_VERSION) {
+                return null;
+            }
+            SavedIndex saved = new SavedIndex();
+            int segmentCount = input.readInt();
+            for (int x = 0; x < segmentCount; x++) {
+                saved.segments.add(input.readInt());
+            }
+            saved.lastSegment = input.readInt();
+            saved.lastLength = input.readInt();
+            int count = input.readInt();
+            for (int x = 0; x < count; x++) {
+                saved.entries.put(readIndexKey(input), new long[] {input.readInt(), input.readInt()});
+            }
+            return saved;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private static String readIndexKey(DataInputStream input) throws IOException {
+        byte[] key = new byte[input.readUnsignedShort()];
+        input.readFully(key);
+        return new String(key, Charsets.UTF_8);
+    }
+
+    private void closeSegments() throws IOException {
+        for (StoreSegment segment : segments.values()) {
+            segment.close();
+        }
+    }
+
+    /**
+     * Commits the writes, saves the index, and closes the segment files.
+     *
+     * @throws IOException if the directory cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                active.force();
+                writeIndex();
+            } finally {
+                closeSegments();
+            }
+        }
+    }
+}
@@ -0,0 +1,362 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.binary;
+
+import com.basistech.rosette.dm.AnnotatedText;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A cache of {@link AnnotatedText} documents held outside the Java heap.
+ * Documents are encoded in the binary format, optionally compressed, and copied into
+ * direct memory; they are decoded again on each {@link #get(Object)}, so the heap only
+ * holds the keys and a small entry for each document, and the garbage collector never
+ * scans the documents.
+ * <p>
+ * The cache is divided into segments by the hash of the key. Each segment has its own lock,
+ * its own share of the capacity, and its own least-recently-used order; a segment evicts its
+ * least recently used documents to make room. The memory of a segment is allocated when the cache
+ * is built and is divided into fixed-size blocks, so that it does not fragment.
+ *
+ * @param <K> the type of the keys
+ */
+public final class AdmOffHeapCache<K> {
+    private final Segment<K>[] segments;
+    private final Compression compression;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final AtomicLong evictions;
+
+    @SuppressWarnings("unchecked")
+    private AdmOffHeapCache(Builder builder) {
+        this.compression = builder.compression;
+        int blocks = (int) Math.min(Integer.MAX_VALUE / builder.blockSize, builder.capacity / builder.segments / builder.blockSize);
+        if (blocks == 0) {
+            throw new IllegalArgumentException("Capacity too small for " + builder.segments + " segments");
+        }
+        this.segments = new Segment[builder.segments];
+        this.evictions = new AtomicLong();
+        for (int x = 0; x < segments.length; x++) {
+            segments[x] = new Segment<>(blocks, builder.blockSize, evictions);
+        }
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+    }
+
+    /**
+     * Builds {@link AdmOffHeapCache} objects.
+     */
+    public static class Builder {
+        private long capacity = 64L << 20;
+        private int segments = 16;
+        private int blockSize = 1024;
+        private Compression compression = Compression.NONE;
+
+        /**
+         * Sets the total memory of the cache. The default is 64MB.
+         *
+         * @param capacity the capacity, in bytes
+         * @return this
+         */
+        public Builder capacity(long capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Sets the number of segments; more segments make for less contention between threads.
+         * The default is 16.
+         *
+         * @param segments the number of segments
+         * @return this
+         */
+        public Builder segments(int segments) {
+            if (segments <= 0) {
+                throw new IllegalArgumentException("Segment count must be positive: " + segments);
+            }
+            this.segments = segments;
+            return this;
+        }
+
+        /**
+         * Sets the unit of allocation. Each document occupies a whole number of blocks.
+         * The default is 1KB.
+         *
+         * @param blockSize the block size, in bytes
+         * @return this
+         */
+        public Builder blockSize(int blockSize) {
+            if (blockSize <= 0) {
+                throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+            }
+            this.blockSize = blockSize;
+            return this;
+        }
+
+        /**
+         * Sets the compression of the documents. The default is none.
+         *
+         * @param compression the compression
+         * @return this
+         */
+        public Builder compression(Compression compression) {
+            this.compression = compression;
+            return this;
+        }
+
+        /**
+         * Builds the cache, allocating all of its memory.
+         *
+         * @param <K> the type of the keys
+         * @return the cache
+         */
+        public <K> AdmOffHeapCache<K> build() {
+            return new AdmOffHeapCache<>(this);
+        }
+    }
+
+    /* What the heap holds for a document: the blocks it occupies and its lengths. */
+    private static final class Entry {
+        final int[] blocks;
+        final int length;
+        final int uncompressedLength;
+
+        Entry(int[] blocks, int length, int uncompressedLength) {
+            this.blocks = blocks;
+            this.length = length;
+            this.uncompressedLength = uncompressedLength;
+        }
+    }
+
+    private static final class Segment<K> {
+        private final ByteBuffer memory;
+        private final int blockSize;
+        private final int[] free;
+        private int freeCount;
+        private final LinkedHashMap<K, Entry> entries;
+        private final AtomicLong evictions;
+
+        Segment(int blocks, int blockSize, AtomicLong evictions) {
+            this.memory = ByteBuffer.allocateDirect(blocks * blockSize);
+            this.blockSize = blockSize;
+            this.free = new int[blocks];
+            for (int x = 0; x < blocks; x++) {
+                free[x] = blocks - 1 - x;
+            }
+            this.freeCount = blocks;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true);
+            this.evictions = evictions;
+        }
+
+        synchronized boolean put(K key, byte[] bytes, int uncompressedLength) {
+            release(entries.remove(key));
+            int needed = (bytes.length + blockSize - 1) / blockSize;
+            if (needed > free.length) {
+                return false;
+            }
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (freeCount < needed) {
+                release(eldest.next());
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+            int[] blocks = new int[needed];
+            for (int x = 0; x < needed; x++) {
+                blocks[x] = free[--freeCount];
+                ByteBuffer block = memory.duplicate();
+                block.position(blocks[x] * blockSize);
+                block.put(bytes, x * blockSize, Math.min(blockSize, bytes.length - x * blockSize));
+            }
+            entries.put(key, new Entry(blocks, bytes.length, uncompressedLength));
+            return true;
+        }
+
+        private void release(Entry entry) {
+            if (entry != null) {
+                for (int block : entry.blocks) {
+                    free[freeCount++] = block;
+                }
+            }
+        }
+
+        /* Returns the stored bytes and the uncompressed length, or null. */
+        synchronized Map.Entry<byte[], Integer> get(K key) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            byte[] bytes = new byte[entry.length];
+            for (int x = 0; x < entry.blocks.length; x++) {
+                ByteBuffer block = memory.duplicate();
+                block.position(entry.blocks[x] * blockSize);
+                block.get(bytes, x * blockSize, Math.min(blockSize, bytes.length - x * blockSize));
+            }
+            return new AbstractMap.SimpleImmutableEntry<>(bytes, entry.uncompressedLength);
+        }
+
+        synchronized boolean remove(K key) {
+            Entry entry = entries.remove(key);
+            release(entry);
+            return entry != null;
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        synchronized long usedBytes() {
+            return (long) (free.length - freeCount) * blockSize;
+        }
+
+        synchronized void clear() {
+            for (Entry entry : entries.values()) {
+                release(entry);
+            }
+            entries.clear();
+        }
+    }
+
+    private Segment<K> segment(Object key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16) ^ (hash >>> 7);
+        return segments[(hash & Integer.MAX_VALUE) % segments.length];
+    }
+
+    /**
+     * Caches a document, evicting least recently used documents as needed.
+     *
+     * @param key the key
+     * @param text the document
+     * @return whether the document was cached; documents larger than a segment are not.
+     */
+    public boolean put(K key, AnnotatedText text) {
+        byte[] encoded = AdmBinary.encode(text);
+        byte[] stored;
+        try {
+            stored = compression.compress(encoded, encoded.length);
+        } catch (IOException e) {
+            throw new AdmBinaryException("Failed to compress document", e);
+        }
+        Segment<K> segment = segment(key);
+        boolean cached = segment.put(key, stored, encoded.length);
+        if (!cached) {
+            segment.remove(key);
+        }
+        return cached;
+    }
+
+    /**
+     * Fetches and decodes a document.
+     *
+     * @param key the key
+     * @return the document, or {@code null} if it is not in the cache.
+     */
+    public AnnotatedText get(K key) {
+        byte[] encoded = getEncoded(key);
+        return encoded == null ? null : AdmBinary.decode(encoded);
+    }
+
+    /**
+     * Fetches a document without decoding it.
+     *
+     * @param key the key
+     * @return the document as a stream in the binary format, or {@code null} if it is not in the cache.
+     */
+    public byte[] getEncoded(K key) {
+        Map.Entry<byte[], Integer> stored = segment(key).get(key);
+        if (stored == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        byte[] encoded = new byte[stored.getValue()];
+        try {
+            compression.decompress(stored.getKey(), stored.getKey().length, encoded);
+        } catch (IOException e) {
+            throw new AdmBinaryException("Failed to decompress document", e);
+        }
+        return encoded;
+    }
+
+    /**
+     * Removes a document.
+     *
+     * @param key the key
+     * @return whether the document was in the cache.
+     */
+    public boolean remove(K key) {
+        return segment(key).remove(key);
+    }
+
+    /**
+     * Removes all of the documents.
+     */
+    public void clear() {
+        for (Segment<K> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * @return the number of documents.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return the memory occupied by documents, in bytes, counting whole blocks.
+     */
+    public long usedBytes() {
+        long used = 0;
+        for (Segment<K> segment : segments) {
+            used += segment.usedBytes();
+        }
+        return used;
+    }
+
+    /**
+     * @return the number of calls to {@link #get(Object)} or {@link #getEncoded(Object)} that found a document.
+     */
+    public long hitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of calls to {@link #get(Object)} or {@link #getEncoded(Object)} that found nothing.
+     */
+    public long missCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of documents evicted to make room for others.
+     */
+    public long evictionCount() {
+        return evictions.get();
+    }
+}
@@ -0,0 +1,148 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.binary;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+
+import java.util.List;
+
+/**
+ * Reads the primitive encodings of {@link BinaryOutput} from one encoded document.
+ */
+final class BinaryInput {
+    private final byte[] buffer;
+    private final int end;
+    private int position;
+    private final List<String> strings;
+
+    BinaryInput(byte[] buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.end = offset + length;
+        this.strings = Lists.newArrayList();
+    }
+
+    private void require(int count) {
+        if (count < 0 || end - position < count) {
+            throw new AdmBinaryException("Truncated document");
+        }
+    }
+
+    int readByte() {
+        require(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    byte[] readBytes(int count) {
+        require(count);
+        byte[] bytes = new byte[count];
+        System.arraycopy(buffer, position, bytes, 0, count);
+        position += count;
+        return bytes;
+    }
+
+    long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new AdmBinaryException("Malformed varint");
+    }
+
+    int readCount() {
+        long value = readVarint();
+        if (value < 0 || value > end - position) {
+            // every item takes at least one byte; a ten-byte varint can be negative.
+            throw new AdmBinaryException("Count larger than the document");
+        }
+        return (int) value;
+    }
+
+    long readSignedVarint() {
+        long raw = readVarint();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    int readSignedInt() {
+        return (int) readSignedVarint();
+    }
+
+    double readDouble() {
+        require(8);
+        long bits = 0;
+        for (int x = 0; x < 8; x++) {
+            bits |= (long) (buffer[position++] & 0xFF) << (8 * x);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    float readFloat() {
+        require(4);
+        int bits = 0;
+        for (int x = 0; x < 4; x++) {
+            bits |= (buffer[position++] & 0xFF) << (8 * x);
+        }
+        return Float.intBitsToFloat(bits);
+    }
+
+    float[] readFloats() {
+        long value = readVarint();
+        if (value < 0 || value > (end - position) / 4) {
+            throw new AdmBinaryException("Count larger than the document");
+        }
+        int count = (int) value;
+        float[] values = new float[count];
+        for (int x = 0; x < count; x++) {
+            values[x] = readFloat();
+        }
+        return values;
+    }
+
+    String readLiteral() {
+        int count = readCount();
+        require(count);
+        String value = new String(buffer, position, count, Charsets.UTF_8);
+        position += count;
+        return value;
+    }
+
+    String readString() {
+        long code = readVarint();
+        if (code == 0) {
+            return null;
+        }
+        if (code == 1) {
+            String value = readLiteral();
+            strings.add(value);
+            return value;
+        }
+        long index = code - 2;
+        if (index < 0 || index >= strings.size()) {
+            throw new AdmBinaryException("Reference to an undefined string");
+        }
+        return strings.get((int) index);
+    }
+
+    boolean atEnd() {
+        return position == end;
+    }
+}
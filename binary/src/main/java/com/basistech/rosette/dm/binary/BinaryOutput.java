@@ -0,0 +1,179 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.binary;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A growable buffer holding one encoded document, with the primitive encodings of the format.
+ * Strings go through a per-document string table: the first occurrence of a string is written
+ * in full, and later occurrences are written as references to it.
+ */
+final class BinaryOutput {
+    private static final int INITIAL_SIZE = 4096;
+    private byte[] buffer;
+    private int length;
+    private final Map<String, Integer> strings;
+    private final List<String> stringOrder;
+
+    BinaryOutput() {
+        buffer = new byte[INITIAL_SIZE];
+        strings = Maps.newHashMap();
+        stringOrder = Lists.newArrayList();
+    }
+
+    /**
+     * Prepares to encode another document.
+     */
+    void reset() {
+        length = 0;
+        strings.clear();
+        stringOrder.clear();
+    }
+
+    int length() {
+        return length;
+    }
+
+    int stringCount() {
+        return stringOrder.size();
+    }
+
+    /**
+     * Discards everything written after a previous point, including any strings added to the table.
+     *
+     * @param previousLength the {@link #length()} at that point
+     * @param previousStringCount the {@link #stringCount()} at that point
+     */
+    void rewind(int previousLength, int previousStringCount) {
+        length = previousLength;
+        while (stringOrder.size() > previousStringCount) {
+            strings.remove(stringOrder.remove(stringOrder.size() - 1));
+        }
+    }
+
+    void writeTo(OutputStream output) throws IOException {
+        output.write(buffer, 0, length);
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, length);
+    }
+
+    private void ensure(int needed) {
+        if (length + needed > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + needed));
+        }
+    }
+
+    void writeByte(int value) {
+        ensure(1);
+        buffer[length++] = (byte) value;
+    }
+
+    void writeBytes(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    /**
+     * Writes an unsigned value in 7-bit groups, low group first.
+     */
+    void writeVarint(long value) {
+        ensure(10);
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            buffer[length++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        buffer[length++] = (byte) remaining;
+    }
+
+    /**
+     * Writes a signed value as a zig-zag varint, so that small negative values stay small.
+     */
+    void writeSignedVarint(long value) {
+        writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    void writeDouble(double value) {
+        writeFixed64(Double.doubleToLongBits(value));
+    }
+
+    private void writeFixed64(long bits) {
+        ensure(8);
+        for (int x = 0; x < 8; x++) {
+            buffer[length++] = (byte) (bits >>> (8 * x));
+        }
+    }
+
+    void writeFloat(float value) {
+        ensure(4);
+        int bits = Float.floatToIntBits(value);
+        for (int x = 0; x < 4; x++) {
+            buffer[length++] = (byte) (bits >>> (8 * x));
+        }
+    }
+
+    /**
+     * Writes a length and then the floats, little-endian.
+     */
+    void writeFloats(float[] values) {
+        writeVarint(values.length);
+        for (float value : values) {
+            writeFloat(value);
+        }
+    }
+
+    /**
+     * Writes a string without using the string table; for large, unique, strings.
+     */
+    void writeLiteral(String value) {
+        byte[] bytes = value.getBytes(Charsets.UTF_8);
+        writeVarint(bytes.length);
+        writeBytes(bytes);
+    }
+
+    /**
+     * Writes a string, possibly null, through the string table.
+     * 0 is null, 1 is a new string that follows, and n &gt; 1 refers to string n - 2.
+     */
+    void writeString(String value) {
+        if (value == null) {
+            writeVarint(0);
+            return;
+        }
+        Integer index = strings.get(value);
+        if (index != null) {
+            writeVarint(index + 2);
+            return;
+        }
+        strings.put(value, stringOrder.size());
+        stringOrder.add(value);
+        writeVarint(1);
+        writeLiteral(value);
+    }
+}
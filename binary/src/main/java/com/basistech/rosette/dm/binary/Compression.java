@@ -0,0 +1,154 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.binary;
+
+import org.xerial.snappy.Snappy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Block compression for {@link AdmContainerWriter}. Each block is compressed on its own,
+ * so that any block can be decompressed without the others.
+ */
+public enum Compression {
+    /**
+     * Blocks are stored as they are.
+     */
+    NONE(0) {
+        @Override
+        byte[] compress(byte[] bytes, int length) {
+            return Arrays.copyOf(bytes, length);
+        }
+
+        @Override
+        void decompress(byte[] input, int inputLength, byte[] output) {
+            if (inputLength != output.length) {
+                throw new AdmBinaryException("Stored block has the wrong length");
+            }
+            System.arraycopy(input, 0, output, 0, inputLength);
+        }
+    },
+    /**
+     * Deflate, from {@code java.util.zip}; smaller and slower than Snappy.
+     */
+    DEFLATE(1) {
+        @Override
+        byte[] compress(byte[] bytes, int length) {
+            Deflater deflater = new Deflater();
+            try {
+                deflater.setInput(bytes, 0, length);
+                deflater.finish();
+                ByteArrayOutputStream output = new ByteArrayOutputStream(length / 2 + 64);
+                byte[] buffer = new byte[8192];
+                while (!deflater.finished()) {
+                    int count = deflater.deflate(buffer);
+                    output.write(buffer, 0, count);
+                }
+                return output.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+
+        @Override
+        void decompress(byte[] input, int inputLength, byte[] output) {
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(input, 0, inputLength);
+                int offset = 0;
+                while (offset < output.length && !inflater.finished()) {
+                    int count = inflater.inflate(output, offset, output.length - offset);
+                    if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    offset += count;
+                }
+                if (offset != output.length || !inflater.finished()) {
+                    throw new AdmBinaryException("Deflated block has the wrong length");
+                }
+            } catch (DataFormatException e) {
+                throw new AdmBinaryException("Corrupt deflated block", e);
+            } finally {
+                inflater.end();
+            }
+        }
+    },
+    /**
+     * Snappy; requires {@code snappy-java} at runtime.
+     */
+    SNAPPY(2) {
+        @Override
+        byte[] compress(byte[] bytes, int length) throws IOException {
+            return SnappyCodec.compress(bytes, length);
+        }
+
+        @Override
+        void decompress(byte[] input, int inputLength, byte[] output) throws IOException {
+            SnappyCodec.decompress(input, inputLength, output);
+        }
+    };
+
+    private final int id;
+
+    Compression(int id) {
+        this.id = id;
+    }
+
+    int id() {
+        return id;
+    }
+
+    static Compression forId(int id) {
+        for (Compression compression : values()) {
+            if (compression.id == id) {
+                return compression;
+            }
+        }
+        throw new AdmBinaryException("Unknown compression " + id);
+    }
+
+    /* Compresses the first length bytes. The result is exactly as long as the compressed data. */
+    abstract byte[] compress(byte[] bytes, int length) throws IOException;
+
+    /* Decompresses into all of output, which must be exactly the uncompressed length. */
+    abstract void decompress(byte[] input, int inputLength, byte[] output) throws IOException;
+
+    /* Keeps the Snappy classes from loading until a Snappy block goes by. */
+    private static final class SnappyCodec {
+        private SnappyCodec() {
+            //
+        }
+
+        static byte[] compress(byte[] bytes, int length) throws IOException {
+            byte[] output = new byte[Snappy.maxCompressedLength(length)];
+            int count = Snappy.compress(bytes, 0, length, output, 0);
+            return Arrays.copyOf(output, count);
+        }
+
+        static void decompress(byte[] input, int inputLength, byte[] output) throws IOException {
+            if (Snappy.uncompressedLength(input, 0, inputLength) != output.length) {
+                throw new AdmBinaryException("Snappy block has the wrong length");
+            }
+            Snappy.uncompress(input, 0, inputLength, output, 0);
+        }
+    }
+}
@@ -0,0 +1,504 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.binary;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.ArabicMorphoAnalysis;
+import com.basistech.rosette.dm.BaseAttribute;
+import com.basistech.rosette.dm.BaseNounPhrase;
+import com.basistech.rosette.dm.CategorizerResult;
+import com.basistech.rosette.dm.Concept;
+import com.basistech.rosette.dm.Dependency;
+import com.basistech.rosette.dm.EmbeddingCollection;
+import com.basistech.rosette.dm.Embeddings;
+import com.basistech.rosette.dm.Entity;
+import com.basistech.rosette.dm.Extent;
+import com.basistech.rosette.dm.HanMorphoAnalysis;
+import com.basistech.rosette.dm.Keyphrase;
+import com.basistech.rosette.dm.KoreanMorphoAnalysis;
+import com.basistech.rosette.dm.LanguageDetection;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.Mention;
+import com.basistech.rosette.dm.MorphoAnalysis;
+import com.basistech.rosette.dm.ScriptRegion;
+import com.basistech.rosette.dm.Sentence;
+import com.basistech.rosette.dm.Token;
+import com.basistech.rosette.dm.jackson.AdmCodecs;
+import com.basistech.rosette.dm.util.AdmEvents;
+import com.basistech.util.ISO15924;
+import com.basistech.util.LanguageCode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes documents written by {@link DocumentEncoder}, building the usual model objects.
+ */
+final class DocumentDecoder {
+    private static final ObjectReader EMBEDDED_READER = AdmCodecs.reader(AdmCodecs.Format.ARRAY, AdmCodecs.Encoding.JSON);
+
+    private BinaryInput input;
+    private String data;
+    /* The end offset of the previous item in the list being read. */
+    private int previousEnd;
+
+    AnnotatedText decode(byte[] buffer, int offset, int length) {
+        if (AdmEvents.ENABLED) {
+            AdmEvents.Event event = AdmEvents.begin(AdmEvents.Kind.DESERIALIZE);
+            AnnotatedText text = decodeDocument(buffer, offset, length);
+            if (event != null) {
+                event.complete("binary", length, text.getStoredAttributes().size());
+            }
+            return text;
+        }
+        return decodeDocument(buffer, offset, length);
+    }
+
+    private AnnotatedText decodeDocument(byte[] buffer, int offset, int length) {
+        input = new BinaryInput(buffer, offset, length);
+        AnnotatedText.Builder builder = new AnnotatedText.Builder();
+        int flags = input.readByte();
+        data = (flags & Tags.HAS_DATA) != 0 ? input.readLiteral() : null;
+        builder.data(data);
+        int metadataCount = input.readCount();
+        for (int x = 0; x < metadataCount; x++) {
+            String key = input.readString();
+            builder.documentMetadata(key, readStrings());
+        }
+        int attributeCount = input.readCount();
+        for (int x = 0; x < attributeCount; x++) {
+            String key = input.readString();
+            builder.attributes().put(key, readAttribute(key));
+        }
+        if (!input.atEnd()) {
+            throw new AdmBinaryException("Unexpected data after the document");
+        }
+        return builder.build();
+    }
+
+    private BaseAttribute readAttribute(String key) {
+        int tag = input.readByte();
+        switch (tag) {
+        case Tags.EMBEDDED:
+            return readEmbedded(key);
+        case Tags.LANGUAGE_DETECTION:
+            previousEnd = 0;
+            return readLanguageDetection();
+        case Tags.EMBEDDINGS:
+            return readEmbeddings();
+        default:
+            return readList(tag);
+        }
+    }
+
+    private BaseAttribute readEmbedded(String key) {
+        byte[] bytes = input.readBytes(input.readCount());
+        try {
+            AnnotatedText text = EMBEDDED_READER.readValue(bytes);
+            return text.getStoredAttributes().get(key);
+        } catch (IOException e) {
+            throw new AdmBinaryException("Failed to decode attribute " + key, e);
+        }
+    }
+
+    private static Class<? extends BaseAttribute> itemClass(int tag) {
+        switch (tag) {
+        case Tags.TOKENS:
+            return Token.class;
+        case Tags.SENTENCES:
+            return Sentence.class;
+        case Tags.SCRIPT_REGIONS:
+            return ScriptRegion.class;
+        case Tags.BASE_NOUN_PHRASES:
+            return BaseNounPhrase.class;
+        case Tags.ENTITIES:
+            return Entity.class;
+        case Tags.LANGUAGE_DETECTIONS:
+            return LanguageDetection.class;
+        case Tags.CATEGORIZER_RESULTS:
+            return CategorizerResult.class;
+        case Tags.DEPENDENCIES:
+            return Dependency.class;
+        case Tags.CONCEPTS:
+            return Concept.class;
+        case Tags.KEYPHRASES:
+            return Keyphrase.class;
+        default:
+            throw new AdmBinaryException("Unknown attribute record " + tag);
+        }
+    }
+
+    private ListAttribute<BaseAttribute> readList(int tag) {
+        ListAttribute.Builder<BaseAttribute> builder = new ListAttribute.Builder<>(itemClass(tag));
+        builder.extendedProperties(readExtendedProperties());
+        int count = input.readCount();
+        previousEnd = 0;
+        for (int x = 0; x < count; x++) {
+            builder.add(readItem(tag));
+        }
+        return builder.build();
+    }
+
+    private BaseAttribute readItem(int tag) {
+        switch (tag) {
+        case Tags.TOKENS:
+            return readToken();
+        case Tags.SENTENCES:
+            Sentence.Builder sentence = new Sentence.Builder(readStart(), readEnd());
+            sentence.extendedProperties(readExtendedProperties());
+            return sentence.build();
+        case Tags.BASE_NOUN_PHRASES:
+            BaseNounPhrase.Builder phrase = new BaseNounPhrase.Builder(readStart(), readEnd());
+            phrase.extendedProperties(readExtendedProperties());
+            return phrase.build();
+        case Tags.SCRIPT_REGIONS:
+            return readScriptRegion();
+        case Tags.ENTITIES:
+            return readEntity();
+        case Tags.LANGUAGE_DETECTIONS:
+            return readLanguageDetection();
+        case Tags.CATEGORIZER_RESULTS:
+            return readCategorizerResult();
+        case Tags.DEPENDENCIES:
+            return readDependency();
+        case Tags.CONCEPTS:
+            return readConcept();
+        default:
+            return readKeyphrase();
+        }
+    }
+
+    /* The start offset comes first, relative to the previous end; the end offset is relative to the start. */
+    private int readStart() {
+        previousEnd += input.readSignedInt();
+        return previousEnd;
+    }
+
+    private int readEnd() {
+        previousEnd += input.readSignedInt();
+        return previousEnd;
+    }
+
+    private ScriptRegion readScriptRegion() {
+        int start = readStart();
+        int end = readEnd();
+        String code = input.readString();
+        ISO15924 script = code == null ? null : ISO15924.lookupByCode4(code);
+        ScriptRegion.Builder builder = new ScriptRegion.Builder(start, end, script);
+        builder.extendedProperties(readExtendedProperties());
+        return builder.build();
+    }
+
+    private List<String> readStrings() {
+        int count = input.readCount();
+        List<String> strings = Lists.newArrayListWithCapacity(count);
+        for (int x = 0; x < count; x++) {
+            strings.add(input.readString());
+        }
+        return strings;
+    }
+
+    private List<String> readNullableStrings() {
+        int count = input.readCount();
+        if (count == 0) {
+            return null;
+        }
+        List<String> strings = Lists.newArrayListWithCapacity(count - 1);
+        for (int x = 0; x < count - 1; x++) {
+            strings.add(input.readString());
+        }
+        return strings;
+    }
+
+    private List<Token> readTokens() {
+        int count = input.readCount();
+        List<Token> tokens = Lists.newArrayListWithCapacity(count);
+        int savedEnd = previousEnd;
+        previousEnd = 0;
+        for (int x = 0; x < count; x++) {
+            tokens.add(readToken());
+        }
+        previousEnd = savedEnd;
+        return tokens;
+    }
+
+    private Token readToken() {
+        int start = readStart();
+        int end = readEnd();
+        boolean fromData = input.readByte() != 0;
+        String text;
+        if (fromData) {
+            if (data == null || start < 0 || start > end || end > data.length()) {
+                throw new AdmBinaryException("Token offsets outside the data");
+            }
+            text = data.substring(start, end);
+        } else {
+            text = input.readString();
+        }
+        Token.Builder builder = new Token.Builder(start, end, text);
+        builder.normalized(readStrings());
+        builder.source(input.readString());
+        int analysisCount = input.readCount();
+        List<MorphoAnalysis> analyses = Lists.newArrayListWithCapacity(analysisCount);
+        for (int x = 0; x < analysisCount; x++) {
+            analyses.add(readAnalysis());
+        }
+        builder.analyses(analyses);
+        builder.extendedProperties(readExtendedProperties());
+        return builder.build();
+    }
+
+    private MorphoAnalysis readAnalysis() {
+        int kind = input.readByte();
+        MorphoAnalysis.Builder<?, ?> builder = newAnalysisBuilder(kind);
+        builder.partOfSpeech(input.readString());
+        builder.lemma(input.readString());
+        builder.raw(input.readString());
+        builder.components(readTokens());
+        builder.extendedProperties(readExtendedProperties());
+        switch (kind) {
+        case Tags.MORPHO_HAN:
+            return ((HanMorphoAnalysis.Builder) builder).readings(readStrings()).build();
+        case Tags.MORPHO_ARABIC:
+            return readArabic((ArabicMorphoAnalysis.Builder) builder);
+        case Tags.MORPHO_KOREAN:
+            return ((KoreanMorphoAnalysis.Builder) builder).morphemes(readStrings(), readStrings()).build();
+        default:
+            return builder.build();
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static MorphoAnalysis.Builder<?, ?> newAnalysisBuilder(int kind) {
+        switch (kind) {
+        case Tags.MORPHO_PLAIN:
+            return new MorphoAnalysis.Builder();
+        case Tags.MORPHO_HAN:
+            return new HanMorphoAnalysis.Builder();
+        case Tags.MORPHO_ARABIC:
+            return new ArabicMorphoAnalysis.Builder();
+        case Tags.MORPHO_KOREAN:
+            return new KoreanMorphoAnalysis.Builder();
+        default:
+            throw new AdmBinaryException("Unknown analysis kind " + kind);
+        }
+    }
+
+    private ArabicMorphoAnalysis readArabic(ArabicMorphoAnalysis.Builder builder) {
+        builder.lengths(input.readSignedInt(), input.readSignedInt());
+        builder.root(input.readString());
+        int flags = input.readByte();
+        builder.definiteArticle((flags & 1) != 0);
+        builder.strippablePrefix((flags & 2) != 0);
+        builder.prefixes(readStrings(), readStrings());
+        builder.stems(readStrings(), readStrings());
+        builder.suffixes(readStrings(), readStrings());
+        return builder.build();
+    }
+
+    private Entity readEntity() {
+        int flags = input.readByte();
+        Entity.Builder builder = new Entity.Builder();
+        if ((flags & 1) != 0) {
+            builder.headMentionIndex(input.readSignedInt());
+        }
+        if ((flags & 2) != 0) {
+            builder.confidence(input.readDouble());
+        }
+        if ((flags & 4) != 0) {
+            builder.salience(input.readDouble());
+        }
+        builder.entityId(input.readString());
+        builder.type(input.readString());
+        int mentionCount = input.readCount();
+        int savedEnd = previousEnd;
+        previousEnd = 0;
+        for (int x = 0; x < mentionCount; x++) {
+            builder.mention(readMention());
+        }
+        previousEnd = savedEnd;
+        int sentimentCount = input.readCount();
+        for (int x = 0; x < sentimentCount; x++) {
+            builder.sentiment(readCategorizerResult());
+        }
+        builder.extendedProperties(readExtendedProperties());
+        return builder.build();
+    }
+
+    private Mention readMention() {
+        Mention.Builder builder = new Mention.Builder(readStart(), readEnd());
+        if ((input.readByte() & 1) != 0) {
+            builder.confidence(input.readDouble());
+        }
+        builder.source(input.readString());
+        builder.subsource(input.readString());
+        builder.normalized(input.readString());
+        builder.extendedProperties(readExtendedProperties());
+        return builder.build();
+    }
+
+    private LanguageDetection readLanguageDetection() {
+        int start = readStart();
+        int end = readEnd();
+        int count = input.readCount();
+        List<LanguageDetection.DetectionResult> results = Lists.newArrayListWithCapacity(count);
+        for (int x = 0; x < count; x++) {
+            String language = input.readString();
+            LanguageDetection.DetectionResult.Builder builder = new LanguageDetection.DetectionResult.Builder(
+                    language == null ? null : LanguageCode.lookupByISO639(language));
+            builder.encoding(input.readString());
+            String script = input.readString();
+            builder.script(script == null ? null : ISO15924.lookupByCode4(script));
+            if ((input.readByte() & 1) != 0) {
+                builder.confidence(input.readDouble());
+            }
+            builder.extendedProperties(readExtendedProperties());
+            results.add(builder.build());
+        }
+        LanguageDetection.Builder builder = new LanguageDetection.Builder(start, end, results);
+        builder.extendedProperties(readExtendedProperties());
+        return builder.build();
+    }
+
+    private CategorizerResult readCategorizerResult() {
+        String label = input.readString();
+        int flags = input.readByte();
+        Double score = (flags & 1) != 0 ? input.readDouble() : null;
+        CategorizerResult.Builder builder = new CategorizerResult.Builder(label, score);
+        if ((flags & 2) != 0) {
+            builder.confidence(input.readDouble());
+        }
+        builder.explanationSet(readNullableStrings());
+        if ((flags & 4) != 0) {
+            int count = input.readCount();
+            Map<String, Double> scores = Maps.newLinkedHashMap();
+            for (int x = 0; x < count; x++) {
+                scores.put(input.readString(), input.readDouble());
+            }
+            builder.perFeatureScores(scores);
+        }
+        builder.extendedProperties(readExtendedProperties());
+        return builder.build();
+    }
+
+    private Dependency readDependency() {
+        String relationship = input.readString();
+        int governor = input.readSignedInt();
+        int dependent = input.readSignedInt();
+        return new Dependency.Builder(relationship, governor, dependent).extendedProperties(readExtendedProperties()).build();
+    }
+
+    private Concept readConcept() {
+        Concept.Builder builder = new Concept.Builder(input.readString(), input.readString());
+        if ((input.readByte() & 1) != 0) {
+            builder.salience(input.readDouble());
+        }
+        return builder.extendedProperties(readExtendedProperties()).build();
+    }
+
+    private Keyphrase readKeyphrase() {
+        String phrase = input.readString();
+        Double salience = (input.readByte() & 1) != 0 ? input.readDouble() : null;
+        int count = input.readCount();
+        List<Extent> extents = Lists.newArrayListWithCapacity(count);
+        int savedEnd = previousEnd;
+        previousEnd = 0;
+        for (int x = 0; x < count; x++) {
+            Extent.Builder extent = new Extent.Builder(readStart(), readEnd());
+            extent.extendedProperties(readExtendedProperties());
+            extents.add(extent.build());
+        }
+        previousEnd = savedEnd;
+        return new Keyphrase.Builder(phrase, extents).salience(salience).extendedProperties(readExtendedProperties()).build();
+    }
+
+    private Embeddings readEmbeddings() {
+        int count = input.readCount();
+        Embeddings.Builder builder = new Embeddings.Builder();
+        for (int x = 0; x < count; x++) {
+            String name = input.readString();
+            Embeddings.Name collectionName;
+            try {
+                collectionName = Embeddings.Name.valueOf(name);
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new AdmBinaryException("Unknown embedding collection " + name, e);
+            }
+            int vectorCount = input.readCount();
+            EmbeddingCollection.Builder collection = new EmbeddingCollection.Builder();
+            for (int y = 0; y < vectorCount; y++) {
+                collection.put(input.readSignedInt(), input.readFloats());
+            }
+            builder.put(collectionName, collection.build());
+        }
+        return builder.extendedProperties(readExtendedProperties()).build();
+    }
+
+    private Map<String, Object> readExtendedProperties() {
+        int count = input.readCount();
+        if (count == 0) {
+            return ImmutableMap.of();
+        }
+        Map<String, Object> properties = Maps.newLinkedHashMap();
+        for (int x = 0; x < count; x++) {
+            properties.put(input.readString(), readValue());
+        }
+        return properties;
+    }
+
+    private Object readValue() {
+        int tag = input.readByte();
+        switch (tag) {
+        case Tags.VALUE_NULL:
+            return null;
+        case Tags.VALUE_FALSE:
+            return Boolean.FALSE;
+        case Tags.VALUE_TRUE:
+            return Boolean.TRUE;
+        case Tags.VALUE_INT:
+            return input.readSignedInt();
+        case Tags.VALUE_LONG:
+            return input.readSignedVarint();
+        case Tags.VALUE_DOUBLE:
+            return input.readDouble();
+        case Tags.VALUE_FLOAT:
+            return input.readFloat();
+        case Tags.VALUE_STRING:
+            return input.readString();
+        case Tags.VALUE_LIST:
+            int count = input.readCount();
+            List<Object> list = Lists.newArrayListWithCapacity(count);
+            for (int x = 0; x < count; x++) {
+                list.add(readValue());
+            }
+            return list;
+        case Tags.VALUE_MAP:
+            int size = input.readCount();
+            Map<String, Object> map = Maps.newLinkedHashMap();
+            for (int x = 0; x < size; x++) {
+                map.put(input.readString(), readValue());
+            }
+            return map;
+        default:
+            throw new AdmBinaryException("Unknown value tag " + tag);
+        }
+    }
+}
@@ -0,0 +1,522 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.binary;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.ArabicMorphoAnalysis;
+import com.basistech.rosette.dm.Attribute;
+import com.basistech.rosette.dm.BaseAttribute;
+import com.basistech.rosette.dm.CategorizerResult;
+import com.basistech.rosette.dm.Concept;
+import com.basistech.rosette.dm.DeferredAttribute;
+import com.basistech.rosette.dm.Dependency;
+import com.basistech.rosette.dm.EmbeddingCollection;
+import com.basistech.rosette.dm.Embeddings;
+import com.basistech.rosette.dm.Entity;
+import com.basistech.rosette.dm.Extent;
+import com.basistech.rosette.dm.HanMorphoAnalysis;
+import com.basistech.rosette.dm.Keyphrase;
+import com.basistech.rosette.dm.KoreanMorphoAnalysis;
+import com.basistech.rosette.dm.LanguageDetection;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.Mention;
+import com.basistech.rosette.dm.MorphoAnalysis;
+import com.basistech.rosette.dm.ScriptRegion;
+import com.basistech.rosette.dm.Token;
+import com.basistech.rosette.dm.jackson.AdmCodecs;
+import com.basistech.rosette.dm.util.AdmEvents;
+import com.basistech.util.ISO15924;
+import com.basistech.util.LanguageCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes one {@link AnnotatedText} at a time into a reusable buffer.
+ * Attributes without a native record, or with content that the native records
+ * cannot represent, are embedded in the array JSON format.
+ */
+final class DocumentEncoder {
+    private static final ObjectWriter EMBEDDED_WRITER = AdmCodecs.writer(AdmCodecs.Format.ARRAY, AdmCodecs.Encoding.JSON);
+
+    private final BinaryOutput output = new BinaryOutput();
+    private String data;
+    /* The end offset of the previous item in the list being written; offsets are written relative to it. */
+    private int previousEnd;
+
+    /**
+     * Signals content that the native records cannot represent.
+     */
+    private static final class NotEncodableException extends RuntimeException {
+        private static final long serialVersionUID = 222L;
+
+        NotEncodableException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    BinaryOutput encode(AnnotatedText text) {
+        if (AdmEvents.ENABLED) {
+            AdmEvents.Event event = AdmEvents.begin(AdmEvents.Kind.SERIALIZE);
+            encodeDocument(text);
+            if (event != null) {
+                event.complete("binary", output.length(), text.getStoredAttributes().size());
+            }
+        } else {
+            encodeDocument(text);
+        }
+        return output;
+    }
+
+    private void encodeDocument(AnnotatedText text) {
+        output.reset();
+        data = text.getData() == null ? null : text.getData().toString();
+        output.writeByte(data == null ? 0 : Tags.HAS_DATA);
+        if (data != null) {
+            output.writeLiteral(data);
+        }
+        Map<String, List<String>> metadata = text.getDocumentMetadata();
+        output.writeVarint(metadata.size());
+        for (Map.Entry<String, List<String>> me : metadata.entrySet()) {
+            output.writeString(me.getKey());
+            writeStrings(me.getValue());
+        }
+        Map<String, BaseAttribute> attributes = text.getStoredAttributes();
+        output.writeVarint(attributes.size());
+        for (Map.Entry<String, BaseAttribute> me : attributes.entrySet()) {
+            writeAttribute(me.getKey(), me.getValue());
+        }
+    }
+
+    private void writeAttribute(String key, BaseAttribute stored) {
+        BaseAttribute value = stored instanceof DeferredAttribute ? ((DeferredAttribute) stored).resolve() : stored;
+        output.writeString(key);
+        int length = output.length();
+        int strings = output.stringCount();
+        try {
+            writeNative(value);
+        } catch (NotEncodableException e) {
+            output.rewind(length, strings);
+            writeEmbedded(key, value);
+        }
+    }
+
+    private void writeEmbedded(String key, BaseAttribute value) {
+        AnnotatedText.Builder builder = new AnnotatedText.Builder();
+        builder.attributes().put(key, value);
+        byte[] bytes;
+        try {
+            bytes = EMBEDDED_WRITER.writeValueAsBytes(builder.build());
+        } catch (JsonProcessingException e) {
+            throw new AdmBinaryException("Failed to encode attribute " + key, e);
+        }
+        output.writeByte(Tags.EMBEDDED);
+        output.writeVarint(bytes.length);
+        output.writeBytes(bytes);
+    }
+
+    private void writeNative(BaseAttribute value) {
+        if (value instanceof ListAttribute) {
+            writeList((ListAttribute<?>) value);
+        } else if (value.getClass() == LanguageDetection.class) {
+            output.writeByte(Tags.LANGUAGE_DETECTION);
+            previousEnd = 0;
+            writeLanguageDetection((LanguageDetection) value);
+        } else if (value.getClass() == Embeddings.class) {
+            output.writeByte(Tags.EMBEDDINGS);
+            writeEmbeddings((Embeddings) value);
+        } else {
+            throw new NotEncodableException(value.getClass().getName());
+        }
+    }
+
+    private void writeList(ListAttribute<?> list) {
+        int tag = Tags.listTag(list.getItemClass());
+        if (tag < 0) {
+            throw new NotEncodableException(list.getItemClass().getName());
+        }
+        output.writeByte(tag);
+        writeExtendedProperties(list.getExtendedProperties());
+        output.writeVarint(list.size());
+        previousEnd = 0;
+        for (BaseAttribute item : list) {
+            checkClass(item, list.getItemClass());
+            writeItem(tag, item);
+        }
+    }
+
+    private static void checkClass(Object item, Class<?> expected) {
+        if (item == null || item.getClass() != expected) {
+            throw new NotEncodableException(item == null ? "null item" : item.getClass().getName());
+        }
+    }
+
+    private void writeItem(int tag, BaseAttribute item) {
+        switch (tag) {
+        case Tags.TOKENS:
+            writeToken((Token) item);
+            break;
+        case Tags.SCRIPT_REGIONS:
+            writeOffsets((Attribute) item);
+            output.writeString(code((ScriptRegion) item));
+            writeExtendedProperties(item.getExtendedProperties());
+            break;
+        case Tags.SENTENCES:
+        case Tags.BASE_NOUN_PHRASES:
+            writeOffsets((Attribute) item);
+            writeExtendedProperties(item.getExtendedProperties());
+            break;
+        case Tags.ENTITIES:
+            writeEntity((Entity) item);
+            break;
+        case Tags.LANGUAGE_DETECTIONS:
+            writeLanguageDetection((LanguageDetection) item);
+            break;
+        case Tags.CATEGORIZER_RESULTS:
+            writeCategorizerResult((CategorizerResult) item);
+            break;
+        case Tags.DEPENDENCIES:
+            writeDependency((Dependency) item);
+            break;
+        case Tags.CONCEPTS:
+            writeConcept((Concept) item);
+            break;
+        case Tags.KEYPHRASES:
+            writeKeyphrase((Keyphrase) item);
+            break;
+        default:
+            throw new NotEncodableException("tag " + tag);
+        }
+    }
+
+    private static String code(ScriptRegion region) {
+        return region.getScript() == null ? null : region.getScript().code4();
+    }
+
+    private void writeOffsets(Attribute attribute) {
+        output.writeSignedVarint(attribute.getStartOffset() - previousEnd);
+        output.writeSignedVarint(attribute.getEndOffset() - attribute.getStartOffset());
+        previousEnd = attribute.getEndOffset();
+    }
+
+    private static int flag(Object value, int bit) {
+        return value == null ? 0 : bit;
+    }
+
+    private void writeStrings(List<String> strings) {
+        output.writeVarint(strings == null ? 0 : strings.size());
+        if (strings != null) {
+            for (String string : strings) {
+                output.writeString(string);
+            }
+        }
+    }
+
+    /* For lists where null and empty differ. */
+    private void writeNullableStrings(List<String> strings) {
+        if (strings == null) {
+            output.writeVarint(0);
+        } else {
+            output.writeVarint(strings.size() + 1);
+            for (String string : strings) {
+                output.writeString(string);
+            }
+        }
+    }
+
+    private void writeTokens(List<Token> tokens) {
+        output.writeVarint(tokens == null ? 0 : tokens.size());
+        if (tokens != null) {
+            int savedEnd = previousEnd;
+            previousEnd = 0;
+            for (Token token : tokens) {
+                checkClass(token, Token.class);
+                writeToken(token);
+            }
+            previousEnd = savedEnd;
+        }
+    }
+
+    private void writeToken(Token token) {
+        writeOffsets(token);
+        String text = token.getText();
+        boolean fromData = text != null && data != null
+                && token.getStartOffset() >= 0 && token.getStartOffset() <= token.getEndOffset()
+                && token.getEndOffset() <= data.length()
+                && text.length() == token.getEndOffset() - token.getStartOffset()
+                && data.regionMatches(token.getStartOffset(), text, 0, text.length());
+        // the usual case: the text is in the data, at the token offsets.
+        output.writeByte(fromData ? 1 : 0);
+        if (!fromData) {
+            output.writeString(text);
+        }
+        writeStrings(token.getNormalized());
+        output.writeString(token.getSource());
+        List<MorphoAnalysis> analyses = token.getAnalyses();
+        output.writeVarint(analyses == null ? 0 : analyses.size());
+        if (analyses != null) {
+            for (MorphoAnalysis analysis : analyses) {
+                writeAnalysis(analysis);
+            }
+        }
+        writeExtendedProperties(token.getExtendedProperties());
+    }
+
+    private void writeAnalysis(MorphoAnalysis analysis) {
+        Class<?> analysisClass = analysis == null ? null : analysis.getClass();
+        if (analysisClass == MorphoAnalysis.class) {
+            output.writeByte(Tags.MORPHO_PLAIN);
+        } else if (analysisClass == HanMorphoAnalysis.class) {
+            output.writeByte(Tags.MORPHO_HAN);
+        } else if (analysisClass == ArabicMorphoAnalysis.class) {
+            output.writeByte(Tags.MORPHO_ARABIC);
+        } else if (analysisClass == KoreanMorphoAnalysis.class) {
+            output.writeByte(Tags.MORPHO_KOREAN);
+        } else {
+            throw new NotEncodableException(analysisClass == null ? "null analysis" : analysisClass.getName());
+        }
+        output.writeString(analysis.getPartOfSpeech());
+        output.writeString(analysis.getLemma());
+        output.writeString(analysis.getRaw());
+        writeTokens(analysis.getComponents());
+        writeExtendedProperties(analysis.getExtendedProperties());
+        if (analysis instanceof HanMorphoAnalysis) {
+            writeStrings(((HanMorphoAnalysis) analysis).getReadings());
+        } else if (analysis instanceof ArabicMorphoAnalysis) {
+            writeArabic((ArabicMorphoAnalysis) analysis);
+        } else if (analysis instanceof KoreanMorphoAnalysis) {
+            KoreanMorphoAnalysis korean = (KoreanMorphoAnalysis) analysis;
+            writeStrings(korean.getMorphemes());
+            writeStrings(korean.getMorphemeTags());
+        }
+    }
+
+    private void writeArabic(ArabicMorphoAnalysis arabic) {
+        output.writeSignedVarint(arabic.getPrefixLength());
+        output.writeSignedVarint(arabic.getStemLength());
+        output.writeString(arabic.getRoot());
+        output.writeByte((arabic.isDefiniteArticle() ? 1 : 0) | (arabic.isStrippablePrefix() ? 2 : 0));
+        writeStrings(arabic.getPrefixes());
+        writeStrings(arabic.getPrefixTags());
+        writeStrings(arabic.getStems());
+        writeStrings(arabic.getStemTags());
+        writeStrings(arabic.getSuffixes());
+        writeStrings(arabic.getSuffixTags());
+    }
+
+    private void writeEntity(Entity entity) {
+        output.writeByte(flag(entity.getHeadMentionIndex(), 1) | flag(entity.getConfidence(), 2) | flag(entity.getSalience(), 4));
+        if (entity.getHeadMentionIndex() != null) {
+            output.writeSignedVarint(entity.getHeadMentionIndex());
+        }
+        if (entity.getConfidence() != null) {
+            output.writeDouble(entity.getConfidence());
+        }
+        if (entity.getSalience() != null) {
+            output.writeDouble(entity.getSalience());
+        }
+        output.writeString(entity.getEntityId());
+        output.writeString(entity.getType());
+        List<Mention> mentions = entity.getMentions();
+        output.writeVarint(mentions == null ? 0 : mentions.size());
+        if (mentions != null) {
+            int savedEnd = previousEnd;
+            previousEnd = 0;
+            for (Mention mention : mentions) {
+                checkClass(mention, Mention.class);
+                writeMention(mention);
+            }
+            previousEnd = savedEnd;
+        }
+        List<CategorizerResult> sentiment = entity.getSentiment();
+        output.writeVarint(sentiment == null ? 0 : sentiment.size());
+        if (sentiment != null) {
+            for (CategorizerResult result : sentiment) {
+                checkClass(result, CategorizerResult.class);
+                writeCategorizerResult(result);
+            }
+        }
+        writeExtendedProperties(entity.getExtendedProperties());
+    }
+
+    private void writeMention(Mention mention) {
+        writeOffsets(mention);
+        output.writeByte(flag(mention.getConfidence(), 1));
+        if (mention.getConfidence() != null) {
+            output.writeDouble(mention.getConfidence());
+        }
+        output.writeString(mention.getSource());
+        output.writeString(mention.getSubsource());
+        output.writeString(mention.getNormalized());
+        writeExtendedProperties(mention.getExtendedProperties());
+    }
+
+    private void writeLanguageDetection(LanguageDetection detection) {
+        writeOffsets(detection);
+        List<LanguageDetection.DetectionResult> results = detection.getDetectionResults();
+        output.writeVarint(results == null ? 0 : results.size());
+        if (results != null) {
+            for (LanguageDetection.DetectionResult result : results) {
+                checkClass(result, LanguageDetection.DetectionResult.class);
+                LanguageCode language = result.getLanguage();
+                ISO15924 script = result.getScript();
+                output.writeString(language == null ? null : language.ISO639_3());
+                output.writeString(result.getEncoding());
+                output.writeString(script == null ? null : script.code4());
+                output.writeByte(flag(result.getConfidence(), 1));
+                if (result.getConfidence() != null) {
+                    output.writeDouble(result.getConfidence());
+                }
+                writeExtendedProperties(result.getExtendedProperties());
+            }
+        }
+        writeExtendedProperties(detection.getExtendedProperties());
+    }
+
+    private void writeCategorizerResult(CategorizerResult result) {
+        output.writeString(result.getLabel());
+        output.writeByte(flag(result.getScore(), 1) | flag(result.getConfidence(), 2) | flag(result.getPerFeatureScores(), 4));
+        if (result.getScore() != null) {
+            output.writeDouble(result.getScore());
+        }
+        if (result.getConfidence() != null) {
+            output.writeDouble(result.getConfidence());
+        }
+        writeNullableStrings(result.getExplanationSet());
+        if (result.getPerFeatureScores() != null) {
+            output.writeVarint(result.getPerFeatureScores().size());
+            for (Map.Entry<String, Double> me : result.getPerFeatureScores().entrySet()) {
+                output.writeString(me.getKey());
+                output.writeDouble(me.getValue());
+            }
+        }
+        writeExtendedProperties(result.getExtendedProperties());
+    }
+
+    private void writeDependency(Dependency dependency) {
+        output.writeString(dependency.getRelationship());
+        output.writeSignedVarint(dependency.getGovernorTokenIndex());
+        output.writeSignedVarint(dependency.getDependencyTokenIndex());
+        writeExtendedProperties(dependency.getExtendedProperties());
+    }
+
+    private void writeConcept(Concept concept) {
+        output.writeString(concept.getPhrase());
+        output.writeString(concept.getConceptId());
+        output.writeByte(flag(concept.getSalience(), 1));
+        if (concept.getSalience() != null) {
+            output.writeDouble(concept.getSalience());
+        }
+        writeExtendedProperties(concept.getExtendedProperties());
+    }
+
+    private void writeKeyphrase(Keyphrase keyphrase) {
+        output.writeString(keyphrase.getPhrase());
+        output.writeByte(flag(keyphrase.getSalience(), 1));
+        if (keyphrase.getSalience() != null) {
+            output.writeDouble(keyphrase.getSalience());
+        }
+        List<Extent> extents = keyphrase.getExtents();
+        output.writeVarint(extents == null ? 0 : extents.size());
+        if (extents != null) {
+            int savedEnd = previousEnd;
+            previousEnd = 0;
+            for (Extent extent : extents) {
+                checkClass(extent, Extent.class);
+                writeOffsets(extent);
+                writeExtendedProperties(extent.getExtendedProperties());
+            }
+            previousEnd = savedEnd;
+        }
+        writeExtendedProperties(keyphrase.getExtendedProperties());
+    }
+
+    private void writeEmbeddings(Embeddings embeddings) {
+        Map<Embeddings.Name, EmbeddingCollection> collections = embeddings.getCollections();
+        output.writeVarint(collections == null ? 0 : collections.size());
+        if (collections != null) {
+            for (Map.Entry<Embeddings.Name, EmbeddingCollection> me : collections.entrySet()) {
+                output.writeString(me.getKey().name());
+                Map<Integer, float[]> vectors = me.getValue().getEmbeddings();
+                output.writeVarint(vectors == null ? 0 : vectors.size());
+                if (vectors != null) {
+                    for (Map.Entry<Integer, float[]> vector : vectors.entrySet()) {
+                        output.writeSignedVarint(vector.getKey());
+                        output.writeFloats(vector.getValue());
+                    }
+                }
+            }
+        }
+        writeExtendedProperties(embeddings.getExtendedProperties());
+    }
+
+    private void writeExtendedProperties(Map<String, Object> properties) {
+        output.writeVarint(properties.size());
+        for (Map.Entry<String, Object> me : properties.entrySet()) {
+            output.writeString(me.getKey());
+            writeValue(me.getValue());
+        }
+    }
+
+    private void writeValue(Object value) {
+        if (value == null) {
+            output.writeByte(Tags.VALUE_NULL);
+        } else if (value instanceof Boolean) {
+            output.writeByte((Boolean) value ? Tags.VALUE_TRUE : Tags.VALUE_FALSE);
+        } else if (value instanceof Integer) {
+            output.writeByte(Tags.VALUE_INT);
+            output.writeSignedVarint((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(Tags.VALUE_LONG);
+            output.writeSignedVarint((Long) value);
+        } else if (value instanceof Double) {
+            output.writeByte(Tags.VALUE_DOUBLE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            output.writeByte(Tags.VALUE_FLOAT);
+            output.writeFloat((Float) value);
+        } else if (value instanceof String) {
+            output.writeByte(Tags.VALUE_STRING);
+            output.writeString((String) value);
+        } else if (value instanceof List) {
+            output.writeByte(Tags.VALUE_LIST);
+            List<?> list = (List<?>) value;
+            output.writeVarint(list.size());
+            for (Object item : list) {
+                writeValue(item);
+            }
+        } else if (value instanceof Map) {
+            output.writeByte(Tags.VALUE_MAP);
+            writeMap((Map<?, ?>) value);
+        } else {
+            throw new NotEncodableException(value.getClass().getName());
+        }
+    }
+
+    private void writeMap(Map<?, ?> map) {
+        output.writeVarint(map.size());
+        for (Map.Entry<?, ?> me : map.entrySet()) {
+            if (!(me.getKey() instanceof String)) {
+                throw new NotEncodableException("map key " + me.getKey());
+            }
+            output.writeString((String) me.getKey());
+            writeValue(me.getValue());
+        }
+    }
+}
@@ -0,0 +1,448 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.binary;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.google.common.base.Charsets;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+
+/**
+ * A read-only view of a document laid out for random access. The accessors read
+ * directly from a {@link ByteBuffer}, which may be a memory-mapped file, without creating
+ * model objects; numeric accessors do not allocate at all.
+ * <p>
+ * The view covers the data, the token offsets with the part-of-speech and lemma of the first analysis,
+ * the sentence offsets, and the entities with their mentions. Strings are numbered in a per-document
+ * string table: look up the number of a string once with {@link #stringIndex(String)}, and
+ * then compare numbers while scanning. Absent strings are -1, and absent doubles are {@code NaN}.
+ * {@link #toAnnotatedText()} returns the complete document, with all of its attributes.
+ * <p>
+ * Create a layout with {@link #encode(AnnotatedText)}. A view is not thread-safe,
+ * but any number of views may share the same underlying bytes.
+ */
+public final class FlatDocument {
+    static final int MAGIC = 0x464D4441; // ADMF
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 48;
+
+    private final ByteBuffer buffer;
+    private final int dataOffset;
+    private final int dataLength;
+    private final int stringCount;
+    private final int stringOffsets;
+    private final int stringBytes;
+    private final int tokenCount;
+    private final int tokens;
+    private final int sentenceCount;
+    private final int sentences;
+    private final int entityCount;
+    private final int entities;
+    private final int mentionCount;
+    private final int mentions;
+    private final int documentOffset;
+    private final int documentLength;
+
+    private FlatDocument(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new AdmBinaryException("Not a flat annotated data model document");
+        }
+        if (buffer.getInt(4) > VERSION) {
+            throw new AdmBinaryException("Unsupported flat document version " + buffer.getInt(4));
+        }
+        dataOffset = buffer.getInt(8);
+        dataLength = buffer.getInt(12);
+        if (dataLength != -1) {
+            checkRange(dataOffset, dataLength, 2);
+        }
+        int stringSection = section(16);
+        stringCount = count(stringSection, 4, 4);
+        stringOffsets = stringSection + 4;
+        stringBytes = stringOffsets + 4 * (stringCount + 1);
+        checkRange(stringOffsets, stringCount + 1L, 4);
+        checkRange(stringBytes, buffer.getInt(stringOffsets + 4 * stringCount), 1);
+        int tokenSection = section(20);
+        tokenCount = count(tokenSection, 4, 16);
+        tokens = tokenSection + 4;
+        int sentenceSection = section(24);
+        sentenceCount = count(sentenceSection, 4, 8);
+        sentences = sentenceSection + 4;
+        int entitySection = section(28);
+        entityCount = count(entitySection, 8, 32);
+        entities = entitySection + 8;
+        // the mention boundaries have one more entry than there are entities.
+        checkRange(entities, 32L * entityCount + 4, 1);
+        int mentionSection = section(32);
+        mentionCount = count(mentionSection, 8, 20);
+        mentions = mentionSection + 8;
+        documentOffset = buffer.getInt(36);
+        documentLength = buffer.getInt(40);
+        checkRange(documentOffset, documentLength, 1);
+    }
+
+    /* Sections start after the header; their counts are read there. */
+    private int section(int headerPosition) {
+        int offset = buffer.getInt(headerPosition);
+        checkRange(offset, 4, 1);
+        if (offset < HEADER_SIZE) {
+            throw new AdmBinaryException("Corrupt flat document");
+        }
+        return offset;
+    }
+
+    /* Reads the count of a section, whose columns take rowSize bytes per row after headerSize bytes. */
+    private int count(int section, int headerSize, int rowSize) {
+        int count = buffer.getInt(section);
+        checkRange(section + headerSize, count, rowSize);
+        return count;
+    }
+
+    private void checkRange(long offset, long count, int size) {
+        if (offset < 0 || count < 0 || offset + count * size > buffer.limit()) {
+            throw new AdmBinaryException("Truncated flat document");
+        }
+    }
+
+    /**
+     * Lays out a document.
+     *
+     * @param text the document
+     * @return the bytes of the layout
+     */
+    public static byte[] encode(AnnotatedText text) {
+        return new FlatDocumentEncoder(text).encode();
+    }
+
+    /**
+     * Creates a view of a layout. The view covers the bytes from the current position
+     * to the limit of the buffer; it does not change the position, limit or byte order of the buffer.
+     *
+     * @param buffer the buffer
+     * @return the view
+     * @throws AdmBinaryException if the buffer does not start with a flat document, or is truncated.
+     */
+    public static FlatDocument wrap(ByteBuffer buffer) {
+        return new FlatDocument(buffer.slice().order(ByteOrder.LITTLE_ENDIAN));
+    }
+
+    /**
+     * Creates a view of a layout.
+     *
+     * @param bytes the bytes of the layout
+     * @return the view
+     * @throws AdmBinaryException if the bytes are not a flat document.
+     */
+    public static FlatDocument wrap(byte[] bytes) {
+        return wrap(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * @return the character data, as a view of the buffer, or {@code null} if the document has no data.
+     */
+    public CharSequence getData() {
+        if (dataLength < 0) {
+            return null;
+        }
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position(dataOffset);
+        duplicate.limit(dataOffset + 2 * dataLength);
+        CharBuffer chars = duplicate.slice().order(ByteOrder.LITTLE_ENDIAN).asCharBuffer();
+        return chars.asReadOnlyBuffer();
+    }
+
+    /**
+     * @param index a character offset
+     * @return the character at that offset in the data.
+     */
+    public char charAt(int index) {
+        if (index < 0 || index >= dataLength) {
+            throw new IndexOutOfBoundsException(Integer.toString(index));
+        }
+        return buffer.getChar(dataOffset + 2 * index);
+    }
+
+    /**
+     * @return the number of strings in the string table.
+     */
+    public int stringCount() {
+        return stringCount;
+    }
+
+    /**
+     * @param index a string number, or -1.
+     * @return the string, or {@code null} for -1.
+     */
+    public String string(int index) {
+        if (index == -1) {
+            return null;
+        }
+        checkIndex(index, stringCount);
+        int start = buffer.getInt(stringOffsets + 4 * index);
+        int end = buffer.getInt(stringOffsets + 4 * (index + 1));
+        if (start < 0 || end < start || stringBytes + (long) end > buffer.limit()) {
+            throw new AdmBinaryException("Corrupt flat document string table");
+        }
+        byte[] bytes = new byte[end - start];
+        for (int x = 0; x < bytes.length; x++) {
+            bytes[x] = buffer.get(stringBytes + start + x);
+        }
+        return new String(bytes, Charsets.UTF_8);
+    }
+
+    /**
+     * Finds the number of a string in the string table.
+     *
+     * @param value the string
+     * @return its number, or -1 if the document does not contain the string.
+     */
+    public int stringIndex(String value) {
+        if (value == null) {
+            return -1;
+        }
+        byte[] bytes = value.getBytes(Charsets.UTF_8);
+        for (int index = 0; index < stringCount; index++) {
+            int start = buffer.getInt(stringOffsets + 4 * index);
+            int end = buffer.getInt(stringOffsets + 4 * (index + 1));
+            if (end - start == bytes.length && matches(stringBytes + start, bytes)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private boolean matches(int position, byte[] bytes) {
+        for (int x = 0; x < bytes.length; x++) {
+            if (buffer.get(position + x) != bytes[x]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void checkIndex(int index, int count) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException(index + " of " + count);
+        }
+    }
+
+    /**
+     * @return the number of tokens.
+     */
+    public int tokenCount() {
+        return tokenCount;
+    }
+
+    /**
+     * @param token a token index
+     * @return the start offset of the token.
+     */
+    public int tokenStart(int token) {
+        checkIndex(token, tokenCount);
+        return buffer.getInt(tokens + 4 * token);
+    }
+
+    /**
+     * @param token a token index
+     * @return the end offset of the token.
+     */
+    public int tokenEnd(int token) {
+        checkIndex(token, tokenCount);
+        return buffer.getInt(tokens + 4 * (tokenCount + token));
+    }
+
+    /**
+     * @param token a token index
+     * @return the string number of the part-of-speech of the first analysis of the token, or -1.
+     */
+    public int tokenPartOfSpeech(int token) {
+        checkIndex(token, tokenCount);
+        return buffer.getInt(tokens + 4 * (2 * tokenCount + token));
+    }
+
+    /**
+     * @param token a token index
+     * @return the string number of the lemma of the first analysis of the token, or -1.
+     */
+    public int tokenLemma(int token) {
+        checkIndex(token, tokenCount);
+        return buffer.getInt(tokens + 4 * (3 * tokenCount + token));
+    }
+
+    /**
+     * @return the number of sentences.
+     */
+    public int sentenceCount() {
+        return sentenceCount;
+    }
+
+    /**
+     * @param sentence a sentence index
+     * @return the start offset of the sentence.
+     */
+    public int sentenceStart(int sentence) {
+        checkIndex(sentence, sentenceCount);
+        return buffer.getInt(sentences + 4 * sentence);
+    }
+
+    /**
+     * @param sentence a sentence index
+     * @return the end offset of the sentence.
+     */
+    public int sentenceEnd(int sentence) {
+        checkIndex(sentence, sentenceCount);
+        return buffer.getInt(sentences + 4 * (sentenceCount + sentence));
+    }
+
+    /**
+     * @return the number of entities.
+     */
+    public int entityCount() {
+        return entityCount;
+    }
+
+    /**
+     * @param entity an entity index
+     * @return the confidence of the entity, or {@code NaN}.
+     */
+    public double entityConfidence(int entity) {
+        checkIndex(entity, entityCount);
+        return buffer.getDouble(entities + 8 * entity);
+    }
+
+    /**
+     * @param entity an entity index
+     * @return the salience of the entity, or {@code NaN}.
+     */
+    public double entitySalience(int entity) {
+        checkIndex(entity, entityCount);
+        return buffer.getDouble(entities + 8 * (entityCount + entity));
+    }
+
+    private int entityInt(int column, int entity) {
+        checkIndex(entity, entityCount);
+        return buffer.getInt(entities + 16 * entityCount + 4 * (column * entityCount + entity));
+    }
+
+    /**
+     * @param entity an entity index
+     * @return the string number of the type of the entity, or -1.
+     */
+    public int entityType(int entity) {
+        return entityInt(0, entity);
+    }
+
+    /**
+     * @param entity an entity index
+     * @return the string number of the id of the entity, or -1.
+     */
+    public int entityId(int entity) {
+        return entityInt(1, entity);
+    }
+
+    /**
+     * @param entity an entity index
+     * @return the index of the head mention within the mentions of the entity, or -1.
+     */
+    public int entityHeadMentionIndex(int entity) {
+        return entityInt(2, entity);
+    }
+
+    /**
+     * @param entity an entity index
+     * @return the number of mentions of the entity.
+     */
+    public int entityMentionCount(int entity) {
+        checkIndex(entity, entityCount);
+        return firstMention(entity + 1) - firstMention(entity);
+    }
+
+    /* The mention boundaries have one more entry than there are entities. */
+    private int firstMention(int entity) {
+        return buffer.getInt(entities + 28 * entityCount + 4 * entity);
+    }
+
+    /**
+     * Mentions are numbered across all entities, in entity order.
+     *
+     * @param entity an entity index
+     * @param mention the index of a mention within the mentions of the entity
+     * @return the document-wide mention index.
+     */
+    public int entityMention(int entity, int mention) {
+        checkIndex(mention, entityMentionCount(entity));
+        return firstMention(entity) + mention;
+    }
+
+    /**
+     * @return the number of mentions, across all entities.
+     */
+    public int mentionCount() {
+        return mentionCount;
+    }
+
+    /**
+     * @param mention a document-wide mention index
+     * @return the confidence of the mention, or {@code NaN}.
+     */
+    public double mentionConfidence(int mention) {
+        checkIndex(mention, mentionCount);
+        return buffer.getDouble(mentions + 8 * mention);
+    }
+
+    /**
+     * @param mention a document-wide mention index
+     * @return the start offset of the mention.
+     */
+    public int mentionStart(int mention) {
+        checkIndex(mention, mentionCount);
+        return buffer.getInt(mentions + 8 * mentionCount + 4 * mention);
+    }
+
+    /**
+     * @param mention a document-wide mention index
+     * @return the end offset of the mention.
+     */
+    public int mentionEnd(int mention) {
+        checkIndex(mention, mentionCount);
+        return buffer.getInt(mentions + 12 * mentionCount + 4 * mention);
+    }
+
+    /**
+     * @param mention a document-wide mention index
+     * @return the string number of the source of the mention, or -1.
+     */
+    public int mentionSource(int mention) {
+        checkIndex(mention, mentionCount);
+        return buffer.getInt(mentions + 16 * mentionCount + 4 * mention);
+    }
+
+    /**
+     * Builds the complete document as model objects.
+     *
+     * @return the document
+     */
+    public AnnotatedText toAnnotatedText() {
+        byte[] document = new byte[documentLength];
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position(documentOffset);
+        duplicate.get(document);
+        return AdmBinary.decode(document);
+    }
+}
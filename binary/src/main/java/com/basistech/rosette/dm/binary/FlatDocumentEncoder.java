@@ -0,0 +1,231 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.binary;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.BaseAttribute;
+import com.basistech.rosette.dm.Entity;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.Mention;
+import com.basistech.rosette.dm.MorphoAnalysis;
+import com.basistech.rosette.dm.Sentence;
+import com.basistech.rosette.dm.Token;
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lays out one {@link AnnotatedText} for {@link FlatDocument}.
+ * The layout is computed in two passes: the first interns the strings and sizes the sections,
+ * the second fills in a buffer of exactly the right size.
+ */
+final class FlatDocumentEncoder {
+    private final AnnotatedText text;
+    private final List<Token> tokens;
+    private final List<Sentence> sentences;
+    private final List<Entity> entities;
+    private final int mentionCount;
+    private final Map<String, Integer> stringIndexes;
+    private final List<byte[]> strings;
+    private final byte[] document;
+    private ByteBuffer buffer;
+
+    FlatDocumentEncoder(AnnotatedText text) {
+        this.text = text;
+        this.tokens = orEmpty(text.getTokens());
+        this.sentences = orEmpty(text.getSentences());
+        this.entities = orEmpty(text.getEntities());
+        this.stringIndexes = Maps.newHashMap();
+        this.strings = Lists.newArrayList();
+        int mentions = 0;
+        for (Entity entity : entities) {
+            mentions += entity.getMentions() == null ? 0 : entity.getMentions().size();
+        }
+        this.mentionCount = mentions;
+        this.document = AdmBinary.encode(text);
+    }
+
+    private static <T extends BaseAttribute> List<T> orEmpty(ListAttribute<T> list) {
+        return list == null ? Collections.<T>emptyList() : list;
+    }
+
+    private int intern(String value) {
+        if (value == null) {
+            return -1;
+        }
+        Integer index = stringIndexes.get(value);
+        if (index == null) {
+            index = strings.size();
+            stringIndexes.put(value, index);
+            strings.add(value.getBytes(Charsets.UTF_8));
+        }
+        return index;
+    }
+
+    private static int align(int position) {
+        return (position + 7) & ~7;
+    }
+
+    byte[] encode() {
+        // intern in the order the sections are written, so that the second pass finds every string.
+        for (Token token : tokens) {
+            MorphoAnalysis analysis = firstAnalysis(token);
+            if (analysis != null) {
+                intern(analysis.getPartOfSpeech());
+                intern(analysis.getLemma());
+            }
+        }
+        for (Entity entity : entities) {
+            intern(entity.getType());
+            intern(entity.getEntityId());
+            if (entity.getMentions() != null) {
+                for (Mention mention : entity.getMentions()) {
+                    intern(mention.getSource());
+                }
+            }
+        }
+
+        CharSequence data = text.getData();
+        int dataLength = data == null ? 0 : data.length();
+        int stringBytes = 0;
+        for (byte[] string : strings) {
+            stringBytes += string.length;
+        }
+        int dataOffset = FlatDocument.HEADER_SIZE;
+        int stringsOffset = align(dataOffset + 2 * dataLength);
+        int tokensOffset = align(stringsOffset + 4 + 4 * (strings.size() + 1) + stringBytes);
+        int sentencesOffset = align(tokensOffset + 4 + 16 * tokens.size());
+        int entitiesOffset = align(sentencesOffset + 4 + 8 * sentences.size());
+        int mentionsOffset = align(entitiesOffset + 8 + 12 * entities.size() + 16 * entities.size() + 4 * (entities.size() + 1));
+        int documentOffset = align(mentionsOffset + 8 + 20 * mentionCount);
+
+        buffer = ByteBuffer.allocate(documentOffset + document.length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(FlatDocument.MAGIC).putInt(FlatDocument.VERSION);
+        buffer.putInt(dataOffset).putInt(data == null ? -1 : dataLength);
+        buffer.putInt(stringsOffset).putInt(tokensOffset).putInt(sentencesOffset).putInt(entitiesOffset).putInt(mentionsOffset);
+        buffer.putInt(documentOffset).putInt(document.length);
+        for (int x = 0; x < dataLength; x++) {
+            buffer.putChar(dataOffset + 2 * x, data.charAt(x));
+        }
+        writeStrings(stringsOffset);
+        writeTokens(tokensOffset);
+        writeSentences(sentencesOffset);
+        writeEntities(entitiesOffset);
+        writeMentions(mentionsOffset);
+        buffer.position(documentOffset);
+        buffer.put(document);
+        return buffer.array();
+    }
+
+    private static MorphoAnalysis firstAnalysis(Token token) {
+        List<MorphoAnalysis> analyses = token.getAnalyses();
+        return analyses == null || analyses.isEmpty() ? null : analyses.get(0);
+    }
+
+    private void writeStrings(int offset) {
+        buffer.position(offset);
+        buffer.putInt(strings.size());
+        int start = 0;
+        for (byte[] string : strings) {
+            buffer.putInt(start);
+            start += string.length;
+        }
+        buffer.putInt(start);
+        for (byte[] string : strings) {
+            buffer.put(string);
+        }
+    }
+
+    /* Each section is a count followed by columns, so that a scan over one property reads contiguous memory. */
+    private void writeTokens(int offset) {
+        int count = tokens.size();
+        buffer.putInt(offset, count);
+        int columns = offset + 4;
+        for (int x = 0; x < count; x++) {
+            Token token = tokens.get(x);
+            MorphoAnalysis analysis = firstAnalysis(token);
+            buffer.putInt(columns + 4 * x, token.getStartOffset());
+            buffer.putInt(columns + 4 * (count + x), token.getEndOffset());
+            buffer.putInt(columns + 4 * (2 * count + x), analysis == null ? -1 : intern(analysis.getPartOfSpeech()));
+            buffer.putInt(columns + 4 * (3 * count + x), analysis == null ? -1 : intern(analysis.getLemma()));
+        }
+    }
+
+    private void writeSentences(int offset) {
+        int count = sentences.size();
+        buffer.putInt(offset, count);
+        for (int x = 0; x < count; x++) {
+            buffer.putInt(offset + 4 + 4 * x, sentences.get(x).getStartOffset());
+            buffer.putInt(offset + 4 + 4 * (count + x), sentences.get(x).getEndOffset());
+        }
+    }
+
+    private static double orNaN(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+
+    private void writeEntities(int offset) {
+        int count = entities.size();
+        buffer.putInt(offset, count);
+        // the doubles come first, at an aligned position.
+        int confidences = offset + 8;
+        int saliences = confidences + 8 * count;
+        int types = saliences + 8 * count;
+        int ids = types + 4 * count;
+        int heads = ids + 4 * count;
+        int mentions = heads + 4 * count;
+        int mentionIndex = 0;
+        for (int x = 0; x < count; x++) {
+            Entity entity = entities.get(x);
+            buffer.putDouble(confidences + 8 * x, orNaN(entity.getConfidence()));
+            buffer.putDouble(saliences + 8 * x, orNaN(entity.getSalience()));
+            buffer.putInt(types + 4 * x, intern(entity.getType()));
+            buffer.putInt(ids + 4 * x, intern(entity.getEntityId()));
+            buffer.putInt(heads + 4 * x, entity.getHeadMentionIndex() == null ? -1 : entity.getHeadMentionIndex());
+            buffer.putInt(mentions + 4 * x, mentionIndex);
+            mentionIndex += entity.getMentions() == null ? 0 : entity.getMentions().size();
+        }
+        buffer.putInt(mentions + 4 * count, mentionIndex);
+    }
+
+    private void writeMentions(int offset) {
+        buffer.putInt(offset, mentionCount);
+        int confidences = offset + 8;
+        int starts = confidences + 8 * mentionCount;
+        int ends = starts + 4 * mentionCount;
+        int sources = ends + 4 * mentionCount;
+        int x = 0;
+        for (Entity entity : entities) {
+            if (entity.getMentions() == null) {
+                continue;
+            }
+            for (Mention mention : entity.getMentions()) {
+                buffer.putDouble(confidences + 8 * x, orNaN(mention.getConfidence()));
+                buffer.putInt(starts + 4 * x, mention.getStartOffset());
+                buffer.putInt(ends + 4 * x, mention.getEndOffset());
+                buffer.putInt(sources + 4 * x, intern(mention.getSource()));
+                x++;
+            }
+        }
+    }
+}
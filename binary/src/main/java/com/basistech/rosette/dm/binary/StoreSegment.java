@@ -0,0 +1,233 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.binary;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * One file of an {@link AdmDocumentStore}: a header, then records of
+ * a length, a CRC-32 of the body, and the body. Records are appended through the channel
+ * and read through a read-only mapping. The mapping doubles when a read reaches past it,
+ * so that a segment is mapped a logarithmic number of times however reads and writes interleave;
+ * mapping past the end extends the file with zeros, which {@link #recover(int, RecordVisitor)} treats as
+ * the end of the records, and which {@link #close()} trims.
+ */
+final class StoreSegment implements Closeable {
+    static final byte[] MAGIC = {'A', 'D', 'M', 'S'};
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 5;
+    static final int RECORD_HEADER_SIZE = 8;
+    static final int MIN_MAPPING_SIZE = 1 << 16;
+
+    final int id;
+    final File file;
+    private final FileChannel channel;
+    private volatile int length;
+    private volatile ByteBuffer mapped;
+
+    private StoreSegment(int id, File file, FileChannel channel, int length) {
+        this.id = id;
+        this.file = file;
+        this.channel = channel;
+        this.length = length;
+        this.mapped = ByteBuffer.allocate(0);
+    }
+
+    static String fileName(int id) {
+        return String.format("%08d.adms", id);
+    }
+
+    @SuppressWarnings("resource")
+    static StoreSegment create(File directory, int id) throws IOException {
+        File file = new File(directory, fileName(id));
+        FileChannel channel = new RandomAccessFile(file, "rw").getChannel();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.put(MAGIC).put((byte) VERSION).flip();
+        channel.truncate(0);
+        writeFully(channel, header, 0);
+        return new StoreSegment(id, file, channel, HEADER_SIZE);
+    }
+
+    /* Opens an existing segment. The length is the whole file until recover() finds the valid end. */
+    @SuppressWarnings("resource")
+    static StoreSegment open(File file, int id) throws IOException {
+        FileChannel channel = new RandomAccessFile(file, "rw").getChannel();
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // keep reading
+            }
+            byte[] magic = Arrays.copyOf(header.array(), MAGIC.length);
+            if (header.hasRemaining() || !Arrays.equals(magic, MAGIC)) {
+                throw new AdmBinaryException("Not a document store segment: " + file);
+            }
+            if ((header.get(MAGIC.length) & 0xFF) > VERSION) {
+                throw new AdmBinaryException("Unsupported document store segment version in " + file);
+            }
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new AdmBinaryException("Document store segment too large: " + file);
+            }
+            return new StoreSegment(id, file, channel, (int) channel.size());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long at = position;
+        while (buffer.hasRemaining()) {
+            at += channel.write(buffer, at);
+        }
+    }
+
+    static ByteBuffer record(ByteBuffer body) {
+        CRC32 crc = new CRC32();
+        crc.update(body.array(), body.arrayOffset() + body.position(), body.remaining());
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + body.remaining());
+        record.putInt(body.remaining()).putInt((int) crc.getValue()).put(body.duplicate()).flip();
+        return record;
+    }
+
+    int length() {
+        return length;
+    }
+
+    /* Appends a record, returning its position. Callers serialize appends. */
+    int append(ByteBuffer record) throws IOException {
+        int position = length;
+        if ((long) position + record.remaining() > Integer.MAX_VALUE) {
+            throw new AdmBinaryException("Document store segment full");
+        }
+        int size = record.remaining();
+        writeFully(channel, record, position);
+        length = position + size;
+        return position;
+    }
+
+    private ByteBuffer mapping(int end) throws IOException {
+        ByteBuffer current = mapped;
+        if (current.capacity() >= end) {
+            return current;
+        }
+        synchronized (this) {
+            if (mapped.capacity() < end) {
+                long size = Math.max(Math.max(end, MIN_MAPPING_SIZE), 2L * mapped.capacity());
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, Integer.MAX_VALUE));
+            }
+            return mapped;
+        }
+    }
+
+    /**
+     * Returns the body of the record at a position, as a view of the mapping.
+     */
+    ByteBuffer body(int position) throws IOException {
+        ByteBuffer buffer = mapping(position + RECORD_HEADER_SIZE).duplicate();
+        int bodyLength = buffer.getInt(position);
+        buffer = mapping(position + RECORD_HEADER_SIZE + bodyLength).duplicate();
+        buffer.position(position + RECORD_HEADER_SIZE);
+        buffer.limit(position + RECORD_HEADER_SIZE + bodyLength);
+        return buffer.slice();
+    }
+
+    /**
+     * Returns the whole record at a position, header included, as a view of the mapping.
+     */
+    ByteBuffer record(int position) throws IOException {
+        ByteBuffer body = body(position);
+        ByteBuffer buffer = mapped.duplicate();
+        buffer.position(position);
+        buffer.limit(position + RECORD_HEADER_SIZE + body.remaining());
+        return buffer.slice();
+    }
+
+    /**
+     * Finds the end of the valid records from a position, and truncates anything after it,
+     * such as a record torn by a crash.
+     *
+     * @param visitor called with the position of each valid record.
+     */
+    void recover(int from, RecordVisitor visitor) throws IOException {
+        int position = from;
+        ByteBuffer all = mapping(length);
+        while (position + RECORD_HEADER_SIZE <= length) {
+            int bodyLength = all.getInt(position);
+            if (bodyLength <= 0 || bodyLength > length - position - RECORD_HEADER_SIZE) {
+                break;
+            }
+            ByteBuffer body = body(position);
+            CRC32 crc = new CRC32();
+            byte[] bytes = new byte[bodyLength];
+            body.duplicate().get(bytes);
+            crc.update(bytes);
+            if ((int) crc.getValue() != all.getInt(position + 4)) {
+                break;
+            }
+            visitor.visit(position, body);
+            position += RECORD_HEADER_SIZE + bodyLength;
+        }
+        if (position < length) {
+            channel.truncate(position);
+            length = position;
+            synchronized (this) {
+                // the old mapping may cover the truncated bytes; start over.
+                mapped = ByteBuffer.allocate(0);
+            }
+        }
+    }
+
+    /**
+     * Receives records during {@link #recover(int, RecordVisitor)}.
+     */
+    interface RecordVisitor {
+        void visit(int position, ByteBuffer body) throws IOException;
+    }
+
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * Closes a segment that readers may still hold, as compaction does: the whole segment is mapped first,
+     * so that every record stays readable through the mapping without the channel.
+     */
+    void retire() throws IOException {
+        mapping(length);
+        close();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (channel.size() > length) {
+                channel.truncate(length);
+            }
+        } catch (IOException e) {
+            // some platforms do not truncate mapped files; recovery ignores the zeros.
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.binary;
+
+import com.basistech.rosette.dm.BaseNounPhrase;
+import com.basistech.rosette.dm.CategorizerResult;
+import com.basistech.rosette.dm.Concept;
+import com.basistech.rosette.dm.Dependency;
+import com.basistech.rosette.dm.Entity;
+import com.basistech.rosette.dm.Keyphrase;
+import com.basistech.rosette.dm.LanguageDetection;
+import com.basistech.rosette.dm.ScriptRegion;
+import com.basistech.rosette.dm.Sentence;
+import com.basistech.rosette.dm.Token;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Map;
+
+/**
+ * The constants of the binary format.
+ */
+final class Tags {
+    static final byte[] MAGIC = {'A', 'D', 'M', 'B'};
+    static final int VERSION = 1;
+
+    /* Attribute records. */
+    static final int EMBEDDED = 0;
+    static final int TOKENS = 1;
+    static final int SENTENCES = 2;
+    static final int SCRIPT_REGIONS = 3;
+    static final int BASE_NOUN_PHRASES = 4;
+    static final int ENTITIES = 5;
+    static final int LANGUAGE_DETECTIONS = 6;
+    static final int CATEGORIZER_RESULTS = 7;
+    static final int DEPENDENCIES = 8;
+    static final int CONCEPTS = 9;
+    static final int KEYPHRASES = 10;
+    static final int LANGUAGE_DETECTION = 11;
+    static final int EMBEDDINGS = 12;
+
+    /* Morphological analysis kinds. */
+    static final int MORPHO_PLAIN = 0;
+    static final int MORPHO_HAN = 1;
+    static final int MORPHO_ARABIC = 2;
+    static final int MORPHO_KOREAN = 3;
+
+    /* Extended property values. */
+    static final int VALUE_NULL = 0;
+    static final int VALUE_FALSE = 1;
+    static final int VALUE_TRUE = 2;
+    static final int VALUE_INT = 3;
+    static final int VALUE_LONG = 4;
+    static final int VALUE_DOUBLE = 5;
+    static final int VALUE_FLOAT = 6;
+    static final int VALUE_STRING = 7;
+    static final int VALUE_LIST = 8;
+    static final int VALUE_MAP = 9;
+
+    /* Document flags. */
+    static final int HAS_DATA = 1;
+
+    /* Container files: a header of magic, version and compression; blocks; the index; a trailer. */
+    static final byte[] CONTAINER_MAGIC = {'A', 'D', 'M', 'C'};
+    static final int CONTAINER_VERSION = 1;
+    static final int CONTAINER_HEADER_SIZE = 6;
+    /* compressed length, uncompressed length, document count, CRC-32 of the uncompressed bytes. */
+    static final int BLOCK_HEADER_SIZE = 16;
+    /* index offset, magic. */
+    static final int CONTAINER_TRAILER_SIZE = 12;
+
+    private static final Map<Class<?>, Integer> LIST_TAGS = ImmutableMap.<Class<?>, Integer>builder()
+            .put(Token.class, TOKENS)
+            .put(Sentence.class, SENTENCES)
+            .put(ScriptRegion.class, SCRIPT_REGIONS)
+            .put(BaseNounPhrase.class, BASE_NOUN_PHRASES)
+            .put(Entity.class, ENTITIES)
+            .put(LanguageDetection.class, LANGUAGE_DETECTIONS)
+            .put(CategorizerResult.class, CATEGORIZER_RESULTS)
+            .put(Dependency.class, DEPENDENCIES)
+            .put(Concept.class, CONCEPTS)
+            .put(Keyphrase.class, KEYPHRASES)
+            .build();
+
+    private Tags() {
+        //
+    }
+
+    /**
+     * @return the record tag for a list of items of the given class, or -1 if there is no native record for them.
+     */
+    static int listTag(Class<?> itemClass) {
+        Integer tag = LIST_TAGS.get(itemClass);
+        return tag == null ? -1 : tag;
+    }
+}
@@ -0,0 +1,32 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+/**
+ * A compact binary encoding of the Annotated Data Model.
+ * Documents are written with {@link com.basistech.rosette.dm.binary.AdmBinaryWriter}
+ * and read with {@link com.basistech.rosette.dm.binary.AdmBinaryReader}.
+ * Offsets are delta-encoded varints, repeated strings refer to a per-document string table,
+ * embeddings are raw float arrays, and extended properties are tagged values.
+ * Attributes without a native binary record are embedded in the array JSON format.
+ * <p>
+ * {@link com.basistech.rosette.dm.binary.AdmContainerWriter} collects documents into independently
+ * compressed blocks, with an index of the blocks at the end, so that a file can be split among
+ * parallel readers or read at random with {@link com.basistech.rosette.dm.binary.AdmContainerReader}.
+ * <p>
+ * {@link com.basistech.rosette.dm.binary.AdmOffHeapCache} keeps encoded documents in direct memory,
+ * outside the Java heap, and decodes them when they are fetched.
+ */
+package com.basistech.rosette.dm.binary;
@@ -0,0 +1,169 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.binary;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.Token;
+import com.basistech.rosette.dm.jackson.AdmCodecs;
+import com.basistech.rosette.dm.test.corpus.SampleDocuments;
+import com.basistech.util.LanguageCode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Round trips through the binary format.
+ */
+public class AdmBinaryTest {
+    static void assertSameText(AnnotatedText expected, AnnotatedText actual) {
+        assertEquals(expected.getData().toString(), actual.getData().toString());
+        assertEquals(expected.getDocumentMetadata(), actual.getDocumentMetadata());
+        assertEquals(expected.getStoredAttributes(), actual.getStoredAttributes());
+    }
+
+    @Test
+    public void roundTrip() throws Exception {
+        AnnotatedText text = SampleDocuments.everyAttribute();
+        AnnotatedText readBack = AdmBinary.decode(AdmBinary.encode(text));
+        assertSameText(text, readBack);
+        assertEquals(3, readBack.getTokens().get(0).getExtendedProperties().get("count"));
+        assertEquals("WASHINGTON", readBack.getTokens().get(1).getText());
+    }
+
+    @Test
+    public void smallerThanJson() throws Exception {
+        AnnotatedText text = SampleDocuments.everyAttribute();
+        byte[] binary = AdmBinary.encode(text);
+        byte[] json = AdmCodecs.writer(AdmCodecs.Format.ARRAY, AdmCodecs.Encoding.JSON).writeValueAsBytes(text);
+        assertTrue(binary.length + " >= " + json.length, binary.length < json.length);
+    }
+
+    @Test
+    public void extendedProperties() throws Exception {
+        Token.Builder tokenBuilder = new Token.Builder(0, 6, "George");
+        tokenBuilder.extendedProperty("flag", true);
+        tokenBuilder.extendedProperty("long", Long.MAX_VALUE);
+        tokenBuilder.extendedProperty("double", -0.5);
+        tokenBuilder.extendedProperty("float", 0.25f);
+        tokenBuilder.extendedProperty("list", Lists.<Object>newArrayList(1, "two", null));
+        tokenBuilder.extendedProperty("map", ImmutableMap.of("a", ImmutableList.of(false)));
+        ListAttribute.Builder<Token> tokens = new ListAttribute.Builder<>(Token.class);
+        tokens.add(tokenBuilder.build());
+        AnnotatedText text = new AnnotatedText.Builder().data(SampleDocuments.DATA).tokens(tokens.build()).build();
+        assertSameText(text, AdmBinary.decode(AdmBinary.encode(text)));
+
+        // a value with no binary tag sends the attribute to the JSON fallback, which keeps it as a string.
+        tokens = new ListAttribute.Builder<>(Token.class);
+        tokenBuilder = new Token.Builder(0, 6, "George");
+        tokenBuilder.extendedProperty("language", LanguageCode.ENGLISH);
+        tokens.add(tokenBuilder.build());
+        text = new AnnotatedText.Builder().data(SampleDocuments.DATA).tokens(tokens.build()).build();
+        AnnotatedText readBack = AdmBinary.decode(AdmBinary.encode(text));
+        assertEquals("George", readBack.getTokens().get(0).getText());
+        assertEquals(LanguageCode.ENGLISH.ISO639_3(), readBack.getTokens().get(0).getExtendedProperties().get("language"));
+    }
+
+    @Test
+    public void stream() throws Exception {
+        AnnotatedText text = SampleDocuments.everyAttribute();
+        AnnotatedText empty = new AnnotatedText.Builder().build();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (AdmBinaryWriter writer = new AdmBinaryWriter(bytes)) {
+            writer.write(text);
+            writer.write(empty);
+            writer.write(text);
+        }
+        try (AdmBinaryReader reader = new AdmBinaryReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertSameText(text, reader.read());
+            AnnotatedText readEmpty = reader.read();
+            assertNull(readEmpty.getData());
+            assertTrue(readEmpty.getStoredAttributes().isEmpty());
+            assertSameText(text, reader.read());
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    public void emptyStream() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new AdmBinaryWriter(bytes).close();
+        assertArrayEquals(new byte[]{'A', 'D', 'M', 'B', 1}, bytes.toByteArray());
+        try (AdmBinaryReader reader = new AdmBinaryReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    public void rejectsOtherInput() throws Exception {
+        try {
+            AdmBinary.decode("{\"data\": \"\"}".getBytes("UTF-8"));
+            fail();
+        } catch (AdmBinaryException e) {
+            // expected
+        }
+        byte[] bytes = AdmBinary.encode(SampleDocuments.everyAttribute());
+        try {
+            AdmBinary.decode(Arrays.copyOf(bytes, bytes.length - 1));
+            fail();
+        } catch (AdmBinaryException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void rejectsNegativeCountsAndStringReferences() throws Exception {
+        // a ten-byte varint of -1: a negative count, and a string reference to index -3.
+        byte[] negative = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+            (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x01, 0, 0};
+        try {
+            new BinaryInput(negative, 0, negative.length).readCount();
+            fail();
+        } catch (AdmBinaryException e) {
+            // expected
+        }
+        try {
+            new BinaryInput(negative, 0, negative.length).readString();
+            fail();
+        } catch (AdmBinaryException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void rejectsFloatCountsLargerThanTheDocument() throws Exception {
+        // 0x40000000 floats would be 4GB; 4 * count overflows to 0.
+        byte[] bytes = {(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x04, 0, 0, 0, 0};
+        try {
+            new BinaryInput(bytes, 0, bytes.length).readFloats();
+            fail();
+        } catch (AdmBinaryException e) {
+            // expected
+        }
+    }
+}
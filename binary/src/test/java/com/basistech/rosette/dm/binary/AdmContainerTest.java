@@ -0,0 +1,216 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.binary;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.test.corpus.SampleDocuments;
+import com.google.common.collect.Lists;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Writing and reading container files.
+ */
+public class AdmContainerTest {
+    private static final int DOCUMENTS = 50;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static List<AnnotatedText> corpus() {
+        List<AnnotatedText> texts = Lists.newArrayList();
+        AnnotatedText sample = SampleDocuments.everyAttribute();
+        for (int x = 0; x < DOCUMENTS; x++) {
+            // every third document has no attributes.
+            texts.add(x % 3 == 0 ? new AnnotatedText.Builder().data("Document " + x).build() : sample);
+        }
+        return texts;
+    }
+
+    private File write(List<AnnotatedText> texts, Compression compression, int blockSize) throws Exception {
+        File file = temporaryFolder.newFile();
+        try (AdmContainerWriter writer = new AdmContainerWriter(new FileOutputStream(file), compression, blockSize)) {
+            for (AnnotatedText text : texts) {
+                writer.write(text);
+            }
+        }
+        return file;
+    }
+
+    @Test
+    public void roundTrip() throws Exception {
+        List<AnnotatedText> texts = corpus();
+        for (Compression compression : Compression.values()) {
+            File file = write(texts, compression, 4096);
+            try (AdmContainerReader reader = AdmContainerReader.open(file)) {
+                assertEquals(compression, reader.getCompression());
+                assertEquals(DOCUMENTS, reader.documentCount());
+                assertTrue(reader.blockCount() > 1);
+                int document = 0;
+                for (int block = 0; block < reader.blockCount(); block++) {
+                    assertEquals(document, reader.blockFirstDocument(block));
+                    for (AnnotatedText text : reader.readBlock(block)) {
+                        AdmBinaryTest.assertSameText(texts.get(document++), text);
+                    }
+                }
+                assertEquals(DOCUMENTS, document);
+            }
+        }
+    }
+
+    @Test
+    public void randomAccess() throws Exception {
+        List<AnnotatedText> texts = corpus();
+        try (AdmContainerReader reader = AdmContainerReader.open(write(texts, Compression.DEFLATE, 4096))) {
+            for (int document : new int[] {DOCUMENTS - 1, 0, 17, 18, 1}) {
+                AdmBinaryTest.assertSameText(texts.get(document), reader.read(document));
+                int block = reader.blockOf(document);
+                assertTrue(reader.blockFirstDocument(block) <= document);
+                assertTrue(document < reader.blockFirstDocument(block) + reader.blockDocumentCount(block));
+                assertEquals(texts.get(document).getAttributes().keySet(), reader.attributeKeys(document));
+            }
+            assertTrue(reader.hasAttribute(1, "token"));
+            assertFalse(reader.hasAttribute(0, "token"));
+            assertFalse(reader.hasAttribute(1, "nonesuch"));
+        }
+    }
+
+    @Test
+    public void parallelReaders() throws Exception {
+        final List<AnnotatedText> texts = corpus();
+        final AdmContainerReader reader = AdmContainerReader.open(write(texts, Compression.SNAPPY, 2048));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> results = Lists.newArrayList();
+            for (int x = 0; x < reader.blockCount(); x++) {
+                final int block = x;
+                results.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        long document = reader.blockFirstDocument(block);
+                        for (AnnotatedText text : reader.readBlock(block)) {
+                            AdmBinaryTest.assertSameText(texts.get((int) document++), text);
+                        }
+                        return reader.blockDocumentCount(block);
+                    }
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get();
+            }
+            assertEquals(DOCUMENTS, total);
+        } finally {
+            executor.shutdown();
+            reader.close();
+        }
+    }
+
+    @Test
+    public void emptyContainer() throws Exception {
+        try (AdmContainerReader reader = AdmContainerReader.open(write(Lists.<AnnotatedText>newArrayList(), Compression.NONE, 1))) {
+            assertEquals(0, reader.documentCount());
+            assertEquals(0, reader.blockCount());
+        }
+    }
+
+    @Test
+    public void detectsCorruption() throws Exception {
+        File file = write(corpus(), Compression.NONE, 4096);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            // a byte in the middle of the first block's documents.
+            raf.seek(Tags.CONTAINER_HEADER_SIZE + Tags.BLOCK_HEADER_SIZE + 100);
+            int b = raf.read();
+            raf.seek(Tags.CONTAINER_HEADER_SIZE + Tags.BLOCK_HEADER_SIZE + 100);
+            raf.write(b ^ 0xFF);
+        }
+        try (AdmContainerReader reader = AdmContainerReader.open(file)) {
+            reader.readBlock(0);
+            fail("Expected a checksum failure");
+        } catch (AdmBinaryException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void rejectsOtherFiles() throws Exception {
+        File file = temporaryFolder.newFile();
+        try (FileOutputStream output = new FileOutputStream(file)) {
+            output.write(AdmBinary.encode(SampleDocuments.everyAttribute()));
+        }
+        try {
+            AdmContainerReader.open(file).close();
+            fail("Expected an exception");
+        } catch (AdmBinaryException e) {
+            // expected
+        }
+    }
+    @Test
+    public void closeTwice() throws Exception {
+        File file = temporaryFolder.newFile();
+        AdmContainerWriter writer = new AdmContainerWriter(new FileOutputStream(file), Compression.NONE);
+        writer.write(SampleDocuments.everyAttribute());
+        writer.close();
+        long length = file.length();
+        writer.close();
+        assertEquals(length, file.length());
+        try (AdmContainerReader reader = AdmContainerReader.open(file)) {
+            assertEquals(1L, reader.documentCount());
+        }
+    }
+
+    @Test
+    public void rejectsCorruptIndexCounts() throws Exception {
+        File file = temporaryFolder.newFile();
+        try (AdmContainerWriter writer = new AdmContainerWriter(new FileOutputStream(file), Compression.NONE)) {
+            writer.write(SampleDocuments.everyAttribute());
+        }
+        long indexOffset;
+        try (RandomAccessFile raw = new RandomAccessFile(file, "r")) {
+            raw.seek(raw.length() - Tags.CONTAINER_TRAILER_SIZE);
+            indexOffset = raw.readLong();
+        }
+        // the key count comes first in the index.
+        for (int count : new int[] {-1, Integer.MAX_VALUE}) {
+            try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+                raw.seek(indexOffset);
+                raw.writeInt(count);
+            }
+            try {
+                AdmContainerReader.open(file).close();
+                fail("accepted a key count of " + count);
+            } catch (AdmBinaryException e) {
+                // expected
+            }
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.binary;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.test.corpus.SampleDocuments;
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Writing, reading, recovering and compacting a document store.
+ */
+public class AdmDocumentStoreTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static AnnotatedText text(String data) {
+        return new AnnotatedText.Builder().data(data).build();
+    }
+
+    private static int segmentFiles(File directory) {
+        int count = 0;
+        for (String name : directory.list()) {
+            if (name.endsWith(".adms")) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void putGetRemove() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        AnnotatedText sample = SampleDocuments.everyAttribute();
+        try (AdmDocumentStore store = AdmDocumentStore.open(directory)) {
+            store.put("a", sample);
+            store.put("b", text("first"));
+            store.put("b", text("second"));
+            AdmBinaryTest.assertSameText(sample, store.get("a"));
+            assertEquals("second", store.get("b").getData().toString());
+            assertNull(store.get("c"));
+            assertTrue(store.remove("a"));
+            assertFalse(store.remove("a"));
+            assertNull(store.get("a"));
+            assertEquals(1, store.size());
+        }
+        try (AdmDocumentStore store = AdmDocumentStore.open(directory)) {
+            assertEquals(1, store.size());
+            assertFalse(store.contains("a"));
+            assertEquals("second", store.get("b").getData().toString());
+        }
+    }
+
+    @Test
+    public void keyField() throws Exception {
+        AnnotatedText.Builder builder = new AnnotatedText.Builder().data("text");
+        builder.documentMetadata("docid", "d1");
+        try (AdmDocumentStore store = new AdmDocumentStore.Builder(temporaryFolder.newFolder()).keyField("docid").open()) {
+            store.put(builder.build());
+            assertEquals("text", store.get("d1").getData().toString());
+        }
+    }
+
+    @Test
+    public void interleavedPutsAndGets() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        // keys that modified UTF-8 encodes differently.
+        String nul = "a\u0000b";
+        String supplementary = "\ud83d\ude00";
+        // fits the record, but not modified UTF-8, which takes two bytes for each NUL.
+        String longNul = Strings.repeat("\u0000", 40000);
+        try (AdmDocumentStore store = AdmDocumentStore.open(directory)) {
+            for (int x = 0; x < 200; x++) {
+                store.put("doc" + x, text("text " + x));
+                assertEquals("text " + x, store.get("doc" + x).getData().toString());
+            }
+            store.put(nul, text("nul"));
+            store.put(supplementary, text("supplementary"));
+            store.put(longNul, text("long"));
+            assertEquals("nul", store.get(nul).getData().toString());
+        }
+        // the mapping extended the segment; closing trims it back to the records.
+        for (File file : directory.listFiles()) {
+            if (file.getName().endsWith(".adms")) {
+                assertTrue(file.length() < StoreSegment.MIN_MAPPING_SIZE);
+            }
+        }
+        try (AdmDocumentStore store = AdmDocumentStore.open(directory)) {
+            assertEquals(203, store.size());
+            assertEquals("long", store.get(longNul).getData().toString());
+            assertEquals("text 0", store.get("doc0").getData().toString());
+            assertEquals("nul", store.get(nul).getData().toString());
+            assertEquals("supplementary", store.get(supplementary).getData().toString());
+        }
+    }
+
+    @Test
+    public void recoversWithoutClose() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        AdmDocumentStore crashed = new AdmDocumentStore.Builder(directory).segmentSize(200).open();
+        for (int x = 0; x < 20; x++) {
+            crashed.put("doc" + x, text("text " + x));
+        }
+        crashed.remove("doc3");
+        crashed.commit();
+        // a torn write at the end of the last segment.
+        File[] segments = directory.listFiles();
+        File last = segments[0];
+        for (File segment : segments) {
+            if (segment.getName().compareTo(last.getName()) > 0) {
+                last = segment;
+            }
+        }
+        try (FileOutputStream output = new FileOutputStream(last, true)) {
+            output.write(new byte[] {0, 0, 1, 0, 42, 42});
+        }
+        try (AdmDocumentStore store = AdmDocumentStore.open(directory)) {
+            assertEquals(19, store.size());
+            assertNull(store.get("doc3"));
+            assertEquals("text 19", store.get("doc19").getData().toString());
+            store.put("doc20", text("text 20"));
+        }
+        try (AdmDocumentStore store = AdmDocumentStore.open(directory)) {
+            assertEquals("text 20", store.get("doc20").getData().toString());
+        }
+    }
+
+    @Test
+    public void compact() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        try (AdmDocumentStore store = new AdmDocumentStore.Builder(directory).segmentSize(1000).open()) {
+            for (int round = 0; round < 10; round++) {
+                for (int x = 0; x < 10; x++) {
+                    store.put("doc" + x, text("round " + round + " of " + x));
+                }
+            }
+            store.remove("doc0");
+            int before = segmentFiles(directory);
+            AnnotatedText held = store.get("doc1");
+            store.compact();
+            assertTrue(segmentFiles(directory) < before);
+            assertEquals("round 9 of 1", held.getData().toString());
+            assertEquals(9, store.size());
+            for (int x = 1; x < 10; x++) {
+                assertEquals("round 9 of " + x, store.get("doc" + x).getData().toString());
+            }
+            store.put("doc0", text("after"));
+        }
+        try (AdmDocumentStore store = AdmDocumentStore.open(directory)) {
+            assertEquals(10, store.size());
+            assertEquals("after", store.get("doc0").getData().toString());
+            assertEquals("round 9 of 5", store.get("doc5").getData().toString());
+        }
+    }
+
+    @Test
+    public void retiredSegmentsStayReadable() throws Exception {
+        StoreSegment segment = StoreSegment.create(temporaryFolder.newFolder(), 1);
+        byte[] large = new byte[StoreSegment.MIN_MAPPING_SIZE / 2];
+        int first = segment.append(StoreSegment.record(ByteBuffer.wrap(large)));
+        assertEquals(large.length, segment.body(first).remaining());
+        // past the mapping that the first read made.
+        int second = segment.append(StoreSegment.record(ByteBuffer.wrap(large)));
+        int third = segment.append(StoreSegment.record(ByteBuffer.wrap(new byte[] {1, 2, 3})));
+        segment.retire();
+        assertEquals(large.length, segment.body(second).remaining());
+        assertEquals(3, segment.body(third).get(2));
+    }
+
+    @Test
+    public void readsDuringCompaction() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        final AdmDocumentStore store = new AdmDocumentStore.Builder(directory).segmentSize(1 << 20).open();
+        final String padding = Strings.repeat("x", 1000);
+        final AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Void>> results = Lists.newArrayList();
+            // a writer that supersedes records, and readers that may hold their old locations while compaction runs.
+            results.add(executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    for (int x = 0; !done.get(); x++) {
+                        store.put("doc" + x % 100, text(x + padding));
+                    }
+                    return null;
+                }
+            }));
+            for (int t = 0; t < 3; t++) {
+                results.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        for (int x = 0; !done.get(); x++) {
+                            AnnotatedText text = store.get("doc" + x % 100);
+                            assertTrue(text == null || text.getData().toString().endsWith(padding));
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (int round = 0; round < 50; round++) {
+                Thread.sleep(5);
+                store.compact();
+            }
+            done.set(true);
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } finally {
+            done.set(true);
+            executor.shutdown();
+            store.close();
+        }
+    }
+
+    @Test
+    public void concurrentSyncedWrites() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        final AdmDocumentStore store = new AdmDocumentStore.Builder(directory).syncWrites(true).segmentSize(4096).open();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Void>> results = Lists.newArrayList();
+            for (int t = 0; t < 8; t++) {
+                final int thread = t;
+                results.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        for (int x = 0; x < 50; x++) {
+                            store.put(thread + "-" + x, text(thread + " " + x));
+                            assertEquals(thread + " " + x, store.get(thread + "-" + x).getData().toString());
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> result : results) {
+                result.get();
+            }
+            assertEquals(400, store.size());
+        } finally {
+            executor.shutdown();
+            store.close();
+        }
+        try (AdmDocumentStore store2 = AdmDocumentStore.open(directory)) {
+            assertEquals(400, store2.size());
+        }
+    }
+}
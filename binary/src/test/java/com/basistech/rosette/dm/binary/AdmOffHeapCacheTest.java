@@ -0,0 +1,125 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.binary;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.test.corpus.SampleDocuments;
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Caching, evicting and concurrently reading documents off the heap.
+ */
+public class AdmOffHeapCacheTest {
+
+    private static AnnotatedText text(String data) {
+        return new AnnotatedText.Builder().data(data).build();
+    }
+
+    @Test
+    public void putGetRemove() throws Exception {
+        for (Compression compression : new Compression[] {Compression.NONE, Compression.DEFLATE, Compression.SNAPPY}) {
+            AdmOffHeapCache<String> cache = new AdmOffHeapCache.Builder().capacity(1 << 20).blockSize(64).compression(compression).build();
+            AnnotatedText sample = SampleDocuments.everyAttribute();
+            assertTrue(cache.put("a", sample));
+            cache.put("b", text("first"));
+            cache.put("b", text("second"));
+            AdmBinaryTest.assertSameText(sample, cache.get("a"));
+            assertEquals("second", cache.get("b").getData().toString());
+            assertNull(cache.get("c"));
+            assertEquals(2, cache.hitCount());
+            assertEquals(1, cache.missCount());
+            assertTrue(cache.remove("a"));
+            assertFalse(cache.remove("a"));
+            assertEquals(1, cache.size());
+            cache.clear();
+            assertEquals(0, cache.size());
+            assertEquals(0, cache.usedBytes());
+        }
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() throws Exception {
+        // one segment of sixteen blocks; each document takes a block.
+        AdmOffHeapCache<Integer> cache = new AdmOffHeapCache.Builder().capacity(16 * 256).segments(1).blockSize(256).build();
+        for (int x = 0; x < 16; x++) {
+            assertTrue(cache.put(x, text("document " + x)));
+        }
+        assertEquals(16, cache.size());
+        assertNotNull(cache.get(0));
+        cache.put(16, text("document 16"));
+        assertEquals(16, cache.size());
+        assertEquals(1, cache.evictionCount());
+        assertNull(cache.get(1));
+        assertEquals("document 0", cache.get(0).getData().toString());
+        assertEquals(16 * 256, cache.usedBytes());
+
+        StringBuilder large = new StringBuilder();
+        for (int x = 0; x < 1000; x++) {
+            large.append("too large ");
+        }
+        assertFalse(cache.put(0, text(large.toString())));
+        assertNull(cache.get(0));
+    }
+
+    @Test
+    public void concurrentAccess() throws Exception {
+        final AdmOffHeapCache<String> cache = new AdmOffHeapCache.Builder().capacity(64 * 1024).segments(4).blockSize(128)
+            .compression(Compression.DEFLATE).build();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Void>> results = Lists.newArrayList();
+            for (int t = 0; t < 8; t++) {
+                final int thread = t;
+                results.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        for (int x = 0; x < 500; x++) {
+                            String key = thread + "-" + x;
+                            cache.put(key, text(key));
+                            AnnotatedText cached = cache.get(key);
+                            // it may have been evicted by another thread, but never mixed up.
+                            if (cached != null) {
+                                assertEquals(key, cached.getData().toString());
+                            }
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(cache.evictionCount() > 0);
+        assertTrue(cache.usedBytes() <= 64 * 1024);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.binary;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.test.AllocationBudgets;
+import com.basistech.rosette.dm.test.corpus.CorpusGenerator;
+import com.basistech.rosette.dm.test.corpus.SizeDistribution;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Bytes allocated per document by the binary codec and the flat layout, for a generated
+ * document of 300 tokens. The budgets are in allocation-budgets.properties.
+ */
+public class AllocationBudgetTest {
+    private static AllocationBudgets budgets;
+    private static AnnotatedText text;
+    private static byte[] encoded;
+    private static byte[] flat;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        budgets = AllocationBudgets.load(AllocationBudgetTest.class, "allocation-budgets.properties");
+        text = new CorpusGenerator.Builder().seed(1).tokens(SizeDistribution.fixed(300)).build().document(0);
+        encoded = AdmBinary.encode(text);
+        flat = FlatDocument.encode(text);
+    }
+
+    @Test
+    public void binary() throws Exception {
+        budgets.check("binary.encode", new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                return AdmBinary.encode(text);
+            }
+        });
+        budgets.check("binary.decode", new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                return AdmBinary.decode(encoded);
+            }
+        });
+    }
+
+    @Test
+    public void flat() throws Exception {
+        budgets.check("flat.encode", new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                return FlatDocument.encode(text);
+            }
+        });
+        // the view itself and a scan of the numeric columns.
+        budgets.check("flat.scan", new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                FlatDocument document = FlatDocument.wrap(flat);
+                long sum = 0;
+                for (int x = 0; x < document.tokenCount(); x++) {
+                    sum += document.tokenStart(x) + document.tokenEnd(x) + document.tokenPartOfSpeech(x);
+                }
+                for (int x = 0; x < document.mentionCount(); x++) {
+                    sum += document.mentionStart(x);
+                }
+                return sum;
+            }
+        });
+    }
+}
@@ -0,0 +1,172 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.binary;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.Entity;
+import com.basistech.rosette.dm.Mention;
+import com.basistech.rosette.dm.Token;
+import com.basistech.rosette.dm.test.corpus.SampleDocuments;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Reading the flat layout, in memory and memory-mapped.
+ */
+public class FlatDocumentTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static void assertSameView(AnnotatedText text, FlatDocument view) {
+        assertEquals(text.getData().toString(), view.getData().toString());
+        assertEquals(text.getTokens().size(), view.tokenCount());
+        for (int x = 0; x < view.tokenCount(); x++) {
+            Token token = text.getTokens().get(x);
+            assertEquals(token.getStartOffset(), view.tokenStart(x));
+            assertEquals(token.getEndOffset(), view.tokenEnd(x));
+            if (token.getAnalyses() == null) {
+                assertEquals(-1, view.tokenPartOfSpeech(x));
+                assertEquals(-1, view.tokenLemma(x));
+            } else {
+                assertEquals(token.getAnalyses().get(0).getPartOfSpeech(), view.string(view.tokenPartOfSpeech(x)));
+                assertEquals(token.getAnalyses().get(0).getLemma(), view.string(view.tokenLemma(x)));
+            }
+        }
+        assertEquals(text.getSentences().size(), view.sentenceCount());
+        assertEquals(text.getSentences().get(0).getEndOffset(), view.sentenceEnd(0));
+        assertEquals(text.getEntities().size(), view.entityCount());
+        for (int x = 0; x < view.entityCount(); x++) {
+            Entity entity = text.getEntities().get(x);
+            assertEquals(entity.getType(), view.string(view.entityType(x)));
+            assertEquals(entity.getEntityId(), view.string(view.entityId(x)));
+            assertEquals(entity.getConfidence() == null ? Double.NaN : entity.getConfidence(), view.entityConfidence(x), 0.0);
+            assertEquals(entity.getSalience() == null ? Double.NaN : entity.getSalience(), view.entitySalience(x), 0.0);
+            assertEquals(entity.getHeadMentionIndex() == null ? -1 : entity.getHeadMentionIndex(), view.entityHeadMentionIndex(x));
+            assertEquals(entity.getMentions().size(), view.entityMentionCount(x));
+            for (int y = 0; y < view.entityMentionCount(x); y++) {
+                Mention mention = entity.getMentions().get(y);
+                int m = view.entityMention(x, y);
+                assertEquals(mention.getStartOffset(), view.mentionStart(m));
+                assertEquals(mention.getEndOffset(), view.mentionEnd(m));
+                assertEquals(mention.getSource(), view.string(view.mentionSource(m)));
+                assertEquals(mention.getConfidence() == null ? Double.NaN : mention.getConfidence(), view.mentionConfidence(m), 0.0);
+            }
+        }
+        AdmBinaryTest.assertSameText(text, view.toAnnotatedText());
+    }
+
+    @Test
+    public void inMemory() throws Exception {
+        AnnotatedText text = SampleDocuments.everyAttribute();
+        FlatDocument view = FlatDocument.wrap(FlatDocument.encode(text));
+        assertSameView(text, view);
+        assertEquals(view.stringIndex("PERSON"), view.entityType(0));
+        assertEquals(-1, view.stringIndex("ORGANIZATION"));
+        assertNull(view.string(-1));
+        assertEquals('G', view.charAt(0));
+    }
+
+    @Test
+    public void offsetBuffer() throws Exception {
+        AnnotatedText text = SampleDocuments.everyAttribute();
+        byte[] layout = FlatDocument.encode(text);
+        ByteBuffer buffer = ByteBuffer.allocate(layout.length + 3);
+        buffer.position(3);
+        buffer.put(layout);
+        buffer.position(3);
+        assertSameView(text, FlatDocument.wrap(buffer));
+        assertEquals(3, buffer.position());
+    }
+
+    @Test
+    public void memoryMapped() throws Exception {
+        AnnotatedText text = SampleDocuments.everyAttribute();
+        File file = temporaryFolder.newFile("doc.flat");
+        Files.write(file.toPath(), FlatDocument.encode(text));
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            MappedByteBuffer mapped = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+            assertSameView(text, FlatDocument.wrap(mapped));
+        }
+    }
+
+    @Test
+    public void emptyDocument() throws Exception {
+        FlatDocument view = FlatDocument.wrap(FlatDocument.encode(new AnnotatedText.Builder().build()));
+        assertNull(view.getData());
+        assertEquals(0, view.tokenCount());
+        assertEquals(0, view.entityCount());
+        assertEquals(0, view.stringCount());
+        assertTrue(view.toAnnotatedText().getStoredAttributes().isEmpty());
+    }
+
+    @Test
+    public void rejectsOtherInput() throws Exception {
+        try {
+            FlatDocument.wrap(AdmBinary.encode(SampleDocuments.everyAttribute()));
+            fail();
+        } catch (AdmBinaryException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void rejectsTruncatedAndCorruptLayouts() throws Exception {
+        byte[] bytes = FlatDocument.encode(SampleDocuments.everyAttribute());
+        for (int length : new int[] {FlatDocument.HEADER_SIZE, FlatDocument.HEADER_SIZE + 8, bytes.length / 2, bytes.length - 1}) {
+            try {
+                FlatDocument.wrap(Arrays.copyOf(bytes, length));
+                fail("accepted " + length + " of " + bytes.length + " bytes");
+            } catch (AdmBinaryException e) {
+                // expected
+            }
+        }
+        // each section offset, and a count, pointing past the end.
+        for (int position = 16; position <= 32; position += 4) {
+            ByteBuffer corrupt = ByteBuffer.wrap(bytes.clone()).order(ByteOrder.LITTLE_ENDIAN);
+            corrupt.putInt(position, bytes.length);
+            try {
+                FlatDocument.wrap(corrupt);
+                fail("accepted a bad offset at " + position);
+            } catch (AdmBinaryException e) {
+                // expected
+            }
+        }
+        ByteBuffer corrupt = ByteBuffer.wrap(bytes.clone()).order(ByteOrder.LITTLE_ENDIAN);
+        corrupt.putInt(corrupt.getInt(20), Integer.MAX_VALUE);
+        try {
+            FlatDocument.wrap(corrupt);
+            fail("accepted a bad token count");
+        } catch (AdmBinaryException e) {
+            // expected
+        }
+    }
+}
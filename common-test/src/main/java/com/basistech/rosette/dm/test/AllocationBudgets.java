@@ -0,0 +1,122 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.test;
+
+import com.google.common.io.Resources;
+import org.junit.Assert;
+import org.junit.Assume;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+
+/**
+ * Checks the bytes allocated by a piece of work against a budget, to catch changes
+ * that make the library produce more garbage. The budgets, in bytes per call, are kept in a properties file
+ * next to the test. Allocation is counted for the current thread with the HotSpot
+ * {@code com.sun.management.ThreadMXBean}; on other JVMs the checks are skipped.
+ * <p>
+ * Each check runs the work to warm it up, so that the JIT has had its chance to eliminate allocations,
+ * then measures the average over more calls and reports the difference from the budget.
+ * Run with {@code -Dadm.allocation.record=true} to print the measurements in the format of the budgets file,
+ * without checking them.
+ */
+public final class AllocationBudgets {
+    /** The system property that turns on recording. */
+    public static final String RECORD_PROPERTY = "adm.allocation.record";
+    /* Where the results of the work go, so that the JIT cannot drop them. */
+    static volatile Object sink;
+    private static final int WARM_UP = 200;
+    private static final int ITERATIONS = 100;
+
+    private final String resource;
+    private final Properties budgets;
+    private final com.sun.management.ThreadMXBean threads;
+
+    private AllocationBudgets(String resource, Properties budgets) {
+        this.resource = resource;
+        this.budgets = budgets;
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            threads = (com.sun.management.ThreadMXBean) bean;
+            threads.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            threads = null;
+        }
+    }
+
+    /**
+     * Loads budgets from a properties file on the class path.
+     *
+     * @param owner the class whose package holds the file
+     * @param resource the name of the file
+     * @return the budgets
+     * @throws IOException if the file cannot be read
+     */
+    public static AllocationBudgets load(Class<?> owner, String resource) throws IOException {
+        Properties budgets = new Properties();
+        try (InputStream input = Resources.getResource(owner, resource).openStream()) {
+            budgets.load(input);
+        }
+        return new AllocationBudgets(resource, budgets);
+    }
+
+    /**
+     * Measures the bytes allocated by the work on the current thread, after warming it up.
+     *
+     * @param work the work; its result is kept, so that it cannot be optimized away
+     * @return the average number of bytes allocated per call
+     * @throws Exception from the work
+     */
+    public long measure(Callable<?> work) throws Exception {
+        Assume.assumeTrue("per-thread allocation counters are not available", threads != null);
+        for (int x = 0; x < WARM_UP; x++) {
+            sink = work.call();
+        }
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int x = 0; x < ITERATIONS; x++) {
+            sink = work.call();
+        }
+        return (threads.getThreadAllocatedBytes(thread) - before) / ITERATIONS;
+    }
+
+    /**
+     * Measures the work and fails if it allocates more than its budget.
+     *
+     * @param scenario the name of the budget
+     * @param work the work
+     * @throws Exception from the work
+     */
+    public void check(String scenario, Callable<?> work) throws Exception {
+        long measured = measure(work);
+        if (Boolean.getBoolean(RECORD_PROPERTY)) {
+            System.out.println(String.format("%s=%d", scenario, measured));
+            return;
+        }
+        String budgetValue = budgets.getProperty(scenario);
+        Assert.assertNotNull(String.format("No budget for %s in %s; measured %d bytes", scenario, resource, measured), budgetValue);
+        long budget = Long.parseLong(budgetValue.trim());
+        System.out.println(String.format("Allocation %s: %d bytes, budget %d (%+.1f%%)",
+                scenario, measured, budget, 100.0 * (measured - budget) / budget));
+        Assert.assertTrue(String.format("%s allocated %d bytes, over its budget of %d in %s", scenario, measured, budget, resource),
+                measured <= budget);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.jfr;
+
+import com.basistech.rosette.dm.util.AdmEvents;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A call to an annotator.
+ */
+@Name("com.basistech.rosette.dm.Annotate")
+@Label("Annotate")
+@Category({"Rosette", "Annotated Data Model"})
+@Description("A call to an annotator by a composing or dispatching annotator")
+final class AnnotateEvent extends Event implements AdmEvents.Event {
+    @Label("Stage")
+    @Description("The class of the annotator")
+    String stage;
+
+    @Label("Characters")
+    @Description("The length of the input data")
+    long characters;
+
+    @Label("Attributes")
+    @Description("The number of attributes of the result")
+    int attributes;
+
+    @Override
+    public void complete(String name, long size, int count) {
+        end();
+        if (shouldCommit()) {
+            stage = name;
+            characters = size;
+            attributes = count;
+            commit();
+        }
+    }
+}
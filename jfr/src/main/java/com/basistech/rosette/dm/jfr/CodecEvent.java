@@ -0,0 +1,54 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.jfr;
+
+import com.basistech.rosette.dm.util.AdmEvents;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * The fields shared by serialization and deserialization.
+ */
+@Category({"Rosette", "Annotated Data Model"})
+abstract class CodecEvent extends Event implements AdmEvents.Event {
+    @Label("Format")
+    @Description("The format, such as plain-json or binary")
+    String format;
+
+    @Label("Bytes")
+    @Description("The size of the document, or -1 if the format does not count bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Attributes")
+    @Description("The number of attributes of the document")
+    int attributes;
+
+    @Override
+    public void complete(String name, long size, int count) {
+        end();
+        if (shouldCommit()) {
+            format = name;
+            bytes = size;
+            attributes = count;
+            commit();
+        }
+    }
+}
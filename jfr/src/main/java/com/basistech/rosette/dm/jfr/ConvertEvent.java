@@ -0,0 +1,56 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.jfr;
+
+import com.basistech.rosette.dm.util.AdmEvents;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Building a compatibility list from the entities of a document.
+ */
+@Name("com.basistech.rosette.dm.Convert")
+@Label("Compatibility Conversion")
+@Category({"Rosette", "Annotated Data Model"})
+@Description("Building the entity mentions or resolved entities of an annotated text from its entities")
+final class ConvertEvent extends Event implements AdmEvents.Event {
+    @Label("Conversion")
+    @Description("The list that was built, entityMentions or resolvedEntities")
+    String conversion;
+
+    @Label("Entities")
+    @Description("The number of entities of the document")
+    long entities;
+
+    @Label("Items")
+    @Description("The number of items of the list")
+    int items;
+
+    @Override
+    public void complete(String name, long size, int count) {
+        end();
+        if (shouldCommit()) {
+            conversion = name;
+            entities = size;
+            items = count;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.jfr;
+
+import com.basistech.rosette.dm.util.AdmEvents;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Records {@link AdmEvents} as Java Flight Recorder events. This is registered as a service,
+ * so that having adm-jfr on the class path is enough to turn on the events; they are only
+ * recorded while a recording enables them.
+ */
+public final class JfrEventProvider implements AdmEvents.Provider {
+    /**
+     * Registers the event types, so that they can be configured before the first event.
+     *
+     * @throws IllegalStateException if this JVM does not have Flight Recorder.
+     */
+    public JfrEventProvider() {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("Flight Recorder is not available");
+        }
+        FlightRecorder.register(AnnotateEvent.class);
+        FlightRecorder.register(SerializeEvent.class);
+        FlightRecorder.register(DeserializeEvent.class);
+        FlightRecorder.register(ConvertEvent.class);
+    }
+
+    @Override
+    public AdmEvents.Event begin(AdmEvents.Kind kind) {
+        AdmEvents.Event event;
+        switch (kind) {
+        case ANNOTATE:
+            event = start(new AnnotateEvent());
+            break;
+        case SERIALIZE:
+            event = start(new SerializeEvent());
+            break;
+        case DESERIALIZE:
+            event = start(new DeserializeEvent());
+            break;
+        case CONVERT:
+            event = start(new ConvertEvent());
+            break;
+        default:
+            event = null;
+            break;
+        }
+        return event;
+    }
+
+    private static <T extends jdk.jfr.Event & AdmEvents.Event> T start(T event) {
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+}
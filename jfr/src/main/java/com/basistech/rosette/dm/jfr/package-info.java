@@ -0,0 +1,24 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+/**
+ * Java Flight Recorder events for the Annotated Data Model. With this module on the class path,
+ * annotation, serialization, deserialization and compatibility conversions appear in recordings
+ * in the category {@code Rosette / Annotated Data Model}; see {@link com.basistech.rosette.dm.util.AdmEvents}.
+ * The provider is found with {@link java.util.ServiceLoader}, which does not see other bundles in an OSGi container.
+ * This module requires Java 11, or Java 8 from update 262.
+ */
+package com.basistech.rosette.dm.jfr;
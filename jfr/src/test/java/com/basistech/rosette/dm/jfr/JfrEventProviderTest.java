@@ -0,0 +1,156 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.jfr;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.Annotator;
+import com.basistech.rosette.dm.Entity;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.Mention;
+import com.basistech.rosette.dm.Token;
+import com.basistech.rosette.dm.jackson.AdmCodecs;
+import com.basistech.rosette.dm.util.AdmEvents;
+import com.basistech.rosette.dm.util.ComposingAnnotator;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JfrEventProviderTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static final class Tokenizer implements Annotator {
+        @Override
+        public AnnotatedText annotate(CharSequence input) {
+            return annotate(new AnnotatedText.Builder().data(input).build());
+        }
+
+        @Override
+        public AnnotatedText annotate(AnnotatedText input) {
+            AnnotatedText.Builder builder = new AnnotatedText.Builder(input);
+            builder.tokens(new ListAttribute.Builder<Token>(Token.class).add(new Token.Builder(0, 5, "Hello").build()).build());
+            return builder.build();
+        }
+    }
+
+    private static final class EntityFinder implements Annotator {
+        @Override
+        public AnnotatedText annotate(CharSequence input) {
+            return annotate(new AnnotatedText.Builder().data(input).build());
+        }
+
+        @Override
+        public AnnotatedText annotate(AnnotatedText input) {
+            Entity entity = new Entity.Builder().mention(new Mention.Builder(6, 11).build()).headMentionIndex(0).type("LOCATION").build();
+            AnnotatedText.Builder builder = new AnnotatedText.Builder(input);
+            builder.entities(new ListAttribute.Builder<Entity>(Entity.class).add(entity).build());
+            return builder.build();
+        }
+    }
+
+    private List<RecordedEvent> record(Runnable work) throws Exception {
+        Path file = temporaryFolder.newFile("events.jfr").toPath();
+        try (Recording recording = new Recording()) {
+            recording.enable("com.basistech.rosette.dm.Annotate");
+            recording.enable("com.basistech.rosette.dm.Serialize");
+            recording.enable("com.basistech.rosette.dm.Deserialize");
+            recording.enable("com.basistech.rosette.dm.Convert");
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            if (event.getEventType().getName().startsWith("com.basistech.rosette.dm.")) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> selected = new ArrayList<>();
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals("com.basistech.rosette.dm." + name)) {
+                selected.add(event);
+            }
+        }
+        return selected;
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void recordsEvents() throws Exception {
+        assertTrue(AdmEvents.ENABLED);
+        final Annotator annotator = new ComposingAnnotator(Arrays.<Annotator>asList(new Tokenizer(), new EntityFinder()));
+        List<RecordedEvent> events = record(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    AnnotatedText text = annotator.annotate("Hello world");
+                    byte[] json = AdmCodecs.writer().writeValueAsBytes(text);
+                    AnnotatedText read = AdmCodecs.reader().readValue(json);
+                    assertEquals(1, read.getEntityMentions().size());
+                } catch (java.io.IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+
+        List<RecordedEvent> annotations = ofType(events, "Annotate");
+        assertEquals(2, annotations.size());
+        assertEquals(Tokenizer.class.getName(), annotations.get(0).getString("stage"));
+        assertEquals(11, annotations.get(0).getLong("characters"));
+        assertEquals(1, annotations.get(0).getInt("attributes"));
+        assertEquals(EntityFinder.class.getName(), annotations.get(1).getString("stage"));
+        assertEquals(2, annotations.get(1).getInt("attributes"));
+
+        List<RecordedEvent> serializations = ofType(events, "Serialize");
+        assertEquals(1, serializations.size());
+        assertEquals("plain-json", serializations.get(0).getString("format"));
+        assertEquals(-1, serializations.get(0).getLong("bytes"));
+
+        List<RecordedEvent> deserializations = ofType(events, "Deserialize");
+        assertEquals(1, deserializations.size());
+        assertEquals("plain-json", deserializations.get(0).getString("format"));
+        assertTrue(deserializations.get(0).getLong("bytes") > 0);
+        assertEquals(2, deserializations.get(0).getInt("attributes"));
+
+        List<RecordedEvent> conversions = ofType(events, "Convert");
+        assertEquals(1, conversions.size());
+        assertEquals("entityMentions", conversions.get(0).getString("conversion"));
+        assertEquals(1, conversions.get(0).getLong("entities"));
+        assertEquals(1, conversions.get(0).getInt("items"));
+    }
+
+    @Test
+    public void nothingWithoutRecording() throws Exception {
+        assertEquals(null, AdmEvents.begin(AdmEvents.Kind.ANNOTATE));
+    }
+}
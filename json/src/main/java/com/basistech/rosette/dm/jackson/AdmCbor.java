@@ -0,0 +1,151 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.jackson;
+
+import com.basistech.rosette.dm.EmbeddingCollection;
+import com.basistech.rosette.dm.jackson.array.AnnotatedDataModelArrayModule;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.PrimitiveArrayDeserializers;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * Sets up an {@link ObjectMapper} for the annotated data model in the CBOR encoding.
+ * Besides registering {@link AnnotatedDataModelModule} or {@link AnnotatedDataModelArrayModule},
+ * this writes floating point values as native numbers instead of the decimal strings
+ * written by {@link DoubleSerializer}, and writes the vectors of an {@link EmbeddingCollection}
+ * as RFC 8746 typed arrays: a byte string of big-endian 32-bit floats with tag 81.
+ * Readers set up here also accept the little-endian tag 85, and arrays of numbers.
+ * <br>
+ * This class requires {@code jackson-dataformat-cbor} at runtime.
+ */
+public final class AdmCbor {
+    /* RFC 8746 tags for arrays of 32-bit floats. */
+    static final int FLOAT32_BIG_ENDIAN = 81;
+    static final int FLOAT32_LITTLE_ENDIAN = 85;
+
+    private AdmCbor() {
+        //
+    }
+
+    /**
+     * Writes {@code float[]} as a tagged byte string when the generator is a CBOR generator.
+     */
+    private static final class TypedArraySerializer extends StdSerializer<float[]> {
+        TypedArraySerializer() {
+            super(float[].class);
+        }
+
+        @Override
+        public void serialize(float[] value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (!(gen instanceof CBORGenerator)) {
+                // e.g. a TokenBuffer
+                gen.writeStartArray(value.length);
+                for (float f : value) {
+                    gen.writeNumber(f);
+                }
+                gen.writeEndArray();
+                return;
+            }
+            ByteBuffer bytes = ByteBuffer.allocate(4 * value.length).order(ByteOrder.BIG_ENDIAN);
+            bytes.asFloatBuffer().put(value);
+            ((CBORGenerator) gen).writeTag(FLOAT32_BIG_ENDIAN);
+            gen.writeBinary(bytes.array());
+        }
+    }
+
+    /**
+     * Reads typed arrays, and hands anything else to the standard deserializer.
+     */
+    private static final class TypedArrayDeserializer extends StdDeserializer<float[]> {
+        private static final long serialVersionUID = 1L;
+        private final JsonDeserializer<?> standard = PrimitiveArrayDeserializers.forType(Float.TYPE);
+
+        TypedArrayDeserializer() {
+            super(float[].class);
+        }
+
+        @Override
+        public float[] deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.getCurrentToken() != JsonToken.VALUE_EMBEDDED_OBJECT) {
+                return (float[]) standard.deserialize(p, ctxt);
+            }
+            // a copy through a TokenBuffer loses the tag; the serializer above always writes big-endian.
+            int tag = p instanceof CBORParser ? ((CBORParser) p).getCurrentTag() : -1;
+            ByteOrder order;
+            if (tag == FLOAT32_LITTLE_ENDIAN) {
+                order = ByteOrder.LITTLE_ENDIAN;
+            } else if (tag == FLOAT32_BIG_ENDIAN || tag == -1) {
+                order = ByteOrder.BIG_ENDIAN;
+            } else {
+                throw ctxt.mappingException("Unsupported tag for an array of floats: " + tag);
+            }
+            byte[] bytes = p.getBinaryValue();
+            if (bytes.length % 4 != 0) {
+                throw ctxt.mappingException("Typed array length is not a multiple of 4: " + bytes.length);
+            }
+            FloatBuffer floats = ByteBuffer.wrap(bytes).order(order).asFloatBuffer();
+            float[] value = new float[floats.remaining()];
+            floats.get(value);
+            return value;
+        }
+    }
+
+    /**
+     * Register the Annotated Data Model Jackson modules on a CBOR {@link ObjectMapper}.
+     * @param mapper a mapper made with a {@link CBORFactory}.
+     * @param format the format.
+     * @return the same mapper, for convenience.
+     * @throws IllegalArgumentException if the mapper does not use a {@link CBORFactory}.
+     */
+    public static ObjectMapper setupObjectMapper(ObjectMapper mapper, AdmCodecs.Format format) {
+        if (!(mapper.getFactory() instanceof CBORFactory)) {
+            throw new IllegalArgumentException("Not a CBOR mapper: " + mapper.getFactory().getFormatName());
+        }
+        AdmCodecs.setupObjectMapper(mapper, format);
+        mapper.registerModule(AdmCodecs.nativeNumbersModule());
+        SimpleModule typedArrays = new SimpleModule("adm-cbor-typed-arrays");
+        typedArrays.addSerializer(float[].class, new TypedArraySerializer());
+        typedArrays.addDeserializer(float[].class, new TypedArrayDeserializer());
+        mapper.registerModule(typedArrays);
+        return mapper;
+    }
+
+    /**
+     * Creates a new CBOR mapper for the annotated data model.
+     * @param format the format.
+     * @return the mapper.
+     */
+    public static ObjectMapper newObjectMapper(AdmCodecs.Format format) {
+        return setupObjectMapper(new ObjectMapper(new CBORFactory()), format);
+    }
+}
@@ -0,0 +1,252 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.jackson;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.ArabicMorphoAnalysis;
+import com.basistech.rosette.dm.EmbeddingCollection;
+import com.basistech.rosette.dm.Extent;
+import com.basistech.rosette.dm.HanMorphoAnalysis;
+import com.basistech.rosette.dm.KoreanMorphoAnalysis;
+import com.basistech.rosette.dm.LanguageDetection;
+import com.basistech.rosette.dm.Mention;
+import com.basistech.rosette.dm.MorphoAnalysis;
+import com.basistech.rosette.dm.Name;
+import com.basistech.rosette.dm.RawData;
+import com.basistech.rosette.dm.jackson.array.AnnotatedDataModelArrayModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.NumberSerializers;
+import com.google.common.collect.ImmutableList;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Shared, preconfigured readers and writers for the annotated data model.
+ * Setting up an {@link ObjectMapper} with {@link AnnotatedDataModelModule} or
+ * {@link AnnotatedDataModelArrayModule} is not free, and a new mapper starts with
+ * empty serializer and deserializer caches. Applications that read or write ADM
+ * in many places should use the instances provided here instead of making their own mappers.
+ * <br>
+ * The {@link ObjectReader} and {@link ObjectWriter} objects returned by this class are immutable
+ * and thread-safe. They are bound to {@link AnnotatedText}; use {@link ObjectReader#forType(Class)} or
+ * {@link ObjectWriter#forType(Class)} to work with other model classes while sharing the same caches.
+ * <br>
+ * The Smile and CBOR encodings require the corresponding Jackson dataformat artifacts
+ * at runtime; they are only loaded when first requested. Their mappers are set up by
+ * {@link AdmSmile} and {@link AdmCbor}.
+ */
+public final class AdmCodecs {
+
+    /**
+     * The shape of the serialized data model.
+     */
+    public enum Format {
+        /**
+         * Objects as Json objects, as set up by {@link AnnotatedDataModelModule}.
+         */
+        PLAIN,
+        /**
+         * Objects as Json arrays, as set up by {@link AnnotatedDataModelArrayModule}.
+         */
+        ARRAY
+    }
+
+    /**
+     * The encoding of the serialized data model.
+     */
+    public enum Encoding {
+        JSON,
+        SMILE,
+        CBOR
+    }
+
+    /*
+     * Every class that can appear in a serialized AnnotatedText. The attribute classes
+     * come from KnownAttribute; these are the others.
+     */
+    @SuppressWarnings("deprecation")
+    private static final List<Class<?>> OTHER_ADM_CLASSES = ImmutableList.<Class<?>>of(
+            AnnotatedText.class,
+            MorphoAnalysis.class,
+            HanMorphoAnalysis.class,
+            ArabicMorphoAnalysis.class,
+            KoreanMorphoAnalysis.class,
+            Mention.class,
+            Extent.class,
+            Name.class,
+            RawData.class,
+            EmbeddingCollection.class,
+            LanguageDetection.DetectionResult.class);
+
+    private AdmCodecs() {
+        //
+    }
+
+    /**
+     * Returns the shared reader for {@link AnnotatedText} in a format and encoding.
+     * @param format the format.
+     * @param encoding the encoding.
+     * @return the reader.
+     */
+    public static ObjectReader reader(Format format, Encoding encoding) {
+        return codec(format, encoding).reader;
+    }
+
+    /**
+     * Returns the shared writer for {@link AnnotatedText} in a format and encoding.
+     * @param format the format.
+     * @param encoding the encoding.
+     * @return the writer.
+     */
+    public static ObjectWriter writer(Format format, Encoding encoding) {
+        return codec(format, encoding).writer;
+    }
+
+    /**
+     * Returns a reader for the plain Json format.
+     * @return the reader.
+     */
+    public static ObjectReader reader() {
+        return reader(Format.PLAIN, Encoding.JSON);
+    }
+
+    /**
+     * Returns a writer for the plain Json format.
+     * @return the writer.
+     */
+    public static ObjectWriter writer() {
+        return writer(Format.PLAIN, Encoding.JSON);
+    }
+
+    /**
+     * Resolves the serializers and deserializers for all of the classes of the model,
+     * for all formats and the Json encoding, so that the first document processed
+     * does not pay for it.
+     */
+    public static void warmUp() {
+        for (Format format : Format.values()) {
+            warmUp(format, Encoding.JSON);
+        }
+    }
+
+    /**
+     * Resolves the serializers and deserializers for all of the classes of the model
+     * for one format and encoding.
+     * @param format the format.
+     * @param encoding the encoding.
+     */
+    public static void warmUp(Format format, Encoding encoding) {
+        Codec codec = codec(format, encoding);
+        for (KnownAttribute attribute : KnownAttribute.values()) {
+            codec.warmUp(attribute.attributeClass());
+        }
+        for (Class<?> clazz : OTHER_ADM_CLASSES) {
+            codec.warmUp(clazz);
+        }
+        // The version property, the attribute map, and the contextual deserializers are only
+        // resolved when a whole document goes by.
+        try {
+            AnnotatedText text = new AnnotatedText.Builder().data("").build();
+            codec.reader.readValue(codec.writer.writeValueAsBytes(text));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to round-trip an empty document", e);
+        }
+    }
+
+    /*
+     * Registers the module for a format. This does not depend on the Smile or CBOR classes.
+     */
+    static ObjectMapper setupObjectMapper(ObjectMapper mapper, Format format) {
+        if (format == Format.PLAIN) {
+            return AnnotatedDataModelModule.setupObjectMapper(mapper);
+        } else {
+            return AnnotatedDataModelArrayModule.setupObjectMapper(mapper);
+        }
+    }
+
+    /*
+     * Binary encodings have native floating point numbers, so they do not need DoubleSerializer.
+     * Register this after the format module; later modules take precedence.
+     */
+    static SimpleModule nativeNumbersModule() {
+        SimpleModule module = new SimpleModule("adm-native-numbers");
+        module.addSerializer(Double.class, new NumberSerializers.DoubleSerializer());
+        return module;
+    }
+
+    private static Codec codec(Format format, Encoding encoding) {
+        switch (encoding) {
+        case JSON:
+            return format == Format.PLAIN ? JsonCodecs.PLAIN : JsonCodecs.ARRAY;
+        case SMILE:
+            return format == Format.PLAIN ? SmileCodecs.PLAIN : SmileCodecs.ARRAY;
+        case CBOR:
+            return format == Format.PLAIN ? CborCodecs.PLAIN : CborCodecs.ARRAY;
+        default:
+            throw new IllegalArgumentException("Unsupported encoding " + encoding);
+        }
+    }
+
+    private static final class Codec {
+        final ObjectReader reader;
+        final ObjectWriter writer;
+
+        Codec(ObjectMapper mapper) {
+            reader = mapper.readerFor(AnnotatedText.class);
+            writer = mapper.writerFor(AnnotatedText.class);
+        }
+
+        void warmUp(Class<?> clazz) {
+            // Both of these eagerly fetch the root (de)serializer into the caches shared with the mapper.
+            reader.forType(clazz);
+            writer.forType(clazz);
+        }
+    }
+
+    /* The holders keep the Smile and CBOR classes from loading until someone asks for them. */
+
+    private static final class JsonCodecs {
+        static final Codec PLAIN = new Codec(setupObjectMapper(new ObjectMapper(), Format.PLAIN));
+        static final Codec ARRAY = new Codec(setupObjectMapper(new ObjectMapper(), Format.ARRAY));
+
+        private JsonCodecs() {
+            //
+        }
+    }
+
+    private static final class SmileCodecs {
+        static final Codec PLAIN = new Codec(AdmSmile.newObjectMapper(Format.PLAIN));
+        static final Codec ARRAY = new Codec(AdmSmile.newObjectMapper(Format.ARRAY));
+
+        private SmileCodecs() {
+            //
+        }
+    }
+
+    private static final class CborCodecs {
+        static final Codec PLAIN = new Codec(AdmCbor.newObjectMapper(Format.PLAIN));
+        static final Codec ARRAY = new Codec(AdmCbor.newObjectMapper(Format.ARRAY));
+
+        private CborCodecs() {
+            //
+        }
+    }
+}
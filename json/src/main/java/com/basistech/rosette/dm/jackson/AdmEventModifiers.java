@@ -0,0 +1,192 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.jackson;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.util.AdmEvents;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Reports the serialization and deserialization of each {@link AnnotatedText} to {@link AdmEvents}.
+ * The modules install this only when {@link AdmEvents#ENABLED} is set, so that there is no cost otherwise.
+ * The format of an event is the shape and the encoding, for example {@code plain-json} or {@code array-smile}.
+ * The size of a deserialization is the number of bytes between the start and the end of the document,
+ * when the parser reads bytes. Jackson does not count the bytes that a generator writes,
+ * so the size of a serialization is always -1.
+ */
+public final class AdmEventModifiers {
+    private AdmEventModifiers() {
+        //
+    }
+
+    /**
+     * Installs the modifiers, if there is an event recorder.
+     *
+     * @param context the context of the module
+     * @param shape the shape of the module, {@code plain} or {@code array}
+     */
+    public static void register(Module.SetupContext context, String shape) {
+        if (AdmEvents.ENABLED) {
+            context.addBeanSerializerModifier(new SerializerModifier(shape));
+            context.addBeanDeserializerModifier(new DeserializerModifier(shape));
+        }
+    }
+
+    private static String format(String shape, ObjectCodec codec) {
+        String encoding = codec == null ? "json" : codec.getFactory().getFormatName().toLowerCase(Locale.ROOT);
+        return shape + "-" + encoding;
+    }
+
+    private static final class SerializerModifier extends BeanSerializerModifier {
+        private final String shape;
+
+        SerializerModifier(String shape) {
+            this.shape = shape;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc, JsonSerializer<?> serializer) {
+            if (beanDesc.getBeanClass() == AnnotatedText.class) {
+                return new EventSerializer(shape, (JsonSerializer<AnnotatedText>) serializer);
+            }
+            return serializer;
+        }
+    }
+
+    private static final class DeserializerModifier extends BeanDeserializerModifier {
+        private final String shape;
+
+        DeserializerModifier(String shape) {
+            this.shape = shape;
+        }
+
+        @Override
+        public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription beanDesc, JsonDeserializer<?> deserializer) {
+            if (beanDesc.getBeanClass() == AnnotatedText.class) {
+                return new EventDeserializer(shape, deserializer);
+            }
+            return deserializer;
+        }
+    }
+
+    private static final class EventSerializer extends JsonSerializer<AnnotatedText> implements ContextualSerializer, ResolvableSerializer {
+        private final String shape;
+        private final JsonSerializer<AnnotatedText> delegate;
+
+        EventSerializer(String shape, JsonSerializer<AnnotatedText> delegate) {
+            this.shape = shape;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void serialize(AnnotatedText value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            AdmEvents.Event event = AdmEvents.begin(AdmEvents.Kind.SERIALIZE);
+            delegate.serialize(value, gen, serializers);
+            if (event != null) {
+                event.complete(format(shape, gen.getCodec()), -1, value.getStoredAttributes().size());
+            }
+        }
+
+        @Override
+        public void serializeWithType(AnnotatedText value, JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+            AdmEvents.Event event = AdmEvents.begin(AdmEvents.Kind.SERIALIZE);
+            delegate.serializeWithType(value, gen, serializers, typeSer);
+            if (event != null) {
+                event.complete(format(shape, gen.getCodec()), -1, value.getStoredAttributes().size());
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property) throws JsonMappingException {
+            if (delegate instanceof ContextualSerializer) {
+                JsonSerializer<?> contextual = ((ContextualSerializer) delegate).createContextual(prov, property);
+                if (contextual != delegate) {
+                    return new EventSerializer(shape, (JsonSerializer<AnnotatedText>) contextual);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer) {
+                ((ResolvableSerializer) delegate).resolve(provider);
+            }
+        }
+
+        @Override
+        public Class<AnnotatedText> handledType() {
+            return AnnotatedText.class;
+        }
+
+        @Override
+        public JsonSerializer<?> getDelegatee() {
+            return delegate;
+        }
+    }
+
+    private static final class EventDeserializer extends DelegatingDeserializer {
+        private static final long serialVersionUID = 1L;
+        private final String shape;
+
+        EventDeserializer(String shape, JsonDeserializer<?> delegate) {
+            super(delegate);
+            this.shape = shape;
+        }
+
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+            return new EventDeserializer(shape, newDelegatee);
+        }
+
+        @Override
+        public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            AdmEvents.Event event = AdmEvents.begin(AdmEvents.Kind.DESERIALIZE);
+            long start = p.getTokenLocation().getByteOffset();
+            Object value = super.deserialize(p, ctxt);
+            if (event != null) {
+                long end = p.getCurrentLocation().getByteOffset();
+                int attributes = value instanceof AnnotatedText ? ((AnnotatedText) value).getStoredAttributes().size() : 0;
+                event.complete(format(shape, p.getCodec()), start < 0 || end < 0 ? -1 : end - start, attributes);
+            }
+            return value;
+        }
+    }
+}
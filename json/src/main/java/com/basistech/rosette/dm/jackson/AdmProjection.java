@@ -0,0 +1,111 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.jackson;
+
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Set;
+
+/**
+ * Selects the parts of an {@link com.basistech.rosette.dm.AnnotatedText} to deserialize.
+ * Attributes that are not selected, and the data if it is not selected, are skipped over in the
+ * input without building any objects; they are absent from the resulting
+ * {@link com.basistech.rosette.dm.AnnotatedText}. The document metadata is always read.
+ * <br>
+ * A projection is attached to a reader from {@link AdmCodecs}, or to any reader from a mapper set up
+ * by {@link AnnotatedDataModelModule} or {@link com.basistech.rosette.dm.jackson.array.AnnotatedDataModelArrayModule}:
+ * <pre>
+ * ObjectReader reader = AdmProjection.including("entities").withoutData().applyTo(AdmCodecs.reader());
+ * </pre>
+ * Attribute keys are the keys of {@link com.basistech.rosette.dm.AnnotatedText#getAttributes()}, such as
+ * {@code token} or {@code entities}.
+ */
+public final class AdmProjection {
+    /**
+     * Reads everything.
+     */
+    public static final AdmProjection ALL = new AdmProjection(ImmutableSet.<String>of(), false, true);
+
+    private final Set<String> keys;
+    private final boolean include;
+    private final boolean data;
+
+    private AdmProjection(Set<String> keys, boolean include, boolean data) {
+        this.keys = keys;
+        this.include = include;
+        this.data = data;
+    }
+
+    /**
+     * Creates a projection that reads only the given attributes, and the data.
+     * @param attributeKeys the keys of the attributes to read.
+     * @return the projection.
+     */
+    public static AdmProjection including(String... attributeKeys) {
+        return new AdmProjection(ImmutableSet.copyOf(attributeKeys), true, true);
+    }
+
+    /**
+     * Creates a projection that reads everything except the given attributes.
+     * @param attributeKeys the keys of the attributes to skip.
+     * @return the projection.
+     */
+    public static AdmProjection excluding(String... attributeKeys) {
+        return new AdmProjection(ImmutableSet.copyOf(attributeKeys), false, true);
+    }
+
+    /**
+     * Returns a projection that selects the same attributes as this one, but not the data.
+     * @return the projection.
+     */
+    public AdmProjection withoutData() {
+        return new AdmProjection(keys, include, false);
+    }
+
+    /**
+     * Determines if an attribute is selected.
+     * @param attributeKey the key of the attribute.
+     * @return true if it is read.
+     */
+    public boolean includes(String attributeKey) {
+        return include == keys.contains(attributeKey);
+    }
+
+    /**
+     * Determines if the data is selected.
+     * @return true if it is read.
+     */
+    public boolean includesData() {
+        return data;
+    }
+
+    /**
+     * Returns a reader that applies this projection.
+     * @param reader a reader set up for the data model.
+     * @return the new reader.
+     */
+    public ObjectReader applyTo(ObjectReader reader) {
+        return reader.withAttribute(AdmProjection.class, this);
+    }
+
+    static AdmProjection fromContext(DeserializationContext ctxt) {
+        Object projection = ctxt.getAttribute(AdmProjection.class);
+        return projection == null ? ALL : (AdmProjection) projection;
+    }
+}
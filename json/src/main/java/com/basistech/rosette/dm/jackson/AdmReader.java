@@ -0,0 +1,218 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.jackson;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a sequence of {@link AnnotatedText} documents, one at a time, from a single stream.
+ * The input can be either a top-level array of documents, or a series of documents
+ * at the top level, such as a Json-Lines file. Only one document is in memory at a time,
+ * and all of them are read with the same parser, so the parser's buffers are reused.
+ * <br>
+ * Like Jackson's {@link com.fasterxml.jackson.databind.MappingIterator}, this offers
+ * {@link #hasNextValue()} and {@link #nextValue()}, which throw {@link IOException}, as well as the
+ * {@link Iterator} methods, which wrap exceptions in unchecked exceptions.
+ * <br>
+ * In the array format, a document is itself a Json array. A top-level array is taken to be a
+ * container of documents when its first element is an array (or when it is empty).
+ */
+public final class AdmReader implements Iterator<AnnotatedText>, Iterable<AnnotatedText>, Closeable {
+    private final ObjectReader reader;
+    private final AdmCodecs.Format format;
+    private final JsonParser parser;
+    // non-null only while the first document has to be read from a token we already consumed.
+    private JsonParser firstDocumentParser;
+    private boolean started;
+    private boolean inContainer;
+    private boolean finished;
+    private boolean hasPending;
+
+    /**
+     * Constructs a reader over a parser.
+     * @param reader the object reader used for each document. It must be set up for the format.
+     * @param format the format.
+     * @param parser the parser, positioned before the first token.
+     */
+    public AdmReader(ObjectReader reader, AdmCodecs.Format format, JsonParser parser) {
+        this.reader = reader.forType(AnnotatedText.class);
+        this.format = format;
+        this.parser = parser;
+    }
+
+    /**
+     * Opens a reader over a stream using the shared readers from {@link AdmCodecs}.
+     * @param input the input. Closing this reader closes the stream.
+     * @param format the format.
+     * @param encoding the encoding.
+     * @return the reader.
+     * @throws IOException on errors reading the start of the input.
+     */
+    public static AdmReader open(InputStream input, AdmCodecs.Format format, AdmCodecs.Encoding encoding) throws IOException {
+        ObjectReader objectReader = AdmCodecs.reader(format, encoding);
+        return new AdmReader(objectReader, format, objectReader.getFactory().createParser(input));
+    }
+
+    /**
+     * Opens a reader over a file using the shared readers from {@link AdmCodecs}.
+     * @param input the input file.
+     * @param format the format.
+     * @param encoding the encoding.
+     * @return the reader.
+     * @throws IOException on errors opening the file.
+     */
+    public static AdmReader open(File input, AdmCodecs.Format format, AdmCodecs.Encoding encoding) throws IOException {
+        ObjectReader objectReader = AdmCodecs.reader(format, encoding);
+        return new AdmReader(objectReader, format, objectReader.getFactory().createParser(input));
+    }
+
+    /**
+     * Opens a reader over a stream of plain Json.
+     * @param input the input.
+     * @return the reader.
+     * @throws IOException on errors reading the start of the input.
+     */
+    public static AdmReader open(InputStream input) throws IOException {
+        return open(input, AdmCodecs.Format.PLAIN, AdmCodecs.Encoding.JSON);
+    }
+
+    /**
+     * Determines if there is another document.
+     * @return true if there is another document.
+     * @throws IOException on errors reading the input.
+     */
+    public boolean hasNextValue() throws IOException {
+        if (finished) {
+            return false;
+        }
+        if (hasPending) {
+            return true;
+        }
+        JsonToken token;
+        if (!started) {
+            started = true;
+            token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = startArray();
+            }
+        } else {
+            token = parser.nextToken();
+        }
+
+        if (token == null || (inContainer && token == JsonToken.END_ARRAY)) {
+            finished = true;
+            return false;
+        }
+        hasPending = true;
+        return true;
+    }
+
+    /*
+     * Called when the input starts with an array. Decide if it is the container or the first document.
+     * Return the first token of the first document.
+     */
+    private JsonToken startArray() throws IOException {
+        if (format == AdmCodecs.Format.PLAIN) {
+            inContainer = true;
+            return parser.nextToken();
+        }
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_ARRAY || token == JsonToken.END_ARRAY) {
+            inContainer = true;
+            return token;
+        }
+        // We have read into the first document. Put back its start.
+        TokenBuffer buffer = new TokenBuffer(parser);
+        buffer.writeStartArray();
+        buffer.copyCurrentEvent(parser);
+        firstDocumentParser = JsonParserSequence.createFlattened(buffer.asParser(parser), parser);
+        return JsonToken.START_ARRAY;
+    }
+
+    /**
+     * Reads the next document.
+     * @return the document.
+     * @throws IOException on errors reading the input.
+     */
+    public AnnotatedText nextValue() throws IOException {
+        if (!hasNextValue()) {
+            throw new NoSuchElementException();
+        }
+        hasPending = false;
+        if (firstDocumentParser != null) {
+            JsonParser sequence = firstDocumentParser;
+            firstDocumentParser = null;
+            return reader.readValue(sequence);
+        }
+        return reader.readValue(parser);
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            return hasNextValue();
+        } catch (JsonMappingException e) {
+            throw new RuntimeJsonMappingException(e.getMessage(), e);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public AnnotatedText next() {
+        try {
+            return nextValue();
+        } catch (JsonMappingException e) {
+            throw new RuntimeJsonMappingException(e.getMessage(), e);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This reader is its own iterator, so it can be used in a for-each loop once.
+     * @return this.
+     */
+    @Override
+    public Iterator<AnnotatedText> iterator() {
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
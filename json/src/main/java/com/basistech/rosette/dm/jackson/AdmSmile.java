@@ -0,0 +1,67 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.jackson;
+
+import com.basistech.rosette.dm.jackson.array.AnnotatedDataModelArrayModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+/**
+ * Sets up an {@link ObjectMapper} for the annotated data model in the Smile encoding.
+ * Besides registering {@link AnnotatedDataModelModule} or {@link AnnotatedDataModelArrayModule},
+ * this enables back-references for repeated field names and string values, which
+ * Smile does not do for values by default, and writes floating point values as native
+ * numbers instead of the decimal strings written by {@link DoubleSerializer}.
+ * <br>
+ * Data written this way can be read by any Smile mapper set up for the same format.
+ * This class requires {@code jackson-dataformat-smile} at runtime.
+ */
+public final class AdmSmile {
+    private AdmSmile() {
+        //
+    }
+
+    /**
+     * Register the Annotated Data Model Jackson modules on a Smile {@link ObjectMapper}.
+     * This changes the settings of the factory of the mapper.
+     * @param mapper a mapper made with a {@link SmileFactory}.
+     * @param format the format.
+     * @return the same mapper, for convenience.
+     * @throws IllegalArgumentException if the mapper does not use a {@link SmileFactory}.
+     */
+    public static ObjectMapper setupObjectMapper(ObjectMapper mapper, AdmCodecs.Format format) {
+        if (!(mapper.getFactory() instanceof SmileFactory)) {
+            throw new IllegalArgumentException("Not a Smile mapper: " + mapper.getFactory().getFormatName());
+        }
+        SmileFactory factory = (SmileFactory) mapper.getFactory();
+        factory.enable(SmileGenerator.Feature.CHECK_SHARED_NAMES);
+        factory.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+        AdmCodecs.setupObjectMapper(mapper, format);
+        mapper.registerModule(AdmCodecs.nativeNumbersModule());
+        return mapper;
+    }
+
+    /**
+     * Creates a new Smile mapper for the annotated data model.
+     * @param format the format.
+     * @return the mapper.
+     */
+    public static ObjectMapper newObjectMapper(AdmCodecs.Format format) {
+        return setupObjectMapper(new ObjectMapper(new SmileFactory()), format);
+    }
+}
@@ -98,6 +98,7 @@ public class  AnnotatedDataModelModule extends EnumModule {
         // All doubles are serialized by DoubleSerializer
         serializers.addSerializer(new DoubleSerializer());
         context.addSerializers(serializers);
+        AdmEventModifiers.register(context, "plain");
     }
 
     /**
@@ -107,9 +108,7 @@ public class  AnnotatedDataModelModule extends EnumModule {
      */
     public static ObjectMapper setupObjectMapper(ObjectMapper mapper) {
         mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-        final AnnotatedDataModelModule module = new AnnotatedDataModelModule();
-        module.addSerializer(Double.class, new DoubleSerializer());
-        mapper.registerModule(module);
+        mapper.registerModule(new AnnotatedDataModelModule());
 
         return mapper;
     }
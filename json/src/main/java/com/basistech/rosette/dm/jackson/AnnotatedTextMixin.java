@@ -55,8 +55,14 @@ import java.util.Map;
 public abstract class AnnotatedTextMixin {
 
     @JsonCreator
-    AnnotatedTextMixin(@JsonProperty("data") CharSequence data,
-                       @JsonProperty("attributes") Map<String, BaseAttribute> attributes,
+    AnnotatedTextMixin(@JsonProperty("data")
+                       @JsonDeserialize(using = ProjectedDataDeserializer.class)
+                       CharSequence data,
+                       @JsonProperty("attributes")
+                       @JsonDeserialize(contentUsing = ProjectedAttributeDeserializer.class)
+                       @JsonTypeInfo(use = JsonTypeInfo.Id.CUSTOM, include = JsonTypeInfo.As.PROPERTY, property = "type")
+                       @JsonTypeIdResolver(DmTypeIdResolver.class)
+                       Map<String, BaseAttribute> attributes,
                        @JsonProperty("documentMetadata") Map<String, List<String>> documentMetadata,
                        /* work around https://github.com/FasterXML/jackson-databind/issues/1118,
                        * and also quickly check for ADMs from 'the future'. */
@@ -66,9 +72,15 @@ public abstract class AnnotatedTextMixin {
         //
     }
 
+    /* Serialize the stored attributes, so that attributes that were never decoded go back out as they came in. */
+    @JsonIgnore
+    public abstract Map<String, BaseAttribute> getAttributes();
+
+    @JsonProperty("attributes")
     @JsonTypeInfo(use = JsonTypeInfo.Id.CUSTOM, include = JsonTypeInfo.As.PROPERTY, property = "type")
     @JsonTypeIdResolver(DmTypeIdResolver.class)
-    public abstract Map<String, BaseAttribute> getAttributes();
+    @JsonSerialize(contentUsing = StoredAttributeSerializer.class)
+    public abstract Map<String, BaseAttribute> getStoredAttributes();
 
     /* prevent Jackson from serializing a complex object here. */
     @JsonSerialize(using = ToStringSerializer.class)
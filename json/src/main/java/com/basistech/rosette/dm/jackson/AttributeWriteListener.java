@@ -0,0 +1,49 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.jackson;
+
+import com.basistech.rosette.dm.BaseAttribute;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Observes the writing of each entry of the attribute map of an {@link com.basistech.rosette.dm.AnnotatedText},
+ * in both the plain and the array formats. The serializers look for a listener among the attributes
+ * of the {@link com.fasterxml.jackson.databind.SerializerProvider}, with this class as the key;
+ * set one with {@link com.fasterxml.jackson.databind.ObjectWriter#withAttribute(Object, Object)}
+ * or {@link com.fasterxml.jackson.databind.SerializerProvider#setAttribute(Object, Object)}.
+ * The attribute may still be deferred; a listener that does not want to decode it should check
+ * {@link com.basistech.rosette.dm.DeferredAttribute#isResolved()}.
+ */
+public interface AttributeWriteListener {
+    /**
+     * Called after the key has been written, and before the value.
+     *
+     * @param key the attribute key
+     * @param attribute the attribute, as stored in the document
+     * @param gen the generator
+     */
+    void beforeAttribute(String key, BaseAttribute attribute, JsonGenerator gen);
+
+    /**
+     * Called after the value has been written.
+     *
+     * @param key the attribute key
+     * @param attribute the attribute, as stored in the document
+     * @param gen the generator
+     */
+    void afterAttribute(String key, BaseAttribute attribute, JsonGenerator gen);
+}
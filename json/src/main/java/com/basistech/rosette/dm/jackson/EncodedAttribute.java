@@ -0,0 +1,149 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.jackson;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.BaseAttribute;
+import com.basistech.rosette.dm.DeferredAttribute;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.google.common.base.Charsets;
+
+import java.io.IOException;
+
+/**
+ * An attribute captured as encoded bytes by a reader set up with {@link LazyAttributes}.
+ * The bytes are the value from the attribute map, including its type information,
+ * in the encoding of the input. They are decoded, with the same reader that read the
+ * document, when the attribute is first asked for; until then, serializers that know
+ * about this class write the bytes back out as they are when the output has the same encoding.
+ */
+public final class EncodedAttribute extends DeferredAttribute {
+    private static final long serialVersionUID = 222L;
+
+    private final String key;
+    private final transient byte[] bytes;
+    private final transient JsonFactory factory;
+    private final transient ObjectCodec codec;
+    private final boolean arrayFormat;
+
+    private EncodedAttribute(String key, byte[] bytes, JsonFactory factory, ObjectCodec codec, boolean arrayFormat) {
+        this.key = key;
+        this.bytes = bytes;
+        this.factory = factory;
+        this.codec = codec;
+        this.arrayFormat = arrayFormat;
+    }
+
+    /*
+     * Copies the value at the current token of the parser. The codec must be the reader
+     * that is reading the document.
+     */
+    static EncodedAttribute capture(String key, JsonParser p, ObjectCodec codec) throws IOException {
+        JsonFactory factory = codec.getFactory();
+        boolean arrayFormat = p.isExpectedStartArrayToken();
+        ByteArrayBuilder output = new ByteArrayBuilder();
+        try (JsonGenerator generator = factory.createGenerator(output)) {
+            generator.copyCurrentStructure(p);
+        }
+        return new EncodedAttribute(key, output.toByteArray(), factory, codec, arrayFormat);
+    }
+
+    /**
+     * Returns the key of this attribute in the attribute map.
+     * @return the key.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Determines if the bytes are in the array format.
+     * @return true for the array format, false for the plain format.
+     */
+    public boolean isArrayFormat() {
+        return arrayFormat;
+    }
+
+    /**
+     * Determines if the bytes can be written to a generator as they are. That requires the generator
+     * to write the encoding that the bytes were read from; a {@link TokenBuffer} never qualifies, since
+     * its tokens may be written out in any encoding later. When this returns false, resolve
+     * the attribute and serialize it in the usual way.
+     * @param gen the generator.
+     * @return true if {@link #write(JsonGenerator)} may be used.
+     */
+    public boolean canWrite(JsonGenerator gen) {
+        if (gen instanceof TokenBuffer || gen.getCodec() == null) {
+            return false;
+        }
+        return factory.getFormatName().equals(gen.getCodec().getFactory().getFormatName());
+    }
+
+    /**
+     * Writes the encoded value, including its type information. When the generator writes Json,
+     * the original bytes are written as they are; otherwise, the tokens are copied. Call this only
+     * when {@link #canWrite(JsonGenerator)} returns true; copying tokens from one encoding to another
+     * does not preserve values such as binary data.
+     * @param gen the generator, positioned where the value of the attribute map belongs.
+     * @throws IOException on errors writing.
+     */
+    public void write(JsonGenerator gen) throws IOException {
+        if (gen instanceof JsonGeneratorImpl) {
+            gen.writeRawValue(new String(bytes, Charsets.UTF_8));
+            return;
+        }
+        try (JsonParser parser = factory.createParser(bytes)) {
+            parser.nextToken();
+            gen.copyCurrentStructure(parser);
+        }
+    }
+
+    @Override
+    protected BaseAttribute decode() {
+        // Decode a document with just this attribute, so that the mapper applies the usual type handling.
+        try (JsonParser parser = factory.createParser(bytes)) {
+            TokenBuffer buffer = new TokenBuffer(codec, false);
+            if (arrayFormat) {
+                buffer.writeStartArray();
+                buffer.writeNull();
+            } else {
+                buffer.writeStartObject();
+                buffer.writeFieldName("attributes");
+            }
+            buffer.writeStartObject();
+            buffer.writeFieldName(key);
+            parser.nextToken();
+            buffer.copyCurrentStructure(parser);
+            buffer.writeEndObject();
+            if (arrayFormat) {
+                buffer.writeEndArray();
+            } else {
+                buffer.writeEndObject();
+            }
+            AnnotatedText text = codec.readValue(buffer.asParser(codec), AnnotatedText.class);
+            return text.getStoredAttributes().get(key);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to decode attribute " + key, e);
+        }
+    }
+}
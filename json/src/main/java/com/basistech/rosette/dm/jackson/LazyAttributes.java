@@ -0,0 +1,65 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.jackson;
+
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Sets up a reader to leave attributes undecoded. Each attribute in the input is captured as
+ * encoded bytes, in an {@link EncodedAttribute}, and decoded the first time it is retrieved from the
+ * {@link com.basistech.rosette.dm.AnnotatedText}. When a document read this way is written with a writer
+ * for the same format, attributes that were never retrieved are written back out without being decoded,
+ * so a service that reads a document, adds an attribute, and writes it out pays only to copy the rest.
+ * <pre>
+ * AnnotatedText text = LazyAttributes.applyTo(AdmCodecs.reader()).readValue(input);
+ * </pre>
+ * This may be combined with an {@link AdmProjection}; attributes that the projection excludes are skipped.
+ * The legacy {@code entityMentions} and {@code resolvedEntities} attributes are always decoded,
+ * since reading them requires a conversion, and so is {@code embeddings}, since its CBOR encoding
+ * depends on a tag. Attributes written with a writer for another encoding are decoded and
+ * serialized in the usual way.
+ * <p>
+ * Attributes are decoded with the reader passed to {@link #applyTo(ObjectReader)}, whatever
+ * codec the parser for the document was created with.
+ */
+public final class LazyAttributes {
+    private LazyAttributes() {
+        //
+    }
+
+    /**
+     * Returns a reader that leaves attributes undecoded.
+     * @param reader a reader set up for the data model.
+     * @return the new reader.
+     */
+    public static ObjectReader applyTo(ObjectReader reader) {
+        return reader.withAttribute(LazyAttributes.class, reader);
+    }
+
+    static boolean isEnabled(DeserializationContext ctxt) {
+        return ctxt.getAttribute(LazyAttributes.class) != null;
+    }
+
+    /*
+     * The reader that decodes captured attributes.
+     */
+    static ObjectCodec codec(DeserializationContext ctxt) {
+        return (ObjectReader) ctxt.getAttribute(LazyAttributes.class);
+    }
+}
@@ -0,0 +1,236 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.jackson;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.google.common.collect.Lists;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Reads a Json-Lines file of {@link AnnotatedText} in parallel. The file is divided into
+ * byte ranges that end on newlines, and the ranges are parsed by tasks on a {@link ForkJoinPool}.
+ * Each document must be on a single line; this is always the case for the output of the shared
+ * writers in {@link AdmCodecs} and of {@link ParallelAdmLinesWriter}.
+ */
+public final class ParallelAdmLinesReader {
+    /**
+     * The default size of the byte ranges.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+    private static final int SCAN_BUFFER_SIZE = 8192;
+
+    private final ForkJoinPool pool;
+    private final ObjectReader reader;
+    private final AdmCodecs.Format format;
+    private final int chunkSize;
+
+    /**
+     * Receives documents from the reader. It is called concurrently from the threads of the pool,
+     * so it must be thread-safe, and it sees the documents in no particular order.
+     */
+    public interface Handler {
+        /**
+         * Handles one document.
+         * @param text the document.
+         * @throws IOException to stop reading.
+         */
+        void handle(AnnotatedText text) throws IOException;
+    }
+
+    /**
+     * Constructs a reader.
+     * @param pool the pool that runs the parsing tasks.
+     * @param format the format of the documents.
+     * @param chunkSize the approximate number of bytes given to each parsing task.
+     */
+    public ParallelAdmLinesReader(ForkJoinPool pool, AdmCodecs.Format format, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.pool = pool;
+        this.format = format;
+        this.reader = AdmCodecs.reader(format, AdmCodecs.Encoding.JSON);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Constructs a reader with the {@link #DEFAULT_CHUNK_SIZE}.
+     * @param pool the pool that runs the parsing tasks.
+     * @param format the format of the documents.
+     */
+    public ParallelAdmLinesReader(ForkJoinPool pool, AdmCodecs.Format format) {
+        this(pool, format, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Reads all of the documents in a file.
+     * @param file the file.
+     * @return the documents, in the order of the file.
+     * @throws IOException on errors reading or parsing the file.
+     */
+    public List<AnnotatedText> readAll(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            FileChannel channel = raf.getChannel();
+            long[] boundaries = boundaries(channel);
+            @SuppressWarnings("unchecked")
+            List<AnnotatedText>[] results = new List[boundaries.length - 1];
+            run(new RangeTask(channel, boundaries, 0, boundaries.length - 1, null, results));
+            List<AnnotatedText> texts = Lists.newArrayList();
+            for (List<AnnotatedText> result : results) {
+                texts.addAll(result);
+            }
+            return texts;
+        }
+    }
+
+    /**
+     * Reads all of the documents in a file and passes them to a handler as they are parsed.
+     * Only the documents that the pool is working on at any moment are in memory.
+     * @param file the file.
+     * @param handler the handler.
+     * @throws IOException on errors reading or parsing the file, or from the handler.
+     */
+    public void read(File file, Handler handler) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            FileChannel channel = raf.getChannel();
+            long[] boundaries = boundaries(channel);
+            run(new RangeTask(channel, boundaries, 0, boundaries.length - 1, handler, null));
+        }
+    }
+
+    private void run(RangeTask task) throws IOException {
+        try {
+            pool.invoke(task);
+        } catch (RuntimeException e) {
+            // fork/join may rethrow a copy of the exception from the task, so search the causes.
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+            }
+            throw e;
+        }
+    }
+
+    /*
+     * The start of each range, followed by the end of the file. Each range but the last
+     * ends just after a newline.
+     */
+    private long[] boundaries(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<Long> starts = Lists.newArrayList();
+        starts.add(0L);
+        ByteBuffer scan = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long nominal = chunkSize;
+        while (nominal < size) {
+            long next = nextLineStart(channel, nominal, scan);
+            if (next >= size) {
+                break;
+            }
+            starts.add(next);
+            nominal = next + chunkSize;
+        }
+        long[] boundaries = new long[starts.size() + 1];
+        for (int x = 0; x < starts.size(); x++) {
+            boundaries[x] = starts.get(x);
+        }
+        boundaries[starts.size()] = size;
+        return boundaries;
+    }
+
+    private static long nextLineStart(FileChannel channel, long from, ByteBuffer scan) throws IOException {
+        long position = from;
+        while (true) {
+            scan.clear();
+            int count = channel.read(scan, position);
+            if (count < 0) {
+                return channel.size();
+            }
+            for (int x = 0; x < count; x++) {
+                if (scan.get(x) == '\n') {
+                    return position + x + 1;
+                }
+            }
+            position += count;
+        }
+    }
+
+    private final class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final FileChannel channel;
+        private final long[] boundaries;
+        private final int first;
+        private final int last;
+        private final Handler handler;
+        private final List<AnnotatedText>[] results;
+
+        RangeTask(FileChannel channel, long[] boundaries, int first, int last, Handler handler, List<AnnotatedText>[] results) {
+            this.channel = channel;
+            this.boundaries = boundaries;
+            this.first = first;
+            this.last = last;
+            this.handler = handler;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first > 1) {
+                int middle = (first + last) >>> 1;
+                invokeAll(new RangeTask(channel, boundaries, first, middle, handler, results),
+                        new RangeTask(channel, boundaries, middle, last, handler, results));
+                return;
+            }
+            try {
+                parseRange();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void parseRange() throws IOException {
+            long start = boundaries[first];
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, boundaries[first + 1] - start);
+            List<AnnotatedText> texts = handler == null ? Lists.<AnnotatedText>newArrayList() : null;
+            try (AdmReader admReader = new AdmReader(reader, format,
+                    reader.getFactory().createParser(new ByteBufferBackedInputStream(buffer)))) {
+                while (admReader.hasNextValue()) {
+                    AnnotatedText text = admReader.nextValue();
+                    if (handler == null) {
+                        texts.add(text);
+                    } else {
+                        handler.handle(text);
+                    }
+                }
+            }
+            if (results != null) {
+                results[first] = texts;
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.jackson;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.collect.Lists;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Writes {@link AnnotatedText} documents as Json-Lines, serializing them in parallel on a
+ * {@link ForkJoinPool}. The documents are written in the order they are supplied.
+ * Documents are taken in batches; each batch is serialized in parallel and then written out,
+ * so memory use is bounded by the batch size.
+ */
+public final class ParallelAdmLinesWriter {
+    /**
+     * The default number of documents serialized together.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private final ForkJoinPool pool;
+    private final ObjectWriter writer;
+    private final int batchSize;
+
+    /**
+     * Constructs a writer.
+     * @param pool the pool that runs the serialization tasks.
+     * @param format the format of the documents.
+     * @param batchSize the number of documents serialized together.
+     */
+    public ParallelAdmLinesWriter(ForkJoinPool pool, AdmCodecs.Format format, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.pool = pool;
+        this.writer = AdmCodecs.writer(format, AdmCodecs.Encoding.JSON);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Constructs a writer with the {@link #DEFAULT_BATCH_SIZE}.
+     * @param pool the pool that runs the serialization tasks.
+     * @param format the format of the documents.
+     */
+    public ParallelAdmLinesWriter(ForkJoinPool pool, AdmCodecs.Format format) {
+        this(pool, format, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Writes documents, one per line. The stream is not closed.
+     * @param texts the documents.
+     * @param output the output.
+     * @throws IOException on errors serializing or writing.
+     */
+    public void write(Iterator<AnnotatedText> texts, OutputStream output) throws IOException {
+        List<AnnotatedText> batch = Lists.newArrayListWithCapacity(batchSize);
+        while (texts.hasNext()) {
+            batch.add(texts.next());
+            if (batch.size() == batchSize) {
+                writeBatch(batch, output);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch, output);
+        }
+    }
+
+    /**
+     * Writes documents, one per line. The stream is not closed.
+     * @param texts the documents.
+     * @param output the output.
+     * @throws IOException on errors serializing or writing.
+     */
+    public void write(Iterable<AnnotatedText> texts, OutputStream output) throws IOException {
+        write(texts.iterator(), output);
+    }
+
+    private void writeBatch(List<AnnotatedText> batch, OutputStream output) throws IOException {
+        byte[][] serialized = new byte[batch.size()][];
+        try {
+            pool.invoke(new SerializeTask(batch, serialized, 0, batch.size()));
+        } catch (RuntimeException e) {
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+            }
+            throw e;
+        }
+        for (byte[] bytes : serialized) {
+            output.write(bytes);
+            output.write('\n');
+        }
+    }
+
+    private final class SerializeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final List<AnnotatedText> batch;
+        private final byte[][] serialized;
+        private final int first;
+        private final int last;
+
+        SerializeTask(List<AnnotatedText> batch, byte[][] serialized, int first, int last) {
+            this.batch = batch;
+            this.serialized = serialized;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first > 1) {
+                int middle = (first + last) >>> 1;
+                invokeAll(new SerializeTask(batch, serialized, first, middle),
+                        new SerializeTask(batch, serialized, middle, last));
+                return;
+            }
+            try {
+                serialized[first] = writer.writeValueAsBytes(batch.get(first));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.jackson;
+
+import com.basistech.rosette.dm.AttributeKey;
+import com.basistech.rosette.dm.BaseAttribute;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.google.common.collect.ImmutableSet;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Content deserializer for the attribute map of {@link com.basistech.rosette.dm.AnnotatedText}.
+ * Attributes excluded by the {@link AdmProjection} for the read are skipped, and come back as {@code null},
+ * which {@link com.basistech.rosette.dm.AnnotatedText} drops. When the read is set up by {@link LazyAttributes},
+ * the others are captured as {@link EncodedAttribute}s. Otherwise they go through the usual
+ * polymorphic handling; this class never sees them.
+ */
+public class ProjectedAttributeDeserializer extends JsonDeserializer<BaseAttribute> {
+    // The legacy keys are converted to 'entities' when the document is built, so they must be decoded.
+    // Embeddings are decoded because CBOR carries their byte order in a tag, which copying tokens loses.
+    @SuppressWarnings("deprecation")
+    private static final Set<String> EAGER_KEYS = ImmutableSet.of(AttributeKey.ENTITY_MENTION.key(),
+            AttributeKey.RESOLVED_ENTITY.key(), AttributeKey.EMBEDDING.key());
+
+    @Override
+    public BaseAttribute deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        // the attribute map always has type information.
+        throw ctxt.mappingException("Attributes require type information");
+    }
+
+    @Override
+    public Object deserializeWithType(JsonParser p, DeserializationContext ctxt, TypeDeserializer typeDeserializer) throws IOException {
+        String key = attributeKey(p);
+        if (!AdmProjection.fromContext(ctxt).includes(key)) {
+            p.skipChildren();
+            return null;
+        }
+        if (LazyAttributes.isEnabled(ctxt) && !EAGER_KEYS.contains(key)) {
+            return EncodedAttribute.capture(key, p, LazyAttributes.codec(ctxt));
+        }
+        // the plain format has a type property, the array format has a wrapper array.
+        if (p.getCurrentToken() == JsonToken.START_ARRAY) {
+            return typeDeserializer.deserializeTypedFromArray(p, ctxt);
+        }
+        return typeDeserializer.deserializeTypedFromObject(p, ctxt);
+    }
+
+    private static String attributeKey(JsonParser p) {
+        JsonStreamContext context = p.getParsingContext();
+        if (p.getCurrentToken() == JsonToken.START_OBJECT || p.getCurrentToken() == JsonToken.START_ARRAY) {
+            // the value has opened its own context; the key belongs to the map's.
+            context = context.getParent();
+        }
+        return context.getCurrentName();
+    }
+}
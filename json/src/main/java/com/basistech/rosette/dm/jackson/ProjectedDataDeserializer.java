@@ -0,0 +1,40 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Deserializes the data of {@link com.basistech.rosette.dm.AnnotatedText}, unless
+ * the {@link AdmProjection} for the read excludes it. The parser does not decode a
+ * string that is never asked for, so skipping it saves the decoding and the copy.
+ */
+public class ProjectedDataDeserializer extends JsonDeserializer<CharSequence> {
+    @Override
+    public CharSequence deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!AdmProjection.fromContext(ctxt).includesData()) {
+            p.skipChildren();
+            return null;
+        }
+        return StringDeserializer.instance.deserialize(p, ctxt);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.jackson;
+
+import com.basistech.rosette.dm.BaseAttribute;
+import com.basistech.rosette.dm.DeferredAttribute;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+
+/**
+ * Content serializer for the attribute map of {@link com.basistech.rosette.dm.AnnotatedText}
+ * in the plain format. Attributes still encoded in the plain format are written out as they are;
+ * everything else goes to the usual serializer for its class.
+ */
+public class StoredAttributeSerializer extends JsonSerializer<BaseAttribute> {
+
+    @Override
+    public void serialize(BaseAttribute value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        // the attribute map always has type information.
+        throw serializers.mappingException("Attributes require type information");
+    }
+
+    @Override
+    public void serializeWithType(BaseAttribute value, JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        AttributeWriteListener listener = (AttributeWriteListener) serializers.getAttribute(AttributeWriteListener.class);
+        if (listener == null) {
+            write(value, gen, serializers, typeSer);
+            return;
+        }
+        // the map serializer has written the key.
+        String key = gen.getOutputContext().getCurrentName();
+        listener.beforeAttribute(key, value, gen);
+        write(value, gen, serializers, typeSer);
+        listener.afterAttribute(key, value, gen);
+    }
+
+    private static void write(BaseAttribute value, JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        if (value instanceof EncodedAttribute) {
+            EncodedAttribute encoded = (EncodedAttribute) value;
+            if (!encoded.isArrayFormat() && encoded.canWrite(gen)) {
+                encoded.write(gen);
+                return;
+            }
+        }
+        BaseAttribute attribute = value instanceof DeferredAttribute ? ((DeferredAttribute) value).resolve() : value;
+        serializers.findValueSerializer(attribute.getClass()).serializeWithType(attribute, gen, serializers, typeSer);
+    }
+}
@@ -20,6 +20,7 @@ import com.basistech.rosette.dm.BaseAttribute;
 import com.basistech.rosette.dm.BaseNounPhrase;
 import com.basistech.rosette.dm.CategorizerResult;
 import com.basistech.rosette.dm.Dependency;
+import com.basistech.rosette.dm.Embeddings;
 import com.basistech.rosette.dm.Entity;
 import com.basistech.rosette.dm.Keyphrase;
 import com.basistech.rosette.dm.LanguageDetection;
@@ -32,6 +33,8 @@ import com.basistech.rosette.dm.Concept;
 import com.basistech.rosette.dm.TranslatedData;
 import com.basistech.rosette.dm.TranslatedTokens;
 import com.basistech.rosette.dm.jackson.DmTypeIdResolver;
+import com.basistech.rosette.dm.jackson.ProjectedAttributeDeserializer;
+import com.basistech.rosette.dm.jackson.ProjectedDataDeserializer;
 import com.basistech.rosette.dm.jackson.VersionCheckDeserializer;
 import com.basistech.rosette.dm.jackson.VersionProperty;
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -43,6 +46,7 @@ import com.fasterxml.jackson.databind.annotation.JsonAppend;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.annotation.JsonTypeIdResolver;
+import com.fasterxml.jackson.databind.ser.std.NullSerializer;
 import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 
 import java.util.List;
@@ -57,19 +61,30 @@ import java.util.Map;
 public abstract class AnnotatedTextArrayMixin {
 
     @JsonCreator
-    AnnotatedTextArrayMixin(@JsonProperty("data") CharSequence data,
-                            @JsonProperty("attributes") Map<String, BaseAttribute> attributes,
+    AnnotatedTextArrayMixin(@JsonProperty("data")
+                            @JsonDeserialize(using = ProjectedDataDeserializer.class)
+                            CharSequence data,
+                            @JsonProperty("attributes")
+                            @JsonDeserialize(contentUsing = ProjectedAttributeDeserializer.class)
+                            @JsonTypeInfo(use = JsonTypeInfo.Id.CUSTOM, include = JsonTypeInfo.As.WRAPPER_ARRAY)
+                            @JsonTypeIdResolver(DmTypeIdResolver.class)
+                            Map<String, BaseAttribute> attributes,
                             @JsonProperty("documentMetadata") Map<String, List<String>> documentMetadata,
                             @JsonDeserialize(using = VersionCheckDeserializer.class)
                             @JsonProperty("version") String version) {
         //
     }
 
+    /* Serialize the stored attributes, so that attributes that were never decoded go back out as they came in. */
+    @JsonIgnore
+    public abstract Map<String, BaseAttribute> getAttributes();
+
     // The first two work right for deserialization but not for serialization, so we have the third.
+    @JsonProperty("attributes")
     @JsonTypeInfo(use = JsonTypeInfo.Id.CUSTOM, include = JsonTypeInfo.As.WRAPPER_ARRAY)
     @JsonTypeIdResolver(DmTypeIdResolver.class)
     @JsonSerialize(using = TempAttributeMapSerializer.class)
-    public abstract Map<String, BaseAttribute> getAttributes();
+    public abstract Map<String, BaseAttribute> getStoredAttributes();
 
     /* prevent Jackson from serializing a complex object here. */
     @JsonSerialize(using = ToStringSerializer.class)
@@ -125,6 +140,10 @@ public abstract class AnnotatedTextArrayMixin {
     @JsonIgnore
     public abstract ListAttribute<Dependency> getDependencies();
 
+    /* The array layout has always had a slot here; keep it, but empty, since the embeddings go out with the attributes. */
+    @JsonSerialize(using = NullSerializer.class)
+    public abstract Embeddings getEmbeddings();
+
     @JsonIgnore
     public abstract ListAttribute<Concept> getConcepts();
 
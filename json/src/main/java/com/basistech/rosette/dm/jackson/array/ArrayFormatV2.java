@@ -0,0 +1,58 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.jackson.array;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+/**
+ * Sets up a writer for version 2 of the array format. Version 2 writes lists of tokens
+ * column by column, with offsets relative to the previous token and repeated strings replaced
+ * by references to their first occurrence, and leaves out empty extended properties of lists.
+ * <pre>
+ * ObjectWriter writer = ArrayFormatV2.applyTo(AdmCodecs.writer(AdmCodecs.Format.ARRAY, AdmCodecs.Encoding.JSON));
+ * </pre>
+ * Readers set up with {@link AnnotatedDataModelArrayModule} read both versions, so it is up to the writer
+ * to pick version 1 when the output goes to readers that predate version 2.
+ * <br>
+ * In a list of tokens, the item array of version 1 is replaced by an object with one array per field:
+ * <pre>
+ * {"start": [0, 1], "length": [6, 10], "text": ["George", "Washington"], "analyses": [...]}
+ * </pre>
+ * Each start offset is relative to the end offset of the previous token. Fields that are absent
+ * for every token are left out. String values are numbered in the order they appear in the list;
+ * a number in place of a string refers to an earlier string. Each list has its own numbering,
+ * so that a list can be read, skipped, or copied without the rest of the document.
+ */
+public final class ArrayFormatV2 {
+    private ArrayFormatV2() {
+        //
+    }
+
+    /**
+     * Returns a writer that writes version 2 of the array format.
+     * @param writer a writer set up with {@link AnnotatedDataModelArrayModule}.
+     * @return the new writer.
+     */
+    public static ObjectWriter applyTo(ObjectWriter writer) {
+        return writer.withAttribute(ArrayFormatV2.class, Boolean.TRUE);
+    }
+
+    static boolean isEnabled(SerializerProvider provider) {
+        return provider.getAttribute(ArrayFormatV2.class) != null;
+    }
+}
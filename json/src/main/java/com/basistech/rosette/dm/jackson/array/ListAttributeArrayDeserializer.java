@@ -17,6 +17,7 @@ package com.basistech.rosette.dm.jackson.array;
 
 import com.basistech.rosette.dm.BaseAttribute;
 import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.Token;
 import com.basistech.rosette.dm.jackson.KnownAttribute;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
@@ -58,18 +59,24 @@ public class ListAttributeArrayDeserializer extends JsonDeserializer<ListAttribu
         ListAttribute.Builder<BaseAttribute> builder = new ListAttribute.Builder<>(attribute.attributeClass());
         List<BaseAttribute> items = Lists.newArrayList();
 
-        if (jp.nextToken() != JsonToken.START_ARRAY) {
+        // version 2 writes tokens as an object of columns.
+        if (jp.nextToken() == JsonToken.START_OBJECT && itemClass == Token.class) {
+            items.addAll(TokenColumns.read(jp, ctxt));
+        } else if (jp.getCurrentToken() != JsonToken.START_ARRAY) {
             throw ctxt.wrongTokenException(jp, JsonToken.START_ARRAY, "No array of values for list.");
-        }
-
-        // we just read the elements as we see them,
-        while (jp.nextToken() != JsonToken.END_ARRAY) {
-            // the START_ARRAY case, which is _normal_. Read the elements.
-            items.add(jp.readValueAs(itemClass));
+        } else {
+            // we just read the elements as we see them,
+            while (jp.nextToken() != JsonToken.END_ARRAY) {
+                // the START_ARRAY case, which is _normal_. Read the elements.
+                items.add(jp.readValueAs(itemClass));
+            }
         }
         builder.setItems(items);
-        // we are still in the top-level array ...
-        if (jp.nextToken() != JsonToken.START_OBJECT) {
+        // we are still in the top-level array; version 2 omits empty extended properties.
+        if (jp.nextToken() == JsonToken.END_ARRAY) {
+            return builder.build();
+        }
+        if (jp.getCurrentToken() != JsonToken.START_OBJECT) {
             throw ctxt.wrongTokenException(jp, JsonToken.START_OBJECT, "No extended properties for list.");
         }
         Map<String, Object> props = jp.readValueAs(new TypeReference<Map<String, Object>>() {
@@ -17,6 +17,7 @@
 package com.basistech.rosette.dm.jackson.array;
 
 import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.Token;
 import com.basistech.rosette.dm.jackson.KnownAttribute;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
@@ -24,6 +25,7 @@ import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -36,11 +38,16 @@ public class ListAttributeArraySerializer extends JsonSerializer<ListAttribute>
         jgen.writeStartArray();
         jgen.writeString(KnownAttribute.getAttributeForClass(value.getItemClass()).key());
         writeItems(value, jgen, provider);
-        writeExtendedProperties(value, jgen);
+        writeExtendedProperties(value, jgen, provider);
         jgen.writeEndArray();
     }
 
+    @SuppressWarnings("unchecked")
     private void writeItems(ListAttribute value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+        if (value.getItemClass() == Token.class && ArrayFormatV2.isEnabled(provider)) {
+            TokenColumns.write((List<Token>) value, jgen, provider);
+            return;
+        }
         jgen.writeStartArray();
 
         for (Object attr : value) {
@@ -50,8 +57,11 @@ public class ListAttributeArraySerializer extends JsonSerializer<ListAttribute>
         jgen.writeEndArray();
     }
 
-    private void writeExtendedProperties(ListAttribute value, JsonGenerator jgen) throws IOException {
+    private void writeExtendedProperties(ListAttribute value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
         Map<String, Object> extendedProperties = value.getExtendedProperties();
+        if (extendedProperties.isEmpty() && ArrayFormatV2.isEnabled(provider)) {
+            return; // optional in version 2
+        }
         jgen.writeStartObject();
         for (Map.Entry<String, Object> entry : extendedProperties.entrySet()) {
             jgen.writeObjectField(entry.getKey(), entry.getValue());
@@ -64,7 +74,7 @@ public class ListAttributeArraySerializer extends JsonSerializer<ListAttribute>
         typeSer.writeTypePrefixForArray(value, jgen);
         jgen.writeString(KnownAttribute.getAttributeForClass(value.getItemClass()).key());
         writeItems(value, jgen, provider);
-        writeExtendedProperties(value, jgen);
+        writeExtendedProperties(value, jgen, provider);
         typeSer.writeTypeSuffixForArray(value, jgen);
     }
 }
@@ -16,8 +16,11 @@
 
 package com.basistech.rosette.dm.jackson.array;
 
-import com.basistech.rosette.dm.Attribute;
+import com.basistech.rosette.dm.BaseAttribute;
+import com.basistech.rosette.dm.DeferredAttribute;
+import com.basistech.rosette.dm.jackson.AttributeWriteListener;
 import com.basistech.rosette.dm.jackson.DmTypeIdResolver;
+import com.basistech.rosette.dm.jackson.EncodedAttribute;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
@@ -28,7 +31,7 @@ import java.util.Map;
 /**
  * Until we get to the bottom of <a href="https://github.com/FasterXML/jackson-databind/issues/646">This Jackson Bug</a>.
  */
-public class TempAttributeMapSerializer extends JsonSerializer<Map<String, Attribute>> {
+public class TempAttributeMapSerializer extends JsonSerializer<Map<String, BaseAttribute>> {
 
     private final DmTypeIdResolver resolver;
 
@@ -37,16 +40,39 @@ public class TempAttributeMapSerializer extends JsonSerializer<Map<String, Attri
     }
 
     @Override
-    public void serialize(Map<String, Attribute> value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+    public void serialize(Map<String, BaseAttribute> value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+        AttributeWriteListener listener = (AttributeWriteListener) provider.getAttribute(AttributeWriteListener.class);
         jgen.writeStartObject();
-        for (Map.Entry<String, Attribute> me : value.entrySet()) {
+        for (Map.Entry<String, BaseAttribute> me : value.entrySet()) {
             jgen.writeFieldName(me.getKey());
-            jgen.writeStartArray();
-            jgen.writeString(resolver.idFromValue(me.getValue()));
-            // this will write out in array notation due to the annotation
-            provider.defaultSerializeValue(me.getValue(), jgen);
-            jgen.writeEndArray();
+            if (listener == null) {
+                write(me.getValue(), jgen, provider);
+            } else {
+                listener.beforeAttribute(me.getKey(), me.getValue(), jgen);
+                write(me.getValue(), jgen, provider);
+                listener.afterAttribute(me.getKey(), me.getValue(), jgen);
+            }
         }
         jgen.writeEndObject();
     }
+
+    private void write(BaseAttribute stored, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+        BaseAttribute attribute = stored;
+        if (attribute instanceof EncodedAttribute) {
+            EncodedAttribute encoded = (EncodedAttribute) attribute;
+            if (encoded.isArrayFormat() && encoded.canWrite(jgen)) {
+                // never decoded; the bytes include the wrapper array.
+                encoded.write(jgen);
+                return;
+            }
+        }
+        if (attribute instanceof DeferredAttribute) {
+            attribute = ((DeferredAttribute) attribute).resolve();
+        }
+        jgen.writeStartArray();
+        jgen.writeString(resolver.idFromValue(attribute));
+        // this will write out in array notation due to the annotation
+        provider.defaultSerializeValue(attribute, jgen);
+        jgen.writeEndArray();
+    }
 }
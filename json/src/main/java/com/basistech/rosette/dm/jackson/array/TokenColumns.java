@@ -0,0 +1,480 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.jackson.array;
+
+import com.basistech.rosette.dm.ArabicMorphoAnalysis;
+import com.basistech.rosette.dm.HanMorphoAnalysis;
+import com.basistech.rosette.dm.KoreanMorphoAnalysis;
+import com.basistech.rosette.dm.MorphoAnalysis;
+import com.basistech.rosette.dm.Token;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes and reads lists of tokens in the columnar layout of version 2 of the array format.
+ * See {@link ArrayFormatV2} for the layout. An analysis is an array of its type, part-of-speech,
+ * lemma and raw analysis, followed by the fields of its type, and then, if it has
+ * components or extended properties, an object containing them.
+ */
+final class TokenColumns {
+    private static final TypeReference<Map<String, Object>> PROPERTIES_TYPE = new TypeReference<Map<String, Object>>() { };
+
+    private TokenColumns() {
+        //
+    }
+
+    /**
+     * Numbers strings in order of appearance; later appearances are written as their numbers.
+     */
+    private static final class StringWriter {
+        private final Map<String, Integer> numbers = Maps.newHashMap();
+
+        void write(JsonGenerator jgen, String value) throws IOException {
+            if (value == null) {
+                jgen.writeNull();
+                return;
+            }
+            Integer number = numbers.get(value);
+            if (number != null) {
+                jgen.writeNumber(number);
+            } else {
+                numbers.put(value, numbers.size());
+                jgen.writeString(value);
+            }
+        }
+
+        void write(JsonGenerator jgen, List<String> values) throws IOException {
+            if (values == null) {
+                jgen.writeNull();
+                return;
+            }
+            jgen.writeStartArray();
+            for (String value : values) {
+                write(jgen, value);
+            }
+            jgen.writeEndArray();
+        }
+    }
+
+    /**
+     * Reads what {@link StringWriter} writes.
+     */
+    private static final class StringReader {
+        private final List<String> strings = Lists.newArrayList();
+
+        /* The parser is positioned at the value. */
+        String read(JsonParser jp, DeserializationContext ctxt) throws IOException {
+            switch (jp.getCurrentToken()) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                String value = jp.getText();
+                strings.add(value);
+                return value;
+            case VALUE_NUMBER_INT:
+                int number = jp.getIntValue();
+                if (number < 0 || number >= strings.size()) {
+                    throw ctxt.mappingException("Reference to undefined string " + number);
+                }
+                return strings.get(number);
+            default:
+                throw ctxt.mappingException("Expected a string or a string reference, not " + jp.getCurrentToken());
+            }
+        }
+
+        List<String> readList(JsonParser jp, DeserializationContext ctxt) throws IOException {
+            if (jp.getCurrentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            expect(jp, ctxt, JsonToken.START_ARRAY);
+            List<String> values = Lists.newArrayList();
+            while (jp.nextToken() != JsonToken.END_ARRAY) {
+                values.add(read(jp, ctxt));
+            }
+            return values;
+        }
+    }
+
+    private static void expect(JsonParser jp, DeserializationContext ctxt, JsonToken token) throws IOException {
+        if (jp.getCurrentToken() != token) {
+            throw ctxt.wrongTokenException(jp, token, "Unexpected token in token columns");
+        }
+    }
+
+    static void write(List<Token> tokens, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+        StringWriter strings = new StringWriter();
+        boolean anyNormalized = false;
+        boolean anySource = false;
+        boolean anyAnalyses = false;
+        boolean anyProperties = false;
+        jgen.writeStartObject();
+        jgen.writeArrayFieldStart("start");
+        int previousEnd = 0;
+        for (Token token : tokens) {
+            jgen.writeNumber(token.getStartOffset() - previousEnd);
+            previousEnd = token.getEndOffset();
+            anyNormalized |= token.getNormalized() != null;
+            anySource |= token.getSource() != null;
+            anyAnalyses |= token.getAnalyses() != null;
+            anyProperties |= !token.getExtendedProperties().isEmpty();
+        }
+        jgen.writeEndArray();
+        jgen.writeArrayFieldStart("length");
+        for (Token token : tokens) {
+            jgen.writeNumber(token.getEndOffset() - token.getStartOffset());
+        }
+        jgen.writeEndArray();
+        jgen.writeArrayFieldStart("text");
+        for (Token token : tokens) {
+            strings.write(jgen, token.getText());
+        }
+        jgen.writeEndArray();
+        if (anyNormalized) {
+            jgen.writeArrayFieldStart("normalized");
+            for (Token token : tokens) {
+                strings.write(jgen, token.getNormalized());
+            }
+            jgen.writeEndArray();
+        }
+        if (anySource) {
+            jgen.writeArrayFieldStart("source");
+            for (Token token : tokens) {
+                strings.write(jgen, token.getSource());
+            }
+            jgen.writeEndArray();
+        }
+        if (anyAnalyses) {
+            writeAnalyses(tokens, jgen, provider, strings);
+        }
+        if (anyProperties) {
+            jgen.writeArrayFieldStart("extendedProperties");
+            for (Token token : tokens) {
+                provider.defaultSerializeValue(token.getExtendedProperties().isEmpty() ? null : token.getExtendedProperties(), jgen);
+            }
+            jgen.writeEndArray();
+        }
+        jgen.writeEndObject();
+    }
+
+    private static void writeAnalyses(List<Token> tokens, JsonGenerator jgen, SerializerProvider provider, StringWriter strings) throws IOException {
+        jgen.writeArrayFieldStart("analyses");
+        for (Token token : tokens) {
+            if (token.getAnalyses() == null) {
+                jgen.writeNull();
+                continue;
+            }
+            jgen.writeStartArray();
+            for (MorphoAnalysis analysis : token.getAnalyses()) {
+                writeAnalysis(analysis, jgen, provider, strings);
+            }
+            jgen.writeEndArray();
+        }
+        jgen.writeEndArray();
+    }
+
+    private static void writeAnalysis(MorphoAnalysis analysis, JsonGenerator jgen, SerializerProvider provider, StringWriter strings) throws IOException {
+        MorphoAnalysisTypes type = MorphoAnalysisTypes.byClass(analysis.getClass());
+        jgen.writeStartArray();
+        jgen.writeNumber(type.ordinal());
+        strings.write(jgen, analysis.getPartOfSpeech());
+        strings.write(jgen, analysis.getLemma());
+        strings.write(jgen, analysis.getRaw());
+        switch (type) {
+        case HAN:
+            strings.write(jgen, ((HanMorphoAnalysis) analysis).getReadings());
+            break;
+        case KOREAN:
+            strings.write(jgen, ((KoreanMorphoAnalysis) analysis).getMorphemes());
+            strings.write(jgen, ((KoreanMorphoAnalysis) analysis).getMorphemeTags());
+            break;
+        case ARABIC:
+            writeArabic((ArabicMorphoAnalysis) analysis, jgen, strings);
+            break;
+        default:
+            break;
+        }
+        boolean components = analysis.getComponents() != null;
+        boolean properties = !analysis.getExtendedProperties().isEmpty();
+        if (components || properties) {
+            jgen.writeStartObject();
+            if (components) {
+                jgen.writeArrayFieldStart("components");
+                for (Token component : analysis.getComponents()) {
+                    provider.defaultSerializeValue(component, jgen);
+                }
+                jgen.writeEndArray();
+            }
+            if (properties) {
+                jgen.writeFieldName("extendedProperties");
+                provider.defaultSerializeValue(analysis.getExtendedProperties(), jgen);
+            }
+            jgen.writeEndObject();
+        }
+        jgen.writeEndArray();
+    }
+
+    private static void writeArabic(ArabicMorphoAnalysis analysis, JsonGenerator jgen, StringWriter strings) throws IOException {
+        jgen.writeNumber(analysis.getPrefixLength());
+        jgen.writeNumber(analysis.getStemLength());
+        strings.write(jgen, analysis.getRoot());
+        jgen.writeBoolean(analysis.isDefiniteArticle());
+        jgen.writeBoolean(analysis.isStrippablePrefix());
+        strings.write(jgen, analysis.getPrefixes());
+        strings.write(jgen, analysis.getPrefixTags());
+        strings.write(jgen, analysis.getStems());
+        strings.write(jgen, analysis.getStemTags());
+        strings.write(jgen, analysis.getSuffixes());
+        strings.write(jgen, analysis.getSuffixTags());
+    }
+
+    /**
+     * Reads the columns. The parser is positioned at the start of the object, and is left at its end.
+     */
+    static List<Token> read(JsonParser jp, DeserializationContext ctxt) throws IOException {
+        StringReader strings = new StringReader();
+        List<Integer> starts = null;
+        List<Integer> lengths = null;
+        List<String> texts = null;
+        List<List<String>> normalized = null;
+        List<String> sources = null;
+        List<List<MorphoAnalysis>> analyses = null;
+        List<Map<String, Object>> properties = null;
+        while (jp.nextToken() == JsonToken.FIELD_NAME) {
+            String field = jp.getCurrentName();
+            jp.nextToken();
+            if ("start".equals(field)) {
+                starts = readInts(jp, ctxt);
+            } else if ("length".equals(field)) {
+                lengths = readInts(jp, ctxt);
+            } else if ("text".equals(field)) {
+                texts = readStrings(jp, ctxt, strings);
+            } else if ("normalized".equals(field)) {
+                normalized = readStringLists(jp, ctxt, strings);
+            } else if ("source".equals(field)) {
+                sources = readStrings(jp, ctxt, strings);
+            } else if ("analyses".equals(field)) {
+                analyses = readAnalyses(jp, ctxt, strings);
+            } else if ("extendedProperties".equals(field)) {
+                properties = readProperties(jp, ctxt);
+            } else {
+                jp.skipChildren();
+            }
+        }
+        expect(jp, ctxt, JsonToken.END_OBJECT);
+        if (starts == null || lengths == null || texts == null) {
+            throw ctxt.mappingException("Token columns require start, length and text");
+        }
+        int count = starts.size();
+        checkSize(ctxt, count, lengths, texts, normalized, sources, analyses, properties);
+        List<Token> tokens = Lists.newArrayListWithCapacity(count);
+        int previousEnd = 0;
+        for (int x = 0; x < count; x++) {
+            int start = previousEnd + starts.get(x);
+            previousEnd = start + lengths.get(x);
+            Token.Builder builder = new Token.Builder(start, previousEnd, texts.get(x));
+            if (normalized != null) {
+                builder.normalized(normalized.get(x));
+            }
+            if (sources != null) {
+                builder.source(sources.get(x));
+            }
+            if (analyses != null) {
+                builder.analyses(analyses.get(x));
+            }
+            if (properties != null && properties.get(x) != null) {
+                builder.extendedProperties(properties.get(x));
+            }
+            tokens.add(builder.build());
+        }
+        return tokens;
+    }
+
+    private static void checkSize(DeserializationContext ctxt, int count, List<?>... columns) throws IOException {
+        for (List<?> column : columns) {
+            if (column != null && column.size() != count) {
+                throw ctxt.mappingException("Token columns of different lengths");
+            }
+        }
+    }
+
+    private static List<Integer> readInts(JsonParser jp, DeserializationContext ctxt) throws IOException {
+        expect(jp, ctxt, JsonToken.START_ARRAY);
+        List<Integer> values = Lists.newArrayList();
+        while (jp.nextToken() != JsonToken.END_ARRAY) {
+            expect(jp, ctxt, JsonToken.VALUE_NUMBER_INT);
+            values.add(jp.getIntValue());
+        }
+        return values;
+    }
+
+    private static List<String> readStrings(JsonParser jp, DeserializationContext ctxt, StringReader strings) throws IOException {
+        expect(jp, ctxt, JsonToken.START_ARRAY);
+        List<String> values = Lists.newArrayList();
+        while (jp.nextToken() != JsonToken.END_ARRAY) {
+            values.add(strings.read(jp, ctxt));
+        }
+        return values;
+    }
+
+    private static List<List<String>> readStringLists(JsonParser jp, DeserializationContext ctxt, StringReader strings) throws IOException {
+        expect(jp, ctxt, JsonToken.START_ARRAY);
+        List<List<String>> values = Lists.newArrayList();
+        while (jp.nextToken() != JsonToken.END_ARRAY) {
+            values.add(strings.readList(jp, ctxt));
+        }
+        return values;
+    }
+
+    private static List<Map<String, Object>> readProperties(JsonParser jp, DeserializationContext ctxt) throws IOException {
+        expect(jp, ctxt, JsonToken.START_ARRAY);
+        List<Map<String, Object>> values = Lists.newArrayList();
+        while (jp.nextToken() != JsonToken.END_ARRAY) {
+            if (jp.getCurrentToken() == JsonToken.VALUE_NULL) {
+                values.add(null);
+            } else {
+                Map<String, Object> map = jp.readValueAs(PROPERTIES_TYPE);
+                values.add(map);
+            }
+        }
+        return values;
+    }
+
+    private static List<List<MorphoAnalysis>> readAnalyses(JsonParser jp, DeserializationContext ctxt, StringReader strings) throws IOException {
+        expect(jp, ctxt, JsonToken.START_ARRAY);
+        List<List<MorphoAnalysis>> values = Lists.newArrayList();
+        while (jp.nextToken() != JsonToken.END_ARRAY) {
+            if (jp.getCurrentToken() == JsonToken.VALUE_NULL) {
+                values.add(null);
+                continue;
+            }
+            expect(jp, ctxt, JsonToken.START_ARRAY);
+            List<MorphoAnalysis> analyses = Lists.newArrayList();
+            while (jp.nextToken() != JsonToken.END_ARRAY) {
+                analyses.add(readAnalysis(jp, ctxt, strings));
+            }
+            values.add(analyses);
+        }
+        return values;
+    }
+
+    private static MorphoAnalysis readAnalysis(JsonParser jp, DeserializationContext ctxt, StringReader strings) throws IOException {
+        expect(jp, ctxt, JsonToken.START_ARRAY);
+        jp.nextToken();
+        expect(jp, ctxt, JsonToken.VALUE_NUMBER_INT);
+        int ordinal = jp.getIntValue();
+        if (ordinal < 0 || ordinal >= MorphoAnalysisTypes.values().length) {
+            throw ctxt.mappingException("Unknown analysis type " + ordinal);
+        }
+        MorphoAnalysisTypes type = MorphoAnalysisTypes.byOrdinal(ordinal);
+        MorphoAnalysis.Builder<?, ?> builder = newBuilder(type);
+        jp.nextToken();
+        builder.partOfSpeech(strings.read(jp, ctxt));
+        jp.nextToken();
+        builder.lemma(strings.read(jp, ctxt));
+        jp.nextToken();
+        builder.raw(strings.read(jp, ctxt));
+        switch (type) {
+        case HAN:
+            jp.nextToken();
+            ((HanMorphoAnalysis.Builder) builder).readings(strings.readList(jp, ctxt));
+            break;
+        case KOREAN:
+            jp.nextToken();
+            List<String> morphemes = strings.readList(jp, ctxt);
+            jp.nextToken();
+            ((KoreanMorphoAnalysis.Builder) builder).morphemes(morphemes, strings.readList(jp, ctxt));
+            break;
+        case ARABIC:
+            readArabic((ArabicMorphoAnalysis.Builder) builder, jp, ctxt, strings);
+            break;
+        default:
+            break;
+        }
+        if (jp.nextToken() == JsonToken.START_OBJECT) {
+            readAnalysisExtras(builder, jp, ctxt);
+            jp.nextToken();
+        }
+        expect(jp, ctxt, JsonToken.END_ARRAY);
+        return builder.build();
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static MorphoAnalysis.Builder<?, ?> newBuilder(MorphoAnalysisTypes type) {
+        switch (type) {
+        case HAN:
+            return new HanMorphoAnalysis.Builder();
+        case KOREAN:
+            return new KoreanMorphoAnalysis.Builder();
+        case ARABIC:
+            return new ArabicMorphoAnalysis.Builder();
+        default:
+            return new MorphoAnalysis.Builder();
+        }
+    }
+
+    private static void readArabic(ArabicMorphoAnalysis.Builder builder, JsonParser jp, DeserializationContext ctxt, StringReader strings) throws IOException {
+        jp.nextToken();
+        int prefixLength = jp.getIntValue();
+        jp.nextToken();
+        builder.lengths(prefixLength, jp.getIntValue());
+        jp.nextToken();
+        builder.root(strings.read(jp, ctxt));
+        jp.nextToken();
+        builder.definiteArticle(jp.getBooleanValue());
+        jp.nextToken();
+        builder.strippablePrefix(jp.getBooleanValue());
+        List<List<String>> lists = Lists.newArrayList();
+        for (int x = 0; x < 6; x++) {
+            jp.nextToken();
+            lists.add(strings.readList(jp, ctxt));
+        }
+        builder.prefixes(lists.get(0), lists.get(1));
+        builder.stems(lists.get(2), lists.get(3));
+        builder.suffixes(lists.get(4), lists.get(5));
+    }
+
+    private static void readAnalysisExtras(MorphoAnalysis.Builder<?, ?> builder, JsonParser jp, DeserializationContext ctxt) throws IOException {
+        while (jp.nextToken() == JsonToken.FIELD_NAME) {
+            String field = jp.getCurrentName();
+            jp.nextToken();
+            if ("components".equals(field)) {
+                expect(jp, ctxt, JsonToken.START_ARRAY);
+                List<Token> components = Lists.newArrayList();
+                while (jp.nextToken() != JsonToken.END_ARRAY) {
+                    components.add(jp.readValueAs(Token.class));
+                }
+                builder.components(components);
+            } else if ("extendedProperties".equals(field)) {
+                Map<String, Object> properties = jp.readValueAs(PROPERTIES_TYPE);
+                builder.extendedProperties(properties);
+            } else {
+                jp.skipChildren();
+            }
+        }
+        expect(jp, ctxt, JsonToken.END_OBJECT);
+    }
+}
@@ -27,5 +27,11 @@
  * <pre>
  * ObjectMapper mapper = AnnotatedDataModelModule.setupObjectMapper(new ObjectMapper());
  * </pre>
+ *
+ * Applications that do not need their own mapper can use the shared, preconfigured
+ * readers and writers from {@link com.basistech.rosette.dm.jackson.AdmCodecs}:
+ * <pre>
+ * AnnotatedText text = AdmCodecs.reader().readValue(json);
+ * </pre>
  */
 package com.basistech.rosette.dm.jackson;
@@ -0,0 +1,112 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.json.array;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.ArabicMorphoAnalysis;
+import com.basistech.rosette.dm.HanMorphoAnalysis;
+import com.basistech.rosette.dm.KoreanMorphoAnalysis;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.MorphoAnalysis;
+import com.basistech.rosette.dm.Sentence;
+import com.basistech.rosette.dm.Token;
+import com.basistech.rosette.dm.jackson.AdmCodecs;
+import com.basistech.rosette.dm.jackson.array.ArrayFormatV2;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.junit.Test;
+
+/**
+ * Tests for version 2 of the array format.
+ */
+public class ArrayFormatV2Test extends AdmAssert {
+    private static final ObjectReader READER = AdmCodecs.reader(AdmCodecs.Format.ARRAY, AdmCodecs.Encoding.JSON);
+    private static final ObjectWriter V1 = AdmCodecs.writer(AdmCodecs.Format.ARRAY, AdmCodecs.Encoding.JSON);
+    private static final ObjectWriter V2 = ArrayFormatV2.applyTo(V1);
+
+    @SuppressWarnings("rawtypes")
+    private static AnnotatedText sample() {
+        String data = "The cat saw the cat. The dog saw the cat.";
+        ListAttribute.Builder<Token> tokens = new ListAttribute.Builder<>(Token.class);
+        int start = 0;
+        for (String word : data.split(" ")) {
+            String text = word.endsWith(".") ? word.substring(0, word.length() - 1) : word;
+            Token.Builder tokenBuilder = new Token.Builder(start, start + text.length(), text);
+            tokenBuilder.addAnalysis(new MorphoAnalysis.Builder().partOfSpeech("NOUN").lemma(text.toLowerCase()).build());
+            tokens.add(tokenBuilder.build());
+            start += word.length() + 1;
+        }
+        Token.Builder rich = new Token.Builder(start, start, "");
+        rich.addNormalized("n1").addNormalized("The").source("guess");
+        rich.addAnalysis(new HanMorphoAnalysis.Builder().addReading("du").lemma("han").build());
+        rich.addAnalysis(new KoreanMorphoAnalysis.Builder().addMorpheme("mor", "pheme").lemma("korean").build());
+        ArabicMorphoAnalysis.Builder arabic = new ArabicMorphoAnalysis.Builder();
+        arabic.lengths(1, 2).root("ktb").definiteArticle(true).addPrefix("w", "CONJ").addStem("ktb", "NOUN");
+        arabic.addComponent(new Token.Builder(0, 3, "The").build());
+        arabic.extendedProperty("ma", 1);
+        rich.addAnalysis(arabic.build());
+        rich.extendedProperty("tk", "tv");
+        tokens.add(rich.build());
+        AnnotatedText.Builder builder = new AnnotatedText.Builder();
+        builder.data(data);
+        builder.tokens(tokens.build());
+        ListAttribute.Builder<Sentence> sentences = new ListAttribute.Builder<>(Sentence.class);
+        sentences.add(new Sentence.Builder(0, 20).build());
+        sentences.add(new Sentence.Builder(21, data.length()).build());
+        builder.sentences(sentences.build());
+        return builder.build();
+    }
+
+    private static void assertSameText(AnnotatedText expected, AnnotatedText actual) {
+        assertEquals(expected.getData(), actual.getData());
+        assertEquals(expected.getAttributes(), actual.getAttributes());
+    }
+
+    @Test
+    public void roundTrip() throws Exception {
+        AnnotatedText text = sample();
+        String json = V2.writeValueAsString(text);
+        assertTrue(json.contains("\"start\":["));
+        // no empty extended properties after the columns.
+        assertTrue(json.contains("{\"tk\":\"tv\"}]}]"));
+        assertSameText(text, READER.forType(AnnotatedText.class).<AnnotatedText>readValue(json));
+    }
+
+    @Test
+    public void smallerThanVersion1() throws Exception {
+        AnnotatedText text = sample();
+        assertTrue(V2.writeValueAsBytes(text).length < V1.writeValueAsBytes(text).length);
+    }
+
+    @Test
+    public void readsVersion1() throws Exception {
+        AnnotatedText text = sample();
+        String json = V1.writeValueAsString(text);
+        assertSameText(text, READER.forType(AnnotatedText.class).<AnnotatedText>readValue(json));
+    }
+
+    @Test
+    public void emptyTokenList() throws Exception {
+        AnnotatedText.Builder builder = new AnnotatedText.Builder();
+        builder.data("");
+        ListAttribute.Builder<Token> tokens = new ListAttribute.Builder<>(Token.class);
+        tokens.extendedProperty("lk", "lv");
+        builder.tokens(tokens.build());
+        AnnotatedText text = builder.build();
+        assertSameText(text, READER.forType(AnnotatedText.class).<AnnotatedText>readValue(V2.writeValueAsString(text)));
+    }
+}
@@ -0,0 +1,141 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.json.plain;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.Annotator;
+import com.basistech.rosette.dm.Entity;
+import com.basistech.rosette.dm.HanMorphoAnalysis;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.Mention;
+import com.basistech.rosette.dm.Token;
+import com.basistech.rosette.dm.jackson.AdmCodecs;
+import com.basistech.rosette.dm.jackson.LazyAttributes;
+import com.basistech.rosette.dm.test.corpus.SampleDocuments;
+import com.basistech.rosette.dm.util.ComposingAnnotator;
+import com.basistech.rosette.dm.util.ContentFingerprint;
+import com.basistech.rosette.dm.util.ProcessingTrace;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Collections;
+
+/**
+ * Round trips through all of the shared codecs.
+ */
+public class AdmCodecsTest extends AdmAssert {
+
+    @BeforeClass
+    public static void warmUp() {
+        AdmCodecs.warmUp();
+        for (AdmCodecs.Format format : AdmCodecs.Format.values()) {
+            for (AdmCodecs.Encoding encoding : AdmCodecs.Encoding.values()) {
+                AdmCodecs.warmUp(format, encoding);
+            }
+        }
+    }
+
+    private static AnnotatedText sample() {
+        AnnotatedText.Builder builder = new AnnotatedText.Builder().data("George Washington slept here.");
+        ListAttribute.Builder<Token> tokenListBuilder = new ListAttribute.Builder<>(Token.class);
+        Token.Builder tokenBuilder = new Token.Builder(0, 6, "George");
+        tokenBuilder.addAnalysis(new HanMorphoAnalysis.Builder().lemma("george").addReading("jo-ji").build());
+        tokenListBuilder.add(tokenBuilder.build());
+        builder.tokens(tokenListBuilder.build());
+        ListAttribute.Builder<Entity> entityListBuilder = new ListAttribute.Builder<>(Entity.class);
+        Entity.Builder entityBuilder = new Entity.Builder().type("PERSON").confidence(0.5).headMentionIndex(0);
+        entityBuilder.mention(new Mention.Builder(0, 17).build());
+        entityListBuilder.add(entityBuilder.build());
+        builder.entities(entityListBuilder.build());
+        return builder.build();
+    }
+
+    @Test
+    public void roundTripAll() throws Exception {
+        AnnotatedText text = sample();
+        for (AdmCodecs.Format format : AdmCodecs.Format.values()) {
+            for (AdmCodecs.Encoding encoding : AdmCodecs.Encoding.values()) {
+                byte[] bytes = AdmCodecs.writer(format, encoding).writeValueAsBytes(text);
+                AnnotatedText readBack = AdmCodecs.reader(format, encoding).readValue(bytes);
+                assertEquals(text.getData().toString(), readBack.getData().toString());
+                assertEquals(text.getTokens(), readBack.getTokens());
+                assertEquals(text.getEntities(), readBack.getEntities());
+                assertEquals(ContentFingerprint.of(text), ContentFingerprint.of(readBack));
+            }
+        }
+    }
+
+    @Test
+    public void lazyCrossEncoding() throws Exception {
+        // attributes read lazily in one encoding are written correctly in every other.
+        AnnotatedText text = SampleDocuments.everyAttribute();
+        for (AdmCodecs.Format format : AdmCodecs.Format.values()) {
+            for (AdmCodecs.Encoding encoding : AdmCodecs.Encoding.values()) {
+                byte[] bytes = AdmCodecs.writer(format, encoding).writeValueAsBytes(text);
+                for (AdmCodecs.Format targetFormat : AdmCodecs.Format.values()) {
+                    for (AdmCodecs.Encoding targetEncoding : AdmCodecs.Encoding.values()) {
+                        AnnotatedText lazy = LazyAttributes.applyTo(AdmCodecs.reader(format, encoding)).readValue(bytes);
+                        byte[] converted = AdmCodecs.writer(targetFormat, targetEncoding).writeValueAsBytes(lazy);
+                        AnnotatedText readBack = AdmCodecs.reader(targetFormat, targetEncoding).readValue(converted);
+                        String message = format + "/" + encoding + " to " + targetFormat + "/" + targetEncoding;
+                        assertEquals(message, text.getStoredAttributes(), readBack.getStoredAttributes());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void traceRoundTripAll() throws Exception {
+        Annotator annotator = new Annotator() {
+            @Override
+            public AnnotatedText annotate(CharSequence input) {
+                return sample();
+            }
+
+            @Override
+            public AnnotatedText annotate(AnnotatedText input) {
+                return sample();
+            }
+        };
+        AnnotatedText text = new ComposingAnnotator(Collections.singletonList(annotator), true).annotate("George");
+        assertEquals(1, ProcessingTrace.of(text).size());
+        for (AdmCodecs.Format format : AdmCodecs.Format.values()) {
+            for (AdmCodecs.Encoding encoding : AdmCodecs.Encoding.values()) {
+                byte[] bytes = AdmCodecs.writer(format, encoding).writeValueAsBytes(text);
+                AnnotatedText readBack = AdmCodecs.reader(format, encoding).readValue(bytes);
+                assertEquals(text.getDocumentMetadata().get(ProcessingTrace.METADATA_KEY),
+                        readBack.getDocumentMetadata().get(ProcessingTrace.METADATA_KEY));
+                assertEquals(ProcessingTrace.of(text).get(0).getDurationNanos(), ProcessingTrace.of(readBack).get(0).getDurationNanos());
+            }
+        }
+    }
+
+    @Test
+    public void shared() throws Exception {
+        assertSame(AdmCodecs.reader(AdmCodecs.Format.ARRAY, AdmCodecs.Encoding.SMILE),
+                AdmCodecs.reader(AdmCodecs.Format.ARRAY, AdmCodecs.Encoding.SMILE));
+        assertSame(AdmCodecs.writer(), AdmCodecs.writer(AdmCodecs.Format.PLAIN, AdmCodecs.Encoding.JSON));
+    }
+
+    @Test
+    public void compatibleWithMapper() throws Exception {
+        // the shared writer produces exactly what a mapper set up in the usual way produces.
+        AnnotatedText text = sample();
+        assertEquals(objectMapper().writeValueAsString(text), AdmCodecs.writer().writeValueAsString(text));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.json.plain;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.CategorizerResult;
+import com.basistech.rosette.dm.Entity;
+import com.basistech.rosette.dm.HanMorphoAnalysis;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.Mention;
+import com.basistech.rosette.dm.Token;
+import com.basistech.rosette.dm.jackson.AdmCodecs;
+import com.basistech.rosette.dm.jackson.AdmProjection;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.junit.Test;
+
+/**
+ * Reading parts of documents.
+ */
+public class AdmProjectionTest extends AdmAssert {
+
+    private static AnnotatedText sample() {
+        AnnotatedText.Builder builder = new AnnotatedText.Builder().data("George Washington slept here.");
+        ListAttribute.Builder<Token> tokenListBuilder = new ListAttribute.Builder<>(Token.class);
+        Token.Builder tokenBuilder = new Token.Builder(0, 6, "George");
+        tokenBuilder.addAnalysis(new HanMorphoAnalysis.Builder().lemma("george").addReading("jo-ji").build());
+        tokenListBuilder.add(tokenBuilder.build());
+        builder.tokens(tokenListBuilder.build());
+        ListAttribute.Builder<Entity> entityListBuilder = new ListAttribute.Builder<>(Entity.class);
+        Entity.Builder entityBuilder = new Entity.Builder().type("PERSON").headMentionIndex(0);
+        entityBuilder.mention(new Mention.Builder(0, 17).build());
+        entityListBuilder.add(entityBuilder.build());
+        builder.entities(entityListBuilder.build());
+        ListAttribute.Builder<CategorizerResult> categoryListBuilder = new ListAttribute.Builder<>(CategorizerResult.class);
+        categoryListBuilder.add(new CategorizerResult.Builder("history", 1.0).build());
+        builder.categorizerResults(categoryListBuilder.build());
+        builder.documentMetadata("source", "test");
+        return builder.build();
+    }
+
+    @Test
+    public void including() throws Exception {
+        AnnotatedText text = sample();
+        for (AdmCodecs.Format format : AdmCodecs.Format.values()) {
+            byte[] bytes = AdmCodecs.writer(format, AdmCodecs.Encoding.JSON).writeValueAsBytes(text);
+            ObjectReader reader = AdmProjection.including("entities").applyTo(AdmCodecs.reader(format, AdmCodecs.Encoding.JSON));
+            AnnotatedText readBack = reader.readValue(bytes);
+            assertEquals(text.getData().toString(), readBack.getData().toString());
+            assertEquals(text.getEntities(), readBack.getEntities());
+            assertNull(readBack.getTokens());
+            assertNull(readBack.getCategorizerResults());
+            assertEquals(1, readBack.getAttributes().size());
+            assertEquals(text.getDocumentMetadata(), readBack.getDocumentMetadata());
+        }
+    }
+
+    @Test
+    public void excludingWithoutData() throws Exception {
+        AnnotatedText text = sample();
+        for (AdmCodecs.Format format : AdmCodecs.Format.values()) {
+            for (AdmCodecs.Encoding encoding : AdmCodecs.Encoding.values()) {
+                byte[] bytes = AdmCodecs.writer(format, encoding).writeValueAsBytes(text);
+                ObjectReader reader = AdmProjection.excluding("token").withoutData().applyTo(AdmCodecs.reader(format, encoding));
+                AnnotatedText readBack = reader.readValue(bytes);
+                assertNull(readBack.getData());
+                assertNull(readBack.getTokens());
+                assertEquals(text.getEntities(), readBack.getEntities());
+                assertEquals(text.getCategorizerResults(), readBack.getCategorizerResults());
+            }
+        }
+    }
+
+    @Test
+    public void sharedReaderUnaffected() throws Exception {
+        AnnotatedText text = sample();
+        AdmProjection.including("entities").applyTo(AdmCodecs.reader());
+        AnnotatedText readBack = AdmCodecs.reader().readValue(AdmCodecs.writer().writeValueAsBytes(text));
+        assertEquals(text.getTokens(), readBack.getTokens());
+        assertEquals(text.getData().toString(), readBack.getData().toString());
+    }
+}
@@ -0,0 +1,128 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.json.plain;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.Token;
+import com.basistech.rosette.dm.jackson.AdmCodecs;
+import com.basistech.rosette.dm.jackson.AdmReader;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reading multiple documents from one stream.
+ */
+public class AdmReaderTest extends AdmAssert {
+    private static final int DOC_COUNT = 5;
+
+    private static List<AnnotatedText> documents() {
+        List<AnnotatedText> texts = Lists.newArrayList();
+        for (int x = 0; x < DOC_COUNT; x++) {
+            String word = "word" + x;
+            AnnotatedText.Builder builder = new AnnotatedText.Builder().data(word);
+            ListAttribute.Builder<Token> tokenListBuilder = new ListAttribute.Builder<>(Token.class);
+            tokenListBuilder.add(new Token.Builder(0, word.length(), word).build());
+            builder.tokens(tokenListBuilder.build());
+            texts.add(builder.build());
+        }
+        return texts;
+    }
+
+    private static byte[] writeContainer(ObjectWriter writer, List<AnnotatedText> texts) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator generator = writer.getFactory().createGenerator(bytes)) {
+            generator.writeStartArray();
+            for (AnnotatedText text : texts) {
+                writer.writeValue(generator, text);
+            }
+            generator.writeEndArray();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] writeLines(ObjectWriter writer, List<AnnotatedText> texts) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (AnnotatedText text : texts) {
+            bytes.write(writer.writeValueAsBytes(text));
+            if (writer.getFactory().canHandleBinaryNatively()) {
+                continue;
+            }
+            bytes.write('\n');
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void checkDocuments(List<AnnotatedText> expected, AdmReader reader) throws IOException {
+        int count = 0;
+        try {
+            for (AnnotatedText text : reader) {
+                assertEquals(expected.get(count).getData().toString(), text.getData().toString());
+                assertEquals(expected.get(count).getTokens(), text.getTokens());
+                count++;
+            }
+        } finally {
+            reader.close();
+        }
+        assertEquals(expected.size(), count);
+    }
+
+    @Test
+    public void allShapes() throws Exception {
+        List<AnnotatedText> texts = documents();
+        for (AdmCodecs.Format format : AdmCodecs.Format.values()) {
+            for (AdmCodecs.Encoding encoding : AdmCodecs.Encoding.values()) {
+                ObjectWriter writer = AdmCodecs.writer(format, encoding);
+                byte[] container = writeContainer(writer, texts);
+                checkDocuments(texts, AdmReader.open(new ByteArrayInputStream(container), format, encoding));
+                byte[] lines = writeLines(writer, texts);
+                checkDocuments(texts, AdmReader.open(new ByteArrayInputStream(lines), format, encoding));
+            }
+        }
+    }
+
+    @Test
+    public void empty() throws Exception {
+        for (AdmCodecs.Format format : AdmCodecs.Format.values()) {
+            AdmReader reader = AdmReader.open(new ByteArrayInputStream("[]".getBytes("UTF-8")), format, AdmCodecs.Encoding.JSON);
+            assertFalse(reader.hasNext());
+            reader.close();
+            reader = AdmReader.open(new ByteArrayInputStream(new byte[0]), format, AdmCodecs.Encoding.JSON);
+            assertFalse(reader.hasNext());
+            reader.close();
+        }
+    }
+
+    @Test
+    public void hasNextIsIdempotent() throws Exception {
+        List<AnnotatedText> texts = documents();
+        byte[] lines = writeLines(AdmCodecs.writer(), texts);
+        try (AdmReader reader = AdmReader.open(new ByteArrayInputStream(lines))) {
+            assertTrue(reader.hasNext());
+            assertTrue(reader.hasNext());
+            assertEquals("word0", reader.next().getData().toString());
+            assertEquals("word1", reader.next().getData().toString());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.json.plain;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.Entity;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.Mention;
+import com.basistech.rosette.dm.MorphoAnalysis;
+import com.basistech.rosette.dm.Sentence;
+import com.basistech.rosette.dm.Token;
+import com.basistech.rosette.dm.jackson.AdmCodecs;
+import com.basistech.rosette.dm.test.AllocationBudgets;
+import com.basistech.rosette.dm.test.corpus.CorpusGenerator;
+import com.basistech.rosette.dm.test.corpus.SizeDistribution;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.concurrent.Callable;
+
+/**
+ * Bytes allocated per document when building, writing and reading a generated document of 300 tokens.
+ * The budgets are in allocation-budgets.properties; see {@link AllocationBudgets} to re-record them
+ * after a deliberate change.
+ */
+public class AllocationBudgetTest {
+    private static AllocationBudgets budgets;
+    private static AnnotatedText text;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        budgets = AllocationBudgets.load(AllocationBudgetTest.class, "allocation-budgets.properties");
+        text = new CorpusGenerator.Builder().seed(1).tokens(SizeDistribution.fixed(300)).build().document(0);
+    }
+
+    @Test
+    public void codecs() throws Exception {
+        for (AdmCodecs.Format format : AdmCodecs.Format.values()) {
+            for (AdmCodecs.Encoding encoding : AdmCodecs.Encoding.values()) {
+                String name = (format + "." + encoding).toLowerCase(Locale.ENGLISH);
+                final ObjectWriter writer = AdmCodecs.writer(format, encoding);
+                final ObjectReader reader = AdmCodecs.reader(format, encoding);
+                final byte[] bytes = writer.writeValueAsBytes(text);
+                budgets.check(name + ".write", new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        return writer.writeValueAsBytes(text);
+                    }
+                });
+                budgets.check(name + ".read", new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        return reader.readValue(bytes);
+                    }
+                });
+            }
+        }
+    }
+
+    @Test
+    public void build() throws Exception {
+        budgets.check("model.build", new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                return rebuild(text);
+            }
+        });
+    }
+
+    @Test
+    public void compatibility() throws Exception {
+        budgets.check("model.entityMentions", new Callable<Object>() {
+            @Override
+            @SuppressWarnings("deprecation")
+            public Object call() throws Exception {
+                return new AnnotatedText.Builder().data(text.getData()).entities(text.getEntities()).build().getEntityMentions();
+            }
+        });
+    }
+
+    /* Builds a copy of the tokens, sentences and entities, as an annotator would. */
+    private static AnnotatedText rebuild(AnnotatedText source) {
+        ListAttribute.Builder<Token> tokens = new ListAttribute.Builder<>(Token.class);
+        for (Token token : source.getTokens()) {
+            Token.Builder builder = new Token.Builder(token.getStartOffset(), token.getEndOffset(), token.getText());
+            if (token.getAnalyses() != null) {
+                for (MorphoAnalysis analysis : token.getAnalyses()) {
+                    builder.addAnalysis(new MorphoAnalysis.Builder().lemma(analysis.getLemma()).partOfSpeech(analysis.getPartOfSpeech()).build());
+                }
+            }
+            tokens.add(builder.build());
+        }
+        ListAttribute.Builder<Sentence> sentences = new ListAttribute.Builder<>(Sentence.class);
+        for (Sentence sentence : source.getSentences()) {
+            sentences.add(new Sentence.Builder(sentence.getStartOffset(), sentence.getEndOffset()).build());
+        }
+        ListAttribute.Builder<Entity> entities = new ListAttribute.Builder<>(Entity.class);
+        for (Entity entity : source.getEntities()) {
+            Entity.Builder builder = new Entity.Builder().type(entity.getType()).entityId(entity.getEntityId())
+                    .headMentionIndex(entity.getHeadMentionIndex()).confidence(entity.getConfidence());
+            for (Mention mention : entity.getMentions()) {
+                builder.mention(new Mention.Builder(mention.getStartOffset(), mention.getEndOffset())
+                        .source(mention.getSource()).confidence(mention.getConfidence()).build());
+            }
+            entities.add(builder.build());
+        }
+        return new AnnotatedText.Builder().data(source.getData()).tokens(tokens.build())
+                .sentences(sentences.build()).entities(entities.build()).build();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.json.plain;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.EmbeddingCollection;
+import com.basistech.rosette.dm.Embeddings;
+import com.basistech.rosette.dm.Entity;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.Mention;
+import com.basistech.rosette.dm.jackson.AdmCbor;
+import com.basistech.rosette.dm.jackson.AdmCodecs;
+import com.basistech.rosette.dm.jackson.AdmSmile;
+import com.basistech.rosette.dm.jackson.AnnotatedDataModelModule;
+import com.basistech.rosette.dm.jackson.LazyAttributes;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.google.common.primitives.Bytes;
+import org.junit.Test;
+
+/**
+ * Tests for the Smile and CBOR mapper setup.
+ */
+public class BinaryEncodingsTest extends AdmAssert {
+
+    private static AnnotatedText sample() {
+        AnnotatedText.Builder builder = new AnnotatedText.Builder().data("George Washington and George Washington.");
+        ListAttribute.Builder<Entity> entities = new ListAttribute.Builder<>(Entity.class);
+        for (int x = 0; x < 2; x++) {
+            Entity.Builder entityBuilder = new Entity.Builder().type("PERSON").entityId("Q23").confidence(0.123456789).headMentionIndex(0);
+            entityBuilder.mention(new Mention.Builder(22 * x, 22 * x + 17).source("gazetteer").build());
+            entities.add(entityBuilder.build());
+        }
+        builder.entities(entities.build());
+        EmbeddingCollection.Builder collection = new EmbeddingCollection.Builder();
+        collection.put(0, new float[] {0.25f, -1.5f, Float.MIN_VALUE});
+        collection.put(1, new float[0]);
+        Embeddings.Builder embeddings = new Embeddings.Builder();
+        embeddings.put(Embeddings.Name.TEXT, collection.build());
+        builder.embeddings(embeddings.build());
+        return builder.build();
+    }
+
+    private static void assertSameText(AnnotatedText expected, AnnotatedText actual) {
+        assertEquals(expected.getData().toString(), actual.getData().toString());
+        assertEquals(expected.getEntities(), actual.getEntities());
+        assertEquals(expected.getEmbeddings(), actual.getEmbeddings());
+    }
+
+    @Test
+    public void roundTrip() throws Exception {
+        AnnotatedText text = sample();
+        for (AdmCodecs.Format format : AdmCodecs.Format.values()) {
+            for (ObjectMapper mapper : new ObjectMapper[] {AdmSmile.newObjectMapper(format), AdmCbor.newObjectMapper(format)}) {
+                byte[] bytes = mapper.writeValueAsBytes(text);
+                assertSameText(text, mapper.readValue(bytes, AnnotatedText.class));
+            }
+        }
+    }
+
+    @Test
+    public void nativeDoubles() throws Exception {
+        // full precision, where DoubleSerializer would have written "0.12345679".
+        AnnotatedText text = sample();
+        for (ObjectMapper mapper : new ObjectMapper[] {AdmSmile.newObjectMapper(AdmCodecs.Format.PLAIN), AdmCbor.newObjectMapper(AdmCodecs.Format.PLAIN)}) {
+            AnnotatedText readBack = mapper.readValue(mapper.writeValueAsBytes(text), AnnotatedText.class);
+            assertEquals(0.123456789, readBack.getEntities().get(0).getConfidence(), 0);
+        }
+    }
+
+    @Test
+    public void smileSharedValues() throws Exception {
+        AnnotatedText text = sample();
+        byte[] unshared = AnnotatedDataModelModule.setupObjectMapper(new ObjectMapper(new SmileFactory())).writeValueAsBytes(text);
+        byte[] shared = AdmSmile.newObjectMapper(AdmCodecs.Format.PLAIN).writeValueAsBytes(text);
+        assertTrue(shared.length < unshared.length);
+    }
+
+    @Test
+    public void cborTypedArrays() throws Exception {
+        byte[] bytes = AdmCbor.newObjectMapper(AdmCodecs.Format.ARRAY).writeValueAsBytes(sample());
+        // tag 81 (0xd8 0x51) followed by a byte string of 12 bytes (0x4c).
+        assertTrue(Bytes.indexOf(bytes, new byte[] {(byte) 0xd8, 0x51, 0x4c}) >= 0);
+        // data written without typed arrays still reads.
+        ObjectMapper plainCbor = AnnotatedDataModelModule.setupObjectMapper(new ObjectMapper(new CBORFactory()));
+        AnnotatedText text = sample();
+        ObjectMapper mapper = AdmCbor.newObjectMapper(AdmCodecs.Format.PLAIN);
+        assertEquals(text.getEmbeddings(), mapper.readValue(plainCbor.writeValueAsBytes(text), AnnotatedText.class).getEmbeddings());
+    }
+
+    @Test
+    public void cborLittleEndianLazy() throws Exception {
+        AnnotatedText text = sample();
+        byte[] bytes = AdmCodecs.writer(AdmCodecs.Format.PLAIN, AdmCodecs.Encoding.CBOR).writeValueAsBytes(text);
+        // rewrite the 12 byte typed array as little-endian, tag 85 (0x55).
+        int start = Bytes.indexOf(bytes, new byte[] {(byte) 0xd8, 0x51, 0x4c});
+        assertTrue(start >= 0);
+        bytes[start + 1] = 0x55;
+        for (int x = start + 3; x < start + 15; x += 4) {
+            byte[] swapped = {bytes[x + 3], bytes[x + 2], bytes[x + 1], bytes[x]};
+            System.arraycopy(swapped, 0, bytes, x, 4);
+        }
+        AnnotatedText lazy = LazyAttributes.applyTo(AdmCodecs.reader(AdmCodecs.Format.PLAIN, AdmCodecs.Encoding.CBOR)).readValue(bytes);
+        assertEquals(text.getEmbeddings(), lazy.getEmbeddings());
+        byte[] copy = AdmCodecs.writer(AdmCodecs.Format.PLAIN, AdmCodecs.Encoding.CBOR).writeValueAsBytes(lazy);
+        AnnotatedText readBack = AdmCodecs.reader(AdmCodecs.Format.PLAIN, AdmCodecs.Encoding.CBOR).readValue(copy);
+        assertEquals(text.getEmbeddings(), readBack.getEmbeddings());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsOtherFactories() {
+        AdmCbor.setupObjectMapper(new ObjectMapper(new SmileFactory()), AdmCodecs.Format.PLAIN);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.json.plain;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.BaseAttribute;
+import com.basistech.rosette.dm.CategorizerResult;
+import com.basistech.rosette.dm.DeferredAttribute;
+import com.basistech.rosette.dm.Entity;
+import com.basistech.rosette.dm.HanMorphoAnalysis;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.Mention;
+import com.basistech.rosette.dm.Token;
+import com.basistech.rosette.dm.jackson.AdmCodecs;
+import com.basistech.rosette.dm.jackson.LazyAttributes;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * Reading documents with undecoded attributes, and writing them back out.
+ */
+public class LazyAttributesTest extends AdmAssert {
+
+    private static AnnotatedText sample() {
+        AnnotatedText.Builder builder = new AnnotatedText.Builder().data("George Washington slept here.");
+        ListAttribute.Builder<Token> tokenListBuilder = new ListAttribute.Builder<>(Token.class);
+        Token.Builder tokenBuilder = new Token.Builder(0, 6, "George");
+        tokenBuilder.addAnalysis(new HanMorphoAnalysis.Builder().lemma("george").addReading("jo-ji").build());
+        tokenListBuilder.add(tokenBuilder.build());
+        builder.tokens(tokenListBuilder.build());
+        ListAttribute.Builder<Entity> entityListBuilder = new ListAttribute.Builder<>(Entity.class);
+        Entity.Builder entityBuilder = new Entity.Builder().type("PERSON").headMentionIndex(0);
+        entityBuilder.mention(new Mention.Builder(0, 17).build());
+        entityListBuilder.add(entityBuilder.build());
+        builder.entities(entityListBuilder.build());
+        return builder.build();
+    }
+
+    private static boolean anyResolved(AnnotatedText text) {
+        for (BaseAttribute attribute : text.getStoredAttributes().values()) {
+            if (attribute instanceof DeferredAttribute && ((DeferredAttribute) attribute).isResolved()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void passThrough() throws Exception {
+        AnnotatedText text = sample();
+        for (AdmCodecs.Format format : AdmCodecs.Format.values()) {
+            for (AdmCodecs.Encoding encoding : AdmCodecs.Encoding.values()) {
+                byte[] bytes = AdmCodecs.writer(format, encoding).writeValueAsBytes(text);
+                ObjectReader reader = LazyAttributes.applyTo(AdmCodecs.reader(format, encoding));
+                AnnotatedText lazy = reader.readValue(bytes);
+                for (BaseAttribute attribute : lazy.getStoredAttributes().values()) {
+                    assertTrue(attribute instanceof DeferredAttribute);
+                }
+                // unchanged, the output is the same as the input.
+                assertArrayEquals(bytes, AdmCodecs.writer(format, encoding).writeValueAsBytes(lazy));
+                assertFalse(anyResolved(lazy));
+
+                // add an attribute; the others are still not decoded.
+                ListAttribute.Builder<CategorizerResult> categoryListBuilder = new ListAttribute.Builder<>(CategorizerResult.class);
+                categoryListBuilder.add(new CategorizerResult.Builder("history", 1.0).build());
+                AnnotatedText added = new AnnotatedText.Builder(lazy).categorizerResults(categoryListBuilder.build()).build();
+                AnnotatedText readBack = AdmCodecs.reader(format, encoding).readValue(AdmCodecs.writer(format, encoding).writeValueAsBytes(added));
+                assertFalse(anyResolved(lazy));
+                assertEquals(text.getTokens(), readBack.getTokens());
+                assertEquals(text.getEntities(), readBack.getEntities());
+                assertEquals(categoryListBuilder.build(), readBack.getCategorizerResults());
+            }
+        }
+    }
+
+    @Test
+    public void decodeOnAccess() throws Exception {
+        AnnotatedText text = sample();
+        for (AdmCodecs.Format format : AdmCodecs.Format.values()) {
+            byte[] bytes = AdmCodecs.writer(format, AdmCodecs.Encoding.JSON).writeValueAsBytes(text);
+            AnnotatedText lazy = LazyAttributes.applyTo(AdmCodecs.reader(format, AdmCodecs.Encoding.JSON)).readValue(bytes);
+            assertEquals(text.getTokens(), lazy.getTokens());
+            assertEquals(text.getEntities(), lazy.getAttributes().get("entities"));
+            assertEquals(text.getAttributes().keySet(), lazy.getAttributes().keySet());
+        }
+    }
+
+    @Test
+    public void parserFromOtherMapper() throws Exception {
+        // the attributes are decoded by the reader, not by the codec of the parser.
+        AnnotatedText text = sample();
+        byte[] bytes = AdmCodecs.writer().writeValueAsBytes(text);
+        AnnotatedText lazy;
+        try (JsonParser parser = new ObjectMapper().getFactory().createParser(bytes)) {
+            lazy = LazyAttributes.applyTo(AdmCodecs.reader()).readValue(parser);
+        }
+        for (BaseAttribute attribute : lazy.getStoredAttributes().values()) {
+            assertTrue(attribute instanceof DeferredAttribute);
+        }
+        assertEquals(text.getTokens(), lazy.getTokens());
+        assertEquals(text.getEntities(), lazy.getEntities());
+    }
+
+    @Test
+    public void otherFormat() throws Exception {
+        AnnotatedText text = sample();
+        byte[] bytes = AdmCodecs.writer(AdmCodecs.Format.PLAIN, AdmCodecs.Encoding.JSON).writeValueAsBytes(text);
+        AnnotatedText lazy = LazyAttributes.applyTo(AdmCodecs.reader()).readValue(bytes);
+        byte[] arrayBytes = AdmCodecs.writer(AdmCodecs.Format.ARRAY, AdmCodecs.Encoding.SMILE).writeValueAsBytes(lazy);
+        assertArrayEquals(AdmCodecs.writer(AdmCodecs.Format.ARRAY, AdmCodecs.Encoding.SMILE).writeValueAsBytes(text), arrayBytes);
+    }
+
+    @Test
+    public void javaSerialization() throws Exception {
+        AnnotatedText text = sample();
+        AnnotatedText lazy = LazyAttributes.applyTo(AdmCodecs.reader()).readValue(AdmCodecs.writer().writeValueAsBytes(text));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(lazy);
+        }
+        AnnotatedText readBack;
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            readBack = (AnnotatedText) input.readObject();
+        }
+        assertFalse(readBack.getStoredAttributes().get("token") instanceof DeferredAttribute);
+        assertEquals(text.getTokens(), readBack.getTokens());
+    }
+}
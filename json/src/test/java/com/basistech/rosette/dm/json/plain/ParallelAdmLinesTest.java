@@ -0,0 +1,119 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.json.plain;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.Token;
+import com.basistech.rosette.dm.jackson.AdmCodecs;
+import com.basistech.rosette.dm.jackson.ParallelAdmLinesReader;
+import com.basistech.rosette.dm.jackson.ParallelAdmLinesWriter;
+import com.google.common.collect.Lists;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Round trips through the parallel Json-Lines writer and reader.
+ */
+public class ParallelAdmLinesTest extends AdmAssert {
+    private static final int DOC_COUNT = 200;
+    private static ForkJoinPool pool;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public static void stopPool() {
+        pool.shutdown();
+    }
+
+    private static List<AnnotatedText> documents() {
+        List<AnnotatedText> texts = Lists.newArrayList();
+        for (int x = 0; x < DOC_COUNT; x++) {
+            // a newline in the data must not confuse the splitting.
+            String data = "document " + x + "\nsecond line";
+            AnnotatedText.Builder builder = new AnnotatedText.Builder().data(data);
+            ListAttribute.Builder<Token> tokenListBuilder = new ListAttribute.Builder<>(Token.class);
+            tokenListBuilder.add(new Token.Builder(0, 8, "document").build());
+            builder.tokens(tokenListBuilder.build());
+            texts.add(builder.build());
+        }
+        return texts;
+    }
+
+    private File write(AdmCodecs.Format format, List<AnnotatedText> texts) throws IOException {
+        File file = temporaryFolder.newFile();
+        try (OutputStream output = new FileOutputStream(file)) {
+            new ParallelAdmLinesWriter(pool, format, 16).write(texts, output);
+        }
+        return file;
+    }
+
+    @Test
+    public void roundTripInOrder() throws Exception {
+        List<AnnotatedText> texts = documents();
+        for (AdmCodecs.Format format : AdmCodecs.Format.values()) {
+            File file = write(format, texts);
+            // small chunks, so that there are many ranges.
+            List<AnnotatedText> readBack = new ParallelAdmLinesReader(pool, format, 500).readAll(file);
+            assertEquals(texts.size(), readBack.size());
+            for (int x = 0; x < texts.size(); x++) {
+                assertEquals(texts.get(x).getData().toString(), readBack.get(x).getData().toString());
+                assertEquals(texts.get(x).getTokens(), readBack.get(x).getTokens());
+            }
+        }
+    }
+
+    @Test
+    public void handler() throws Exception {
+        List<AnnotatedText> texts = documents();
+        File file = write(AdmCodecs.Format.PLAIN, texts);
+        final ConcurrentLinkedQueue<String> seen = new ConcurrentLinkedQueue<>();
+        new ParallelAdmLinesReader(pool, AdmCodecs.Format.PLAIN, 1000).read(file, new ParallelAdmLinesReader.Handler() {
+            @Override
+            public void handle(AnnotatedText text) {
+                seen.add(text.getData().toString());
+            }
+        });
+        assertEquals(texts.size(), seen.size());
+        for (AnnotatedText text : texts) {
+            assertTrue(seen.contains(text.getData().toString()));
+        }
+    }
+
+    @Test
+    public void emptyFile() throws Exception {
+        File file = temporaryFolder.newFile();
+        assertTrue(new ParallelAdmLinesReader(pool, AdmCodecs.Format.ARRAY).readAll(file).isEmpty());
+    }
+}
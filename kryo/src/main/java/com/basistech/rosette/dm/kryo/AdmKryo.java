@@ -0,0 +1,176 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.kryo;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.ArabicMorphoAnalysis;
+import com.basistech.rosette.dm.BaseNounPhrase;
+import com.basistech.rosette.dm.CategorizerResult;
+import com.basistech.rosette.dm.Concept;
+import com.basistech.rosette.dm.Dependency;
+import com.basistech.rosette.dm.EmbeddingCollection;
+import com.basistech.rosette.dm.Embeddings;
+import com.basistech.rosette.dm.Entity;
+import com.basistech.rosette.dm.Extent;
+import com.basistech.rosette.dm.HanMorphoAnalysis;
+import com.basistech.rosette.dm.Keyphrase;
+import com.basistech.rosette.dm.KoreanMorphoAnalysis;
+import com.basistech.rosette.dm.LanguageDetection;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.Mention;
+import com.basistech.rosette.dm.MorphoAnalysis;
+import com.basistech.rosette.dm.Name;
+import com.basistech.rosette.dm.RawData;
+import com.basistech.rosette.dm.RelationshipComponent;
+import com.basistech.rosette.dm.RelationshipMention;
+import com.basistech.rosette.dm.ScriptRegion;
+import com.basistech.rosette.dm.Sentence;
+import com.basistech.rosette.dm.Token;
+import com.basistech.rosette.dm.TranslatedData;
+import com.basistech.rosette.dm.TranslatedTokens;
+import com.basistech.rosette.dm.UnknownAttribute;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Registration;
+import com.esotericsoftware.kryo.Serializer;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * Registers Kryo serializers for the classes of the Annotated Data Model.
+ * The model classes have no no-arg constructors and hold Guava immutable collections,
+ * which Kryo's default serializers cannot build; these serializers go through the builders.
+ * <p>
+ * Each class is registered with a fixed id, counting up from a first id in the order of
+ * {@link #registeredClasses()}, so that any two processes that register the same way agree.
+ * New classes are only ever added at the end of the list. The default first id, {@value #DEFAULT_FIRST_ID},
+ * leaves room for the registrations that Spark and other frameworks make before ours;
+ * pass a different one if it collides. For Spark, call {@link #register(Kryo)} from a
+ * {@code KryoRegistrator} named in {@code spark.kryo.registrator}.
+ * <p>
+ * The common classes have serializers of their own; the rest are written in the array Json format.
+ * The values of extended properties are written with whatever serializer Kryo has for their class.
+ */
+@SuppressWarnings("deprecation")
+public final class AdmKryo {
+    /**
+     * The default first registration id.
+     */
+    public static final int DEFAULT_FIRST_ID = 200;
+
+    private static final List<Class<?>> CLASSES = ImmutableList.<Class<?>>of(
+            AnnotatedText.class,
+            ListAttribute.class,
+            Token.class,
+            MorphoAnalysis.class,
+            HanMorphoAnalysis.class,
+            KoreanMorphoAnalysis.class,
+            ArabicMorphoAnalysis.class,
+            Sentence.class,
+            BaseNounPhrase.class,
+            Extent.class,
+            ScriptRegion.class,
+            Entity.class,
+            Mention.class,
+            Dependency.class,
+            Embeddings.class,
+            EmbeddingCollection.class,
+            CategorizerResult.class,
+            Concept.class,
+            Keyphrase.class,
+            LanguageDetection.class,
+            LanguageDetection.DetectionResult.class,
+            Name.class,
+            RawData.class,
+            RelationshipComponent.class,
+            RelationshipMention.class,
+            TranslatedData.class,
+            TranslatedTokens.class,
+            UnknownAttribute.class,
+            com.basistech.rosette.dm.EntityMention.class,
+            com.basistech.rosette.dm.ResolvedEntity.class);
+
+    private AdmKryo() {
+        //
+    }
+
+    /**
+     * @return the registered classes, in the order of their ids.
+     */
+    public static List<Class<?>> registeredClasses() {
+        return CLASSES;
+    }
+
+    /**
+     * Registers the classes with ids from {@link #DEFAULT_FIRST_ID}.
+     *
+     * @param kryo the Kryo instance
+     */
+    public static void register(Kryo kryo) {
+        register(kryo, DEFAULT_FIRST_ID);
+    }
+
+    /**
+     * Registers the classes with ids from a first id.
+     *
+     * @param kryo the Kryo instance
+     * @param firstId the id of the first class
+     * @throws IllegalArgumentException if one of the ids is taken by another class.
+     */
+    public static void register(Kryo kryo, int firstId) {
+        MorphoAnalysisSerializer analyses = new MorphoAnalysisSerializer();
+        OffsetAttributeSerializer offsets = new OffsetAttributeSerializer();
+        int id = firstId;
+        for (Class<?> type : CLASSES) {
+            Registration existing = kryo.getRegistration(id);
+            if (existing != null && existing.getType() != type) {
+                throw new IllegalArgumentException("Kryo registration id " + id + " is taken by " + existing.getType().getName());
+            }
+            Serializer<?> serializer;
+            if (MorphoAnalysis.class.isAssignableFrom(type)) {
+                serializer = analyses;
+            } else if (type == Sentence.class || type == BaseNounPhrase.class || type == Extent.class || type == ScriptRegion.class) {
+                serializer = offsets;
+            } else {
+                serializer = serializer(type);
+            }
+            kryo.register(type, serializer, id++);
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Serializer<?> serializer(Class<?> type) {
+        if (type == AnnotatedText.class) {
+            return new AnnotatedTextSerializer();
+        } else if (type == ListAttribute.class) {
+            return new ListAttributeSerializer();
+        } else if (type == Token.class) {
+            return new TokenSerializer();
+        } else if (type == Entity.class) {
+            return new EntitySerializer();
+        } else if (type == Mention.class) {
+            return new MentionSerializer();
+        } else if (type == Dependency.class) {
+            return new DependencySerializer();
+        } else if (type == Embeddings.class) {
+            return new EmbeddingsSerializer();
+        } else if (type == EmbeddingCollection.class) {
+            return new EmbeddingCollectionSerializer();
+        }
+        return new JsonAttributeSerializer(type);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.kryo;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.BaseAttribute;
+import com.basistech.rosette.dm.DeferredAttribute;
+import com.basistech.rosette.dm.util.AdmEvents;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializes {@link AnnotatedText}: the data, the document metadata, and each attribute
+ * with its class. Deferred attributes are decoded and written like any other.
+ */
+final class AnnotatedTextSerializer extends Serializer<AnnotatedText> {
+    AnnotatedTextSerializer() {
+        super(false, true);
+    }
+
+    @Override
+    public void write(Kryo kryo, Output output, AnnotatedText text) {
+        if (AdmEvents.ENABLED) {
+            AdmEvents.Event event = AdmEvents.begin(AdmEvents.Kind.SERIALIZE);
+            long start = output.total();
+            writeDocument(kryo, output, text);
+            if (event != null) {
+                event.complete("kryo", output.total() - start, text.getStoredAttributes().size());
+            }
+        } else {
+            writeDocument(kryo, output, text);
+        }
+    }
+
+    private static void writeDocument(Kryo kryo, Output output, AnnotatedText text) {
+        output.writeString(text.getData());
+        Map<String, List<String>> metadata = text.getDocumentMetadata();
+        output.writeVarInt(metadata.size(), true);
+        for (Map.Entry<String, List<String>> me : metadata.entrySet()) {
+            output.writeString(me.getKey());
+            KryoSupport.writeStrings(output, me.getValue());
+        }
+        Map<String, BaseAttribute> attributes = text.getStoredAttributes();
+        output.writeVarInt(attributes.size(), true);
+        for (Map.Entry<String, BaseAttribute> me : attributes.entrySet()) {
+            BaseAttribute value = me.getValue();
+            output.writeString(me.getKey());
+            kryo.writeClassAndObject(output, value instanceof DeferredAttribute ? ((DeferredAttribute) value).resolve() : value);
+        }
+    }
+
+    @Override
+    public AnnotatedText read(Kryo kryo, Input input, Class<AnnotatedText> type) {
+        if (AdmEvents.ENABLED) {
+            AdmEvents.Event event = AdmEvents.begin(AdmEvents.Kind.DESERIALIZE);
+            long start = input.total();
+            AnnotatedText text = readDocument(kryo, input);
+            if (event != null) {
+                event.complete("kryo", input.total() - start, text.getStoredAttributes().size());
+            }
+            return text;
+        }
+        return readDocument(kryo, input);
+    }
+
+    private static AnnotatedText readDocument(Kryo kryo, Input input) {
+        AnnotatedText.Builder builder = new AnnotatedText.Builder();
+        builder.data(input.readString());
+        int metadataCount = input.readVarInt(true);
+        for (int x = 0; x < metadataCount; x++) {
+            String key = input.readString();
+            builder.documentMetadata(key, KryoSupport.readStrings(input));
+        }
+        int attributeCount = input.readVarInt(true);
+        for (int x = 0; x < attributeCount; x++) {
+            String key = input.readString();
+            builder.attributes().put(key, (BaseAttribute) kryo.readClassAndObject(input));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.kryo;
+
+import com.basistech.rosette.dm.Dependency;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+/**
+ * Serializes {@link Dependency}. The governor of the root is -1, so the token indexes
+ * are written as signed numbers.
+ */
+final class DependencySerializer extends Serializer<Dependency> {
+    DependencySerializer() {
+        super(false, true);
+    }
+
+    @Override
+    public void write(Kryo kryo, Output output, Dependency dependency) {
+        output.writeString(dependency.getRelationship());
+        output.writeVarInt(dependency.getGovernorTokenIndex(), false);
+        output.writeVarInt(dependency.getDependencyTokenIndex(), false);
+        KryoSupport.writeExtendedProperties(kryo, output, dependency);
+    }
+
+    @Override
+    public Dependency read(Kryo kryo, Input input, Class<Dependency> type) {
+        String relationship = input.readString();
+        int governor = input.readVarInt(false);
+        Dependency.Builder builder = new Dependency.Builder(relationship, governor, input.readVarInt(false));
+        builder.extendedProperties(KryoSupport.readExtendedProperties(kryo, input));
+        return builder.build();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.kryo;
+
+import com.basistech.rosette.dm.EmbeddingCollection;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import java.util.Map;
+
+/**
+ * Serializes {@link EmbeddingCollection}, with the vectors as raw floats.
+ */
+final class EmbeddingCollectionSerializer extends Serializer<EmbeddingCollection> {
+    EmbeddingCollectionSerializer() {
+        super(false, true);
+    }
+
+    @Override
+    public void write(Kryo kryo, Output output, EmbeddingCollection collection) {
+        Map<Integer, float[]> embeddings = collection.getEmbeddings();
+        output.writeVarInt(embeddings == null ? 0 : embeddings.size(), true);
+        if (embeddings != null) {
+            for (Map.Entry<Integer, float[]> me : embeddings.entrySet()) {
+                output.writeVarInt(me.getKey(), true);
+                output.writeVarInt(me.getValue().length, true);
+                output.writeFloats(me.getValue());
+            }
+        }
+    }
+
+    @Override
+    public EmbeddingCollection read(Kryo kryo, Input input, Class<EmbeddingCollection> type) {
+        EmbeddingCollection.Builder builder = new EmbeddingCollection.Builder();
+        int count = input.readVarInt(true);
+        for (int x = 0; x < count; x++) {
+            int index = input.readVarInt(true);
+            builder.put(index, input.readFloats(input.readVarInt(true)));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.kryo;
+
+import com.basistech.rosette.dm.EmbeddingCollection;
+import com.basistech.rosette.dm.Embeddings;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import java.util.Map;
+
+/**
+ * Serializes {@link Embeddings}, with the collections by name.
+ */
+final class EmbeddingsSerializer extends Serializer<Embeddings> {
+    EmbeddingsSerializer() {
+        super(false, true);
+    }
+
+    @Override
+    public void write(Kryo kryo, Output output, Embeddings embeddings) {
+        Map<Embeddings.Name, EmbeddingCollection> collections = embeddings.getCollections();
+        output.writeVarInt(collections == null ? 0 : collections.size(), true);
+        if (collections != null) {
+            for (Map.Entry<Embeddings.Name, EmbeddingCollection> me : collections.entrySet()) {
+                output.writeString(me.getKey().name());
+                kryo.writeObject(output, me.getValue());
+            }
+        }
+        KryoSupport.writeExtendedProperties(kryo, output, embeddings);
+    }
+
+    @Override
+    public Embeddings read(Kryo kryo, Input input, Class<Embeddings> type) {
+        Embeddings.Builder builder = new Embeddings.Builder();
+        int count = input.readVarInt(true);
+        for (int x = 0; x < count; x++) {
+            Embeddings.Name name = Embeddings.Name.valueOf(input.readString());
+            builder.put(name, kryo.readObject(input, EmbeddingCollection.class));
+        }
+        builder.extendedProperties(KryoSupport.readExtendedProperties(kryo, input));
+        return builder.build();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.kryo;
+
+import com.basistech.rosette.dm.CategorizerResult;
+import com.basistech.rosette.dm.Entity;
+import com.basistech.rosette.dm.Mention;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import java.util.List;
+
+/**
+ * Serializes {@link Entity}.
+ */
+final class EntitySerializer extends Serializer<Entity> {
+    EntitySerializer() {
+        super(false, true);
+    }
+
+    @Override
+    public void write(Kryo kryo, Output output, Entity entity) {
+        KryoSupport.writeItems(kryo, output, entity.getMentions());
+        Integer head = entity.getHeadMentionIndex();
+        output.writeVarInt(head == null ? 0 : head + 1, true);
+        output.writeString(entity.getType());
+        output.writeString(entity.getEntityId());
+        KryoSupport.writeDouble(output, entity.getConfidence());
+        KryoSupport.writeDouble(output, entity.getSalience());
+        KryoSupport.writeItems(kryo, output, entity.getSentiment());
+        KryoSupport.writeExtendedProperties(kryo, output, entity);
+    }
+
+    @Override
+    public Entity read(Kryo kryo, Input input, Class<Entity> type) {
+        Entity.Builder builder = new Entity.Builder();
+        List<Mention> mentions = KryoSupport.readItems(kryo, input);
+        if (mentions != null) {
+            for (Mention mention : mentions) {
+                builder.mention(mention);
+            }
+        }
+        int head = input.readVarInt(true);
+        builder.headMentionIndex(head == 0 ? null : head - 1);
+        builder.type(input.readString());
+        builder.entityId(input.readString());
+        builder.confidence(KryoSupport.readDouble(input));
+        builder.salience(KryoSupport.readDouble(input));
+        List<CategorizerResult> sentiment = KryoSupport.readItems(kryo, input);
+        if (sentiment != null) {
+            for (CategorizerResult result : sentiment) {
+                builder.sentiment(result);
+            }
+        }
+        builder.extendedProperties(KryoSupport.readExtendedProperties(kryo, input));
+        return builder.build();
+    }
+}
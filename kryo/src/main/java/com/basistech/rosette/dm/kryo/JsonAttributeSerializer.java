@@ -0,0 +1,70 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.kryo;
+
+import com.basistech.rosette.dm.jackson.array.AnnotatedDataModelArrayModule;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+
+/**
+ * Serializes the less common classes in the array Json format, as the binary
+ * format does for attributes without a record of their own.
+ *
+ * @param <T> the class
+ */
+final class JsonAttributeSerializer<T> extends Serializer<T> {
+    private static final ObjectMapper MAPPER = AnnotatedDataModelArrayModule.setupObjectMapper(new ObjectMapper());
+
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    JsonAttributeSerializer(Class<T> type) {
+        super(false, true);
+        this.reader = MAPPER.readerFor(type);
+        this.writer = MAPPER.writerFor(type);
+    }
+
+    @Override
+    public void write(Kryo kryo, Output output, T object) {
+        byte[] bytes;
+        try {
+            bytes = writer.writeValueAsBytes(object);
+        } catch (IOException e) {
+            throw new KryoException("Failed to encode " + object.getClass().getName(), e);
+        }
+        output.writeVarInt(bytes.length, true);
+        output.writeBytes(bytes);
+    }
+
+    @Override
+    public T read(Kryo kryo, Input input, Class<T> type) {
+        byte[] bytes = input.readBytes(input.readVarInt(true));
+        try {
+            return reader.readValue(bytes);
+        } catch (IOException e) {
+            throw new KryoException("Failed to decode " + type.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.kryo;
+
+import com.basistech.rosette.dm.BaseAttribute;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodings shared by the serializers. Counts of things that may be null are written
+ * as the count plus one, with zero for null.
+ */
+final class KryoSupport {
+    private KryoSupport() {
+        //
+    }
+
+    static void writeCount(Output output, List<?> list) {
+        output.writeVarInt(list == null ? 0 : list.size() + 1, true);
+    }
+
+    /* Returns -1 for null. */
+    static int readCount(Input input) {
+        return input.readVarInt(true) - 1;
+    }
+
+    static void writeStrings(Output output, List<String> values) {
+        writeCount(output, values);
+        if (values != null) {
+            for (String value : values) {
+                output.writeString(value);
+            }
+        }
+    }
+
+    static List<String> readStrings(Input input) {
+        int count = readCount(input);
+        if (count < 0) {
+            return null;
+        }
+        ImmutableList.Builder<String> values = ImmutableList.builder();
+        for (int x = 0; x < count; x++) {
+            values.add(input.readString());
+        }
+        return values.build();
+    }
+
+    /* Items of varying classes, each with its class. */
+    static void writeItems(Kryo kryo, Output output, List<?> items) {
+        writeCount(output, items);
+        if (items != null) {
+            for (Object item : items) {
+                kryo.writeClassAndObject(output, item);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> List<T> readItems(Kryo kryo, Input input) {
+        int count = readCount(input);
+        if (count < 0) {
+            return null;
+        }
+        ImmutableList.Builder<T> items = ImmutableList.builder();
+        for (int x = 0; x < count; x++) {
+            items.add((T) kryo.readClassAndObject(input));
+        }
+        return items.build();
+    }
+
+    static void writeDouble(Output output, Double value) {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeDouble(value);
+        }
+    }
+
+    static Double readDouble(Input input) {
+        return input.readBoolean() ? input.readDouble() : null;
+    }
+
+    /* The values may be of any class; unregistered ones are written by name. */
+    static void writeExtendedProperties(Kryo kryo, Output output, BaseAttribute attribute) {
+        Map<String, Object> properties = attribute.getExtendedProperties();
+        output.writeVarInt(properties.size(), true);
+        for (Map.Entry<String, Object> me : properties.entrySet()) {
+            output.writeString(me.getKey());
+            kryo.writeClassAndObject(output, me.getValue());
+        }
+    }
+
+    static Map<String, Object> readExtendedProperties(Kryo kryo, Input input) {
+        int count = input.readVarInt(true);
+        if (count == 0) {
+            return ImmutableMap.of();
+        }
+        ImmutableMap.Builder<String, Object> properties = ImmutableMap.builder();
+        for (int x = 0; x < count; x++) {
+            properties.put(input.readString(), kryo.readClassAndObject(input));
+        }
+        return properties.build();
+    }
+}
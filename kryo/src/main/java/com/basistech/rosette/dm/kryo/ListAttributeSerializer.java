@@ -0,0 +1,78 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.kryo;
+
+import com.basistech.rosette.dm.BaseAttribute;
+import com.basistech.rosette.dm.ListAttribute;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.google.common.collect.Lists;
+
+import java.util.List;
+
+/**
+ * Serializes {@link ListAttribute}. The item class is written once; when every item is
+ * of exactly that class, as is usual, the items are written without classes of their own.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+final class ListAttributeSerializer extends Serializer<ListAttribute> {
+    ListAttributeSerializer() {
+        super(false, true);
+    }
+
+    private static boolean uniform(ListAttribute<?> list) {
+        for (BaseAttribute item : list) {
+            if (item.getClass() != list.getItemClass()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void write(Kryo kryo, Output output, ListAttribute list) {
+        kryo.writeClass(output, list.getItemClass());
+        output.writeVarInt(list.size(), true);
+        boolean uniform = uniform(list);
+        output.writeBoolean(uniform);
+        for (Object item : list) {
+            if (uniform) {
+                kryo.writeObject(output, item);
+            } else {
+                kryo.writeClassAndObject(output, item);
+            }
+        }
+        KryoSupport.writeExtendedProperties(kryo, output, list);
+    }
+
+    @Override
+    public ListAttribute read(Kryo kryo, Input input, Class<ListAttribute> type) {
+        Class<? extends BaseAttribute> itemClass = kryo.readClass(input).getType();
+        int size = input.readVarInt(true);
+        boolean uniform = input.readBoolean();
+        List<BaseAttribute> items = Lists.newArrayListWithCapacity(size);
+        for (int x = 0; x < size; x++) {
+            items.add(uniform ? kryo.readObject(input, itemClass) : (BaseAttribute) kryo.readClassAndObject(input));
+        }
+        ListAttribute.Builder<BaseAttribute> builder = new ListAttribute.Builder<>(itemClass);
+        builder.setItems(items);
+        builder.extendedProperties(KryoSupport.readExtendedProperties(kryo, input));
+        return builder.build();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.kryo;
+
+import com.basistech.rosette.dm.Mention;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+/**
+ * Serializes {@link Mention}.
+ */
+final class MentionSerializer extends Serializer<Mention> {
+    MentionSerializer() {
+        super(false, true);
+    }
+
+    @Override
+    public void write(Kryo kryo, Output output, Mention mention) {
+        output.writeVarInt(mention.getStartOffset(), true);
+        output.writeVarInt(mention.getEndOffset() - mention.getStartOffset(), true);
+        KryoSupport.writeDouble(output, mention.getConfidence());
+        output.writeString(mention.getSource());
+        output.writeString(mention.getSubsource());
+        output.writeString(mention.getNormalized());
+        KryoSupport.writeExtendedProperties(kryo, output, mention);
+    }
+
+    @Override
+    public Mention read(Kryo kryo, Input input, Class<Mention> type) {
+        int start = input.readVarInt(true);
+        int end = start + input.readVarInt(true);
+        Mention.Builder builder = new Mention.Builder(start, end);
+        builder.confidence(KryoSupport.readDouble(input));
+        builder.source(input.readString());
+        builder.subsource(input.readString());
+        builder.normalized(input.readString());
+        builder.extendedProperties(KryoSupport.readExtendedProperties(kryo, input));
+        return builder.build();
+    }
+}
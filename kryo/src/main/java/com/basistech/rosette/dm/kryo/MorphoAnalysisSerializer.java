@@ -0,0 +1,114 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.kryo;
+
+import com.basistech.rosette.dm.ArabicMorphoAnalysis;
+import com.basistech.rosette.dm.HanMorphoAnalysis;
+import com.basistech.rosette.dm.KoreanMorphoAnalysis;
+import com.basistech.rosette.dm.MorphoAnalysis;
+import com.basistech.rosette.dm.Token;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import java.util.List;
+
+/**
+ * Serializes {@link MorphoAnalysis} and its subclasses; each is registered separately,
+ * and the registered class tells the reader which fields follow the common ones.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+final class MorphoAnalysisSerializer extends Serializer<MorphoAnalysis> {
+    MorphoAnalysisSerializer() {
+        super(false, true);
+    }
+
+    @Override
+    public void write(Kryo kryo, Output output, MorphoAnalysis analysis) {
+        output.writeString(analysis.getPartOfSpeech());
+        output.writeString(analysis.getLemma());
+        KryoSupport.writeItems(kryo, output, analysis.getComponents());
+        output.writeString(analysis.getRaw());
+        if (analysis instanceof HanMorphoAnalysis) {
+            KryoSupport.writeStrings(output, ((HanMorphoAnalysis) analysis).getReadings());
+        } else if (analysis instanceof KoreanMorphoAnalysis) {
+            KoreanMorphoAnalysis korean = (KoreanMorphoAnalysis) analysis;
+            KryoSupport.writeStrings(output, korean.getMorphemes());
+            KryoSupport.writeStrings(output, korean.getMorphemeTags());
+        } else if (analysis instanceof ArabicMorphoAnalysis) {
+            writeArabic(output, (ArabicMorphoAnalysis) analysis);
+        }
+        KryoSupport.writeExtendedProperties(kryo, output, analysis);
+    }
+
+    private static void writeArabic(Output output, ArabicMorphoAnalysis analysis) {
+        output.writeVarInt(analysis.getPrefixLength(), true);
+        output.writeVarInt(analysis.getStemLength(), true);
+        output.writeString(analysis.getRoot());
+        output.writeBoolean(analysis.isDefiniteArticle());
+        output.writeBoolean(analysis.isStrippablePrefix());
+        KryoSupport.writeStrings(output, analysis.getPrefixes());
+        KryoSupport.writeStrings(output, analysis.getPrefixTags());
+        KryoSupport.writeStrings(output, analysis.getStems());
+        KryoSupport.writeStrings(output, analysis.getStemTags());
+        KryoSupport.writeStrings(output, analysis.getSuffixes());
+        KryoSupport.writeStrings(output, analysis.getSuffixTags());
+    }
+
+    @Override
+    public MorphoAnalysis read(Kryo kryo, Input input, Class<MorphoAnalysis> type) {
+        String partOfSpeech = input.readString();
+        String lemma = input.readString();
+        List<Token> components = KryoSupport.readItems(kryo, input);
+        String raw = input.readString();
+        Class<?> kind = type;
+        MorphoAnalysis.Builder builder;
+        if (kind == HanMorphoAnalysis.class) {
+            builder = new HanMorphoAnalysis.Builder().readings(KryoSupport.readStrings(input));
+        } else if (kind == KoreanMorphoAnalysis.class) {
+            List<String> morphemes = KryoSupport.readStrings(input);
+            builder = new KoreanMorphoAnalysis.Builder().morphemes(morphemes, KryoSupport.readStrings(input));
+        } else if (kind == ArabicMorphoAnalysis.class) {
+            builder = readArabic(input);
+        } else {
+            builder = new MorphoAnalysis.Builder();
+        }
+        builder.partOfSpeech(partOfSpeech);
+        builder.lemma(lemma);
+        builder.components(components);
+        builder.raw(raw);
+        builder.extendedProperties(KryoSupport.readExtendedProperties(kryo, input));
+        return builder.build();
+    }
+
+    private static ArabicMorphoAnalysis.Builder readArabic(Input input) {
+        ArabicMorphoAnalysis.Builder builder = new ArabicMorphoAnalysis.Builder();
+        int prefixLength = input.readVarInt(true);
+        builder.lengths(prefixLength, input.readVarInt(true));
+        builder.root(input.readString());
+        builder.definiteArticle(input.readBoolean());
+        builder.strippablePrefix(input.readBoolean());
+        List<String> prefixes = KryoSupport.readStrings(input);
+        builder.prefixes(prefixes, KryoSupport.readStrings(input));
+        List<String> stems = KryoSupport.readStrings(input);
+        builder.stems(stems, KryoSupport.readStrings(input));
+        List<String> suffixes = KryoSupport.readStrings(input);
+        builder.suffixes(suffixes, KryoSupport.readStrings(input));
+        return builder;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.kryo;
+
+import com.basistech.rosette.dm.Attribute;
+import com.basistech.rosette.dm.BaseNounPhrase;
+import com.basistech.rosette.dm.Extent;
+import com.basistech.rosette.dm.ScriptRegion;
+import com.basistech.rosette.dm.Sentence;
+import com.basistech.util.ISO15924;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+/**
+ * Serializes the attributes that are little more than offsets: {@link Sentence},
+ * {@link BaseNounPhrase}, {@link Extent} and {@link ScriptRegion}.
+ */
+final class OffsetAttributeSerializer extends Serializer<Attribute> {
+    OffsetAttributeSerializer() {
+        super(false, true);
+    }
+
+    @Override
+    public void write(Kryo kryo, Output output, Attribute attribute) {
+        output.writeVarInt(attribute.getStartOffset(), true);
+        output.writeVarInt(attribute.getEndOffset() - attribute.getStartOffset(), true);
+        if (attribute instanceof ScriptRegion) {
+            ISO15924 script = ((ScriptRegion) attribute).getScript();
+            output.writeString(script == null ? null : script.name());
+        }
+        KryoSupport.writeExtendedProperties(kryo, output, attribute);
+    }
+
+    @Override
+    public Attribute read(Kryo kryo, Input input, Class<Attribute> type) {
+        int start = input.readVarInt(true);
+        int end = start + input.readVarInt(true);
+        Class<?> kind = type;
+        if (kind == Sentence.class) {
+            Sentence.Builder builder = new Sentence.Builder(start, end);
+            builder.extendedProperties(KryoSupport.readExtendedProperties(kryo, input));
+            return builder.build();
+        } else if (kind == BaseNounPhrase.class) {
+            BaseNounPhrase.Builder builder = new BaseNounPhrase.Builder(start, end);
+            builder.extendedProperties(KryoSupport.readExtendedProperties(kryo, input));
+            return builder.build();
+        } else if (kind == Extent.class) {
+            Extent.Builder builder = new Extent.Builder(start, end);
+            builder.extendedProperties(KryoSupport.readExtendedProperties(kryo, input));
+            return builder.build();
+        } else if (kind == ScriptRegion.class) {
+            String script = input.readString();
+            ScriptRegion.Builder builder = new ScriptRegion.Builder(start, end, script == null ? null : ISO15924.valueOf(script));
+            builder.extendedProperties(KryoSupport.readExtendedProperties(kryo, input));
+            return builder.build();
+        }
+        throw new KryoException("Unsupported class " + type.getName());
+    }
+}
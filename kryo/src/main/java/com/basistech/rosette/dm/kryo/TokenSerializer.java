@@ -0,0 +1,59 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.kryo;
+
+import com.basistech.rosette.dm.MorphoAnalysis;
+import com.basistech.rosette.dm.Token;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import java.util.List;
+
+/**
+ * Serializes {@link Token}.
+ */
+final class TokenSerializer extends Serializer<Token> {
+    TokenSerializer() {
+        super(false, true);
+    }
+
+    @Override
+    public void write(Kryo kryo, Output output, Token token) {
+        output.writeVarInt(token.getStartOffset(), true);
+        output.writeVarInt(token.getEndOffset() - token.getStartOffset(), true);
+        output.writeString(token.getText());
+        KryoSupport.writeStrings(output, token.getNormalized());
+        output.writeString(token.getSource());
+        KryoSupport.writeItems(kryo, output, token.getAnalyses());
+        KryoSupport.writeExtendedProperties(kryo, output, token);
+    }
+
+    @Override
+    public Token read(Kryo kryo, Input input, Class<Token> type) {
+        int start = input.readVarInt(true);
+        int end = start + input.readVarInt(true);
+        Token.Builder builder = new Token.Builder(start, end, input.readString());
+        builder.normalized(KryoSupport.readStrings(input));
+        builder.source(input.readString());
+        List<MorphoAnalysis> analyses = KryoSupport.readItems(kryo, input);
+        builder.analyses(analyses);
+        builder.extendedProperties(KryoSupport.readExtendedProperties(kryo, input));
+        return builder.build();
+    }
+}
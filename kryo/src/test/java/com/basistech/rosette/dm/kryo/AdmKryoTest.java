@@ -0,0 +1,115 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.kryo;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.BaseAttribute;
+import com.basistech.rosette.dm.HanMorphoAnalysis;
+import com.basistech.rosette.dm.LanguageDetection;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.MorphoAnalysis;
+import com.basistech.rosette.dm.Token;
+import com.basistech.rosette.dm.test.corpus.SampleDocuments;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Round trips through Kryo.
+ */
+public class AdmKryoTest {
+    private static Kryo kryo() {
+        Kryo kryo = new Kryo();
+        kryo.setRegistrationRequired(false);
+        AdmKryo.register(kryo);
+        return kryo;
+    }
+
+    private static Object roundTrip(Object object) {
+        Output output = new Output(256, -1);
+        kryo().writeClassAndObject(output, object);
+        Object read = kryo().readClassAndObject(new Input(output.toBytes()));
+        assertNotSame(object, read);
+        return read;
+    }
+
+    @Test
+    public void document() throws Exception {
+        AnnotatedText text = SampleDocuments.everyAttribute();
+        AnnotatedText read = (AnnotatedText) roundTrip(text);
+        assertEquals(text.getData().toString(), read.getData().toString());
+        assertEquals(text.getDocumentMetadata(), read.getDocumentMetadata());
+        assertEquals(text.getStoredAttributes(), read.getStoredAttributes());
+        assertEquals(3, read.getTokens().get(0).getExtendedProperties().get("count"));
+        assertEquals(Token.class, read.getTokens().getItemClass());
+    }
+
+    @Test
+    public void everyAttributeAlone() throws Exception {
+        for (Map.Entry<String, BaseAttribute> me : SampleDocuments.everyAttribute().getAttributes().entrySet()) {
+            assertEquals(me.getKey(), me.getValue(), roundTrip(me.getValue()));
+            if (me.getValue() instanceof ListAttribute) {
+                for (Object item : (ListAttribute<?>) me.getValue()) {
+                    assertEquals(me.getKey(), item, roundTrip(item));
+                }
+            }
+        }
+        LanguageDetection.DetectionResult result = SampleDocuments.everyAttribute().getWholeTextLanguageDetection().getDetectionResults().get(0);
+        assertEquals(result, roundTrip(result));
+    }
+
+    @Test
+    public void mixedList() throws Exception {
+        ListAttribute.Builder<MorphoAnalysis> analyses = new ListAttribute.Builder<>(MorphoAnalysis.class);
+        analyses.add(new MorphoAnalysis.Builder().lemma("a").build());
+        analyses.add(new HanMorphoAnalysis.Builder().lemma("b").addReading("bi").build());
+        ListAttribute<MorphoAnalysis> list = analyses.build();
+        assertEquals(list, roundTrip(list));
+    }
+
+    @Test
+    public void stableIds() throws Exception {
+        Kryo kryo = kryo();
+        List<Class<?>> classes = AdmKryo.registeredClasses();
+        for (int x = 0; x < classes.size(); x++) {
+            assertEquals(AdmKryo.DEFAULT_FIRST_ID + x, kryo.getRegistration(classes.get(x)).getId());
+        }
+        assertEquals(AnnotatedText.class, classes.get(0));
+        assertEquals(Token.class, classes.get(2));
+    }
+
+    @Test
+    public void collision() throws Exception {
+        Kryo kryo = new Kryo();
+        kryo.register(StringBuilder.class, AdmKryo.DEFAULT_FIRST_ID + 3);
+        try {
+            AdmKryo.register(kryo);
+            fail("registered over another class");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        AdmKryo.register(new Kryo(), 500);
+    }
+}
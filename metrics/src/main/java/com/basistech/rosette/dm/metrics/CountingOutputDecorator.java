@@ -0,0 +1,121 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.metrics;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.core.io.OutputDecorator;
+
+import java.io.FilterOutputStream;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+/**
+ * Counts what generators write, so that {@link #position(JsonGenerator)} can tell how much
+ * a generator has produced: what it has passed to its target, plus what it still buffers.
+ * Writers count characters rather than bytes.
+ */
+final class CountingOutputDecorator extends OutputDecorator {
+    private static final long serialVersionUID = 1L;
+
+    private final OutputDecorator next;
+
+    /**
+     * @param next a decorator to apply first, or {@code null}
+     */
+    CountingOutputDecorator(OutputDecorator next) {
+        this.next = next;
+    }
+
+    @Override
+    public OutputStream decorate(IOContext ctxt, OutputStream out) throws IOException {
+        return new CountingOutputStream(next == null ? out : next.decorate(ctxt, out));
+    }
+
+    @Override
+    public Writer decorate(IOContext ctxt, Writer w) throws IOException {
+        return new CountingWriter(next == null ? w : next.decorate(ctxt, w));
+    }
+
+    /**
+     * @param gen a generator
+     * @return the number of bytes, or characters, that the generator has produced,
+     * or -1 if its output is not counted.
+     */
+    static long position(JsonGenerator gen) {
+        Object target = gen.getOutputTarget();
+        int buffered = gen.getOutputBuffered();
+        if (buffered < 0) {
+            return -1;
+        }
+        if (target instanceof CountingOutputStream) {
+            return ((CountingOutputStream) target).count + buffered;
+        }
+        if (target instanceof CountingWriter) {
+            return ((CountingWriter) target).count + buffered;
+        }
+        return -1;
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    private static final class CountingWriter extends FilterWriter {
+        private long count;
+
+        CountingWriter(Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            out.write(c);
+            count++;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            out.write(cbuf, off, len);
+            count += len;
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            out.write(str, off, len);
+            count += len;
+        }
+    }
+}
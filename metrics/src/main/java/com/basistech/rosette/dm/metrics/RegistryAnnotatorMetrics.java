@@ -0,0 +1,131 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.metrics;
+
+import com.basistech.rosette.dm.util.AnnotatorMetrics;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.UniformReservoir;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the measurements of {@link com.basistech.rosette.dm.util.InstrumentedAnnotator} in a metrics-core
+ * {@link MetricRegistry}. For a stage named {@code stage}, under a prefix {@code adm.annotator}:
+ * <ul>
+ *     <li>{@code adm.annotator.stage.latency}, a timer of the calls that returned: latency histogram and throughput;</li>
+ *     <li>{@code adm.annotator.stage.errors}, a timer of the calls that threw;</li>
+ *     <li>{@code adm.annotator.stage.characters}, a histogram of the input lengths;</li>
+ *     <li>{@code adm.annotator.stage.tokens}, a histogram of the input token counts, when the input has decoded tokens.</li>
+ * </ul>
+ * The histograms keep a uniform random sample of a fixed size, 1028 values by default, in an array of longs.
+ * Recording neither locks nor allocates, so the metrics cost the same at any throughput; the default
+ * exponentially decaying reservoir takes a lock on every update, and a sliding time window allocates for
+ * every update and keeps every sample of the window. The price is that the sample covers the whole life of the
+ * stage rather than the last few minutes: the percentiles of a long-running process are slow to show a change,
+ * so watch the rates of the timers for that, or create new metrics for each reporting period.
+ * Stages with the same name share their metrics.
+ */
+public final class RegistryAnnotatorMetrics implements AnnotatorMetrics {
+    /** The default prefix of the metric names. */
+    public static final String DEFAULT_PREFIX = "adm.annotator";
+    /** The default number of values that each histogram keeps; the metrics-core default, 99.9% confidence of 5% error. */
+    public static final int DEFAULT_SAMPLE_SIZE = 1028;
+
+    private final MetricRegistry registry;
+    private final String prefix;
+    private final int sampleSize;
+
+    /**
+     * Constructs metrics with the default prefix and sample size.
+     *
+     * @param registry the registry
+     */
+    public RegistryAnnotatorMetrics(MetricRegistry registry) {
+        this(registry, DEFAULT_PREFIX, DEFAULT_SAMPLE_SIZE);
+    }
+
+    /**
+     * Constructs metrics.
+     *
+     * @param registry the registry
+     * @param prefix the prefix of the metric names
+     * @param sampleSize the number of values that each histogram keeps
+     */
+    public RegistryAnnotatorMetrics(MetricRegistry registry, String prefix, int sampleSize) {
+        this.registry = registry;
+        this.prefix = prefix;
+        this.sampleSize = sampleSize;
+    }
+
+    @Override
+    public Stage stage(String stage) {
+        return new RegistryStage(
+                metric(MetricRegistry.name(prefix, stage, "latency"), new Timer(new UniformReservoir(sampleSize)), Timer.class),
+                metric(MetricRegistry.name(prefix, stage, "errors"), new Timer(new UniformReservoir(sampleSize)), Timer.class),
+                metric(MetricRegistry.name(prefix, stage, "characters"), new Histogram(new UniformReservoir(sampleSize)), Histogram.class),
+                metric(MetricRegistry.name(prefix, stage, "tokens"), new Histogram(new UniformReservoir(sampleSize)), Histogram.class));
+    }
+
+    /* Registers the metric, or returns the one already registered under the name. */
+    private <T extends Metric> T metric(String name, T metric, Class<T> type) {
+        try {
+            return registry.register(name, metric);
+        } catch (IllegalArgumentException e) {
+            Metric existing = registry.getMetrics().get(name);
+            if (!type.isInstance(existing)) {
+                throw new IllegalArgumentException(name + " is already registered as something other than a " + type.getSimpleName(), e);
+            }
+            return type.cast(existing);
+        }
+    }
+
+    private static final class RegistryStage implements Stage {
+        private final Timer latency;
+        private final Timer errors;
+        private final Histogram characters;
+        private final Histogram tokens;
+
+        RegistryStage(Timer latency, Timer errors, Histogram characters, Histogram tokens) {
+            this.latency = latency;
+            this.errors = errors;
+            this.characters = characters;
+            this.tokens = tokens;
+        }
+
+        @Override
+        public void annotated(long nanos, int characterCount, int tokenCount) {
+            latency.update(nanos, TimeUnit.NANOSECONDS);
+            sizes(characterCount, tokenCount);
+        }
+
+        @Override
+        public void failed(long nanos, int characterCount, int tokenCount) {
+            errors.update(nanos, TimeUnit.NANOSECONDS);
+            sizes(characterCount, tokenCount);
+        }
+
+        private void sizes(int characterCount, int tokenCount) {
+            characters.update(characterCount);
+            if (tokenCount >= 0) {
+                tokens.update(tokenCount);
+            }
+        }
+    }
+}
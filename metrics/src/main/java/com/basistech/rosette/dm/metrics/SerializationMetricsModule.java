@@ -0,0 +1,279 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.metrics;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.BaseAttribute;
+import com.basistech.rosette.dm.DeferredAttribute;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.jackson.AttributeWriteListener;
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A Jackson module that wraps {@link com.basistech.rosette.dm.jackson.AnnotatedDataModelModule} or
+ * {@link com.basistech.rosette.dm.jackson.array.AnnotatedDataModelArrayModule}, and measures the serialization
+ * of each {@link AnnotatedText} in a metrics-core {@link MetricRegistry}, to show which attributes
+ * make documents big or slow to write. Under a prefix {@code adm.serialization}, there are three counters,
+ * {@code count}, {@code bytes} and {@code nanos}, for each of:
+ * <ul>
+ *     <li>{@code adm.serialization.document}, the whole documents;</li>
+ *     <li>{@code adm.serialization.attribute.key}, the attributes with the key {@code key};</li>
+ *     <li>{@code adm.serialization.item.Class}, the list attributes with the item class {@code Class},
+ *     by simple name. Attributes that were never decoded are not counted here, since finding their
+ *     item class would decode them.</li>
+ * </ul>
+ * To count bytes, the module decorates the output of the {@link JsonFactory} of the mapper that it is
+ * registered with. The bytes of an attribute are what the generator produced between its key and the end
+ * of its value, whether or not they have reached the output yet; in Json, that includes the colon after the key. Serialization to a {@link java.io.Writer} counts characters.
+ * Registered with something other than an {@link ObjectMapper}, the module counts only time.
+ * <pre>
+ * ObjectMapper mapper = new ObjectMapper();
+ * mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+ * mapper.registerModule(new SerializationMetricsModule(new AnnotatedDataModelModule(), registry));
+ * </pre>
+ */
+public final class SerializationMetricsModule extends Module {
+    /** The default prefix of the metric names. */
+    public static final String DEFAULT_PREFIX = "adm.serialization";
+
+    private final Module delegate;
+    private final MetricRegistry registry;
+    private final String prefix;
+    private final Totals documents;
+    private final ConcurrentMap<String, Totals> attributes;
+    private final ConcurrentMap<Class<?>, Totals> items;
+
+    /**
+     * Constructs a module with the default prefix.
+     *
+     * @param delegate the module that sets up the serialization
+     * @param registry the registry
+     */
+    public SerializationMetricsModule(Module delegate, MetricRegistry registry) {
+        this(delegate, registry, DEFAULT_PREFIX);
+    }
+
+    /**
+     * Constructs a module.
+     *
+     * @param delegate the module that sets up the serialization
+     * @param registry the registry
+     * @param prefix the prefix of the metric names
+     */
+    public SerializationMetricsModule(Module delegate, MetricRegistry registry, String prefix) {
+        this.delegate = delegate;
+        this.registry = registry;
+        this.prefix = prefix;
+        this.documents = new Totals(registry, MetricRegistry.name(prefix, "document"));
+        this.attributes = new ConcurrentHashMap<>();
+        this.items = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public String getModuleName() {
+        return delegate.getModuleName() + "-metrics";
+    }
+
+    @Override
+    public Version version() {
+        return delegate.version();
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        delegate.setupModule(context);
+        ObjectCodec owner = context.getOwner();
+        if (owner instanceof ObjectMapper) {
+            JsonFactory factory = ((ObjectMapper) owner).getFactory();
+            if (!(factory.getOutputDecorator() instanceof CountingOutputDecorator)) {
+                factory.setOutputDecorator(new CountingOutputDecorator(factory.getOutputDecorator()));
+            }
+        }
+        context.addBeanSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc, JsonSerializer<?> serializer) {
+                if (beanDesc.getBeanClass() == AnnotatedText.class) {
+                    return new MeasuringSerializer((JsonSerializer<AnnotatedText>) serializer);
+                }
+                return serializer;
+            }
+        });
+    }
+
+    private Totals attributeTotals(String key) {
+        Totals totals = attributes.get(key);
+        if (totals == null) {
+            attributes.putIfAbsent(key, new Totals(registry, MetricRegistry.name(prefix, "attribute", key)));
+            totals = attributes.get(key);
+        }
+        return totals;
+    }
+
+    private Totals itemTotals(Class<?> itemClass) {
+        Totals totals = items.get(itemClass);
+        if (totals == null) {
+            items.putIfAbsent(itemClass, new Totals(registry, MetricRegistry.name(prefix, "item", itemClass.getSimpleName())));
+            totals = items.get(itemClass);
+        }
+        return totals;
+    }
+
+    /* The item class of a list attribute, without decoding a deferred attribute; otherwise null. */
+    private static Class<?> itemClass(BaseAttribute attribute) {
+        BaseAttribute value = attribute;
+        if (value instanceof DeferredAttribute) {
+            DeferredAttribute deferred = (DeferredAttribute) value;
+            value = deferred.isResolved() ? deferred.resolve() : null;
+        }
+        return value instanceof ListAttribute ? ((ListAttribute<?>) value).getItemClass() : null;
+    }
+
+    private static final class Totals {
+        private final Counter count;
+        private final Counter bytes;
+        private final Counter nanos;
+
+        Totals(MetricRegistry registry, String name) {
+            count = registry.counter(MetricRegistry.name(name, "count"));
+            bytes = registry.counter(MetricRegistry.name(name, "bytes"));
+            nanos = registry.counter(MetricRegistry.name(name, "nanos"));
+        }
+
+        void add(long byteCount, long nanoCount) {
+            count.inc();
+            if (byteCount >= 0) {
+                bytes.inc(byteCount);
+            }
+            nanos.inc(nanoCount);
+        }
+    }
+
+    /* Measures the attributes of one document; attributes do not nest, so one start suffices. */
+    private final class DocumentListener implements AttributeWriteListener {
+        private long startNanos;
+        private long startPosition;
+
+        @Override
+        public void beforeAttribute(String key, BaseAttribute attribute, JsonGenerator gen) {
+            startPosition = CountingOutputDecorator.position(gen);
+            startNanos = System.nanoTime();
+        }
+
+        @Override
+        public void afterAttribute(String key, BaseAttribute attribute, JsonGenerator gen) {
+            long nanos = System.nanoTime() - startNanos;
+            long bytes = size(startPosition, gen);
+            attributeTotals(key).add(bytes, nanos);
+            Class<?> itemClass = itemClass(attribute);
+            if (itemClass != null) {
+                itemTotals(itemClass).add(bytes, nanos);
+            }
+        }
+    }
+
+    private static long size(long startPosition, JsonGenerator gen) {
+        long position = CountingOutputDecorator.position(gen);
+        return startPosition < 0 || position < 0 ? -1 : position - startPosition;
+    }
+
+    private final class MeasuringSerializer extends JsonSerializer<AnnotatedText> implements ContextualSerializer, ResolvableSerializer {
+        private final JsonSerializer<AnnotatedText> delegate;
+
+        MeasuringSerializer(JsonSerializer<AnnotatedText> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void serialize(AnnotatedText value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            serialize(value, gen, serializers, null);
+        }
+
+        @Override
+        public void serializeWithType(AnnotatedText value, JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+            serialize(value, gen, serializers, typeSer);
+        }
+
+        private void serialize(AnnotatedText value, JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+            Object previous = serializers.getAttribute(AttributeWriteListener.class);
+            serializers.setAttribute(AttributeWriteListener.class, new DocumentListener());
+            long startPosition = CountingOutputDecorator.position(gen);
+            long startNanos = System.nanoTime();
+            try {
+                if (typeSer == null) {
+                    delegate.serialize(value, gen, serializers);
+                } else {
+                    delegate.serializeWithType(value, gen, serializers, typeSer);
+                }
+            } finally {
+                serializers.setAttribute(AttributeWriteListener.class, previous);
+            }
+            long nanos = System.nanoTime() - startNanos;
+            documents.add(size(startPosition, gen), nanos);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property) throws JsonMappingException {
+            if (delegate instanceof ContextualSerializer) {
+                JsonSerializer<?> contextual = ((ContextualSerializer) delegate).createContextual(prov, property);
+                if (contextual != delegate) {
+                    return new MeasuringSerializer((JsonSerializer<AnnotatedText>) contextual);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer) {
+                ((ResolvableSerializer) delegate).resolve(provider);
+            }
+        }
+
+        @Override
+        public Class<AnnotatedText> handledType() {
+            return AnnotatedText.class;
+        }
+
+        @Override
+        public JsonSerializer<?> getDelegatee() {
+            return delegate;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.metrics;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.Annotator;
+import com.basistech.rosette.dm.util.ComposingAnnotator;
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class RegistryAnnotatorMetricsTest {
+
+    private static final class Annotating implements Annotator {
+        @Override
+        public AnnotatedText annotate(CharSequence input) {
+            if (input.length() == 0) {
+                throw new IllegalArgumentException("empty");
+            }
+            return new AnnotatedText.Builder().data(input).build();
+        }
+
+        @Override
+        public AnnotatedText annotate(AnnotatedText input) {
+            return input;
+        }
+    }
+
+    @Test
+    public void stages() {
+        MetricRegistry registry = new MetricRegistry();
+        Annotator chain = new ComposingAnnotator(Collections.<Annotator>singletonList(new Annotating()), new RegistryAnnotatorMetrics(registry));
+        chain.annotate("abc");
+        chain.annotate("abcdef");
+        try {
+            chain.annotate("");
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(2, registry.timer("adm.annotator.Annotating.latency").getCount());
+        assertEquals(1, registry.timer("adm.annotator.Annotating.errors").getCount());
+        assertEquals(3, registry.histogram("adm.annotator.Annotating.characters").getCount());
+        assertEquals(6, registry.histogram("adm.annotator.Annotating.characters").getSnapshot().getMax());
+        // the input of the first stage is plain characters, without tokens.
+        assertEquals(0, registry.histogram("adm.annotator.Annotating.tokens").getCount());
+
+        // a second chain with the same stage shares its metrics.
+        Annotator another = new ComposingAnnotator(Collections.<Annotator>singletonList(new Annotating()), new RegistryAnnotatorMetrics(registry));
+        another.annotate("x");
+        assertEquals(3, registry.timer("adm.annotator.Annotating.latency").getCount());
+    }
+
+    @Test
+    public void concurrent() throws Exception {
+        MetricRegistry registry = new MetricRegistry();
+        final Annotator chain = new ComposingAnnotator(Collections.<Annotator>singletonList(new Annotating()), new RegistryAnnotatorMetrics(registry));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Callable<Void> task = new Callable<Void>() {
+                @Override
+                public Void call() {
+                    for (int x = 0; x < 1000; x++) {
+                        chain.annotate("text");
+                    }
+                    return null;
+                }
+            };
+            List<Callable<Void>> tasks = Collections.nCopies(4, task);
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(4000, registry.timer("adm.annotator.Annotating.latency").getCount());
+    }
+}
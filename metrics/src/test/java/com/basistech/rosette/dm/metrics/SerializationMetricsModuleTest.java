@@ -0,0 +1,85 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.metrics;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.Sentence;
+import com.basistech.rosette.dm.Token;
+import com.basistech.rosette.dm.jackson.AnnotatedDataModelModule;
+import com.basistech.rosette.dm.jackson.array.AnnotatedDataModelArrayModule;
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SerializationMetricsModuleTest {
+
+    private static AnnotatedText sample() {
+        ListAttribute.Builder<Token> tokens = new ListAttribute.Builder<>(Token.class);
+        tokens.add(new Token.Builder(0, 5, "Hello").build());
+        tokens.add(new Token.Builder(6, 11, "world").build());
+        ListAttribute.Builder<Sentence> sentences = new ListAttribute.Builder<>(Sentence.class);
+        sentences.add(new Sentence.Builder(0, 11).build());
+        return new AnnotatedText.Builder().data("Hello world").tokens(tokens.build()).sentences(sentences.build()).build();
+    }
+
+    private static long count(MetricRegistry registry, String name) {
+        return registry.counter(MetricRegistry.name(SerializationMetricsModule.DEFAULT_PREFIX, name)).getCount();
+    }
+
+    @Test
+    public void plainBytes() throws Exception {
+        MetricRegistry registry = new MetricRegistry();
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mapper.registerModule(new SerializationMetricsModule(new AnnotatedDataModelModule(), registry));
+        byte[] bytes = mapper.writeValueAsBytes(sample());
+
+        assertEquals(1, count(registry, "document.count"));
+        assertEquals(bytes.length, count(registry, "document.bytes"));
+        assertTrue(count(registry, "document.nanos") > 0);
+        // the bytes of an attribute are its value in the output, and the colon that precedes it.
+        String tokens = new ObjectMapper().readTree(bytes).get("attributes").get("token").toString();
+        assertEquals(tokens.length() + 1, count(registry, "attribute.token.bytes"));
+        assertEquals(1, count(registry, "attribute.token.count"));
+        assertEquals(tokens.length() + 1, count(registry, "item.Token.bytes"));
+        assertEquals(1, count(registry, "item.Sentence.count"));
+        assertTrue(count(registry, "attribute.token.bytes") + count(registry, "attribute.sentence.bytes") < bytes.length);
+
+        mapper.writeValueAsBytes(sample());
+        assertEquals(2, count(registry, "attribute.token.count"));
+        assertEquals(2 * (tokens.length() + 1), count(registry, "attribute.token.bytes"));
+    }
+
+    @Test
+    public void arrayCharacters() throws Exception {
+        MetricRegistry registry = new MetricRegistry();
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new SerializationMetricsModule(new AnnotatedDataModelArrayModule(), registry, "test"));
+        String json = mapper.writeValueAsString(sample());
+        assertEquals(json.length(), registry.counter("test.document.bytes").getCount());
+        assertEquals(1, registry.counter("test.attribute.token.count").getCount());
+        assertTrue(registry.counter("test.attribute.token.bytes").getCount() > 0);
+        assertEquals(registry.counter("test.attribute.sentence.bytes").getCount(), registry.counter("test.item.Sentence.bytes").getCount());
+        // the shared writers are not affected.
+        assertEquals(json, new ObjectMapper().registerModule(new AnnotatedDataModelArrayModule()).writeValueAsString(sample()));
+    }
+}
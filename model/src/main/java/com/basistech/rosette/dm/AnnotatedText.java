@@ -16,11 +16,14 @@
 
 package com.basistech.rosette.dm;
 
+import com.basistech.rosette.dm.util.AdmEvents;
+import com.google.common.base.Function;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -50,6 +53,12 @@ import java.util.Map;
 @SuppressWarnings("deprecation")
 public class AnnotatedText implements Serializable {
     private static final long serialVersionUID = 222L;
+    private static final Function<BaseAttribute, BaseAttribute> RESOLVE = new Function<BaseAttribute, BaseAttribute>() {
+        @Override
+        public BaseAttribute apply(BaseAttribute input) {
+            return DeferredAttribute.resolve(input);
+        }
+    };
     private final CharSequence data;
     /* The attributes for this text, indexed by type.
      * Only one attribute of a type is permitted, thus the concept
@@ -57,6 +66,8 @@ public class AnnotatedText implements Serializable {
      */
     private final Map<String, BaseAttribute> attributes;
     private final Map<String, List<String>> documentMetadata;
+    /* True if any attributes are deferred. Java serialization writes decoded attributes, so this is rightly false after reading. */
+    private final transient boolean deferred;
     private transient boolean compatMentionsProcessed;
     private transient ListAttribute<EntityMention> compatMentions;
     private transient boolean compatResolvedEntitiesProcessed;
@@ -74,6 +85,7 @@ public class AnnotatedText implements Serializable {
         this.data = data;
         // allow incoming json that simply lacks attributes or documentMetadata.
         this.attributes = absorbAttributes(attributes);
+        this.deferred = anyDeferred(this.attributes);
         if (documentMetadata != null) {
             this.documentMetadata = ImmutableMap.copyOf(documentMetadata);
         } else {
@@ -92,10 +104,12 @@ public class AnnotatedText implements Serializable {
             return ImmutableMap.of();
         }
 
-        ListAttribute<Entity> sourceEntityList = (ListAttribute<Entity>) attributes.get(AttributeKey.ENTITY.key());
+        BaseAttribute sourceEntityList = attributes.get(AttributeKey.ENTITY.key());
 
         for (Map.Entry<String, BaseAttribute> me : attributes.entrySet()) {
-            if (!AttributeKey.RESOLVED_ENTITY.key().equals(me.getKey())
+            // a reader may leave out attributes it was told to skip.
+            if (me.getValue() != null
+                && !AttributeKey.RESOLVED_ENTITY.key().equals(me.getKey())
                 && !AttributeKey.ENTITY_MENTION.key().equals(me.getKey())
                     // defer entity
                 && !AttributeKey.ENTITY.key().equals(me.getKey())) {
@@ -104,10 +118,11 @@ public class AnnotatedText implements Serializable {
         }
 
         // Begin compatibility with '1.0' version of ADM.
-        ListAttribute<EntityMention> oldMentions = (ListAttribute<EntityMention>)attributes.get(AttributeKey.ENTITY_MENTION.key());
-        ListAttribute<ResolvedEntity> oldResolved = (ListAttribute<ResolvedEntity>)attributes.get(AttributeKey.RESOLVED_ENTITY.key());
+        ListAttribute<EntityMention> oldMentions = (ListAttribute<EntityMention>)DeferredAttribute.resolve(attributes.get(AttributeKey.ENTITY_MENTION.key()));
+        ListAttribute<ResolvedEntity> oldResolved = (ListAttribute<ResolvedEntity>)DeferredAttribute.resolve(attributes.get(AttributeKey.RESOLVED_ENTITY.key()));
         if (anythingInThere(oldResolved) || anythingInThere(oldMentions)) {
-            ConvertFromPreAdm11.doResolvedConversion(sourceEntityList, oldMentions, oldResolved, builder);
+            ConvertFromPreAdm11.doResolvedConversion((ListAttribute<Entity>) DeferredAttribute.resolve(sourceEntityList),
+                oldMentions, oldResolved, builder);
         } else if (sourceEntityList != null) {
             builder.put(AttributeKey.ENTITY.key(), sourceEntityList);
         }
@@ -125,6 +140,19 @@ public class AnnotatedText implements Serializable {
         return list != null;
     }
 
+    private static boolean anyDeferred(Map<String, BaseAttribute> attributes) {
+        for (BaseAttribute attribute : attributes.values()) {
+            if (attribute instanceof DeferredAttribute) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BaseAttribute attribute(String key) {
+        return DeferredAttribute.resolve(attributes.get(key));
+    }
+
     /**
      * Returns the character data for this text.
      *
@@ -157,11 +185,31 @@ public class AnnotatedText implements Serializable {
      * Note that this map will not return {@link EntityMention} or {@link ResolvedEntity} objects,
      * which are deprecated; they are only available from the specific accessors.
      *
+     * If a reader left some attributes undecoded (see {@link DeferredAttribute}), each
+     * is decoded when it is first retrieved from this map.
+     *
      * @return all of the annotations on this text
      *
      * @adm.ignore
      */
     public Map<String, BaseAttribute> getAttributes() {
+        if (deferred) {
+            return Maps.transformValues(attributes, RESOLVE);
+        }
+        return attributes;
+    }
+
+    /**
+     * Returns the annotations on this text as they are stored, which may include
+     * {@link DeferredAttribute} objects that have not been decoded. This is for
+     * serializers that can write out undecoded attributes; applications should use
+     * {@link #getAttributes()}.
+     *
+     * @return the annotations on this text, as stored
+     *
+     * @adm.ignore
+     */
+    public Map<String, BaseAttribute> getStoredAttributes() {
         return attributes;
     }
 
@@ -172,7 +220,7 @@ public class AnnotatedText implements Serializable {
      */
     @SuppressWarnings("unchecked")
     public ListAttribute<Token> getTokens() {
-        return (ListAttribute<Token>) attributes.get(AttributeKey.TOKEN.key());
+        return (ListAttribute<Token>) attribute(AttributeKey.TOKEN.key());
     }
 
     /**
@@ -185,7 +233,7 @@ public class AnnotatedText implements Serializable {
      */
     @SuppressWarnings("unchecked")
     public ListAttribute<TranslatedTokens> getTranslatedTokens() {
-        return (ListAttribute<TranslatedTokens>) attributes.get(AttributeKey.TRANSLATED_TOKENS.key());
+        return (ListAttribute<TranslatedTokens>) attribute(AttributeKey.TRANSLATED_TOKENS.key());
     }
 
     /**
@@ -198,7 +246,7 @@ public class AnnotatedText implements Serializable {
      */
     @SuppressWarnings("unchecked")
     public ListAttribute<TranslatedData> getTranslatedData() {
-        return (ListAttribute<TranslatedData>) attributes.get(AttributeKey.TRANSLATED_DATA.key());
+        return (ListAttribute<TranslatedData>) attribute(AttributeKey.TRANSLATED_DATA.key());
     }
 
     /**
@@ -208,7 +256,7 @@ public class AnnotatedText implements Serializable {
      */
     @SuppressWarnings("unchecked")
     public ListAttribute<LanguageDetection> getLanguageDetectionRegions() {
-        return (ListAttribute<LanguageDetection>) attributes.get(AttributeKey.LANGUAGE_DETECTION_REGIONS.key());
+        return (ListAttribute<LanguageDetection>) attribute(AttributeKey.LANGUAGE_DETECTION_REGIONS.key());
     }
 
     /**
@@ -217,7 +265,7 @@ public class AnnotatedText implements Serializable {
      * @return the language results for the entire text
      */
     public LanguageDetection getWholeTextLanguageDetection() {
-        return (LanguageDetection)attributes.get(AttributeKey.LANGUAGE_DETECTION.key());
+        return (LanguageDetection)attribute(AttributeKey.LANGUAGE_DETECTION.key());
     }
 
     /**
@@ -234,6 +282,7 @@ public class AnnotatedText implements Serializable {
 
         if (!compatMentionsProcessed) {
             compatMentionsProcessed = true;
+            AdmEvents.Event event = AdmEvents.ENABLED ? AdmEvents.begin(AdmEvents.Kind.CONVERT) : null;
             List<EntityMention> entityMentionList = Lists.newArrayList();
             ListAttribute<Entity> entities = getEntities();
 
@@ -258,6 +307,9 @@ public class AnnotatedText implements Serializable {
                 }
             }
             compatMentions = cmListBuilder.build();
+            if (event != null) {
+                event.complete("entityMentions", entities.size(), compatMentions.size());
+            }
         }
         return compatMentions;
     }
@@ -362,7 +414,7 @@ public class AnnotatedText implements Serializable {
      */
     @SuppressWarnings("unchecked")
     public ListAttribute<Entity> getEntities() {
-        return (ListAttribute<Entity>) attributes.get(AttributeKey.ENTITY.key());
+        return (ListAttribute<Entity>) attribute(AttributeKey.ENTITY.key());
     }
 
     /**
@@ -372,7 +424,7 @@ public class AnnotatedText implements Serializable {
      */
     @SuppressWarnings("unchecked")
     public ListAttribute<RelationshipMention> getRelationshipMentions() {
-        return (ListAttribute<RelationshipMention>) attributes.get(AttributeKey.RELATIONSHIP_MENTION.key());
+        return (ListAttribute<RelationshipMention>) attribute(AttributeKey.RELATIONSHIP_MENTION.key());
     }
 
     /**
@@ -387,6 +439,7 @@ public class AnnotatedText implements Serializable {
     public ListAttribute<ResolvedEntity> getResolvedEntities() {
         if (!compatResolvedEntitiesProcessed) {
             compatResolvedEntitiesProcessed = true;
+            AdmEvents.Event event = AdmEvents.ENABLED ? AdmEvents.begin(AdmEvents.Kind.CONVERT) : null;
             ListAttribute.Builder<ResolvedEntity> reListBuilder = new ListAttribute.Builder<>(ResolvedEntity.class);
             ListAttribute<Entity> entities = getEntities();
             if (entities == null) {
@@ -440,6 +493,9 @@ public class AnnotatedText implements Serializable {
                 /* But note special case in absorbAttributes when someone used the old API to create an empty list. */
                 compatResolvedEntities = null;
             }
+            if (event != null) {
+                event.complete("resolvedEntities", entities.size(), compatResolvedEntities == null ? 0 : compatResolvedEntities.size());
+            }
         }
         return compatResolvedEntities;
     }
@@ -451,7 +507,7 @@ public class AnnotatedText implements Serializable {
      */
     @SuppressWarnings("unchecked")
     public ListAttribute<ScriptRegion> getScriptRegions() {
-        return (ListAttribute<ScriptRegion>) attributes.get(AttributeKey.SCRIPT_REGION.key());
+        return (ListAttribute<ScriptRegion>) attribute(AttributeKey.SCRIPT_REGION.key());
     }
 
     /**
@@ -461,7 +517,7 @@ public class AnnotatedText implements Serializable {
      */
     @SuppressWarnings("unchecked")
     public ListAttribute<Sentence> getSentences() {
-        return (ListAttribute<Sentence>) attributes.get(AttributeKey.SENTENCE.key());
+        return (ListAttribute<Sentence>) attribute(AttributeKey.SENTENCE.key());
     }
 
     /**
@@ -471,7 +527,7 @@ public class AnnotatedText implements Serializable {
      */
     @SuppressWarnings("unchecked")
     public ListAttribute<BaseNounPhrase> getBaseNounPhrases() {
-        return (ListAttribute<BaseNounPhrase>) attributes.get(AttributeKey.BASE_NOUN_PHRASE.key());
+        return (ListAttribute<BaseNounPhrase>) attribute(AttributeKey.BASE_NOUN_PHRASE.key());
     }
 
     /**
@@ -481,7 +537,7 @@ public class AnnotatedText implements Serializable {
      */
     @SuppressWarnings("unchecked")
     public ListAttribute<CategorizerResult> getCategorizerResults() {
-        return (ListAttribute<CategorizerResult>) attributes.get(AttributeKey.CATEGORIZER_RESULTS.key());
+        return (ListAttribute<CategorizerResult>) attribute(AttributeKey.CATEGORIZER_RESULTS.key());
     }
 
     /**
@@ -491,7 +547,7 @@ public class AnnotatedText implements Serializable {
      */
     @SuppressWarnings("unchecked")
     public ListAttribute<CategorizerResult> getSentimentResults() {
-        return (ListAttribute<CategorizerResult>) attributes.get(AttributeKey.SENTIMENT_RESULTS.key());
+        return (ListAttribute<CategorizerResult>) attribute(AttributeKey.SENTIMENT_RESULTS.key());
     }
 
     /**
@@ -501,7 +557,7 @@ public class AnnotatedText implements Serializable {
      */
     @SuppressWarnings("unchecked")
     public ListAttribute<Dependency> getDependencies() {
-        return (ListAttribute<Dependency>) attributes.get(AttributeKey.DEPENDENCY.key());
+        return (ListAttribute<Dependency>) attribute(AttributeKey.DEPENDENCY.key());
     }
 
     /*
@@ -514,7 +570,7 @@ public class AnnotatedText implements Serializable {
      */
     @SuppressWarnings("unchecked")
     public ListAttribute<CategorizerResult> getTopicResults() {
-        return (ListAttribute<CategorizerResult>) attributes.get(AttributeKey.TOPIC_RESULTS.key());
+        return (ListAttribute<CategorizerResult>) attribute(AttributeKey.TOPIC_RESULTS.key());
     }
 
     /**
@@ -524,17 +580,17 @@ public class AnnotatedText implements Serializable {
      * @return the embeddings.
      */
     public Embeddings getEmbeddings() {
-        return (Embeddings) attributes.get(AttributeKey.EMBEDDING.key());
+        return (Embeddings) attribute(AttributeKey.EMBEDDING.key());
     }
 
     @SuppressWarnings("unchecked")
     public ListAttribute<Concept> getConcepts() {
-        return (ListAttribute<Concept>) attributes.get(AttributeKey.CONCEPT.key());
+        return (ListAttribute<Concept>) attribute(AttributeKey.CONCEPT.key());
     }
 
     @SuppressWarnings("unchecked")
     public ListAttribute<Keyphrase> getKeyphrases() {
-        return (ListAttribute<Keyphrase>) attributes.get(AttributeKey.KEYPHRASE.key());
+        return (ListAttribute<Keyphrase>) attribute(AttributeKey.KEYPHRASE.key());
     }
     /**
      * toString is a convenience for accessing the textual data, if any, in this annotated text.
@@ -551,6 +607,11 @@ public class AnnotatedText implements Serializable {
         }
     }
 
+    /* Serialized as a CompactForm. */
+    private Object writeReplace() throws ObjectStreamException {
+        return new CompactForm(this);
+    }
+
     /**
      * Builder class for {@link AnnotatedText} objects.
      */
@@ -663,7 +724,7 @@ public class AnnotatedText implements Serializable {
                 if (attributes.containsKey(AttributeKey.ENTITY.key())) {
                     // we need to recreate the old mentions to go with 'old' resolved entities.
                     List<EntityMention> oldList = Lists.newArrayList();
-                    downconvertEntities(oldList, (ListAttribute<Entity>) attributes.get(AttributeKey.ENTITY.key()));
+                    downconvertEntities(oldList, (ListAttribute<Entity>) DeferredAttribute.resolve(attributes.get(AttributeKey.ENTITY.key())));
                     ListAttribute.Builder<EntityMention> oldBuilder = new ListAttribute.Builder<>(EntityMention.class);
                     for (EntityMention em : oldList) {
                         oldBuilder.add(em);
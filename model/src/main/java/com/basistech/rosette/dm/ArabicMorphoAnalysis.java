@@ -18,6 +18,7 @@ package com.basistech.rosette.dm;
 import com.google.common.base.Objects;
 import com.google.common.collect.Lists;
 
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
@@ -273,6 +274,11 @@ public class ArabicMorphoAnalysis extends MorphoAnalysis implements Serializable
                 .add("suffixTags", suffixTags);
     }
 
+    /* Serialized as a CompactForm. */
+    private Object writeReplace() throws ObjectStreamException {
+        return new CompactForm(this);
+    }
+
     /**
      * Builder class for {@link com.basistech.rosette.dm.ArabicMorphoAnalysis}.
      */
@@ -22,7 +22,7 @@ package com.basistech.rosette.dm;
  * The keys are defined by strings, rather than the enum itself, to allow for
  * this extension.
  */
-enum AttributeKey {
+public enum AttributeKey {
     BASE_NOUN_PHRASE("baseNounPhrases"),
     CATEGORIZER_RESULTS("categorizerResults"),
     DEPENDENCY("dependency"),
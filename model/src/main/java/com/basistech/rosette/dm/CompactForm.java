@@ -0,0 +1,121 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+/**
+ * The serialized form of {@link AnnotatedText}, {@link ListAttribute} and the item classes
+ * that occur in large numbers: {@link Token}, {@link MorphoAnalysis} and its subclasses,
+ * {@link Sentence}, {@link Entity} and {@link Mention}. These classes replace themselves
+ * with this proxy when they are serialized, and the proxy resolves to the original object
+ * when it is read.
+ * <p>
+ * The proxy writes a form version, then the object, field by field, without class descriptors,
+ * with offsets as variable-length integers and with repeated strings written once per proxy.
+ * Contained objects of these classes (the tokens of a list, the lists of a document) are
+ * written inline; other attributes and the values of extended properties
+ * use ordinary Java serialization.
+ * <p>
+ * Compatibility: the model classes keep their {@code serialVersionUID} of 222 and their fields,
+ * so streams written by earlier releases, which hold their default serialized form, can still
+ * be read. The {@code serialVersionUID} of this class never changes; incompatible changes
+ * to the form increase {@link #VERSION} instead, and a reader rejects versions newer than its own.
+ * Streams written with the compact form cannot be read by releases that predate it.
+ */
+final class CompactForm implements Serializable {
+    static final int VERSION = 1;
+
+    static final int OTHER = 0;
+    static final int ANNOTATED_TEXT = 1;
+    static final int LIST = 2;
+    static final int TOKEN = 3;
+    static final int MORPHO_ANALYSIS = 4;
+    static final int HAN_MORPHO_ANALYSIS = 5;
+    static final int KOREAN_MORPHO_ANALYSIS = 6;
+    static final int ARABIC_MORPHO_ANALYSIS = 7;
+    static final int SENTENCE = 8;
+    static final int MENTION = 9;
+    static final int ENTITY = 10;
+
+    // flags for the optional numbers of mentions and entities.
+    static final int MENTION_CONFIDENCE = 1;
+    static final int ENTITY_HEAD = 1;
+    static final int ENTITY_CONFIDENCE = 2;
+    static final int ENTITY_SALIENCE = 4;
+
+    private static final long serialVersionUID = 1L;
+
+    private transient Object object;
+
+    CompactForm(Object object) {
+        this.object = object;
+    }
+
+    /* Only the exact classes; subclasses may have fields of their own. */
+    static int kindOf(Object object) {
+        Class<?> type = object.getClass();
+        if (type == Token.class) {
+            return TOKEN;
+        } else if (type == ListAttribute.class) {
+            return LIST;
+        } else if (type == MorphoAnalysis.class) {
+            return MORPHO_ANALYSIS;
+        } else if (type == HanMorphoAnalysis.class) {
+            return HAN_MORPHO_ANALYSIS;
+        } else if (type == KoreanMorphoAnalysis.class) {
+            return KOREAN_MORPHO_ANALYSIS;
+        } else if (type == ArabicMorphoAnalysis.class) {
+            return ARABIC_MORPHO_ANALYSIS;
+        } else if (type == Sentence.class) {
+            return SENTENCE;
+        } else if (type == Mention.class) {
+            return MENTION;
+        } else if (type == Entity.class) {
+            return ENTITY;
+        } else if (type == AnnotatedText.class) {
+            return ANNOTATED_TEXT;
+        }
+        return OTHER;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeByte(VERSION);
+        new CompactFormWriter(out).writeItem(object);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int version = in.readUnsignedByte();
+        if (version > VERSION) {
+            throw new InvalidObjectException("Unsupported compact form version " + version);
+        }
+        object = new CompactFormReader(in).readItem();
+        if (object == null) {
+            throw new InvalidObjectException("Empty compact form");
+        }
+    }
+
+    private Object readResolve() {
+        return object;
+    }
+}
@@ -0,0 +1,234 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the body of a {@link CompactForm}, as written by {@link CompactFormWriter}.
+ */
+final class CompactFormReader {
+    private final ObjectInput in;
+    private final List<String> strings;
+
+    CompactFormReader(ObjectInput in) {
+        this.in = in;
+        this.strings = Lists.newArrayList();
+    }
+
+    int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new InvalidObjectException("Malformed variable-length integer");
+    }
+
+    String readString() throws IOException {
+        int code = readVarInt();
+        if (code == 0) {
+            return null;
+        } else if (code == 1) {
+            byte[] bytes = new byte[readVarInt()];
+            in.readFully(bytes);
+            String value = new String(bytes, Charsets.UTF_8);
+            strings.add(value);
+            return value;
+        } else if (code - 2 < strings.size()) {
+            return strings.get(code - 2);
+        }
+        throw new InvalidObjectException("Undefined string " + (code - 2));
+    }
+
+    private List<String> readStrings() throws IOException {
+        int count = readVarInt() - 1;
+        if (count < 0) {
+            return null;
+        }
+        ImmutableList.Builder<String> values = ImmutableList.builder();
+        for (int x = 0; x < count; x++) {
+            values.add(readString());
+        }
+        return values.build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> readItems(Class<T> type) throws IOException, ClassNotFoundException {
+        int count = readVarInt() - 1;
+        if (count < 0) {
+            return null;
+        }
+        ImmutableList.Builder<T> items = ImmutableList.builder();
+        for (int x = 0; x < count; x++) {
+            Object item = readItem();
+            if (!type.isInstance(item)) {
+                throw new InvalidObjectException("Expected " + type.getName() + " but read " + item);
+            }
+            items.add((T) item);
+        }
+        return items.build();
+    }
+
+    private Map<String, Object> readExtendedProperties() throws IOException, ClassNotFoundException {
+        int count = readVarInt();
+        if (count == 0) {
+            return ImmutableMap.of();
+        }
+        ImmutableMap.Builder<String, Object> properties = ImmutableMap.builder();
+        for (int x = 0; x < count; x++) {
+            properties.put(readString(), in.readObject());
+        }
+        return properties.build();
+    }
+
+    /**
+     * Reads an object written by {@link CompactFormWriter#writeItem(Object)}.
+     */
+    Object readItem() throws IOException, ClassNotFoundException {
+        int kind = in.readUnsignedByte();
+        switch (kind) {
+        case CompactForm.OTHER:
+            return in.readObject();
+        case CompactForm.ANNOTATED_TEXT:
+            return readAnnotatedText();
+        case CompactForm.LIST:
+            return readList();
+        case CompactForm.TOKEN:
+            return readToken();
+        case CompactForm.MORPHO_ANALYSIS:
+        case CompactForm.HAN_MORPHO_ANALYSIS:
+        case CompactForm.KOREAN_MORPHO_ANALYSIS:
+        case CompactForm.ARABIC_MORPHO_ANALYSIS:
+            return readAnalysis(kind);
+        case CompactForm.SENTENCE:
+            int start = readVarInt();
+            int end = start + readVarInt();
+            return new Sentence(start, end, readExtendedProperties());
+        case CompactForm.MENTION:
+            return readMention();
+        case CompactForm.ENTITY:
+            return readEntity();
+        default:
+            throw new InvalidObjectException("Unknown compact form kind " + kind);
+        }
+    }
+
+    private AnnotatedText readAnnotatedText() throws IOException, ClassNotFoundException {
+        CharSequence data = (CharSequence) in.readObject();
+        int metadataCount = readVarInt();
+        ImmutableMap.Builder<String, List<String>> metadata = ImmutableMap.builder();
+        for (int x = 0; x < metadataCount; x++) {
+            metadata.put(readString(), readStrings());
+        }
+        int attributeCount = readVarInt();
+        ImmutableMap.Builder<String, BaseAttribute> attributes = ImmutableMap.builder();
+        for (int x = 0; x < attributeCount; x++) {
+            String key = readString();
+            Object attribute = readItem();
+            if (!(attribute instanceof BaseAttribute)) {
+                throw new InvalidObjectException("Attribute " + key + " is not an attribute");
+            }
+            attributes.put(key, (BaseAttribute) attribute);
+        }
+        return new AnnotatedText(data, attributes.build(), metadata.build(), null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ListAttribute<BaseAttribute> readList() throws IOException, ClassNotFoundException {
+        Class<? extends BaseAttribute> itemClass = (Class<? extends BaseAttribute>) in.readObject();
+        List<BaseAttribute> items = readItems(BaseAttribute.class);
+        return new ListAttribute<>(itemClass, items, readExtendedProperties());
+    }
+
+    private Token readToken() throws IOException, ClassNotFoundException {
+        int start = readVarInt();
+        int end = start + readVarInt();
+        String text = readString();
+        List<String> normalized = readStrings();
+        String source = readString();
+        List<MorphoAnalysis> analyses = readItems(MorphoAnalysis.class);
+        return new Token(start, end, text, normalized, source, analyses, readExtendedProperties());
+    }
+
+    private MorphoAnalysis readAnalysis(int kind) throws IOException, ClassNotFoundException {
+        String partOfSpeech = readString();
+        String lemma = readString();
+        List<Token> components = readItems(Token.class);
+        String raw = readString();
+        switch (kind) {
+        case CompactForm.HAN_MORPHO_ANALYSIS:
+            List<String> readings = readStrings();
+            return new HanMorphoAnalysis(partOfSpeech, lemma, components, raw, readings, readExtendedProperties());
+        case CompactForm.KOREAN_MORPHO_ANALYSIS:
+            List<String> morphemes = readStrings();
+            List<String> morphemeTags = readStrings();
+            return new KoreanMorphoAnalysis(partOfSpeech, lemma, components, raw, morphemes, morphemeTags, readExtendedProperties());
+        case CompactForm.ARABIC_MORPHO_ANALYSIS:
+            int prefixLength = readVarInt();
+            int stemLength = readVarInt();
+            String root = readString();
+            int flags = in.readUnsignedByte();
+            List<String> prefixes = readStrings();
+            List<String> stems = readStrings();
+            List<String> suffixes = readStrings();
+            List<String> prefixTags = readStrings();
+            List<String> stemTags = readStrings();
+            List<String> suffixTags = readStrings();
+            return new ArabicMorphoAnalysis(partOfSpeech, lemma, components, raw, prefixLength, stemLength, root,
+                (flags & 1) != 0, (flags & 2) != 0, prefixes, stems, suffixes, prefixTags, stemTags, suffixTags,
+                readExtendedProperties());
+        default:
+            return new MorphoAnalysis(partOfSpeech, lemma, components, raw, readExtendedProperties());
+        }
+    }
+
+    private Mention readMention() throws IOException, ClassNotFoundException {
+        int start = readVarInt();
+        int end = start + readVarInt();
+        int flags = in.readUnsignedByte();
+        Double confidence = (flags & CompactForm.MENTION_CONFIDENCE) != 0 ? in.readDouble() : null;
+        String source = readString();
+        String subsource = readString();
+        String normalized = readString();
+        return new Mention(start, end, confidence, source, subsource, normalized, readExtendedProperties());
+    }
+
+    private Entity readEntity() throws IOException, ClassNotFoundException {
+        List<Mention> mentions = readItems(Mention.class);
+        int flags = in.readUnsignedByte();
+        Integer headMentionIndex = (flags & CompactForm.ENTITY_HEAD) != 0 ? readVarInt() : null;
+        Double confidence = (flags & CompactForm.ENTITY_CONFIDENCE) != 0 ? in.readDouble() : null;
+        Double salience = (flags & CompactForm.ENTITY_SALIENCE) != 0 ? in.readDouble() : null;
+        String type = readString();
+        String entityId = readString();
+        List<CategorizerResult> sentiment = readItems(CategorizerResult.class);
+        return new Entity(mentions, headMentionIndex, type, entityId, confidence, sentiment, salience, readExtendedProperties());
+    }
+}
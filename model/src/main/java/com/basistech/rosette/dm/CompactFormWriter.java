@@ -0,0 +1,238 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Maps;
+
+import java.io.IOException;
+import java.io.ObjectOutput;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the body of a {@link CompactForm}. Each string is written once; later occurrences
+ * refer to it by number.
+ */
+final class CompactFormWriter {
+    private final ObjectOutput out;
+    private final Map<String, Integer> strings;
+
+    CompactFormWriter(ObjectOutput out) {
+        this.out = out;
+        this.strings = Maps.newHashMap();
+    }
+
+    void writeVarInt(int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7f) != 0) {
+            out.writeByte((remaining & 0x7f) | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte(remaining);
+    }
+
+    /* 0 is null, 1 is a new string, and n + 2 refers to the nth string. */
+    void writeString(String value) throws IOException {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        Integer index = strings.get(value);
+        if (index != null) {
+            writeVarInt(index + 2);
+            return;
+        }
+        strings.put(value, strings.size());
+        writeVarInt(1);
+        byte[] bytes = value.getBytes(Charsets.UTF_8);
+        writeVarInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /* The count plus one, or 0 for null. */
+    private void writeCount(List<?> list) throws IOException {
+        writeVarInt(list == null ? 0 : list.size() + 1);
+    }
+
+    private void writeStrings(List<String> values) throws IOException {
+        writeCount(values);
+        if (values != null) {
+            for (String value : values) {
+                writeString(value);
+            }
+        }
+    }
+
+    private void writeItems(List<?> items) throws IOException {
+        writeCount(items);
+        if (items != null) {
+            for (Object item : items) {
+                writeItem(item);
+            }
+        }
+    }
+
+    private void writeExtendedProperties(BaseAttribute attribute) throws IOException {
+        Map<String, Object> properties = attribute.getExtendedProperties();
+        writeVarInt(properties.size());
+        for (Map.Entry<String, Object> me : properties.entrySet()) {
+            writeString(me.getKey());
+            out.writeObject(me.getValue());
+        }
+    }
+
+    private void writeOffsets(Attribute attribute) throws IOException {
+        writeVarInt(attribute.getStartOffset());
+        writeVarInt(attribute.getEndOffset() - attribute.getStartOffset());
+    }
+
+    /**
+     * Writes an object, inline if it is of one of the classes with a compact form,
+     * and with {@link ObjectOutput#writeObject(Object)} otherwise.
+     */
+    void writeItem(Object item) throws IOException {
+        Object value = item instanceof BaseAttribute ? DeferredAttribute.resolve((BaseAttribute) item) : item;
+        int kind = CompactForm.kindOf(value);
+        out.writeByte(kind);
+        switch (kind) {
+        case CompactForm.ANNOTATED_TEXT:
+            writeAnnotatedText((AnnotatedText) value);
+            break;
+        case CompactForm.LIST:
+            writeList((ListAttribute<?>) value);
+            break;
+        case CompactForm.TOKEN:
+            writeToken((Token) value);
+            break;
+        case CompactForm.MORPHO_ANALYSIS:
+        case CompactForm.HAN_MORPHO_ANALYSIS:
+        case CompactForm.KOREAN_MORPHO_ANALYSIS:
+        case CompactForm.ARABIC_MORPHO_ANALYSIS:
+            writeAnalysis((MorphoAnalysis) value);
+            break;
+        case CompactForm.SENTENCE:
+            writeOffsets((Sentence) value);
+            writeExtendedProperties((Sentence) value);
+            break;
+        case CompactForm.MENTION:
+            writeMention((Mention) value);
+            break;
+        case CompactForm.ENTITY:
+            writeEntity((Entity) value);
+            break;
+        default:
+            out.writeObject(value);
+            break;
+        }
+    }
+
+    private void writeAnnotatedText(AnnotatedText text) throws IOException {
+        out.writeObject(text.getData() == null ? null : text.getData().toString());
+        Map<String, List<String>> metadata = text.getDocumentMetadata();
+        writeVarInt(metadata.size());
+        for (Map.Entry<String, List<String>> me : metadata.entrySet()) {
+            writeString(me.getKey());
+            writeStrings(me.getValue());
+        }
+        Map<String, BaseAttribute> attributes = text.getStoredAttributes();
+        writeVarInt(attributes.size());
+        for (Map.Entry<String, BaseAttribute> me : attributes.entrySet()) {
+            writeString(me.getKey());
+            writeItem(me.getValue());
+        }
+    }
+
+    private void writeList(ListAttribute<?> list) throws IOException {
+        out.writeObject(list.getItemClass());
+        writeItems(list);
+        writeExtendedProperties(list);
+    }
+
+    private void writeToken(Token token) throws IOException {
+        writeOffsets(token);
+        writeString(token.getText());
+        writeStrings(token.getNormalized());
+        writeString(token.getSource());
+        writeItems(token.getAnalyses());
+        writeExtendedProperties(token);
+    }
+
+    private void writeAnalysis(MorphoAnalysis analysis) throws IOException {
+        writeString(analysis.getPartOfSpeech());
+        writeString(analysis.getLemma());
+        writeItems(analysis.getComponents());
+        writeString(analysis.getRaw());
+        if (analysis instanceof HanMorphoAnalysis) {
+            writeStrings(((HanMorphoAnalysis) analysis).getReadings());
+        } else if (analysis instanceof KoreanMorphoAnalysis) {
+            KoreanMorphoAnalysis korean = (KoreanMorphoAnalysis) analysis;
+            writeStrings(korean.getMorphemes());
+            writeStrings(korean.getMorphemeTags());
+        } else if (analysis instanceof ArabicMorphoAnalysis) {
+            writeArabic((ArabicMorphoAnalysis) analysis);
+        }
+        writeExtendedProperties(analysis);
+    }
+
+    private void writeArabic(ArabicMorphoAnalysis analysis) throws IOException {
+        writeVarInt(analysis.getPrefixLength());
+        writeVarInt(analysis.getStemLength());
+        writeString(analysis.getRoot());
+        out.writeByte((analysis.isDefiniteArticle() ? 1 : 0) | (analysis.isStrippablePrefix() ? 2 : 0));
+        writeStrings(analysis.getPrefixes());
+        writeStrings(analysis.getStems());
+        writeStrings(analysis.getSuffixes());
+        writeStrings(analysis.getPrefixTags());
+        writeStrings(analysis.getStemTags());
+        writeStrings(analysis.getSuffixTags());
+    }
+
+    private void writeMention(Mention mention) throws IOException {
+        writeOffsets(mention);
+        out.writeByte(mention.getConfidence() == null ? 0 : CompactForm.MENTION_CONFIDENCE);
+        if (mention.getConfidence() != null) {
+            out.writeDouble(mention.getConfidence());
+        }
+        writeString(mention.getSource());
+        writeString(mention.getSubsource());
+        writeString(mention.getNormalized());
+        writeExtendedProperties(mention);
+    }
+
+    private void writeEntity(Entity entity) throws IOException {
+        writeItems(entity.getMentions());
+        int flags = 0;
+        flags |= entity.getHeadMentionIndex() == null ? 0 : CompactForm.ENTITY_HEAD;
+        flags |= entity.getConfidence() == null ? 0 : CompactForm.ENTITY_CONFIDENCE;
+        flags |= entity.getSalience() == null ? 0 : CompactForm.ENTITY_SALIENCE;
+        out.writeByte(flags);
+        if (entity.getHeadMentionIndex() != null) {
+            writeVarInt(entity.getHeadMentionIndex());
+        }
+        if (entity.getConfidence() != null) {
+            out.writeDouble(entity.getConfidence());
+        }
+        if (entity.getSalience() != null) {
+            out.writeDouble(entity.getSalience());
+        }
+        writeString(entity.getType());
+        writeString(entity.getEntityId());
+        writeItems(entity.getSentiment());
+        writeExtendedProperties(entity);
+    }
+}
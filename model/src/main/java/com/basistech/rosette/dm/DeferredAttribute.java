@@ -0,0 +1,104 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm;
+
+import java.io.ObjectStreamException;
+import java.util.Map;
+
+/**
+ * An attribute that has not been decoded yet. A reader can store one of these in an
+ * {@link AnnotatedText} in place of the real attribute, and {@link AnnotatedText} decodes
+ * it the first time it is asked for it, from {@link AnnotatedText#getAttributes()} or
+ * one of the specific accessors such as {@link AnnotatedText#getTokens()}. Writers that
+ * understand the encoding can get at the undecoded attribute with
+ * {@link AnnotatedText#getStoredAttributes()} and copy it out without decoding it.
+ * <br>
+ * Java serialization writes the decoded attribute.
+ *
+ * @adm.ignore
+ */
+public abstract class DeferredAttribute extends BaseAttribute {
+    private static final long serialVersionUID = 222L;
+
+    private transient volatile BaseAttribute resolved;
+
+    protected DeferredAttribute() {
+        super();
+    }
+
+    /**
+     * Decodes the attribute.
+     * @return the attribute.
+     */
+    protected abstract BaseAttribute decode();
+
+    /**
+     * Returns the decoded attribute, decoding it the first time.
+     * @return the attribute.
+     */
+    public BaseAttribute resolve() {
+        BaseAttribute attribute = resolved;
+        if (attribute == null) {
+            // decoding twice in a race is harmless.
+            attribute = decode();
+            resolved = attribute;
+        }
+        return attribute;
+    }
+
+    /**
+     * Determines if the attribute has been decoded.
+     * @return true if {@link #resolve()} has been called.
+     */
+    public boolean isResolved() {
+        return resolved != null;
+    }
+
+    static BaseAttribute resolve(BaseAttribute attribute) {
+        if (attribute instanceof DeferredAttribute) {
+            return ((DeferredAttribute) attribute).resolve();
+        }
+        return attribute;
+    }
+
+    @Override
+    public Map<String, Object> getExtendedProperties() {
+        return resolve().getExtendedProperties();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof BaseAttribute)) {
+            return false;
+        }
+        return resolve().equals(resolve((BaseAttribute) o));
+    }
+
+    @Override
+    public int hashCode() {
+        return resolve().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return resolve().toString();
+    }
+
+    protected Object writeReplace() throws ObjectStreamException {
+        return resolve();
+    }
+}
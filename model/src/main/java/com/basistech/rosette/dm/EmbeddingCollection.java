@@ -20,7 +20,6 @@ import java.io.Serializable;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 
 /**
  * A vector of embeddings for some vector of items in an {@link AnnotatedText}.
@@ -54,6 +53,9 @@ public class EmbeddingCollection implements Serializable {
             return false;
         }
         EmbeddingCollection that = (EmbeddingCollection) o;
+        if (embeddings == null || that.embeddings == null) {
+            return embeddings == that.embeddings;
+        }
         if (!embeddings.keySet().equals(that.embeddings.keySet())) {
             return false;
         }
@@ -69,7 +71,14 @@ public class EmbeddingCollection implements Serializable {
 
     @Override
     public int hashCode() {
-        return Objects.hash(embeddings);
+        // hash the contents of the arrays, as equals compares them; Map.hashCode would hash their identities.
+        int result = 0;
+        if (embeddings != null) {
+            for (Map.Entry<Integer, float[]> me : embeddings.entrySet()) {
+                result += me.getKey().hashCode() ^ Arrays.hashCode(me.getValue());
+            }
+        }
+        return result;
     }
 
     @Override
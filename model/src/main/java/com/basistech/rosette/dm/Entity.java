@@ -18,6 +18,7 @@ package com.basistech.rosette.dm;
 import com.google.common.base.Objects;
 import com.google.common.collect.Lists;
 
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
@@ -51,6 +52,7 @@ public class Entity extends BaseAttribute implements Serializable {
     private final Double confidence;
     private final List<CategorizerResult> sentiment;
     private final Double salience;
+    private transient int hashCode; // lazily computed.
 
     protected Entity(List<Mention> mentions,
                      Integer headMentionIndex,
@@ -153,7 +155,12 @@ public class Entity extends BaseAttribute implements Serializable {
 
     @Override
     public int hashCode() {
-        return java.util.Objects.hash(super.hashCode(), mentions, headMentionIndex, type, entityId, confidence, sentiment, salience);
+        int result = hashCode;
+        if (result == 0) {
+            result = java.util.Objects.hash(super.hashCode(), mentions, headMentionIndex, type, entityId, confidence, sentiment, salience);
+            hashCode = result;
+        }
+        return result;
     }
 
     @Override
@@ -167,6 +174,11 @@ public class Entity extends BaseAttribute implements Serializable {
                 .add("salience", salience);
     }
 
+    /* Serialized as a CompactForm. */
+    private Object writeReplace() throws ObjectStreamException {
+        return new CompactForm(this);
+    }
+
     /**
      * A builder for resolved entities.
      */
@@ -19,6 +19,7 @@ package com.basistech.rosette.dm;
 import com.google.common.base.Objects;
 import com.google.common.collect.Lists;
 
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
@@ -91,6 +92,11 @@ public class HanMorphoAnalysis extends MorphoAnalysis implements Serializable {
                 .add("readings", readings);
     }
 
+    /* Serialized as a CompactForm. */
+    private Object writeReplace() throws ObjectStreamException {
+        return new CompactForm(this);
+    }
+
     /**
      * A builder for {@link com.basistech.rosette.dm.HanMorphoAnalysis}.
      */
@@ -18,6 +18,7 @@ package com.basistech.rosette.dm;
 import com.google.common.base.Objects;
 import com.google.common.collect.Lists;
 
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
@@ -93,6 +94,11 @@ public class KoreanMorphoAnalysis extends MorphoAnalysis implements Serializable
                 .add("morphemeTags", morphemeTags);
     }
 
+    /* Serialized as a CompactForm. */
+    private Object writeReplace() throws ObjectStreamException {
+        return new CompactForm(this);
+    }
+
     /**
      * A builder for {@link com.basistech.rosette.dm.KoreanMorphoAnalysis}.
      */
@@ -19,6 +19,7 @@ import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Iterator;
@@ -38,6 +39,7 @@ public class ListAttribute<Item extends BaseAttribute> extends BaseAttribute imp
 
     private final List<Item> items;
     private final Class<? extends BaseAttribute> itemClass;
+    private transient int hashCode; // lazily computed; the items are immutable.
 
     protected ListAttribute(Class<? extends BaseAttribute> itemClass, List<Item> items) {
         this.itemClass = itemClass;
@@ -68,7 +70,12 @@ public class ListAttribute<Item extends BaseAttribute> extends BaseAttribute imp
 
     @Override
     public int hashCode() {
-        return items.hashCode();
+        int result = hashCode;
+        if (result == 0) {
+            result = items.hashCode();
+            hashCode = result;
+        }
+        return result;
     }
 
     // this is only used by the serializer, never let it get processed automatically.
@@ -198,6 +205,11 @@ public class ListAttribute<Item extends BaseAttribute> extends BaseAttribute imp
                 .add("itemClass", itemClass);
     }
 
+    /* Serialized as a CompactForm. */
+    private Object writeReplace() throws ObjectStreamException {
+        return new CompactForm(this);
+    }
+
     /**
      * A builder for lists.
      *
@@ -245,7 +257,8 @@ public class ListAttribute<Item extends BaseAttribute> extends BaseAttribute imp
          * @return the new list
          */
         public ListAttribute<Item> build() {
-            return new ListAttribute<>(itemClass, items, buildExtendedProperties());
+            // copy, so that later calls to the builder do not change the list.
+            return new ListAttribute<>(itemClass, ImmutableList.copyOf(items), buildExtendedProperties());
         }
 
         @Override
@@ -17,6 +17,7 @@ package com.basistech.rosette.dm;
 
 import com.google.common.base.Objects;
 
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.Map;
 
@@ -30,6 +31,7 @@ public class Mention extends Attribute implements Serializable {
     private final String source;
     private final String subsource;
     private final String normalized;
+    private transient int hashCode; // lazily computed.
 
     protected Mention(int startOffset, int endOffset,
                       Double confidence,
@@ -119,11 +121,15 @@ public class Mention extends Attribute implements Serializable {
 
     @Override
     public int hashCode() {
-        int result = super.hashCode();
-        result = 31 * result + (confidence != null ? confidence.hashCode() : 0);
-        result = 31 * result + (source != null ? source.hashCode() : 0);
-        result = 31 * result + (subsource != null ? subsource.hashCode() : 0);
-        result = 31 * result + (normalized != null ? normalized.hashCode() : 0);
+        int result = hashCode;
+        if (result == 0) {
+            result = super.hashCode();
+            result = 31 * result + (confidence != null ? confidence.hashCode() : 0);
+            result = 31 * result + (source != null ? source.hashCode() : 0);
+            result = 31 * result + (subsource != null ? subsource.hashCode() : 0);
+            result = 31 * result + (normalized != null ? normalized.hashCode() : 0);
+            hashCode = result;
+        }
         return result;
     }
 
@@ -136,6 +142,11 @@ public class Mention extends Attribute implements Serializable {
                 .add("normalized", normalized);
     }
 
+    /* Serialized as a CompactForm. */
+    private Object writeReplace() throws ObjectStreamException {
+        return new CompactForm(this);
+    }
+
     /**
      * A builder for entity mentions.
      */
@@ -18,6 +18,7 @@ package com.basistech.rosette.dm;
 import com.google.common.base.Objects;
 import com.google.common.collect.Lists;
 
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
@@ -147,6 +148,11 @@ public class MorphoAnalysis extends BaseAttribute implements Serializable {
         return toStringHelper().toString();
     }
 
+    /* Serialized as a CompactForm. */
+    private Object writeReplace() throws ObjectStreamException {
+        return new CompactForm(this);
+    }
+
     /**
      * Builder for {@link com.basistech.rosette.dm.MorphoAnalysis}.
      */
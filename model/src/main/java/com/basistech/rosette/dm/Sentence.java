@@ -15,6 +15,7 @@
 */
 package com.basistech.rosette.dm;
 
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.Map;
 
@@ -38,6 +39,11 @@ public class Sentence extends Attribute implements Serializable {
         super(startOffset, endOffset, extendedProperties);
     }
 
+    /* Serialized as a CompactForm. */
+    private Object writeReplace() throws ObjectStreamException {
+        return new CompactForm(this);
+    }
+
     /**
      * Builder for Sentence attributes.
      */
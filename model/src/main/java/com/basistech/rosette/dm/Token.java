@@ -18,6 +18,7 @@ package com.basistech.rosette.dm;
 import com.google.common.base.Objects;
 import com.google.common.collect.Lists;
 
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +34,7 @@ public class Token extends Attribute implements Serializable {
     private final List<String> normalized;
     private final List<MorphoAnalysis> analyses;
     private final String source;
+    private transient int hashCode; // lazily computed.
 
     protected Token(int startOffset,
                     int endOffset,
@@ -120,16 +122,20 @@ public class Token extends Attribute implements Serializable {
 
     @Override
     public int hashCode() {
-        int result = super.hashCode();
-        result = 31 * result + text.hashCode();
-        if (normalized != null) {
-            result = 31 * result + normalized.hashCode();
-        }
-        if (analyses != null) {
-            result = 31 * result + analyses.hashCode();
-        }
-        if (source != null) {
-            result = 31 * result + source.hashCode();
+        int result = hashCode;
+        if (result == 0) {
+            result = super.hashCode();
+            result = 31 * result + text.hashCode();
+            if (normalized != null) {
+                result = 31 * result + normalized.hashCode();
+            }
+            if (analyses != null) {
+                result = 31 * result + analyses.hashCode();
+            }
+            if (source != null) {
+                result = 31 * result + source.hashCode();
+            }
+            hashCode = result;
         }
         return result;
     }
@@ -143,6 +149,11 @@ public class Token extends Attribute implements Serializable {
                 .add("source", source);
     }
 
+    /* Serialized as a CompactForm. */
+    private Object writeReplace() throws ObjectStreamException {
+        return new CompactForm(this);
+    }
+
     /**
      * Builder for tokens.
      */
@@ -0,0 +1,147 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.util;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.Annotator;
+
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Hooks that report model operations to an event recorder, such as Java Flight Recorder.
+ * adm-jfr provides a recorder for JFR; it is found with {@link ServiceLoader} when this class
+ * is initialized. Without a recorder, {@link #ENABLED} is {@code false}, and the hooks are
+ * skipped by a test of that constant, which the JIT removes.
+ * <p>
+ * The operations are:
+ * <ul>
+ *     <li>{@link Kind#ANNOTATE}: a call to an annotator by {@link ComposingAnnotator}
+ *     or {@link WholeDocumentLanguageDispatchAnnotator}. The name is the class of the annotator,
+ *     the size is the length of the input data, and the count is the number of attributes of the result.</li>
+ *     <li>{@link Kind#SERIALIZE} and {@link Kind#DESERIALIZE}: writing or reading one document. The name is the
+ *     format, the size is the number of bytes, or -1 if the format cannot tell, and the count
+ *     is the number of attributes.</li>
+ *     <li>{@link Kind#CONVERT}: building the compatibility lists of
+ *     {@link AnnotatedText#getEntityMentions()} and {@link AnnotatedText#getResolvedEntities()}. The name is the
+ *     list, the size is the number of entities, and the count is the number of items of the result.</li>
+ * </ul>
+ * Operations that throw are not reported.
+ */
+public final class AdmEvents {
+    /**
+     * Whether a recorder is installed. Call sites test this before calling {@link #begin(Kind)}.
+     */
+    public static final boolean ENABLED;
+
+    private static final Provider PROVIDER;
+
+    static {
+        PROVIDER = load();
+        ENABLED = PROVIDER != null;
+    }
+
+    private AdmEvents() {
+        //
+    }
+
+    /**
+     * The kinds of operation.
+     */
+    public enum Kind {
+        ANNOTATE,
+        SERIALIZE,
+        DESERIALIZE,
+        CONVERT
+    }
+
+    /**
+     * An event recorder. Implementations are registered as services, and must be thread-safe.
+     */
+    public interface Provider {
+        /**
+         * Starts timing an operation.
+         *
+         * @param kind the kind of operation
+         * @return the event, or {@code null} if the recorder does not want this kind of event now
+         */
+        Event begin(Kind kind);
+    }
+
+    /**
+     * One operation, timed from its {@link Provider#begin(Kind)}.
+     */
+    public interface Event {
+        /**
+         * Ends the operation and records it. See the class documentation for the meaning of the arguments.
+         *
+         * @param name the name
+         * @param size the size
+         * @param count the count
+         */
+        void complete(String name, long size, int count);
+    }
+
+    private static Provider load() {
+        try {
+            Iterator<Provider> providers = ServiceLoader.load(Provider.class, AdmEvents.class.getClassLoader()).iterator();
+            return providers.hasNext() ? providers.next() : null;
+        } catch (ServiceConfigurationError | LinkageError e) {
+            // a recorder that cannot run on this JVM, such as adm-jfr on Java 7.
+            return null;
+        }
+    }
+
+    /**
+     * Starts timing an operation.
+     *
+     * @param kind the kind of operation
+     * @return the event, or {@code null} if there is no recorder, or it does not want the event.
+     */
+    public static Event begin(Kind kind) {
+        return ENABLED ? PROVIDER.begin(kind) : null;
+    }
+
+    static AnnotatedText annotate(Annotator annotator, CharSequence input) {
+        Event event = begin(Kind.ANNOTATE);
+        AnnotatedText result = annotator.annotate(input);
+        if (event != null) {
+            event.complete(annotatorName(annotator), input == null ? 0 : input.length(), attributeCount(result));
+        }
+        return result;
+    }
+
+    static AnnotatedText annotate(Annotator annotator, AnnotatedText input) {
+        Event event = begin(Kind.ANNOTATE);
+        AnnotatedText result = annotator.annotate(input);
+        if (event != null) {
+            CharSequence data = input.getData();
+            event.complete(annotatorName(annotator), data == null ? 0 : data.length(), attributeCount(result));
+        }
+        return result;
+    }
+
+    private static String annotatorName(Annotator annotator) {
+        Annotator measured = annotator instanceof InstrumentedAnnotator ? ((InstrumentedAnnotator) annotator).getDelegate() : annotator;
+        return measured.getClass().getName();
+    }
+
+    private static int attributeCount(AnnotatedText text) {
+        return text == null ? 0 : text.getStoredAttributes().size();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.util;
+
+/**
+ * Receives the measurements of {@link InstrumentedAnnotator}. Implementations adapt this
+ * to a metrics library; adm-metrics has one for metrics-core.
+ * <p>
+ * {@link #stage(String)} is called once per stage, when the stage is instrumented.
+ * The {@link Stage} methods are called for every document, on the threads
+ * that annotate; they must be thread-safe, and should not lock or allocate.
+ */
+public interface AnnotatorMetrics {
+    /**
+     * Returns the recorder for a stage.
+     *
+     * @param stage the name of the stage
+     * @return the recorder
+     */
+    Stage stage(String stage);
+
+    /**
+     * Records the calls of one stage.
+     */
+    interface Stage {
+        /**
+         * Records an annotation that returned.
+         *
+         * @param nanos the duration
+         * @param characters the length of the input data
+         * @param tokens the number of tokens of the input, or -1 if the input has no decoded tokens
+         */
+        void annotated(long nanos, int characters, int tokens);
+
+        /**
+         * Records an annotation that threw an exception.
+         *
+         * @param nanos the duration, up to the exception
+         * @param characters the length of the input data
+         * @param tokens the number of tokens of the input, or -1 if the input has no decoded tokens
+         */
+        void failed(long nanos, int characters, int tokens);
+    }
+}
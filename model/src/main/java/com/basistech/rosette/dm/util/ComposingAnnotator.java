@@ -18,14 +18,20 @@ package com.basistech.rosette.dm.util;
 
 import com.basistech.rosette.dm.AnnotatedText;
 import com.basistech.rosette.dm.Annotator;
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Multiset;
 
 import java.util.List;
 
 /**
- * An annotator that applies a series of annotators.
+ * An annotator that applies a series of annotators. With tracing on, each result carries
+ * a {@link ProcessingTrace} of the stages.
  */
 public class ComposingAnnotator implements Annotator {
     private final List<Annotator> annotators;
+    private final List<String> stageNames;
+    private final boolean trace;
 
     /**
      * Construct a composing annotator from a list of annotators. Input is passed to the first annotator.
@@ -34,7 +40,71 @@ public class ComposingAnnotator implements Annotator {
      * @param annotators the annotators.
      */
     public ComposingAnnotator(List<Annotator> annotators) {
+        this(annotators, false);
+    }
+
+    /**
+     * Construct a composing annotator that can record a {@link ProcessingTrace} in each document.
+     * Each stage is named for the simple class name of its annotator; when a class appears more than once,
+     * the second stage gets the suffix {@code #2}, and so on. The trace is added to the result
+     * when the last stage returns; a document whose processing throws has no trace.
+     * @param annotators the annotators.
+     * @param trace whether to record a trace.
+     */
+    public ComposingAnnotator(List<Annotator> annotators, boolean trace) {
         this.annotators = annotators;
+        this.stageNames = stageNames(annotators);
+        this.trace = trace;
+    }
+
+    /**
+     * Construct a composing annotator that measures each of its annotators with an {@link InstrumentedAnnotator}.
+     * Each stage is named for the simple class name of its annotator; when a class appears more than once,
+     * the second stage gets the suffix {@code #2}, and so on.
+     * @param annotators the annotators.
+     * @param metrics the metrics for the stages.
+     */
+    public ComposingAnnotator(List<Annotator> annotators, AnnotatorMetrics metrics) {
+        this(annotators, metrics, false);
+    }
+
+    /**
+     * Construct a composing annotator that measures each of its annotators, and can record
+     * a {@link ProcessingTrace} in each document. The stages of the trace have the same names as the metrics.
+     * @param annotators the annotators.
+     * @param metrics the metrics for the stages.
+     * @param trace whether to record a trace.
+     */
+    public ComposingAnnotator(List<Annotator> annotators, AnnotatorMetrics metrics, boolean trace) {
+        this(instrument(annotators, metrics), trace);
+    }
+
+    private static List<String> stageNames(List<Annotator> annotators) {
+        List<String> stageNames = Lists.newArrayListWithCapacity(annotators.size());
+        Multiset<String> names = HashMultiset.create();
+        for (Annotator annotator : annotators) {
+            if (annotator instanceof InstrumentedAnnotator) {
+                stageNames.add(((InstrumentedAnnotator) annotator).getStage());
+                continue;
+            }
+            String name = annotator.getClass().getSimpleName();
+            if (name.isEmpty()) {
+                name = annotator.getClass().getName();
+            }
+            names.add(name);
+            int count = names.count(name);
+            stageNames.add(count == 1 ? name : name + "#" + count);
+        }
+        return stageNames;
+    }
+
+    private static List<Annotator> instrument(List<Annotator> annotators, AnnotatorMetrics metrics) {
+        List<String> names = stageNames(annotators);
+        List<Annotator> instrumented = Lists.newArrayListWithCapacity(annotators.size());
+        for (int x = 0; x < annotators.size(); x++) {
+            instrumented.add(new InstrumentedAnnotator(names.get(x), annotators.get(x), metrics));
+        }
+        return instrumented;
     }
 
 
@@ -46,19 +116,47 @@ public class ComposingAnnotator implements Annotator {
      */
     @Override
     public AnnotatedText annotate(CharSequence input) {
-        AnnotatedText at = annotators.get(0).annotate(input);
+        if (trace) {
+            return annotateTraced(input, null);
+        }
+        Annotator first = annotators.get(0);
+        AnnotatedText at = AdmEvents.ENABLED ? AdmEvents.annotate(first, input) : first.annotate(input);
         for (int x = 1; x < annotators.size(); x++) {
-            at = annotators.get(x).annotate(at);
+            Annotator annotator = annotators.get(x);
+            at = AdmEvents.ENABLED ? AdmEvents.annotate(annotator, at) : annotator.annotate(at);
         }
         return at;
     }
 
     @Override
     public AnnotatedText annotate(AnnotatedText input) {
+        if (trace) {
+            return annotateTraced(null, input);
+        }
         AnnotatedText at = input;
         for (Annotator annotator : annotators) {
-            at = annotator.annotate(at);
+            at = AdmEvents.ENABLED ? AdmEvents.annotate(annotator, at) : annotator.annotate(at);
         }
         return at;
     }
+
+    /* Exactly one of data and input is non-null; data goes to the first annotator. */
+    private AnnotatedText annotateTraced(CharSequence data, AnnotatedText input) {
+        String thread = Thread.currentThread().getName();
+        List<ProcessingTrace.Stage> stages = Lists.newArrayListWithCapacity(annotators.size());
+        AnnotatedText at = input;
+        for (int x = 0; x < annotators.size(); x++) {
+            Annotator annotator = annotators.get(x);
+            int inputAttributes = at == null ? 0 : at.getStoredAttributes().size();
+            long start = System.nanoTime();
+            if (at == null) {
+                at = AdmEvents.ENABLED ? AdmEvents.annotate(annotator, data) : annotator.annotate(data);
+            } else {
+                at = AdmEvents.ENABLED ? AdmEvents.annotate(annotator, at) : annotator.annotate(at);
+            }
+            long end = System.nanoTime();
+            stages.add(new ProcessingTrace.Stage(stageNames.get(x), thread, start, end, inputAttributes, at.getStoredAttributes().size()));
+        }
+        return ProcessingTrace.append(at, input, stages);
+    }
 }
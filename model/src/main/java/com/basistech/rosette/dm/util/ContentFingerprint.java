@@ -0,0 +1,281 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.util;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.BaseAttribute;
+import com.basistech.rosette.dm.DeferredAttribute;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.primitives.Longs;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A 128-bit fingerprint of the content of an {@link AnnotatedText} or of one attribute,
+ * for deduplication, cache keys and fast inequality checks. Documents that are equal have equal
+ * fingerprints, however they were built or decoded: the order of maps, such as the attributes or
+ * the extended properties, does not matter, and integral numbers compare by value, whatever their boxed type.
+ * Different documents have different fingerprints with overwhelming probability, but this is not a
+ * cryptographic hash; do not use it where an adversary chooses the documents.
+ * <p>
+ * The fingerprint covers every field of the model objects, except for {@code null} fields, so that
+ * adding an optional field in a later release does not change the fingerprints of documents that
+ * do not use it. Attributes that a reader left undecoded are decoded.
+ * <p>
+ * Computing a fingerprint visits every object of the document, by reflection.
+ * Compute it once per document and keep it, rather than on every comparison.
+ */
+public final class ContentFingerprint {
+    private static final HashFunction FUNCTION = Hashing.murmur3_128();
+    private static final String MODEL_PACKAGE = "com.basistech.";
+
+    /* Tags keep values of different kinds from colliding, such as "1" and 1. */
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGRAL = 2;
+    private static final byte FLOATING = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte ENUM = 5;
+    private static final byte LIST = 6;
+    private static final byte UNORDERED = 7;
+    private static final byte ARRAY = 8;
+    private static final byte BYTES = 9;
+    private static final byte OBJECT = 10;
+    private static final byte OTHER = 11;
+    private static final byte DOCUMENT = 12;
+
+    private static final ClassValue<Field[]> FIELDS = new ClassValue<Field[]>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            return fields(type);
+        }
+    };
+
+    private final long high;
+    private final long low;
+
+    private ContentFingerprint(HashCode hashCode) {
+        byte[] bytes = hashCode.asBytes();
+        this.high = Longs.fromBytes(bytes[0], bytes[1], bytes[2], bytes[3], bytes[4], bytes[5], bytes[6], bytes[7]);
+        this.low = Longs.fromBytes(bytes[8], bytes[9], bytes[10], bytes[11], bytes[12], bytes[13], bytes[14], bytes[15]);
+    }
+
+    /**
+     * Computes the fingerprint of a document: its data, its metadata and all of its attributes.
+     *
+     * @param text the document
+     * @return the fingerprint
+     */
+    public static ContentFingerprint of(AnnotatedText text) {
+        Hasher hasher = FUNCTION.newHasher();
+        hasher.putByte(DOCUMENT);
+        put(hasher, text.getData());
+        put(hasher, text.getDocumentMetadata());
+        put(hasher, text.getAttributes());
+        return new ContentFingerprint(hasher.hash());
+    }
+
+    /**
+     * Computes the fingerprint of an attribute, including its extended properties.
+     *
+     * @param attribute the attribute
+     * @return the fingerprint
+     */
+    public static ContentFingerprint of(BaseAttribute attribute) {
+        Hasher hasher = FUNCTION.newHasher();
+        put(hasher, attribute);
+        return new ContentFingerprint(hasher.hash());
+    }
+
+    /**
+     * @return the high-order 64 bits of the fingerprint.
+     */
+    public long getHigh() {
+        return high;
+    }
+
+    /**
+     * @return the low-order 64 bits of the fingerprint.
+     */
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * @return the 16 bytes of the fingerprint, high-order first.
+     */
+    public byte[] toByteArray() {
+        return ByteBuffer.allocate(16).putLong(high).putLong(low).array();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ContentFingerprint that = (ContentFingerprint) o;
+        return high == that.high && low == that.low;
+    }
+
+    @Override
+    public int hashCode() {
+        // the bits are already well mixed.
+        return (int) low;
+    }
+
+    /**
+     * @return the fingerprint as 32 hexadecimal digits.
+     */
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+
+    private static void put(Hasher hasher, Object object) {
+        Object value = object instanceof DeferredAttribute ? ((DeferredAttribute) object).resolve() : object;
+        if (value == null) {
+            hasher.putByte(NULL);
+        } else if (value instanceof CharSequence) {
+            CharSequence chars = (CharSequence) value;
+            hasher.putByte(STRING).putInt(chars.length()).putUnencodedChars(chars);
+        } else if (value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long) {
+            hasher.putByte(INTEGRAL).putLong(((Number) value).longValue());
+        } else if (value instanceof Float || value instanceof Double) {
+            hasher.putByte(FLOATING).putDouble(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            hasher.putByte(BOOLEAN).putBoolean((Boolean) value);
+        } else if (value instanceof Enum) {
+            putName(hasher.putByte(ENUM), ((Enum<?>) value).getDeclaringClass().getName());
+            putName(hasher, ((Enum<?>) value).name());
+        } else if (value.getClass().getName().startsWith(MODEL_PACKAGE)) {
+            // before the collections, so that a ListAttribute includes its extended properties.
+            putObject(hasher, value);
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            hasher.putByte(LIST).putInt(list.size());
+            for (Object item : list) {
+                put(hasher, item);
+            }
+        } else if (value instanceof Collection) {
+            putUnordered(hasher, (Collection<?>) value);
+        } else if (value instanceof Map) {
+            putUnordered(hasher, ((Map<?, ?>) value).entrySet());
+        } else if (value instanceof Map.Entry) {
+            put(hasher, ((Map.Entry<?, ?>) value).getKey());
+            put(hasher, ((Map.Entry<?, ?>) value).getValue());
+        } else if (value instanceof ByteBuffer) {
+            ByteBuffer buffer = (ByteBuffer) value;
+            hasher.putByte(BYTES).putInt(buffer.remaining());
+            for (int x = buffer.position(); x < buffer.limit(); x++) {
+                hasher.putByte(buffer.get(x));
+            }
+        } else if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            hasher.putByte(BYTES).putInt(bytes.length).putBytes(bytes);
+        } else if (value instanceof float[]) {
+            float[] floats = (float[]) value;
+            hasher.putByte(ARRAY).putInt(floats.length);
+            for (float item : floats) {
+                hasher.putFloat(item);
+            }
+        } else if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            hasher.putByte(ARRAY).putInt(length);
+            for (int x = 0; x < length; x++) {
+                put(hasher, Array.get(value, x));
+            }
+        } else if (value instanceof Class) {
+            putName(hasher.putByte(OTHER), ((Class<?>) value).getName());
+        } else {
+            // not ours, and not a collection: rely on its string form, as for BigDecimal.
+            putName(hasher.putByte(OTHER), value.getClass().getName());
+            put(hasher, value.toString());
+        }
+    }
+
+    private static void putName(Hasher hasher, String name) {
+        hasher.putInt(name.length()).putUnencodedChars(name);
+    }
+
+    /* Each item is hashed on its own, and the hashes are combined without regard to order. */
+    private static void putUnordered(Hasher hasher, Collection<?> items) {
+        hasher.putByte(UNORDERED).putInt(items.size());
+        if (items.isEmpty()) {
+            return;
+        }
+        List<HashCode> hashCodes = new ArrayList<>(items.size());
+        for (Object item : items) {
+            Hasher itemHasher = FUNCTION.newHasher();
+            put(itemHasher, item);
+            hashCodes.add(itemHasher.hash());
+        }
+        hasher.putBytes(Hashing.combineUnordered(hashCodes).asBytes());
+    }
+
+    private static void putObject(Hasher hasher, Object value) {
+        putName(hasher.putByte(OBJECT), value.getClass().getName());
+        for (Field field : FIELDS.get(value.getClass())) {
+            Object fieldValue;
+            try {
+                fieldValue = field.get(value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot read " + field, e);
+            }
+            if (fieldValue != null) {
+                putName(hasher, field.getName());
+                put(hasher, fieldValue);
+            }
+        }
+    }
+
+    /* The content fields of a class and its superclasses, in an order that does not depend on the compiler. */
+    private static Field[] fields(Class<?> type) {
+        List<Field> found = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                    field.setAccessible(true);
+                    found.add(field);
+                }
+            }
+        }
+        Collections.sort(found, new Comparator<Field>() {
+            @Override
+            public int compare(Field a, Field b) {
+                int result = a.getName().compareTo(b.getName());
+                return result != 0 ? result : a.getDeclaringClass().getName().compareTo(b.getDeclaringClass().getName());
+            }
+        });
+        return found.toArray(new Field[found.size()]);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.util;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.Annotator;
+import com.basistech.rosette.dm.AttributeKey;
+import com.basistech.rosette.dm.BaseAttribute;
+import com.basistech.rosette.dm.DeferredAttribute;
+import com.basistech.rosette.dm.ListAttribute;
+
+/**
+ * An annotator that measures another: the duration, input size and outcome of each call
+ * go to an {@link AnnotatorMetrics} stage. The input tokens are counted only if they are already
+ * decoded, so that measuring never decodes attributes that the annotator does not look at.
+ */
+public final class InstrumentedAnnotator implements Annotator {
+    private final String stage;
+    private final Annotator delegate;
+    private final AnnotatorMetrics.Stage metrics;
+
+    /**
+     * Constructs an instrumented annotator.
+     *
+     * @param stage the name of the stage, for the metrics
+     * @param delegate the annotator to measure
+     * @param metrics the metrics
+     */
+    public InstrumentedAnnotator(String stage, Annotator delegate, AnnotatorMetrics metrics) {
+        this.stage = stage;
+        this.delegate = delegate;
+        this.metrics = metrics.stage(stage);
+    }
+
+    /**
+     * @return the name of the stage.
+     */
+    public String getStage() {
+        return stage;
+    }
+
+    /**
+     * @return the annotator that this one measures.
+     */
+    public Annotator getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public AnnotatedText annotate(CharSequence input) {
+        int characters = input == null ? 0 : input.length();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            AnnotatedText result = delegate.annotate(input);
+            failed = false;
+            return result;
+        } finally {
+            record(System.nanoTime() - start, characters, -1, failed);
+        }
+    }
+
+    @Override
+    public AnnotatedText annotate(AnnotatedText input) {
+        CharSequence data = input.getData();
+        int characters = data == null ? 0 : data.length();
+        int tokens = tokenCount(input);
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            AnnotatedText result = delegate.annotate(input);
+            failed = false;
+            return result;
+        } finally {
+            record(System.nanoTime() - start, characters, tokens, failed);
+        }
+    }
+
+    private void record(long nanos, int characters, int tokens, boolean failed) {
+        if (failed) {
+            metrics.failed(nanos, characters, tokens);
+        } else {
+            metrics.annotated(nanos, characters, tokens);
+        }
+    }
+
+    private static int tokenCount(AnnotatedText text) {
+        BaseAttribute tokens = text.getStoredAttributes().get(AttributeKey.TOKEN.key());
+        if (tokens instanceof DeferredAttribute) {
+            DeferredAttribute deferred = (DeferredAttribute) tokens;
+            tokens = deferred.isResolved() ? deferred.resolve() : null;
+        }
+        return tokens instanceof ListAttribute ? ((ListAttribute<?>) tokens).size() : -1;
+    }
+
+    @Override
+    public String toString() {
+        return "InstrumentedAnnotator{stage=" + stage + ", delegate=" + delegate + '}';
+    }
+}
@@ -0,0 +1,143 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.util;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.BaseAttribute;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Map;
+
+/**
+ * An estimate of the heap retained by an {@link AnnotatedText}, for sizing caches and queues.
+ * The estimate walks the objects of the document, counting each object once, however
+ * many times it is referenced: a string shared by a hundred tokens costs its size once, and is
+ * charged to the first key that reaches it. Sizes follow the HotSpot object layout.
+ * <p>
+ * The bytes are broken down by key: {@link #DATA}, {@link #DOCUMENT_METADATA}, then each attribute key,
+ * such as {@code token} or {@code entities}, in the order the document stores them, and {@link #DOCUMENT}
+ * for the rest, including compatibility lists the document has cached. Across those keys,
+ * {@link #getAnalysisBytes()} and {@link #getExtendedPropertyBytes()} report the morphological analyses
+ * and the extended properties.
+ * <p>
+ * Estimating is not free: it visits every object of the document, by reflection.
+ * Compute it once per document, or sample, rather than on every cache access.
+ * On Java 16 and later, the fields of JDK classes cannot be read; strings and collections are then
+ * estimated from their length. Strings of Latin-1 characters count one byte per character, as the
+ * compact strings of Java 9 and later store them, and other strings two.
+ */
+public final class MemoryFootprint {
+    /** The key for the character data. */
+    public static final String DATA = "data";
+    /** The key for the document metadata. */
+    public static final String DOCUMENT_METADATA = "documentMetadata";
+    /** The key for the document object and anything not reached from the other keys. */
+    public static final String DOCUMENT = "document";
+
+    private final long totalBytes;
+    private final Map<String, Long> bytesByKey;
+    private final long analysisBytes;
+    private final long extendedPropertyBytes;
+    private final int objectCount;
+
+    private MemoryFootprint(long totalBytes, Map<String, Long> bytesByKey, long analysisBytes, long extendedPropertyBytes, int objectCount) {
+        this.totalBytes = totalBytes;
+        this.bytesByKey = bytesByKey;
+        this.analysisBytes = analysisBytes;
+        this.extendedPropertyBytes = extendedPropertyBytes;
+        this.objectCount = objectCount;
+    }
+
+    /**
+     * Estimates the footprint of a document. Attributes that a reader left undecoded are counted as
+     * they are stored, and are not decoded.
+     *
+     * @param text the document
+     * @return the footprint
+     */
+    public static MemoryFootprint of(AnnotatedText text) {
+        ObjectSizer sizer = new ObjectSizer();
+        ImmutableMap.Builder<String, Long> bytesByKey = ImmutableMap.builder();
+        long total = 0;
+        long bytes = sizer.add(text.getData());
+        bytesByKey.put(DATA, bytes);
+        total += bytes;
+        bytes = sizer.add(text.getDocumentMetadata());
+        bytesByKey.put(DOCUMENT_METADATA, bytes);
+        total += bytes;
+        for (Map.Entry<String, BaseAttribute> entry : text.getStoredAttributes().entrySet()) {
+            bytes = sizer.add(entry.getValue());
+            bytesByKey.put(entry.getKey(), bytes);
+            total += bytes;
+        }
+        bytes = sizer.add(text);
+        bytesByKey.put(DOCUMENT, bytes);
+        total += bytes;
+        return new MemoryFootprint(total, bytesByKey.build(), sizer.bytes(ObjectSizer.ANALYSIS),
+                sizer.bytes(ObjectSizer.EXTENDED_PROPERTIES), sizer.objectCount());
+    }
+
+    /**
+     * @return the estimated bytes retained by the document.
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * @return the estimated bytes for each key; they add up to {@link #getTotalBytes()}.
+     */
+    public Map<String, Long> getBytesByKey() {
+        return bytesByKey;
+    }
+
+    /**
+     * @return the estimated bytes of the morphological analyses of the tokens, which are part of the token bytes.
+     */
+    public long getAnalysisBytes() {
+        return analysisBytes;
+    }
+
+    /**
+     * @return the estimated bytes of the extended properties of all attributes.
+     */
+    public long getExtendedPropertyBytes() {
+        return extendedPropertyBytes;
+    }
+
+    /**
+     * @return the number of distinct objects counted.
+     */
+    public int getObjectCount() {
+        return objectCount;
+    }
+
+    /**
+     * @return a report of the footprint, one key per line.
+     */
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%,d bytes in %,d objects%n", totalBytes, objectCount));
+        for (Map.Entry<String, Long> entry : bytesByKey.entrySet()) {
+            report.append(String.format("  %-24s %,14d%n", entry.getKey(), entry.getValue()));
+        }
+        report.append(String.format("  %-24s %,14d%n", "(analyses)", analysisBytes));
+        report.append(String.format("  %-24s %,14d%n", "(extended properties)", extendedPropertyBytes));
+        return report.toString();
+    }
+}
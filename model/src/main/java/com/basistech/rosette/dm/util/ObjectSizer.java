@@ -0,0 +1,257 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.util;
+
+import com.basistech.rosette.dm.BaseAttribute;
+import com.basistech.rosette.dm.MorphoAnalysis;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Walks object graphs and adds up the sizes of the objects, each counted once, by reflection.
+ * Sizes follow the HotSpot layout: an object header, the fields, and padding to 8 bytes;
+ * references are 4 bytes with compressed oops, which HotSpot uses for heaps under 32GB.
+ * Enums and classes are shared by everything, and are not counted.
+ */
+final class ObjectSizer {
+    /* What part of the model an object belongs to. */
+    static final int PLAIN = 0;
+    static final int ANALYSIS = 1;
+    static final int EXTENDED_PROPERTIES = 2;
+
+    private static final long COMPRESSED_OOPS_LIMIT = 32L * 1024 * 1024 * 1024;
+    private static final int ALIGNMENT = 8;
+    private static final int REFERENCE_SIZE;
+    private static final int HEADER_SIZE;
+    private static final int ARRAY_HEADER_SIZE;
+    private static final Field EXTENDED_PROPERTIES_FIELD;
+    /* Java 9 and later store strings of Latin-1 characters at one byte per character. */
+    private static final boolean COMPACT_STRINGS = !System.getProperty("java.specification.version", "1.").startsWith("1.");
+
+    private static final ClassValue<ClassLayout> LAYOUTS = new ClassValue<ClassLayout>() {
+        @Override
+        protected ClassLayout computeValue(Class<?> type) {
+            return new ClassLayout(type);
+        }
+    };
+
+    static {
+        if ("32".equals(System.getProperty("sun.arch.data.model"))) {
+            REFERENCE_SIZE = 4;
+            HEADER_SIZE = 8;
+            ARRAY_HEADER_SIZE = 12;
+        } else if (Runtime.getRuntime().maxMemory() < COMPRESSED_OOPS_LIMIT) {
+            REFERENCE_SIZE = 4;
+            HEADER_SIZE = 12;
+            ARRAY_HEADER_SIZE = 16;
+        } else {
+            REFERENCE_SIZE = 8;
+            HEADER_SIZE = 16;
+            ARRAY_HEADER_SIZE = 24;
+        }
+        try {
+            EXTENDED_PROPERTIES_FIELD = BaseAttribute.class.getDeclaredField("extendedProperties");
+        } catch (NoSuchFieldException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Set<Object> visited;
+    private final Deque<Object> pending;
+    private final Deque<Integer> pendingKinds;
+    private final long[] bytesByKind;
+    private int objectCount;
+
+    ObjectSizer() {
+        visited = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+        pending = new ArrayDeque<>();
+        pendingKinds = new ArrayDeque<>();
+        bytesByKind = new long[3];
+    }
+
+    /**
+     * Adds up the objects reachable from a root that have not been counted by an earlier call.
+     *
+     * @param root the root
+     * @return the number of bytes
+     */
+    long add(Object root) {
+        long total = 0;
+        push(root, PLAIN);
+        while (!pending.isEmpty()) {
+            Object object = pending.pop();
+            int kind = pendingKinds.pop();
+            if (object instanceof MorphoAnalysis && kind == PLAIN) {
+                kind = ANALYSIS;
+            }
+            long size = visit(object, kind);
+            bytesByKind[kind] += size;
+            total += size;
+            objectCount++;
+        }
+        return total;
+    }
+
+    /**
+     * @param kind {@link #ANALYSIS} or {@link #EXTENDED_PROPERTIES}
+     * @return the bytes counted so far for objects of that kind.
+     */
+    long bytes(int kind) {
+        return bytesByKind[kind];
+    }
+
+    int objectCount() {
+        return objectCount;
+    }
+
+    private void push(Object object, int kind) {
+        if (object == null || object instanceof Class || object instanceof Enum || !visited.add(object)) {
+            return;
+        }
+        pending.push(object);
+        pendingKinds.push(kind);
+    }
+
+    private long visit(Object object, int kind) {
+        Class<?> type = object.getClass();
+        if (type.isArray()) {
+            int length = Array.getLength(object);
+            Class<?> component = type.getComponentType();
+            if (!component.isPrimitive()) {
+                for (Object element : (Object[]) object) {
+                    push(element, kind);
+                }
+            }
+            return align(ARRAY_HEADER_SIZE + (long) length * fieldSize(component));
+        }
+        ClassLayout layout = LAYOUTS.get(type);
+        if (layout.references == null) {
+            return opaque(object, layout.size, kind);
+        }
+        for (Field field : layout.references) {
+            int childKind = field.equals(EXTENDED_PROPERTIES_FIELD) ? EXTENDED_PROPERTIES : kind;
+            try {
+                push(field.get(object), childKind);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return layout.size;
+    }
+
+    /* Classes whose fields cannot be read, on Java 9 and later: count what the public API shows. */
+    private long opaque(Object object, long size, int kind) {
+        if (object instanceof CharSequence) {
+            CharSequence chars = (CharSequence) object;
+            return size + align(ARRAY_HEADER_SIZE + (long) charSize(chars) * chars.length());
+        }
+        if (object instanceof Collection) {
+            Collection<?> collection = (Collection<?>) object;
+            for (Object element : collection) {
+                push(element, kind);
+            }
+            return size + align(ARRAY_HEADER_SIZE + (long) REFERENCE_SIZE * collection.size());
+        }
+        if (object instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) object;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                push(entry.getKey(), kind);
+                push(entry.getValue(), kind);
+            }
+            // a table slot and an entry per mapping.
+            return size + map.size() * (REFERENCE_SIZE + align(HEADER_SIZE + 3L * REFERENCE_SIZE + 4));
+        }
+        return size;
+    }
+
+    private static int charSize(CharSequence chars) {
+        if (!COMPACT_STRINGS) {
+            return 2;
+        }
+        for (int x = 0; x < chars.length(); x++) {
+            if (chars.charAt(x) > 0xFF) {
+                return 2;
+            }
+        }
+        return 1;
+    }
+
+    private static long align(long size) {
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    private static int fieldSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        } else if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        return REFERENCE_SIZE;
+    }
+
+    /**
+     * The size of the instances of a class, and its reference fields;
+     * {@code null} references if the fields cannot be read.
+     */
+    private static final class ClassLayout {
+        private final long size;
+        private final List<Field> references;
+
+        ClassLayout(Class<?> type) {
+            long fields = 0;
+            List<Field> found = Lists.newArrayList();
+            boolean accessible = true;
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    fields += fieldSize(field.getType());
+                    if (!field.getType().isPrimitive()) {
+                        found.add(field);
+                    }
+                }
+            }
+            try {
+                for (Field field : found) {
+                    field.setAccessible(true);
+                }
+            } catch (RuntimeException e) {
+                // InaccessibleObjectException, for classes of modules that do not open their packages.
+                accessible = false;
+            }
+            this.size = align(HEADER_SIZE + fields);
+            this.references = accessible ? ImmutableList.copyOf(found) : null;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.util;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The record of the stages that processed a document. A {@link ComposingAnnotator} constructed
+ * with tracing on records each of its stages in the document metadata of its result,
+ * under {@link #METADATA_KEY}, so that the trace travels with the document through every format
+ * and through later chains, which add to it. {@link #of(AnnotatedText)} reads the trace back;
+ * {@link #strip(AnnotatedText)} removes it before a document leaves the system.
+ * <p>
+ * Each stage is one metadata value, with tab-separated fields: start time, end time,
+ * input attribute count, output attribute count, stage name and thread name. The times
+ * are {@link System#nanoTime()} values; they can only be compared with other times from the
+ * same JVM, while the durations can be compared everywhere.
+ */
+public final class ProcessingTrace {
+    /**
+     * The document metadata key of the trace.
+     */
+    public static final String METADATA_KEY = "processingTrace";
+
+    private static final Splitter FIELD_SPLITTER = Splitter.on('\t').limit(6);
+
+    private ProcessingTrace() {
+        //
+    }
+
+    /**
+     * One stage of processing.
+     */
+    public static final class Stage {
+        private final String name;
+        private final String thread;
+        private final long startNanos;
+        private final long endNanos;
+        private final int inputAttributes;
+        private final int outputAttributes;
+
+        /**
+         * Constructs a stage.
+         *
+         * @param name the name of the stage
+         * @param thread the name of the thread that ran the stage
+         * @param startNanos the start time, from {@link System#nanoTime()}
+         * @param endNanos the end time, from {@link System#nanoTime()}
+         * @param inputAttributes the number of attributes of the input
+         * @param outputAttributes the number of attributes of the output
+         */
+        public Stage(String name, String thread, long startNanos, long endNanos, int inputAttributes, int outputAttributes) {
+            this.name = name;
+            this.thread = thread;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+            this.inputAttributes = inputAttributes;
+            this.outputAttributes = outputAttributes;
+        }
+
+        /**
+         * @return the name of the stage.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the name of the thread that ran the stage.
+         */
+        public String getThread() {
+            return thread;
+        }
+
+        /**
+         * @return the start time, from {@link System#nanoTime()}.
+         */
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        /**
+         * @return the end time, from {@link System#nanoTime()}.
+         */
+        public long getEndNanos() {
+            return endNanos;
+        }
+
+        /**
+         * @return the duration of the stage.
+         */
+        public long getDurationNanos() {
+            return endNanos - startNanos;
+        }
+
+        /**
+         * @return the number of attributes of the input; 0 when the input was plain text.
+         */
+        public int getInputAttributes() {
+            return inputAttributes;
+        }
+
+        /**
+         * @return the number of attributes of the output.
+         */
+        public int getOutputAttributes() {
+            return outputAttributes;
+        }
+
+        String encode() {
+            // the stage name cannot contain a tab; the thread name is the last field, so it can.
+            return startNanos + "\t" + endNanos + "\t" + inputAttributes + "\t" + outputAttributes
+                    + "\t" + name.replace('\t', ' ') + "\t" + thread;
+        }
+
+        static Stage decode(String value) {
+            Iterator<String> fields = FIELD_SPLITTER.split(value).iterator();
+            try {
+                long start = Long.parseLong(fields.next());
+                long end = Long.parseLong(fields.next());
+                int input = Integer.parseInt(fields.next());
+                int output = Integer.parseInt(fields.next());
+                return new Stage(fields.next(), fields.next(), start, end, input, output);
+            } catch (NumberFormatException | NoSuchElementException e) {
+                throw new IllegalArgumentException("Invalid processing trace entry: " + value, e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return name + " [" + thread + "] " + getDurationNanos() + "ns, attributes " + inputAttributes + " -> " + outputAttributes;
+        }
+    }
+
+    /**
+     * Reads the trace of a document.
+     *
+     * @param text the document
+     * @return the stages, in the order they were recorded; empty if the document has no trace.
+     * @throws IllegalArgumentException if the trace is not well-formed.
+     */
+    public static List<Stage> of(AnnotatedText text) {
+        List<String> values = text.getDocumentMetadata().get(METADATA_KEY);
+        if (values == null) {
+            return ImmutableList.of();
+        }
+        ImmutableList.Builder<Stage> stages = ImmutableList.builder();
+        for (String value : values) {
+            stages.add(Stage.decode(value));
+        }
+        return stages.build();
+    }
+
+    /**
+     * Removes the trace from a document.
+     *
+     * @param text the document
+     * @return a copy of the document without the trace, or the document itself if it has no trace.
+     */
+    public static AnnotatedText strip(AnnotatedText text) {
+        if (!text.getDocumentMetadata().containsKey(METADATA_KEY)) {
+            return text;
+        }
+        AnnotatedText.Builder builder = new AnnotatedText.Builder(text);
+        builder.documentMetadata().remove(METADATA_KEY);
+        return builder.build();
+    }
+
+    /*
+     * Adds stages to the trace of a result. The earlier stages are those of the result, if the annotators
+     * kept the metadata, which includes the stages of any nested chains; otherwise those of the input.
+     */
+    static AnnotatedText append(AnnotatedText result, AnnotatedText input, List<Stage> stages) {
+        List<String> earlier = result.getDocumentMetadata().get(METADATA_KEY);
+        if (earlier == null && input != null) {
+            earlier = input.getDocumentMetadata().get(METADATA_KEY);
+        }
+        List<String> values = Lists.newArrayList();
+        if (earlier != null) {
+            values.addAll(earlier);
+        }
+        for (Stage stage : stages) {
+            values.add(stage.encode());
+        }
+        return new AnnotatedText.Builder(result).documentMetadata(METADATA_KEY, values).build();
+    }
+}
@@ -53,6 +53,6 @@ public class WholeDocumentLanguageDispatchAnnotator implements Annotator {
         if (delegate == null) {
             throw new RosetteUnsupportedLanguageException(languageDetection.getDetectionResults().get(0).getLanguage());
         }
-        return delegate.annotate(input);
+        return AdmEvents.ENABLED ? AdmEvents.annotate(delegate, input) : delegate.annotate(input);
     }
 }
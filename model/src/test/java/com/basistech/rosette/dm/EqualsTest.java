@@ -487,6 +487,33 @@ public class EqualsTest {
 
     }
 
+    @Test
+    public void embeddingCollection() throws Exception {
+        // equal arrays in different instances, so that identity hashing would show.
+        EmbeddingCollection ec1 = new EmbeddingCollection.Builder().put(0, new float[] {1.0f, 2.0f}).build();
+        EmbeddingCollection ec2 = new EmbeddingCollection.Builder().put(0, new float[] {1.0f, 2.0f}).build();
+        assertTrue(ec1.equals(ec2));
+        assertTrue(ec1.hashCode() == ec2.hashCode());
+        EmbeddingCollection ec3 = new EmbeddingCollection.Builder().put(0, new float[] {1.0f, 3.0f}).build();
+        assertFalse(ec1.equals(ec3));
+        assertFalse(ec1.hashCode() == ec3.hashCode());
+        EmbeddingCollection empty = new EmbeddingCollection.Builder().build();
+        empty.hashCode();
+        assertFalse(empty.equals(ec1));
+        assertTrue(empty.equals(new EmbeddingCollection.Builder().build()));
+    }
+
+    @Test
+    public void listAttributeIsNotChangedByItsBuilder() throws Exception {
+        ListAttribute.Builder<Sentence> builder = new ListAttribute.Builder<>(Sentence.class);
+        builder.add(new Sentence.Builder(0, 5).build());
+        ListAttribute<Sentence> list = builder.build();
+        int hashCode = list.hashCode();
+        builder.add(new Sentence.Builder(5, 10).build());
+        assertTrue(list.size() == 1);
+        assertTrue(list.hashCode() == hashCode);
+    }
+
 
 
 }
@@ -35,6 +35,8 @@ import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  *
@@ -360,5 +362,59 @@ public class SerializableTest {
         }
     }
 
+    @Test
+    public void compactForm() throws Exception {
+        AnnotatedText.Builder builder = new AnnotatedText.Builder();
+        StringBuilder data = new StringBuilder();
+        ListAttribute.Builder<Token> tokenListBuilder = new ListAttribute.Builder<>(Token.class);
+        for (int x = 0; x < 1000; x++) {
+            String word = x % 2 == 0 ? "terrier" : "Boston";
+            Token.Builder tokenBuilder = new Token.Builder(data.length(), data.length() + word.length(), word);
+            MorphoAnalysis.Builder maBuilder = new MorphoAnalysis.Builder();
+            maBuilder.partOfSpeech(x % 2 == 0 ? "NOUN" : "PROP");
+            maBuilder.lemma(word.toLowerCase());
+            tokenBuilder.addAnalysis(maBuilder.build());
+            tokenListBuilder.add(tokenBuilder.build());
+            data.append(word).append(' ');
+        }
+        builder.data(data.toString());
+        builder.tokens(tokenListBuilder.build());
+        builder.documentMetadata("docid", "d1");
+        AnnotatedText text = builder.build();
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutput = new ObjectOutputStream(baos)) {
+            objectOutput.writeObject(text);
+        }
+        // the data is two bytes a character; the tokens should be a few bytes each.
+        assertTrue(baos.size() - 2 * data.length() < 10 * 1000);
 
+        AnnotatedText read;
+        try (ObjectInputStream objectInput = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+            read = (AnnotatedText) objectInput.readObject();
+        }
+        assertEquals(text.getData().toString(), read.getData().toString());
+        assertEquals(text.getDocumentMetadata(), read.getDocumentMetadata());
+        assertEquals(text.getTokens(), read.getTokens());
+        assertEquals(Token.class, read.getTokens().getItemClass());
+    }
+
+    @Test
+    public void compactFormOfItems() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutput = new ObjectOutputStream(baos)) {
+            objectOutput.writeObject(token);
+            objectOutput.writeObject(entity);
+            objectOutput.writeObject(referenceText.getSentences());
+            objectOutput.writeObject(token);
+        }
+        try (ObjectInputStream objectInput = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+            Token readToken = (Token) objectInput.readObject();
+            assertEquals(token, readToken);
+            assertEquals(entity, objectInput.readObject());
+            assertEquals(referenceText.getSentences(), objectInput.readObject());
+            // a repeated object is a reference to the first.
+            assertSame(readToken, objectInput.readObject());
+        }
+    }
 }
@@ -0,0 +1,116 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.util;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.Entity;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.Mention;
+import com.basistech.rosette.dm.MorphoAnalysis;
+import com.basistech.rosette.dm.Token;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Tests for {@link ContentFingerprint}.
+ */
+public class ContentFingerprintTest {
+
+    private static Token token(int start, String text, String lemma, Object weight) {
+        Token.Builder builder = new Token.Builder(start, start + text.length(), text);
+        builder.addAnalysis(new MorphoAnalysis.Builder().partOfSpeech("NOUN").lemma(lemma).build());
+        builder.extendedProperty("weight", weight);
+        builder.extendedProperty("kind", "word");
+        return builder.build();
+    }
+
+    private static AnnotatedText text(String lemma, Object weight) {
+        ListAttribute.Builder<Token> tokens = new ListAttribute.Builder<>(Token.class);
+        tokens.add(token(0, "Hello", lemma, weight));
+        tokens.add(token(6, "World", "world", weight));
+        ListAttribute.Builder<Entity> entities = new ListAttribute.Builder<>(Entity.class);
+        entities.add(new Entity.Builder().mention(new Mention.Builder(6, 11).build()).type("LOCATION").confidence(0.5).build());
+        return new AnnotatedText.Builder().data("Hello World")
+                .documentMetadata("id", "doc")
+                .tokens(tokens.build())
+                .entities(entities.build())
+                .build();
+    }
+
+    @Test
+    public void equalDocumentsHaveEqualFingerprints() throws Exception {
+        AnnotatedText text = text("hello", 1);
+        ContentFingerprint fingerprint = ContentFingerprint.of(text);
+        assertEquals(fingerprint, ContentFingerprint.of(text("hello", 1)));
+        assertEquals(fingerprint.hashCode(), ContentFingerprint.of(text("hello", 1)).hashCode());
+        // a long that a reader decoded as an integer.
+        assertEquals(fingerprint, ContentFingerprint.of(text("hello", 1L)));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(text);
+        }
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(fingerprint, ContentFingerprint.of((AnnotatedText) input.readObject()));
+        }
+    }
+
+    @Test
+    public void mapOrderDoesNotMatter() {
+        AnnotatedText first = new AnnotatedText.Builder().data("x").documentMetadata("a", "1").documentMetadata("b", "2").build();
+        AnnotatedText second = new AnnotatedText.Builder().data("x").documentMetadata("b", "2").documentMetadata("a", "1").build();
+        assertEquals(ContentFingerprint.of(first), ContentFingerprint.of(second));
+        AnnotatedText swapped = new AnnotatedText.Builder().data("x").documentMetadata("a", "2").documentMetadata("b", "1").build();
+        assertNotEquals(ContentFingerprint.of(first), ContentFingerprint.of(swapped));
+    }
+
+    @Test
+    public void changesChangeTheFingerprint() {
+        ContentFingerprint fingerprint = ContentFingerprint.of(text("hello", 1));
+        assertNotEquals(fingerprint, ContentFingerprint.of(text("hullo", 1)));
+        assertNotEquals(fingerprint, ContentFingerprint.of(text("hello", 2)));
+        assertNotEquals(fingerprint, ContentFingerprint.of(text("hello", "1")));
+        assertNotEquals(fingerprint, ContentFingerprint.of(new AnnotatedText.Builder().data("Hello World").build()));
+    }
+
+    @Test
+    public void attributes() {
+        AnnotatedText text = text("hello", 1);
+        assertEquals(ContentFingerprint.of(text.getTokens()), ContentFingerprint.of(text("hello", 1).getTokens()));
+        assertEquals(ContentFingerprint.of(text.getTokens().get(1)), ContentFingerprint.of(text("hullo", 1).getTokens().get(1)));
+        assertNotEquals(ContentFingerprint.of(text.getTokens().get(0)), ContentFingerprint.of(text.getTokens().get(1)));
+        assertNotEquals(ContentFingerprint.of(text.getTokens()), ContentFingerprint.of(text.getEntities()));
+    }
+
+    @Test
+    public void representations() {
+        ContentFingerprint fingerprint = ContentFingerprint.of(text("hello", 1));
+        String hex = fingerprint.toString();
+        assertEquals(32, hex.length());
+        assertEquals(Long.toHexString(fingerprint.getHigh()), hex.substring(0, 16).replaceFirst("^0+(?=.)", ""));
+        byte[] bytes = fingerprint.toByteArray();
+        assertEquals(16, bytes.length);
+        assertEquals((byte) fingerprint.getLow(), bytes[15]);
+    }
+}
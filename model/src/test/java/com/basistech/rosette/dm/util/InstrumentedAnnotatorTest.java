@@ -0,0 +1,141 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.util;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.Annotator;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.Token;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link InstrumentedAnnotator} and instrumented {@link ComposingAnnotator}s.
+ */
+public class InstrumentedAnnotatorTest {
+
+    /* Records calls as "stage:outcome:characters:tokens". */
+    private static final class RecordingMetrics implements AnnotatorMetrics {
+        final List<String> calls = Lists.newArrayList();
+        final Map<String, Integer> stages = Maps.newLinkedHashMap();
+
+        @Override
+        public Stage stage(final String stage) {
+            stages.put(stage, stages.containsKey(stage) ? stages.get(stage) + 1 : 1);
+            return new Stage() {
+                @Override
+                public void annotated(long nanos, int characters, int tokens) {
+                    assertTrue(nanos >= 0);
+                    calls.add(stage + ":ok:" + characters + ":" + tokens);
+                }
+
+                @Override
+                public void failed(long nanos, int characters, int tokens) {
+                    calls.add(stage + ":failed:" + characters + ":" + tokens);
+                }
+            };
+        }
+    }
+
+    /* Adds a token per word. */
+    private static final class Tokenizer implements Annotator {
+        @Override
+        public AnnotatedText annotate(CharSequence input) {
+            return annotate(new AnnotatedText.Builder().data(input).build());
+        }
+
+        @Override
+        public AnnotatedText annotate(AnnotatedText input) {
+            ListAttribute.Builder<Token> tokens = new ListAttribute.Builder<>(Token.class);
+            String data = input.getData().toString();
+            int start = 0;
+            for (String word : data.split(" ")) {
+                tokens.add(new Token.Builder(start, start + word.length(), word).build());
+                start += word.length() + 1;
+            }
+            return new AnnotatedText.Builder(input).tokens(tokens.build()).build();
+        }
+    }
+
+    private static final class Passthrough implements Annotator {
+        @Override
+        public AnnotatedText annotate(CharSequence input) {
+            return new AnnotatedText.Builder().data(input).build();
+        }
+
+        @Override
+        public AnnotatedText annotate(AnnotatedText input) {
+            return input;
+        }
+    }
+
+    private static final class Failing implements Annotator {
+        @Override
+        public AnnotatedText annotate(CharSequence input) {
+            throw new IllegalStateException("no");
+        }
+
+        @Override
+        public AnnotatedText annotate(AnnotatedText input) {
+            throw new IllegalStateException("no");
+        }
+    }
+
+    @Test
+    public void records() {
+        RecordingMetrics metrics = new RecordingMetrics();
+        Annotator tokenizer = new Tokenizer();
+        InstrumentedAnnotator annotator = new InstrumentedAnnotator("tok", tokenizer, metrics);
+        assertSame(tokenizer, annotator.getDelegate());
+        AnnotatedText text = annotator.annotate("one two");
+        assertEquals(2, text.getTokens().size());
+        annotator.annotate(text);
+        assertEquals(ImmutableList.of("tok:ok:7:-1", "tok:ok:7:2"), metrics.calls);
+    }
+
+    @Test
+    public void failures() {
+        RecordingMetrics metrics = new RecordingMetrics();
+        Annotator annotator = new InstrumentedAnnotator("bad", new Failing(), metrics);
+        try {
+            annotator.annotate("abc");
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertEquals(ImmutableList.of("bad:failed:3:-1"), metrics.calls);
+    }
+
+    @Test
+    public void composed() {
+        RecordingMetrics metrics = new RecordingMetrics();
+        Annotator chain = new ComposingAnnotator(ImmutableList.<Annotator>of(new Tokenizer(), new Passthrough(), new Passthrough()), metrics);
+        chain.annotate("a b c");
+        assertEquals(ImmutableList.of("Tokenizer", "Passthrough", "Passthrough#2"), Lists.newArrayList(metrics.stages.keySet()));
+        assertEquals(ImmutableList.of("Tokenizer:ok:5:-1", "Passthrough:ok:5:3", "Passthrough#2:ok:5:3"), metrics.calls);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.util;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.MorphoAnalysis;
+import com.basistech.rosette.dm.Sentence;
+import com.basistech.rosette.dm.Token;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link MemoryFootprint}.
+ */
+public class MemoryFootprintTest {
+
+    private static Token token(int start, String text, String lemma) {
+        Token.Builder builder = new Token.Builder(start, start + text.length(), text);
+        builder.addAnalysis(new MorphoAnalysis.Builder().partOfSpeech("NOUN").lemma(lemma).build());
+        builder.extendedProperty("weight", 0.5);
+        return builder.build();
+    }
+
+    private static AnnotatedText text(Token first, Token second) {
+        ListAttribute.Builder<Token> tokens = new ListAttribute.Builder<>(Token.class);
+        tokens.add(first);
+        tokens.add(second);
+        ListAttribute.Builder<Sentence> sentences = new ListAttribute.Builder<>(Sentence.class);
+        sentences.add(new Sentence.Builder(0, 11).build());
+        return new AnnotatedText.Builder().data("Hello Hello")
+                .documentMetadata("id", "doc")
+                .tokens(tokens.build())
+                .sentences(sentences.build())
+                .build();
+    }
+
+    @Test
+    public void keysAddUp() {
+        MemoryFootprint footprint = MemoryFootprint.of(text(token(0, "Hello", "hello"), token(6, "Hello", "hello")));
+        Map<String, Long> bytesByKey = footprint.getBytesByKey();
+        assertTrue(bytesByKey.containsKey(MemoryFootprint.DATA));
+        assertTrue(bytesByKey.containsKey(MemoryFootprint.DOCUMENT_METADATA));
+        assertTrue(bytesByKey.containsKey("token"));
+        assertTrue(bytesByKey.containsKey("sentence"));
+        assertTrue(bytesByKey.containsKey(MemoryFootprint.DOCUMENT));
+        long sum = 0;
+        for (long bytes : bytesByKey.values()) {
+            assertTrue(bytes >= 0);
+            sum += bytes;
+        }
+        assertEquals(footprint.getTotalBytes(), sum);
+        // "Hello Hello" is 11 chars: at least 22 bytes of characters.
+        assertTrue(bytesByKey.get(MemoryFootprint.DATA) > 22);
+        assertTrue(footprint.getAnalysisBytes() > 0);
+        assertTrue(footprint.getAnalysisBytes() < bytesByKey.get("token"));
+        assertTrue(footprint.getExtendedPropertyBytes() > 0);
+        assertTrue(footprint.getObjectCount() > 0);
+    }
+
+    @Test
+    public void sharedObjectsCountOnce() {
+        Token token = token(0, "Hello", "hello");
+        MemoryFootprint shared = MemoryFootprint.of(text(token, token));
+        MemoryFootprint distinct = MemoryFootprint.of(text(token(0, "Hello", "hello"), token(6, "Hello", "hello")));
+        assertTrue(shared.getTotalBytes() < distinct.getTotalBytes());
+        assertTrue(shared.getAnalysisBytes() < distinct.getAnalysisBytes());
+    }
+
+    @Test
+    public void emptyDocument() {
+        MemoryFootprint footprint = MemoryFootprint.of(new AnnotatedText.Builder().build());
+        assertTrue(footprint.getTotalBytes() > 0);
+        assertEquals(0, footprint.getAnalysisBytes());
+        assertEquals(0, footprint.getExtendedPropertyBytes());
+    }
+}
@@ -0,0 +1,129 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.util;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.Annotator;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.Token;
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link ProcessingTrace} and tracing {@link ComposingAnnotator}s.
+ */
+public class ProcessingTraceTest {
+
+    /* Adds one token for the whole text. */
+    private static final class Tokenizer implements Annotator {
+        @Override
+        public AnnotatedText annotate(CharSequence input) {
+            return annotate(new AnnotatedText.Builder().data(input).build());
+        }
+
+        @Override
+        public AnnotatedText annotate(AnnotatedText input) {
+            String data = input.getData().toString();
+            ListAttribute.Builder<Token> tokens = new ListAttribute.Builder<>(Token.class);
+            tokens.add(new Token.Builder(0, data.length(), data).build());
+            return new AnnotatedText.Builder(input).tokens(tokens.build()).build();
+        }
+    }
+
+    /* Builds a new document, dropping the metadata of its input. */
+    private static final class Copier implements Annotator {
+        @Override
+        public AnnotatedText annotate(CharSequence input) {
+            return new AnnotatedText.Builder().data(input).build();
+        }
+
+        @Override
+        public AnnotatedText annotate(AnnotatedText input) {
+            AnnotatedText.Builder builder = new AnnotatedText.Builder().data(input.getData());
+            builder.attributes().putAll(input.getStoredAttributes());
+            return builder.build();
+        }
+    }
+
+    @Test
+    public void traces() {
+        Annotator chain = new ComposingAnnotator(ImmutableList.<Annotator>of(new Copier(), new Tokenizer(), new Copier()), true);
+        AnnotatedText text = chain.annotate("abc");
+        List<ProcessingTrace.Stage> stages = ProcessingTrace.of(text);
+        assertEquals(3, stages.size());
+        assertEquals("Copier", stages.get(0).getName());
+        assertEquals("Tokenizer", stages.get(1).getName());
+        assertEquals("Copier#2", stages.get(2).getName());
+        assertEquals(0, stages.get(0).getInputAttributes());
+        assertEquals(0, stages.get(1).getInputAttributes());
+        assertEquals(1, stages.get(1).getOutputAttributes());
+        assertEquals(1, stages.get(2).getOutputAttributes());
+        for (ProcessingTrace.Stage stage : stages) {
+            assertEquals(Thread.currentThread().getName(), stage.getThread());
+            assertTrue(stage.getDurationNanos() >= 0);
+        }
+        assertTrue(stages.get(0).getEndNanos() <= stages.get(1).getStartNanos());
+    }
+
+    @Test
+    public void untraced() {
+        Annotator chain = new ComposingAnnotator(ImmutableList.<Annotator>of(new Tokenizer()));
+        AnnotatedText text = chain.annotate("abc");
+        assertFalse(text.getDocumentMetadata().containsKey(ProcessingTrace.METADATA_KEY));
+        assertTrue(ProcessingTrace.of(text).isEmpty());
+        assertSame(text, ProcessingTrace.strip(text));
+    }
+
+    @Test
+    public void laterChainsAppend() {
+        Annotator first = new ComposingAnnotator(ImmutableList.<Annotator>of(new Tokenizer()), true);
+        Annotator second = new ComposingAnnotator(ImmutableList.<Annotator>of(new Copier()), true);
+        AnnotatedText text = second.annotate(first.annotate("abc"));
+        List<ProcessingTrace.Stage> stages = ProcessingTrace.of(text);
+        assertEquals(2, stages.size());
+        assertEquals("Tokenizer", stages.get(0).getName());
+        assertEquals("Copier", stages.get(1).getName());
+        assertEquals(1, stages.get(1).getInputAttributes());
+    }
+
+    @Test
+    public void strip() {
+        Annotator chain = new ComposingAnnotator(ImmutableList.<Annotator>of(new Tokenizer()), true);
+        AnnotatedText text = new AnnotatedText.Builder(chain.annotate("abc")).documentMetadata("source", "test").build();
+        AnnotatedText stripped = ProcessingTrace.strip(text);
+        assertFalse(stripped.getDocumentMetadata().containsKey(ProcessingTrace.METADATA_KEY));
+        assertEquals(ImmutableList.of("test"), stripped.getDocumentMetadata().get("source"));
+        assertEquals(1, stripped.getTokens().size());
+    }
+
+    @Test
+    public void threadNamesMayContainTabs() {
+        ProcessingTrace.Stage stage = new ProcessingTrace.Stage("a\tb", "pool\t1", 10, 25, 1, 2);
+        ProcessingTrace.Stage decoded = ProcessingTrace.Stage.decode(stage.encode());
+        assertEquals("a b", decoded.getName());
+        assertEquals("pool\t1", decoded.getThread());
+        assertEquals(15, decoded.getDurationNanos());
+        assertEquals(2, decoded.getOutputAttributes());
+    }
+}
@@ -0,0 +1,514 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.test.corpus;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.ArabicMorphoAnalysis;
+import com.basistech.rosette.dm.CategorizerResult;
+import com.basistech.rosette.dm.Dependency;
+import com.basistech.rosette.dm.EmbeddingCollection;
+import com.basistech.rosette.dm.Embeddings;
+import com.basistech.rosette.dm.Entity;
+import com.basistech.rosette.dm.Extent;
+import com.basistech.rosette.dm.HanMorphoAnalysis;
+import com.basistech.rosette.dm.KoreanMorphoAnalysis;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.Mention;
+import com.basistech.rosette.dm.MorphoAnalysis;
+import com.basistech.rosette.dm.RelationshipComponent;
+import com.basistech.rosette.dm.RelationshipMention;
+import com.basistech.rosette.dm.Sentence;
+import com.basistech.rosette.dm.Token;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Generates synthetic documents for tests and benchmarks. The documents are random, but
+ * consistent: tokens, sentences, mentions and relationships point at the text they cover.
+ * <p>
+ * Each document is a function of the seed and its index alone, so the same generator
+ * produces the same corpus on every run, documents may be generated in any order or in parallel,
+ * and {@link #documents(long, long)} can stream corpora of any size without keeping anything in memory.
+ * The id of each document is stored in the {@value #ID_METADATA} document metadata.
+ */
+public final class CorpusGenerator {
+    /** The document metadata key of the document id. */
+    public static final String ID_METADATA = "id";
+
+    private static final String[] PLAIN_WORDS = {"the", "annotated", "data", "model", "carries", "text", "and",
+        "its", "annotations", "between", "components", "of", "a", "pipeline", "Boston", "company", "announced",
+        "research", "results", "yesterday", "in", "new", "language", "processing", "for", "many", "users"};
+    private static final String[] HAN_WORDS = {"数据", "模型", "文本", "注释", "组件", "管道", "北京", "公司",
+        "研究", "发现", "我们", "他们", "使用", "语言", "处理", "的", "在", "和"};
+    private static final String[] ARABIC_WORDS = {"والكتاب", "المدرسة", "بيت", "كتب", "مدينة", "الشركة",
+        "رئيس", "قال", "يوم", "العالم", "في", "من", "على", "البيانات"};
+    private static final String[] KOREAN_WORDS = {"데이터", "모델을", "텍스트", "구성", "요소", "서울에서",
+        "회사가", "연구", "발견했다", "우리는", "언어", "처리", "새로운", "결과를"};
+    private static final String[] TAGS = {"DET", "ADJ", "NOUN", "VERB", "PROPN", "ADP"};
+    private static final String[] ENTITY_TYPES = {"PERSON", "LOCATION", "ORGANIZATION", "PRODUCT", "TEMPORAL:DATE"};
+    private static final String[] DEPENDENCY_LABELS = {"nsubj", "obj", "amod", "det", "nmod", "advmod"};
+    private static final String[] CATEGORIES = {"ARTS_AND_ENTERTAINMENT", "BUSINESS", "CAREERS", "EDUCATION",
+        "FOOD_AND_DRINK", "HEALTH", "LAW_GOVERNMENT_AND_POLITICS", "SCIENCE", "SPORTS", "TECHNOLOGY_AND_COMPUTING"};
+    private static final String SOURCE = "generator";
+
+    private final long seed;
+    private final LanguageFamily[] families;
+    private final SizeDistribution tokens;
+    private final SizeDistribution sentenceLengths;
+    private final SizeDistribution analyses;
+    private final double entitiesPerToken;
+    private final SizeDistribution mentions;
+    private final double relationshipsPerSentence;
+    private final boolean dependencies;
+    private final int embeddingDimensions;
+    private final int categories;
+
+    private CorpusGenerator(Builder builder) {
+        this.seed = builder.seed;
+        this.families = builder.families;
+        this.tokens = builder.tokens;
+        this.sentenceLengths = builder.sentenceLengths;
+        this.analyses = builder.analyses;
+        this.entitiesPerToken = builder.entitiesPerToken;
+        this.mentions = builder.mentions;
+        this.relationshipsPerSentence = builder.relationshipsPerSentence;
+        this.dependencies = builder.dependencies;
+        this.embeddingDimensions = builder.embeddingDimensions;
+        this.categories = builder.categories;
+    }
+
+    /**
+     * Generates one document.
+     *
+     * @param index the index of the document in the corpus
+     * @return the document
+     */
+    public AnnotatedText document(long index) {
+        return new Document(index).generate();
+    }
+
+    /**
+     * Streams part of the corpus. The documents are generated as the iterator advances.
+     *
+     * @param first the index of the first document
+     * @param count the number of documents
+     * @return the documents
+     */
+    public Iterable<AnnotatedText> documents(final long first, final long count) {
+        return new Iterable<AnnotatedText>() {
+            @Override
+            public Iterator<AnnotatedText> iterator() {
+                return new Iterator<AnnotatedText>() {
+                    private long next = first;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < first + count;
+                    }
+
+                    @Override
+                    public AnnotatedText next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        return document(next++);
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Streams the start of the corpus.
+     *
+     * @param count the number of documents
+     * @return the documents
+     */
+    public Iterable<AnnotatedText> documents(long count) {
+        return documents(0, count);
+    }
+
+    /* SplitMix64, so that neighboring indexes give unrelated random streams. */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * The state of the generation of one document.
+     */
+    private final class Document {
+        private final long index;
+        private final Random random;
+        private final LanguageFamily family;
+        private final StringBuilder data;
+        private final List<Token> tokenList;
+        /* the first and last-plus-one token of each sentence; the last token is the punctuation. */
+        private final List<int[]> sentenceRanges;
+
+        Document(long index) {
+            this.index = index;
+            this.random = new Random(mix(seed ^ mix(index)));
+            this.family = families[random.nextInt(families.length)];
+            this.data = new StringBuilder();
+            this.tokenList = Lists.newArrayList();
+            this.sentenceRanges = Lists.newArrayList();
+        }
+
+        AnnotatedText generate() {
+            AnnotatedText.Builder builder = new AnnotatedText.Builder();
+            int tokenCount = Math.max(1, tokens.sample(random));
+            ListAttribute.Builder<Sentence> sentences = new ListAttribute.Builder<>(Sentence.class);
+            while (tokenList.size() < tokenCount) {
+                int first = tokenList.size();
+                int end = Math.min(tokenCount, first + Math.max(2, sentenceLengths.sample(random)));
+                while (tokenList.size() < end - 1) {
+                    addWord();
+                }
+                addToken(family == LanguageFamily.HAN ? "。" : ".");
+                sentenceRanges.add(new int[] {first, end});
+                sentences.add(new Sentence.Builder(tokenList.get(first).getStartOffset(), tokenList.get(end - 1).getEndOffset()).build());
+            }
+            ListAttribute.Builder<Token> tokenAttribute = new ListAttribute.Builder<>(Token.class);
+            for (Token token : tokenList) {
+                tokenAttribute.add(token);
+            }
+            builder.data(data.toString());
+            builder.documentMetadata(ID_METADATA, "doc-" + index);
+            builder.tokens(tokenAttribute.build());
+            builder.sentences(sentences.build());
+            builder.entities(entities());
+            builder.relationshipMentions(relationships());
+            if (dependencies) {
+                builder.dependencies(dependencies());
+            }
+            if (embeddingDimensions > 0) {
+                builder.embeddings(embeddings());
+            }
+            if (categories > 0) {
+                builder.categorizerResults(categories());
+            }
+            return builder.build();
+        }
+
+        private String[] words() {
+            switch (family) {
+            case HAN:
+                return HAN_WORDS;
+            case ARABIC:
+                return ARABIC_WORDS;
+            case KOREAN:
+                return KOREAN_WORDS;
+            default:
+                return PLAIN_WORDS;
+            }
+        }
+
+        private Token.Builder addToken(String text) {
+            if (!tokenList.isEmpty() && family != LanguageFamily.HAN) {
+                data.append(' ');
+            }
+            int start = data.length();
+            data.append(text);
+            Token.Builder token = new Token.Builder(start, data.length(), text);
+            tokenList.add(token.build());
+            return token;
+        }
+
+        private void addWord() {
+            String[] words = words();
+            String word = words[random.nextInt(words.length)];
+            Token.Builder token = addToken(word);
+            int count = analyses.sample(random);
+            for (int x = 0; x < count; x++) {
+                token.addAnalysis(analysis(word));
+            }
+            tokenList.set(tokenList.size() - 1, token.build());
+        }
+
+        private MorphoAnalysis analysis(String word) {
+            String tag = TAGS[random.nextInt(TAGS.length)];
+            int split = word.length() > 1 ? 1 : 0;
+            switch (family) {
+            case HAN:
+                return new HanMorphoAnalysis.Builder().lemma(word).partOfSpeech(tag)
+                        .addReading(word + random.nextInt(5)).build();
+            case ARABIC:
+                return new ArabicMorphoAnalysis.Builder().lemma(word.substring(split)).partOfSpeech(tag)
+                        .lengths(split, word.length() - split).root(word.substring(split, Math.min(word.length(), split + 3)))
+                        .definiteArticle(random.nextBoolean()).addPrefix(word.substring(0, split), "CONJ")
+                        .addStem(word.substring(split), tag).build();
+            case KOREAN:
+                return new KoreanMorphoAnalysis.Builder().lemma(word).partOfSpeech(tag)
+                        .addMorpheme(word.substring(0, word.length() - split), "NNG")
+                        .addMorpheme(word.substring(word.length() - split), "JKO").build();
+            default:
+                return new MorphoAnalysis.Builder().lemma(word.toLowerCase()).partOfSpeech(tag).build();
+            }
+        }
+
+        /* A random sentence with at least the given number of words, or null. */
+        private int[] sentenceWithWords(int words) {
+            for (int attempt = 0; attempt < 4; attempt++) {
+                int[] range = sentenceRanges.get(random.nextInt(sentenceRanges.size()));
+                if (range[1] - range[0] - 1 >= words) {
+                    return range;
+                }
+            }
+            return null;
+        }
+
+        private int randomWord(int[] range) {
+            return range[0] + random.nextInt(range[1] - range[0] - 1);
+        }
+
+        private ListAttribute<Entity> entities() {
+            ListAttribute.Builder<Entity> entities = new ListAttribute.Builder<>(Entity.class);
+            long count = Math.round(tokenList.size() * entitiesPerToken);
+            for (long x = 0; x < count; x++) {
+                Entity.Builder entity = new Entity.Builder().type(ENTITY_TYPES[random.nextInt(ENTITY_TYPES.length)])
+                        .entityId("Q" + random.nextInt(1000)).confidence(random.nextDouble()).salience(random.nextDouble());
+                int mentionCount = Math.max(1, mentions.sample(random));
+                int added = 0;
+                for (int y = 0; y < mentionCount; y++) {
+                    int[] range = sentenceWithWords(1);
+                    if (range == null) {
+                        continue;
+                    }
+                    int start = randomWord(range);
+                    int end = Math.min(range[1] - 2, start + random.nextInt(2));
+                    entity.mention(new Mention.Builder(tokenList.get(start).getStartOffset(), tokenList.get(end).getEndOffset())
+                            .source(SOURCE).confidence(random.nextDouble()).build());
+                    added++;
+                }
+                if (added > 0) {
+                    entities.add(entity.headMentionIndex(0).build());
+                }
+            }
+            return entities.build();
+        }
+
+        private RelationshipComponent component(int token, String identifier) {
+            Token value = tokenList.get(token);
+            return new RelationshipComponent.Builder().phrase(value.getText()).identifier(identifier)
+                    .extents(ImmutableList.of(new Extent.Builder(value.getStartOffset(), value.getEndOffset()).build())).build();
+        }
+
+        private ListAttribute<RelationshipMention> relationships() {
+            ListAttribute.Builder<RelationshipMention> relationships = new ListAttribute.Builder<>(RelationshipMention.class);
+            for (int[] range : sentenceRanges) {
+                if (range[1] - range[0] - 1 < 3 || random.nextDouble() >= relationshipsPerSentence) {
+                    continue;
+                }
+                int[] picked = {randomWord(range), randomWord(range), randomWord(range)};
+                Arrays.sort(picked);
+                if (picked[0] == picked[1] || picked[1] == picked[2]) {
+                    continue;
+                }
+                RelationshipMention.Builder relationship = new RelationshipMention.Builder(
+                        tokenList.get(range[0]).getStartOffset(), tokenList.get(range[1] - 1).getEndOffset());
+                relationship.arg1(component(picked[0], "Q" + random.nextInt(1000)));
+                relationship.predicate(component(picked[1], null));
+                relationship.arg2(component(picked[2], null));
+                relationship.source(SOURCE).confidence(random.nextDouble()).salience(random.nextDouble());
+                relationships.add(relationship.build());
+            }
+            return relationships.build();
+        }
+
+        private ListAttribute<Dependency> dependencies() {
+            ListAttribute.Builder<Dependency> dependencyList = new ListAttribute.Builder<>(Dependency.class);
+            for (int[] range : sentenceRanges) {
+                dependencyList.add(new Dependency.Builder("root", -1, range[0]).build());
+                for (int x = range[0] + 1; x < range[1]; x++) {
+                    String label = x == range[1] - 1 ? "punct" : DEPENDENCY_LABELS[random.nextInt(DEPENDENCY_LABELS.length)];
+                    dependencyList.add(new Dependency.Builder(label, x - 1, x).build());
+                }
+            }
+            return dependencyList.build();
+        }
+
+        private float[] vector() {
+            float[] values = new float[embeddingDimensions];
+            for (int x = 0; x < values.length; x++) {
+                values[x] = random.nextFloat() * 2 - 1;
+            }
+            return values;
+        }
+
+        private Embeddings embeddings() {
+            EmbeddingCollection.Builder tokenVectors = new EmbeddingCollection.Builder();
+            for (int x = 0; x < tokenList.size(); x++) {
+                tokenVectors.put(x, vector());
+            }
+            return new Embeddings.Builder()
+                    .put(Embeddings.Name.TEXT, new EmbeddingCollection.Builder().put(0, vector()).build())
+                    .put(Embeddings.Name.TOKENS, tokenVectors.build()).build();
+        }
+
+        private ListAttribute<CategorizerResult> categories() {
+            ListAttribute.Builder<CategorizerResult> results = new ListAttribute.Builder<>(CategorizerResult.class);
+            int first = random.nextInt(CATEGORIES.length);
+            for (int x = 0; x < Math.min(categories, CATEGORIES.length); x++) {
+                results.add(new CategorizerResult.Builder(CATEGORIES[(first + x) % CATEGORIES.length], random.nextDouble())
+                        .confidence(random.nextDouble()).build());
+            }
+            return results.build();
+        }
+    }
+
+    /**
+     * Builds a generator. The defaults give plain text documents of a few hundred tokens,
+     * with a long tail, each with one analysis per word, entities, relationships,
+     * dependencies and categories, and no embeddings.
+     */
+    public static class Builder {
+        private long seed;
+        private LanguageFamily[] families = {LanguageFamily.PLAIN};
+        private SizeDistribution tokens = SizeDistribution.logNormal(300, 1.0, 100000);
+        private SizeDistribution sentenceLengths = SizeDistribution.uniform(5, 40);
+        private SizeDistribution analyses = SizeDistribution.fixed(1);
+        private double entitiesPerToken = 0.05;
+        private SizeDistribution mentions = SizeDistribution.uniform(1, 3);
+        private double relationshipsPerSentence = 0.3;
+        private boolean dependencies = true;
+        private int embeddingDimensions;
+        private int categories = 3;
+
+        /**
+         * @param seed the seed; the same seed and settings give the same corpus
+         * @return this
+         */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * @param families the language families; each document is in one of them, chosen at random
+         * @return this
+         */
+        public Builder families(LanguageFamily... families) {
+            if (families.length == 0) {
+                throw new IllegalArgumentException("at least one family is required");
+            }
+            this.families = families.clone();
+            return this;
+        }
+
+        /**
+         * @param tokens the distribution of the number of tokens per document, including punctuation
+         * @return this
+         */
+        public Builder tokens(SizeDistribution tokens) {
+            this.tokens = tokens;
+            return this;
+        }
+
+        /**
+         * @param sentenceLengths the distribution of the number of tokens per sentence
+         * @return this
+         */
+        public Builder sentenceLengths(SizeDistribution sentenceLengths) {
+            this.sentenceLengths = sentenceLengths;
+            return this;
+        }
+
+        /**
+         * @param analyses the distribution of the number of morphological analyses per word
+         * @return this
+         */
+        public Builder analyses(SizeDistribution analyses) {
+            this.analyses = analyses;
+            return this;
+        }
+
+        /**
+         * @param entitiesPerToken the number of entities for each token of the document
+         * @return this
+         */
+        public Builder entitiesPerToken(double entitiesPerToken) {
+            this.entitiesPerToken = entitiesPerToken;
+            return this;
+        }
+
+        /**
+         * @param mentions the distribution of the number of mentions per entity
+         * @return this
+         */
+        public Builder mentions(SizeDistribution mentions) {
+            this.mentions = mentions;
+            return this;
+        }
+
+        /**
+         * @param relationshipsPerSentence the probability that a sentence has a relationship
+         * @return this
+         */
+        public Builder relationshipsPerSentence(double relationshipsPerSentence) {
+            this.relationshipsPerSentence = relationshipsPerSentence;
+            return this;
+        }
+
+        /**
+         * @param dependencies whether to add a dependency tree for each sentence
+         * @return this
+         */
+        public Builder dependencies(boolean dependencies) {
+            this.dependencies = dependencies;
+            return this;
+        }
+
+        /**
+         * @param embeddingDimensions the size of the text and token embedding vectors, or 0 for no embeddings
+         * @return this
+         */
+        public Builder embeddingDimensions(int embeddingDimensions) {
+            this.embeddingDimensions = embeddingDimensions;
+            return this;
+        }
+
+        /**
+         * @param categories the number of categorizer results per document
+         * @return this
+         */
+        public Builder categories(int categories) {
+            this.categories = categories;
+            return this;
+        }
+
+        /**
+         * @return the generator
+         */
+        public CorpusGenerator build() {
+            return new CorpusGenerator(this);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.test.corpus;
+
+/**
+ * The language families of generated documents, which decide the script of the text
+ * and the class of the morphological analyses.
+ */
+public enum LanguageFamily {
+    /** Latin text with {@link com.basistech.rosette.dm.MorphoAnalysis}. */
+    PLAIN,
+    /** Chinese text, without spaces, with {@link com.basistech.rosette.dm.HanMorphoAnalysis}. */
+    HAN,
+    /** Arabic text with {@link com.basistech.rosette.dm.ArabicMorphoAnalysis}. */
+    ARABIC,
+    /** Korean text with {@link com.basistech.rosette.dm.KoreanMorphoAnalysis}. */
+    KOREAN
+}
@@ -0,0 +1,142 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.test.corpus;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.ArabicMorphoAnalysis;
+import com.basistech.rosette.dm.BaseNounPhrase;
+import com.basistech.rosette.dm.CategorizerResult;
+import com.basistech.rosette.dm.Concept;
+import com.basistech.rosette.dm.Dependency;
+import com.basistech.rosette.dm.EmbeddingCollection;
+import com.basistech.rosette.dm.Embeddings;
+import com.basistech.rosette.dm.Entity;
+import com.basistech.rosette.dm.Extent;
+import com.basistech.rosette.dm.HanMorphoAnalysis;
+import com.basistech.rosette.dm.Keyphrase;
+import com.basistech.rosette.dm.KoreanMorphoAnalysis;
+import com.basistech.rosette.dm.LanguageDetection;
+import com.basistech.rosette.dm.ListAttribute;
+import com.basistech.rosette.dm.Mention;
+import com.basistech.rosette.dm.MorphoAnalysis;
+import com.basistech.rosette.dm.ScriptRegion;
+import com.basistech.rosette.dm.Sentence;
+import com.basistech.rosette.dm.Token;
+import com.basistech.rosette.dm.TranslatedData;
+import com.basistech.util.ISO15924;
+import com.basistech.util.LanguageCode;
+import com.basistech.util.TextDomain;
+import com.basistech.util.TransliterationScheme;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
+import java.util.List;
+
+/**
+ * A small, hand-written document that exercises every kind of attribute, for codec round-trip tests.
+ * Unlike the documents of {@link CorpusGenerator}, it covers the rarely used attributes and
+ * morphological analysis subclasses, extended properties on items and lists, and {@code NaN} embeddings.
+ */
+public final class SampleDocuments {
+    /** The text of {@link #everyAttribute()}. */
+    public static final String DATA = "George Washington slept in Mount Vernon.";
+
+    private SampleDocuments() {
+        //
+    }
+
+    /**
+     * @return a new document with at least one of each attribute.
+     */
+    public static AnnotatedText everyAttribute() {
+        AnnotatedText.Builder builder = new AnnotatedText.Builder().data(DATA);
+        builder.documentMetadata("source", "sample");
+
+        ListAttribute.Builder<Token> tokens = new ListAttribute.Builder<>(Token.class);
+        Token.Builder george = new Token.Builder(0, 6, "George").source("test");
+        george.addNormalized("george");
+        george.addAnalysis(new MorphoAnalysis.Builder().lemma("george").partOfSpeech("PROP").build());
+        george.addAnalysis(new HanMorphoAnalysis.Builder().lemma("george").addReading("jo-ji").build());
+        george.extendedProperty("count", 3);
+        tokens.add(george.build());
+        Token.Builder washington = new Token.Builder(7, 17, "WASHINGTON");
+        washington.addAnalysis(new ArabicMorphoAnalysis.Builder().lengths(1, 8).root("wsh").definiteArticle(true)
+                .addPrefix("w", "CONJ").addStem("ashington", "NOUN").build());
+        washington.addAnalysis(new KoreanMorphoAnalysis.Builder().addMorpheme("wash", "NNG").addMorpheme("ington", "XSN")
+                .addComponent(new Token.Builder(7, 11, "Wash").build()).build());
+        tokens.add(washington.build());
+        tokens.add(new Token.Builder(18, 23, "slept").build());
+        builder.tokens(tokens.extendedProperty("tokenizer", "test").build());
+
+        ListAttribute.Builder<Sentence> sentences = new ListAttribute.Builder<>(Sentence.class);
+        sentences.add(new Sentence.Builder(0, DATA.length()).build());
+        builder.sentences(sentences.build());
+        ListAttribute.Builder<ScriptRegion> scripts = new ListAttribute.Builder<>(ScriptRegion.class);
+        scripts.add(new ScriptRegion.Builder(0, DATA.length(), ISO15924.Latn).build());
+        builder.scriptRegions(scripts.build());
+        ListAttribute.Builder<BaseNounPhrase> phrases = new ListAttribute.Builder<>(BaseNounPhrase.class);
+        phrases.add(new BaseNounPhrase.Builder(0, 17).build());
+        phrases.add(new BaseNounPhrase.Builder(27, 39).build());
+        builder.baseNounPhrases(phrases.build());
+
+        ListAttribute.Builder<Entity> entities = new ListAttribute.Builder<>(Entity.class);
+        Entity.Builder person = new Entity.Builder().type("PERSON").entityId("Q23").headMentionIndex(0).confidence(0.5);
+        person.mention(new Mention.Builder(0, 17).source("statistical").confidence(0.25).normalized("George Washington").build());
+        person.sentiment(new CategorizerResult.Builder("pos", 0.75).build());
+        entities.add(person.build());
+        Entity.Builder place = new Entity.Builder().type("LOCATION").salience(0.125);
+        place.mention(new Mention.Builder(27, 39).build());
+        entities.add(place.build());
+        builder.entities(entities.build());
+
+        List<LanguageDetection.DetectionResult> results = Lists.newArrayList();
+        results.add(new LanguageDetection.DetectionResult.Builder(LanguageCode.ENGLISH).encoding("utf-8").script(ISO15924.Latn).confidence(1.0).build());
+        builder.wholeDocumentLanguageDetection(new LanguageDetection.Builder(0, DATA.length(), results).build());
+        ListAttribute.Builder<LanguageDetection> regions = new ListAttribute.Builder<>(LanguageDetection.class);
+        regions.add(new LanguageDetection.Builder(0, DATA.length(), results).build());
+        builder.languageDetectionRegions(regions.build());
+
+        ListAttribute.Builder<CategorizerResult> categories = new ListAttribute.Builder<>(CategorizerResult.class);
+        categories.add(new CategorizerResult.Builder("HISTORY", 0.5).confidence(0.25).explanationSet(ImmutableList.of("slept"))
+                .perFeatureScores(ImmutableMap.of("slept", 0.5)).build());
+        categories.add(new CategorizerResult.Builder("TRAVEL", null).explanationSet(ImmutableList.<String>of()).build());
+        builder.categorizerResults(categories.build());
+        ListAttribute.Builder<Dependency> dependencies = new ListAttribute.Builder<>(Dependency.class);
+        dependencies.add(new Dependency.Builder("nsubj", 2, 1).build());
+        dependencies.add(new Dependency.Builder("root", -1, 2).build());
+        builder.dependencies(dependencies.build());
+        ListAttribute.Builder<Concept> concepts = new ListAttribute.Builder<>(Concept.class);
+        concepts.add(new Concept.Builder("sleep", "Q35197").salience(0.5).build());
+        builder.concepts(concepts.build());
+        ListAttribute.Builder<Keyphrase> keyphrases = new ListAttribute.Builder<>(Keyphrase.class);
+        keyphrases.add(new Keyphrase.Builder("Mount Vernon", ImmutableList.of(new Extent.Builder(27, 39).build())).salience(0.5).build());
+        builder.keyphrases(keyphrases.build());
+
+        Embeddings.Builder embeddings = new Embeddings.Builder();
+        embeddings.put(Embeddings.Name.TEXT, new EmbeddingCollection.Builder().put(0, new float[]{0.5f, -1.25f, Float.NaN}).build());
+        embeddings.put(Embeddings.Name.TOKENS, new EmbeddingCollection.Builder().put(0, new float[]{1f}).put(2, new float[]{2f}).build());
+        builder.embeddings(embeddings.build());
+
+        // no native record for these.
+        ListAttribute.Builder<TranslatedData> translations = new ListAttribute.Builder<>(TranslatedData.class);
+        TextDomain domain = new TextDomain(ISO15924.Latn, LanguageCode.GERMAN, TransliterationScheme.NATIVE);
+        translations.add(new TranslatedData.Builder(domain, "George Washington schlief in Mount Vernon.").build());
+        builder.translatedData(translations.build());
+        return builder.build();
+    }
+}
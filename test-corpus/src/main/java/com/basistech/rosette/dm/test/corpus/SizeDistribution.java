@@ -0,0 +1,92 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.test.corpus;
+
+import java.util.Random;
+
+/**
+ * A distribution of non-negative sizes, such as the number of tokens in a document.
+ * Real corpora are heavy-tailed: most documents are short, a few are very long;
+ * {@link #logNormal(int, double, int)} models that.
+ */
+public abstract class SizeDistribution {
+
+    /**
+     * @param random the source of randomness
+     * @return a size, at least zero.
+     */
+    public abstract int sample(Random random);
+
+    /**
+     * @param size the size
+     * @return a distribution that always returns {@code size}.
+     */
+    public static SizeDistribution fixed(final int size) {
+        checkNonNegative(size);
+        return new SizeDistribution() {
+            @Override
+            public int sample(Random random) {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * @param min the smallest size
+     * @param max the largest size
+     * @return a distribution that returns sizes from {@code min} to {@code max}, inclusive, with equal probability.
+     */
+    public static SizeDistribution uniform(final int min, final int max) {
+        checkNonNegative(min);
+        if (max < min) {
+            throw new IllegalArgumentException("max < min");
+        }
+        return new SizeDistribution() {
+            @Override
+            public int sample(Random random) {
+                return min + random.nextInt(max - min + 1);
+            }
+        };
+    }
+
+    /**
+     * @param median the median size
+     * @param sigma the standard deviation of the logarithm of the size; 1.0 gives a long tail
+     * @param max the largest size returned
+     * @return a log-normal distribution of sizes, truncated to {@code max}.
+     */
+    public static SizeDistribution logNormal(final int median, final double sigma, final int max) {
+        checkNonNegative(median);
+        if (sigma < 0 || max < median) {
+            throw new IllegalArgumentException("sigma < 0 or max < median");
+        }
+        final double mu = Math.log(Math.max(1, median));
+        return new SizeDistribution() {
+            @Override
+            public int sample(Random random) {
+                long size = Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+                return (int) Math.min(max, size);
+            }
+        };
+    }
+
+    private static void checkNonNegative(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("sizes must not be negative");
+        }
+    }
+}
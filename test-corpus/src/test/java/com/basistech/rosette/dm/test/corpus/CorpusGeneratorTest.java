@@ -0,0 +1,120 @@
+/*
+* Copyright 2026 Basis Technology Corp.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+package com.basistech.rosette.dm.test.corpus;
+
+import com.basistech.rosette.dm.AnnotatedText;
+import com.basistech.rosette.dm.Entity;
+import com.basistech.rosette.dm.Mention;
+import com.basistech.rosette.dm.RelationshipMention;
+import com.basistech.rosette.dm.Token;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the corpus generator.
+ */
+public class CorpusGeneratorTest {
+
+    /* AnnotatedText has no equals. */
+    private static void assertSameDocument(AnnotatedText expected, AnnotatedText actual) {
+        assertEquals(expected.getData().toString(), actual.getData().toString());
+        assertEquals(expected.getDocumentMetadata(), actual.getDocumentMetadata());
+        assertEquals(expected.getStoredAttributes(), actual.getStoredAttributes());
+    }
+
+    @Test
+    public void deterministic() throws Exception {
+        CorpusGenerator one = new CorpusGenerator.Builder().seed(7).embeddingDimensions(4).build();
+        CorpusGenerator two = new CorpusGenerator.Builder().seed(7).embeddingDimensions(4).build();
+        assertSameDocument(one.document(12), two.document(12));
+        assertFalse(one.document(12).getData().equals(one.document(13).getData()));
+        assertFalse(one.document(12).getData().equals(new CorpusGenerator.Builder().seed(8).build().document(12).getData()));
+    }
+
+    @Test
+    public void streams() throws Exception {
+        CorpusGenerator generator = new CorpusGenerator.Builder().tokens(SizeDistribution.uniform(10, 100)).build();
+        List<AnnotatedText> documents = Lists.newArrayList(generator.documents(10, 3));
+        assertEquals(3, documents.size());
+        assertEquals(ImmutableList.of("doc-11"), documents.get(1).getDocumentMetadata().get(CorpusGenerator.ID_METADATA));
+        assertSameDocument(generator.document(12), documents.get(2));
+    }
+
+    @Test
+    public void sizes() throws Exception {
+        CorpusGenerator generator = new CorpusGenerator.Builder().tokens(SizeDistribution.fixed(200))
+                .sentenceLengths(SizeDistribution.fixed(10)).analyses(SizeDistribution.fixed(2)).entitiesPerToken(0.1).build();
+        AnnotatedText text = generator.document(0);
+        assertEquals(200, text.getTokens().size());
+        assertEquals(20, text.getSentences().size());
+        assertEquals(2, text.getTokens().get(0).getAnalyses().size());
+        assertEquals(20, text.getEntities().size());
+        assertEquals(200, text.getDependencies().size());
+        assertEquals(3, text.getCategorizerResults().size());
+    }
+
+    @Test
+    public void consistent() throws Exception {
+        for (LanguageFamily family : LanguageFamily.values()) {
+            CorpusGenerator generator = new CorpusGenerator.Builder().families(family).relationshipsPerSentence(1.0).build();
+            for (AnnotatedText text : generator.documents(20)) {
+                String data = text.getData().toString();
+                for (Token token : text.getTokens()) {
+                    assertEquals(token.getText(), data.substring(token.getStartOffset(), token.getEndOffset()));
+                }
+                assertEquals(0, text.getSentences().get(0).getStartOffset());
+                assertEquals(data.length(), text.getSentences().get(text.getSentences().size() - 1).getEndOffset());
+                for (Entity entity : text.getEntities()) {
+                    assertFalse(entity.getMentions().isEmpty());
+                    for (Mention mention : entity.getMentions()) {
+                        assertTrue(mention.getStartOffset() < mention.getEndOffset() && mention.getEndOffset() <= data.length());
+                    }
+                }
+                for (RelationshipMention relationship : text.getRelationshipMentions()) {
+                    assertNotNull(relationship.getPredicate().getPhrase());
+                    assertEquals(relationship.getArg1().getPhrase(), data.substring(relationship.getArg1().getExtents().get(0).getStartOffset(),
+                            relationship.getArg1().getExtents().get(0).getEndOffset()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void logNormal() throws Exception {
+        SizeDistribution distribution = SizeDistribution.logNormal(100, 1.0, 1000);
+        Random random = new Random(0);
+        int below = 0;
+        for (int x = 0; x < 10000; x++) {
+            int size = distribution.sample(random);
+            assertTrue(size >= 0 && size <= 1000);
+            if (size < 100) {
+                below++;
+            }
+        }
+        // half of the sizes are below the median.
+        assertTrue(Math.abs(below - 5000) < 300);
+    }
+}